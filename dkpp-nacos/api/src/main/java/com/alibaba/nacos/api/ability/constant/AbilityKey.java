@@ -37,6 +37,28 @@ public enum AbilityKey {
     SERVER_SUPPORT_PERSISTENT_INSTANCE_BY_GRPC("supportPersistentInstanceByGrpc",
             "support persistent instance by grpc", AbilityMode.SERVER),
     
+    /**
+     * Server support decoding grpc payload by the codec declared in payload metadata.
+     */
+    SERVER_SUPPORT_PAYLOAD_CODEC("supportPayloadCodec", "support negotiated payload codec", AbilityMode.SERVER),
+    
+    /**
+     * Server support checking config listen set of connection by the digest of client listen set.
+     */
+    SERVER_SUPPORT_LISTEN_DIGEST("supportListenDigest", "support config listen set digest", AbilityMode.SERVER),
+    
+    /**
+     * Sdk client support decoding grpc payload by the codec declared in payload metadata.
+     */
+    SDK_CLIENT_SUPPORT_PAYLOAD_CODEC("supportPayloadCodec", "support negotiated payload codec",
+            AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Sdk client support applying incremental service info pushed by server.
+     */
+    SDK_CLIENT_SUPPORT_DELTA_PUSH("supportDeltaPush", "support incremental service info push",
+            AbilityMode.SDK_CLIENT),
+    
     /**
      * For Test temporarily.
      */
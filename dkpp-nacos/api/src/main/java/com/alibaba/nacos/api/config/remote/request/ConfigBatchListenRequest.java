@@ -34,6 +34,12 @@ public class ConfigBatchListenRequest extends AbstractConfigRequest {
     
     private List<ConfigListenContext> configListenContexts = new ArrayList<>();
     
+    /**
+     * Digest of the whole listen set of client after this request applied, {@code null} means the contexts are the
+     * whole listen set. When set, contexts only contain changed configs and server checks others by its own records.
+     */
+    private String listenDigest;
+    
     /**
      * add listen config.
      *
@@ -87,6 +93,24 @@ public class ConfigBatchListenRequest extends AbstractConfigRequest {
         this.listen = listen;
     }
     
+    /**
+     * Getter method for property <tt>listenDigest</tt>.
+     *
+     * @return property value of listenDigest
+     */
+    public String getListenDigest() {
+        return listenDigest;
+    }
+    
+    /**
+     * Setter method for property <tt>listenDigest</tt>.
+     *
+     * @param listenDigest value to be assigned to property listenDigest
+     */
+    public void setListenDigest(String listenDigest) {
+        this.listenDigest = listenDigest;
+    }
+    
     public static class ConfigListenContext {
         
         String group;
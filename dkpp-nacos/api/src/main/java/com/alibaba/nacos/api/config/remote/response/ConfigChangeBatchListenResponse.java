@@ -32,6 +32,12 @@ public class ConfigChangeBatchListenResponse extends Response {
     
     List<ConfigContext> changedConfigs = new ArrayList<>();
     
+    /**
+     * Whether the listen digest of request is different from the listen set recorded by server, client should send
+     * the whole listen set again if true.
+     */
+    boolean listenDigestMismatch;
+    
     public ConfigChangeBatchListenResponse() {
     }
     
@@ -68,6 +74,24 @@ public class ConfigChangeBatchListenResponse extends Response {
         this.changedConfigs = changedConfigs;
     }
     
+    /**
+     * Getter method for property <tt>listenDigestMismatch</tt>.
+     *
+     * @return property value of listenDigestMismatch
+     */
+    public boolean isListenDigestMismatch() {
+        return listenDigestMismatch;
+    }
+    
+    /**
+     * Setter method for property <tt>listenDigestMismatch</tt>.
+     *
+     * @param listenDigestMismatch value to be assigned to property listenDigestMismatch
+     */
+    public void setListenDigestMismatch(boolean listenDigestMismatch) {
+        this.listenDigestMismatch = listenDigestMismatch;
+    }
+    
     /**
      * build fail response.
      *
@@ -16,14 +16,21 @@
 
 package com.alibaba.nacos.api.naming.remote.request;
 
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 
+import java.util.List;
+
 import static com.alibaba.nacos.api.common.Constants.Naming.NAMING_MODULE;
 
 /**
  * Notify subscriber request.
  *
+ * <p>For clients which support delta push, the request might be incremental. An incremental request only contains the
+ * added and changed instances in {@link #getServiceInfo()} and the removed instances in {@link #getRemovedInstances()},
+ * which should be applied to the service info of {@link #getBaseRevision()} held by client.
+ *
  * @author xiweng.yy
  */
 public class NotifySubscriberRequest extends ServerRequest {
@@ -36,6 +43,17 @@ public class NotifySubscriberRequest extends ServerRequest {
     
     private ServiceInfo serviceInfo;
     
+    /**
+     * Revision of the service info after this push applied, {@code 0} means not versioned.
+     */
+    private long revision;
+    
+    private boolean incremental;
+    
+    private long baseRevision;
+    
+    private List<Instance> removedInstances;
+    
     public NotifySubscriberRequest() {
     }
     
@@ -52,6 +70,25 @@ public class NotifySubscriberRequest extends ServerRequest {
         return new NotifySubscriberRequest(serviceInfo);
     }
     
+    /**
+     * Build incremental notify subscriber request.
+     *
+     * @param changedServiceInfo service info which only contains added and changed instances
+     * @param removedInstances   removed instances
+     * @param baseRevision       revision of service info which the changes based on
+     * @param revision           revision of service info after changes applied
+     * @return incremental notify subscriber request
+     */
+    public static NotifySubscriberRequest buildIncrementalNotifySubscriberRequest(ServiceInfo changedServiceInfo,
+            List<Instance> removedInstances, long baseRevision, long revision) {
+        NotifySubscriberRequest request = new NotifySubscriberRequest(changedServiceInfo);
+        request.setIncremental(true);
+        request.setRemovedInstances(removedInstances);
+        request.setBaseRevision(baseRevision);
+        request.setRevision(revision);
+        return request;
+    }
+    
     public ServiceInfo getServiceInfo() {
         return serviceInfo;
     }
@@ -84,4 +121,35 @@ public class NotifySubscriberRequest extends ServerRequest {
         this.groupName = groupName;
     }
     
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public boolean isIncremental() {
+        return incremental;
+    }
+    
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public void setRemovedInstances(List<Instance> removedInstances) {
+        this.removedInstances = removedInstances;
+    }
 }
@@ -136,6 +136,22 @@ public class NamingUtils {
         return groupName + Constants.SERVICE_INFO_SPLITER + serviceName;
     }
     
+    /**
+     * Returns the key which identifies an instance in one service, it is not changed when other fields of instance
+     * such as weight, health or metadata changed.
+     *
+     * <p>etc:
+     * <p>ip       | port | clusterName | result</p>
+     * <p>1.1.1.1  | 8080 | DEFAULT     | 1.1.1.1#8080#DEFAULT</p>
+     *
+     * @param instance instance
+     * @return 'ip#port#clusterName'
+     */
+    public static String getInstanceKey(Instance instance) {
+        return instance.getIp() + Constants.NAMING_INSTANCE_ID_SPLITTER + instance.getPort()
+                + Constants.NAMING_INSTANCE_ID_SPLITTER + instance.getClusterName();
+    }
+    
     /**
      * <p>Check instance param about keep alive.</p>
      *
@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark;
+
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Entry of nacos benchmarks.
+ *
+ * <p>Usage:
+ * <ul>
+ *     <li>{@code java -jar nacos-benchmarks.jar [jmh options]} runs benchmarks like the jmh main class.</li>
+ *     <li>{@code java -jar nacos-benchmarks.jar baseline <result.json> [jmh options]} runs benchmarks and writes
+ *     the results as json, which can be kept as baseline of one revision.</li>
+ *     <li>{@code java -jar nacos-benchmarks.jar compare <baseline.json> <candidate.json>} prints the score
+ *     difference of two results which were produced on the same machine.</li>
+ * </ul>
+ *
+ * @author Nacos
+ */
+public class BenchmarkRunner {
+    
+    private static final String MODE_BASELINE = "baseline";
+    
+    private static final String MODE_COMPARE = "compare";
+    
+    /**
+     * Run benchmarks.
+     *
+     * @param args arguments
+     * @throws Exception any exception during benchmark
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && MODE_BASELINE.equals(args[0])) {
+            runBaseline(args[1], Arrays.copyOfRange(args, 2, args.length));
+        } else if (args.length == 3 && MODE_COMPARE.equals(args[0])) {
+            compare(new File(args[1]), new File(args[2]));
+        } else {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+    
+    private static void runBaseline(String resultFile, String[] jmhArgs) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(jmhArgs);
+        Options options = new OptionsBuilder().parent(commandLineOptions).resultFormat(ResultFormatType.JSON)
+                .result(resultFile).build();
+        new Runner(options).run();
+        System.out.println("Baseline results written to " + new File(resultFile).getAbsolutePath());
+    }
+    
+    private static void compare(File baselineFile, File candidateFile) throws Exception {
+        Map<String, JsonNode> baseline = readResults(baselineFile);
+        Map<String, JsonNode> candidate = readResults(candidateFile);
+        System.out.printf("%-90s %16s %16s %10s %s%n", "Benchmark", "Baseline", "Candidate", "Delta", "Unit");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode current = entry.getValue().get("primaryMetric");
+            JsonNode base = baseline.containsKey(entry.getKey()) ? baseline.get(entry.getKey()).get("primaryMetric")
+                    : null;
+            double currentScore = current.get("score").asDouble();
+            String unit = current.get("scoreUnit").asText();
+            if (null == base) {
+                System.out.printf("%-90s %16s %16.3f %10s %s%n", entry.getKey(), "-", currentScore, "new", unit);
+                continue;
+            }
+            double baseScore = base.get("score").asDouble();
+            double delta = baseScore == 0 ? 0 : (currentScore - baseScore) * 100 / baseScore;
+            System.out.printf("%-90s %16.3f %16.3f %9.2f%% %s%n", entry.getKey(), baseScore, currentScore, delta,
+                    unit);
+        }
+    }
+    
+    private static Map<String, JsonNode> readResults(File file) throws Exception {
+        JsonNode results = JacksonUtils.toObj(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        Map<String, JsonNode> resultMap = new TreeMap<>();
+        for (JsonNode each : results) {
+            StringBuilder key = new StringBuilder(each.get("benchmark").asText()).append(':')
+                    .append(each.get("mode").asText());
+            JsonNode params = each.get("params");
+            if (null != params) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(',').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            resultMap.put(key.toString(), each);
+        }
+        return resultMap;
+    }
+}
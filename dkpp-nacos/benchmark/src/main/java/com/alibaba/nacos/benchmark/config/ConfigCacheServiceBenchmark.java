@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link ConfigCacheService#dumpWithMd5} and {@link ConfigCacheService#isUptodate}.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConfigCacheServiceBenchmark {
+    
+    private static final String GROUP = "DEFAULT_GROUP";
+    
+    private static final String TENANT = "benchmark";
+    
+    @Param({"10000"})
+    private int configCount;
+    
+    private String[] dataIds;
+    
+    private String[] groupKeys;
+    
+    private String[] contents;
+    
+    private String[] md5s;
+    
+    /**
+     * Prepare config cache in a temporary nacos home.
+     *
+     * @throws Exception exception during prepare
+     */
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty("nacos.home", Files.createTempDirectory("nacos-benchmark").toString());
+        NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.ringBufferSize);
+        dataIds = new String[configCount];
+        groupKeys = new String[configCount];
+        contents = new String[configCount];
+        md5s = new String[configCount];
+        for (int i = 0; i < configCount; i++) {
+            dataIds[i] = "benchmark.data." + i;
+            groupKeys[i] = GroupKey2.getKey(dataIds[i], GROUP, TENANT);
+            contents[i] = "benchmark.content=" + i;
+            md5s[i] = MD5Utils.md5Hex(contents[i], "UTF-8");
+            ConfigCacheService.dumpWithMd5(dataIds[i], GROUP, TENANT, contents[i], md5s[i], 1L, "properties", null);
+        }
+    }
+    
+    /**
+     * Dump with unchanged md5, only timestamp will be refreshed, which is the common case of dump all.
+     */
+    @Benchmark
+    public boolean dumpWithMd5Unchanged() {
+        int index = ThreadLocalRandom.current().nextInt(configCount);
+        return ConfigCacheService.dumpWithMd5(dataIds[index], GROUP, TENANT, contents[index], md5s[index],
+                System.currentTimeMillis(), "properties", null);
+    }
+    
+    /**
+     * Dump with changed content, local disk and md5 will be updated.
+     */
+    @Benchmark
+    public boolean dumpWithMd5Changed() {
+        int index = ThreadLocalRandom.current().nextInt(configCount);
+        String content = contents[index] + System.nanoTime();
+        return ConfigCacheService.dumpWithMd5(dataIds[index], GROUP, TENANT, content, null,
+                System.currentTimeMillis(), "properties", null);
+    }
+    
+    @Benchmark
+    public boolean isUptodateHit() {
+        int index = ThreadLocalRandom.current().nextInt(configCount);
+        return ConfigCacheService.isUptodate(groupKeys[index], md5s[index]);
+    }
+    
+    @Benchmark
+    public boolean isUptodateWithIpAndTag() {
+        int index = ThreadLocalRandom.current().nextInt(configCount);
+        return ConfigCacheService.isUptodate(groupKeys[index], md5s[index], "127.0.0.1", null);
+    }
+}
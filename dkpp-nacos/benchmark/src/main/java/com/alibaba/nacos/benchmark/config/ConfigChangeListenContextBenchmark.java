@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.config.server.remote.ConfigChangeListenContext;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark for {@link ConfigChangeListenContext} under reconnect storm.
+ *
+ * <p>Reconnecting threads keep registering a batch of listen keys for a new connection and clearing it afterwards,
+ * which is what thousands of clients do after a rolling restart, while notifying threads fan out config changes of
+ * the same group keys.
+ *
+ * @author Nacos
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigChangeListenContextBenchmark {
+    
+    private static final String GROUP = "DEFAULT_GROUP";
+    
+    private static final String TENANT = "benchmark";
+    
+    @Param({"1000"})
+    private int configCount;
+    
+    @Param({"50"})
+    private int listenPerConnection;
+    
+    @Param({"1000"})
+    private int onlineConnections;
+    
+    private final AtomicLong connectionIdGenerator = new AtomicLong();
+    
+    private ConfigChangeListenContext context;
+    
+    private String[] groupKeys;
+    
+    /**
+     * Prepare group keys and the connections which already listen before the storm.
+     */
+    @Setup
+    public void setUp() {
+        context = new ConfigChangeListenContext();
+        groupKeys = new String[configCount];
+        for (int i = 0; i < configCount; i++) {
+            groupKeys[i] = GroupKey2.getKey("benchmark.data." + i, GROUP, TENANT);
+        }
+        for (int i = 0; i < onlineConnections; i++) {
+            listenBatch("online-" + i);
+        }
+    }
+    
+    private void listenBatch(String connectionId) {
+        int offset = ThreadLocalRandom.current().nextInt(configCount);
+        for (int i = 0; i < listenPerConnection; i++) {
+            context.addListen(groupKeys[(offset + i) % configCount], "md5", connectionId);
+        }
+    }
+    
+    /**
+     * One client reconnects: batch listen with the new connection and clear the old one.
+     */
+    @Benchmark
+    @Group("reconnectStorm")
+    @GroupThreads(6)
+    public void reconnect() {
+        String connectionId = "storm-" + connectionIdGenerator.incrementAndGet();
+        listenBatch(connectionId);
+        context.clearContextForConnectionId(connectionId);
+    }
+    
+    /**
+     * Config push fan-out, which iterates the listeners of one group key.
+     */
+    @Benchmark
+    @Group("reconnectStorm")
+    @GroupThreads(2)
+    public int notifyListeners() {
+        Set<String> listeners = context.getListeners(groupKeys[ThreadLocalRandom.current().nextInt(configCount)]);
+        if (null == listeners) {
+            return 0;
+        }
+        int count = 0;
+        for (String each : listeners) {
+            count += each.length();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.consistency;
+
+import com.alibaba.nacos.common.utils.TypeUtils;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.serialize.CompactSerializer;
+import com.alibaba.nacos.persistence.repository.embedded.sql.ModifyRequest;
+import com.alibaba.nacos.persistence.repository.embedded.sql.QueryType;
+import com.alibaba.nacos.persistence.repository.embedded.sql.SelectRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for serializers of consistency module on the data of embedded storage, the size of serialized data is
+ * printed when setting up.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+    
+    private static final Type MODIFY_REQUESTS_TYPE = TypeUtils.parameterize(List.class, ModifyRequest.class);
+    
+    /**
+     * Modify request size of one raft log.
+     */
+    @Param({"1", "32"})
+    private int size;
+    
+    @Param({"hessian", "json", "compact"})
+    private String serializerName;
+    
+    private Serializer serializer;
+    
+    private List<ModifyRequest> modifyRequests;
+    
+    private SelectRequest selectRequest;
+    
+    private byte[] modifyRequestsData;
+    
+    private byte[] selectRequestData;
+    
+    @Setup
+    public void setUp() {
+        serializer = SerializeFactory.getSerializer(serializerName);
+        if (serializer instanceof CompactSerializer) {
+            serializer = new CompactSerializer();
+            ((CompactSerializer) serializer).setCompactWritable(true);
+        }
+        modifyRequests = new ArrayList<>(size);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < size; i++) {
+            ModifyRequest request = new ModifyRequest(
+                    "INSERT INTO config_info(data_id,group_id,tenant_id,app_name,content,md5,src_ip,src_user,"
+                            + "gmt_create,gmt_modified,c_desc,c_use,effect,type,c_schema,encrypted_data_key) "
+                            + "VALUES(?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)");
+            request.setExecuteNo(i);
+            request.setArgs(new Object[] {"benchmark.data." + i, "DEFAULT_GROUP", "", "benchmark",
+                    "key=value\nanother.key=another value " + i, "d41d8cd98f00b204e9800998ecf8427e", "127.0.0.1",
+                    null, now, now, null, null, null, "properties", null, ""});
+            modifyRequests.add(request);
+        }
+        selectRequest = SelectRequest.builder().queryType(QueryType.QUERY_ONE_WITH_MAPPER_WITH_ARGS)
+                .sql("SELECT id,data_id,group_id,tenant_id,app_name,content,md5,type FROM config_info "
+                        + "WHERE data_id=? AND group_id=? AND tenant_id=?")
+                .args(new Object[] {"benchmark.data", "DEFAULT_GROUP", ""})
+                .className("com.alibaba.nacos.config.server.service.repository.ConfigRowMapperInjector"
+                        + ".ConfigInfoWrapperRowMapper").build();
+        modifyRequestsData = serializer.serialize(modifyRequests);
+        selectRequestData = serializer.serialize(selectRequest);
+        System.out.printf("%n%s serialized size: modify requests %d bytes, select request %d bytes%n",
+                serializerName, modifyRequestsData.length, selectRequestData.length);
+    }
+    
+    @Benchmark
+    public byte[] serializeModifyRequests() {
+        return serializer.serialize(modifyRequests);
+    }
+    
+    @Benchmark
+    public Object deserializeModifyRequests() {
+        return serializer.deserialize(modifyRequestsData, MODIFY_REQUESTS_TYPE);
+    }
+    
+    @Benchmark
+    public byte[] serializeSelectRequest() {
+        return serializer.serialize(selectRequest);
+    }
+    
+    @Benchmark
+    public Object deserializeSelectRequest() {
+        return serializer.deserialize(selectRequestData, SelectRequest.class);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.control;
+
+import com.alibaba.nacos.plugin.control.tps.barrier.LocalSimpleCountRateCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link LocalSimpleCountRateCounter#tryAdd(long, long, long)}, which is called by every request
+ * checked by tps control.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LocalSimpleCountRateCounterBenchmark {
+    
+    private LocalSimpleCountRateCounter counter;
+    
+    @Setup
+    public void setUp() {
+        counter = new LocalSimpleCountRateCounter("benchmark", TimeUnit.SECONDS);
+    }
+    
+    @Benchmark
+    public boolean tryAddWithinLimit() {
+        return counter.tryAdd(System.currentTimeMillis(), 1, Long.MAX_VALUE);
+    }
+    
+    @Benchmark
+    public boolean tryAddOverLimit() {
+        return counter.tryAdd(System.currentTimeMillis(), 1, 0);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.naming;
+
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for event handling of {@link ClientServiceIndexesManager}.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ClientServiceIndexesManagerBenchmark {
+    
+    @Param({"1000"})
+    private int serviceCount;
+    
+    @Param({"1000"})
+    private int clientCount;
+    
+    private Service[] services;
+    
+    private String[] clientIds;
+    
+    private ClientServiceIndexesManager indexesManager;
+    
+    private CountingServiceEventSubscriber subscriber;
+    
+    /**
+     * Prepare services, clients and register every client to part of services.
+     */
+    @Setup
+    public void setUp() {
+        subscriber = new CountingServiceEventSubscriber();
+        NotifyCenter.registerSubscriber(subscriber, NamingEventPublisherFactory.getInstance());
+        indexesManager = new ClientServiceIndexesManager();
+        services = new Service[serviceCount];
+        for (int i = 0; i < serviceCount; i++) {
+            services[i] = Service.newService("benchmark", "DEFAULT_GROUP", "benchmark.service." + i);
+        }
+        clientIds = new String[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clientIds[i] = "127.0.0." + (i % 255) + ":" + (8000 + i) + "#true";
+        }
+        for (int i = 0; i < clientCount; i++) {
+            indexesManager.onEvent(
+                    new ClientOperationEvent.ClientRegisterServiceEvent(services[i % serviceCount], clientIds[i]));
+            indexesManager.onEvent(
+                    new ClientOperationEvent.ClientSubscribeServiceEvent(services[i % serviceCount], clientIds[i]));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        NotifyCenter.deregisterSubscriber(subscriber);
+        NotifyCenter.deregisterSubscriber(indexesManager);
+    }
+    
+    /**
+     * One client registers and then deregisters one service.
+     */
+    @Benchmark
+    public void registerAndDeregister() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Service service = services[random.nextInt(serviceCount)];
+        String clientId = clientIds[random.nextInt(clientCount)];
+        indexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(service, clientId));
+        indexesManager.onEvent(new ClientOperationEvent.ClientDeregisterServiceEvent(service, clientId));
+    }
+    
+    /**
+     * One client subscribes and then unsubscribes one service.
+     */
+    @Benchmark
+    public void subscribeAndUnsubscribe() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Service service = services[random.nextInt(serviceCount)];
+        String clientId = clientIds[random.nextInt(clientCount)];
+        indexesManager.onEvent(new ClientOperationEvent.ClientSubscribeServiceEvent(service, clientId));
+        indexesManager.onEvent(new ClientOperationEvent.ClientUnsubscribeServiceEvent(service, clientId));
+    }
+    
+    @Benchmark
+    public int getAllClientsSubscribeService() {
+        return indexesManager.getAllClientsSubscribeService(
+                services[ThreadLocalRandom.current().nextInt(serviceCount)]).size();
+    }
+}
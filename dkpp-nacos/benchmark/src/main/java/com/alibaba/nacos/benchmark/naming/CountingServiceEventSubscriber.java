@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.naming;
+
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Subscriber which only counts the received service events, to make sure naming publishers keep draining.
+ *
+ * @author Nacos
+ */
+public class CountingServiceEventSubscriber extends SmartSubscriber {
+    
+    private final LongAdder counter = new LongAdder();
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ServiceEvent.ServiceChangedEvent.class);
+        result.add(ServiceEvent.ServiceSubscribedEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        counter.increment();
+    }
+    
+    public long getCount() {
+        return counter.sum();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.naming;
+
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.client.manager.impl.ConnectionBasedClientManager;
+import com.alibaba.nacos.naming.core.v2.client.manager.impl.EphemeralIpPortClientManager;
+import com.alibaba.nacos.naming.core.v2.client.manager.impl.PersistentIpPortClientManager;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link ServiceStorage#getPushData(Service)}, which builds the {@link ServiceInfo} pushed to
+ * subscribers.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceStorageBenchmark {
+    
+    @Param({"10", "200", "2000"})
+    private int instanceCount;
+    
+    private Service service;
+    
+    private ServiceStorage serviceStorage;
+    
+    private ClientServiceIndexesManager indexesManager;
+    
+    private NamingMetadataManager metadataManager;
+    
+    /**
+     * Prepare one service with {@link #instanceCount} connection based clients.
+     */
+    @Setup
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        indexesManager = new ClientServiceIndexesManager();
+        metadataManager = new NamingMetadataManager();
+        ConnectionBasedClientManager connectionBasedClientManager = new ConnectionBasedClientManager();
+        ClientManagerDelegate clientManager = new ClientManagerDelegate(connectionBasedClientManager,
+                Mockito.mock(EphemeralIpPortClientManager.class), Mockito.mock(PersistentIpPortClientManager.class));
+        serviceStorage = new ServiceStorage(indexesManager, clientManager, new SwitchDomain(), metadataManager);
+        service = ServiceManager.getInstance()
+                .getSingleton(Service.newService("benchmark", "DEFAULT_GROUP", "benchmark.push." + instanceCount));
+        for (int i = 0; i < instanceCount; i++) {
+            String clientId = System.currentTimeMillis() + "_10.0." + (i / 250) + "." + (i % 250) + "_" + i;
+            ConnectionBasedClient client = new ConnectionBasedClient(clientId, true, 0L);
+            InstancePublishInfo instance = new InstancePublishInfo("10.0." + (i / 250) + "." + (i % 250), 8080);
+            instance.setCluster(i % 2 == 0 ? "DEFAULT" : "BACKUP");
+            instance.setHealthy(true);
+            Map<String, Object> extendDatum = new HashMap<>(2);
+            extendDatum.put("version", "1.0." + i);
+            instance.setExtendDatum(extendDatum);
+            client.addServiceInstance(service, instance);
+            connectionBasedClientManager.clientConnected(client);
+            indexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(service, clientId));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        NotifyCenter.deregisterSubscriber(indexesManager);
+        NotifyCenter.deregisterSubscriber(metadataManager);
+    }
+    
+    @Benchmark
+    public ServiceInfo getPushData() {
+        return serviceStorage.getPushData(service);
+    }
+    
+    @Benchmark
+    public ServiceInfo getData() {
+        return serviceStorage.getData(service);
+    }
+}
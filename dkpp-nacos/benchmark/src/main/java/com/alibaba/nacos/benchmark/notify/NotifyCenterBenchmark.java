@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.notify;
+
+import com.alibaba.nacos.common.notify.BatchEventPublisherFactory;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.SlowEvent;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark for {@link NotifyCenter#publishEvent(Event)} with default publisher, batch publisher and share publisher.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class NotifyCenterBenchmark {
+    
+    private static final String BATCH_PUBLISHER = "batch";
+    
+    @Param({"default", BATCH_PUBLISHER})
+    private String publisher;
+    
+    private CountingSubscriber<BenchmarkEvent> subscriber;
+    
+    private CountingSubscriber<BenchmarkSlowEvent> slowSubscriber;
+    
+    /**
+     * Register publishers and subscribers for benchmark events.
+     */
+    @Setup
+    public void setUp() {
+        if (BATCH_PUBLISHER.equals(publisher)) {
+            NotifyCenter.registerToPublisher(BenchmarkEvent.class, BatchEventPublisherFactory.getInstance(),
+                    NotifyCenter.ringBufferSize);
+        } else {
+            NotifyCenter.registerToPublisher(BenchmarkEvent.class, NotifyCenter.ringBufferSize);
+        }
+        NotifyCenter.registerToSharePublisher(BenchmarkSlowEvent.class);
+        subscriber = new CountingSubscriber<>(BenchmarkEvent.class);
+        slowSubscriber = new CountingSubscriber<>(BenchmarkSlowEvent.class);
+        NotifyCenter.registerSubscriber(subscriber);
+        NotifyCenter.registerSubscriber(slowSubscriber);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        NotifyCenter.deregisterSubscriber(subscriber);
+        NotifyCenter.deregisterSubscriber(slowSubscriber);
+        NotifyCenter.deregisterPublisher(BenchmarkEvent.class);
+    }
+    
+    @Benchmark
+    public boolean publishEvent() {
+        return NotifyCenter.publishEvent(new BenchmarkEvent());
+    }
+    
+    @Benchmark
+    public boolean publishSlowEvent() {
+        return NotifyCenter.publishEvent(new BenchmarkSlowEvent());
+    }
+    
+    public static class BenchmarkEvent extends Event {
+        
+        private static final long serialVersionUID = 2424153578364620839L;
+    }
+    
+    public static class BenchmarkSlowEvent extends SlowEvent {
+        
+        private static final long serialVersionUID = -3125098470012391542L;
+    }
+    
+    private static class CountingSubscriber<T extends Event> extends Subscriber<T> {
+        
+        private final Class<T> subscribeType;
+        
+        private final LongAdder counter = new LongAdder();
+        
+        CountingSubscriber(Class<T> subscribeType) {
+            this.subscribeType = subscribeType;
+        }
+        
+        @Override
+        public void onEvent(T event) {
+            counter.increment();
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return subscribeType;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.remote;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for payload encoding and decoding of {@link GrpcUtils}.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcUtilsBenchmark {
+    
+    /**
+     * Listen context size of batch listen request and instance size of notify subscriber request.
+     */
+    @Param({"10", "1000"})
+    private int size;
+    
+    /**
+     * Payload codec of requests, responses are always encoded by json.
+     */
+    @Param({"json", "binary"})
+    private String codec;
+    
+    private PayloadCodec payloadCodec;
+    
+    private ConfigBatchListenRequest batchListenRequest;
+    
+    private InstanceRequest instanceRequest;
+    
+    private NotifySubscriberRequest notifySubscriberRequest;
+    
+    private ConfigChangeBatchListenResponse batchListenResponse;
+    
+    private Payload batchListenPayload;
+    
+    private Payload instancePayload;
+    
+    private Payload notifySubscriberPayload;
+    
+    private Payload batchListenResponsePayload;
+    
+    /**
+     * Prepare requests and encoded payloads.
+     */
+    @Setup
+    public void setUp() {
+        PayloadRegistry.init();
+        payloadCodec = PayloadCodecManager.getInstance().getCodec(codec);
+        batchListenRequest = new ConfigBatchListenRequest();
+        batchListenRequest.setListen(true);
+        batchListenResponse = new ConfigChangeBatchListenResponse();
+        for (int i = 0; i < size; i++) {
+            batchListenRequest.addConfigListenContext("DEFAULT_GROUP", "benchmark.data." + i, "benchmark",
+                    "8b2f7a1f3b3d1f5e9c6f1b6a4e4c1d2e");
+            batchListenResponse.addChangeConfig("benchmark.data." + i, "DEFAULT_GROUP", "benchmark");
+        }
+        instanceRequest = new InstanceRequest("benchmark", "benchmark.service", "DEFAULT_GROUP",
+                NamingRemoteConstants.REGISTER_INSTANCE, buildInstance(0));
+        ServiceInfo serviceInfo = new ServiceInfo("DEFAULT_GROUP@@benchmark.service");
+        List<Instance> hosts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hosts.add(buildInstance(i));
+        }
+        serviceInfo.setHosts(hosts);
+        notifySubscriberRequest = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        batchListenPayload = GrpcUtils.convert(batchListenRequest, payloadCodec);
+        instancePayload = GrpcUtils.convert(instanceRequest, payloadCodec);
+        notifySubscriberPayload = GrpcUtils.convert(notifySubscriberRequest, payloadCodec);
+        batchListenResponsePayload = GrpcUtils.convert(batchListenResponse);
+    }
+    
+    private Instance buildInstance(int index) {
+        Instance instance = new Instance();
+        instance.setIp("10.0." + (index / 250) + "." + (index % 250));
+        instance.setPort(8080);
+        instance.setClusterName("DEFAULT");
+        instance.setServiceName("benchmark.service");
+        instance.addMetadata("version", "1.0." + index);
+        return instance;
+    }
+    
+    @Benchmark
+    public Payload convertConfigBatchListenRequest() {
+        return GrpcUtils.convert(batchListenRequest, payloadCodec);
+    }
+    
+    @Benchmark
+    public Object parseConfigBatchListenRequest() {
+        return GrpcUtils.parse(batchListenPayload);
+    }
+    
+    @Benchmark
+    public Payload convertInstanceRequest() {
+        return GrpcUtils.convert(instanceRequest, payloadCodec);
+    }
+    
+    @Benchmark
+    public Object parseInstanceRequest() {
+        return GrpcUtils.parse(instancePayload);
+    }
+    
+    @Benchmark
+    public Payload convertNotifySubscriberRequest() {
+        return GrpcUtils.convert(notifySubscriberRequest, payloadCodec);
+    }
+    
+    @Benchmark
+    public Object parseNotifySubscriberRequest() {
+        return GrpcUtils.parse(notifySubscriberPayload);
+    }
+    
+    @Benchmark
+    public Payload convertConfigChangeBatchListenResponse() {
+        return GrpcUtils.convert(batchListenResponse);
+    }
+    
+    @Benchmark
+    public Object parseConfigChangeBatchListenResponse() {
+        return GrpcUtils.parse(batchListenResponsePayload);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.benchmark.task;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.engine.AbstractNacosTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosTimingWheelDelayTaskExecuteEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for adding delay tasks into {@link NacosDelayTaskExecuteEngine} and
+ * {@link NacosTimingWheelDelayTaskExecuteEngine} while lots of tasks are pending in engine.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DelayTaskExecuteEngineBenchmark {
+    
+    private static final String TIMING_WHEEL = "timingWheel";
+    
+    private static final int HOT_KEY_COUNT = 10000;
+    
+    @Param({"scan", TIMING_WHEEL})
+    private String engineType;
+    
+    @Param({"100000"})
+    private int pendingTasks;
+    
+    private AbstractNacosTaskExecuteEngine<AbstractDelayTask> engine;
+    
+    /**
+     * Create engine and fill it with tasks which will not be processed during benchmark.
+     */
+    @Setup
+    public void setUp() {
+        engine = TIMING_WHEEL.equals(engineType) ? new NacosTimingWheelDelayTaskExecuteEngine("benchmark")
+                : new NacosDelayTaskExecuteEngine("benchmark");
+        engine.setDefaultTaskProcessor(task -> true);
+        for (int i = 0; i < pendingTasks; i++) {
+            engine.addTask("pending" + i, new BenchmarkDelayTask(TimeUnit.HOURS.toMillis(1)));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws Exception {
+        engine.shutdown();
+    }
+    
+    @Benchmark
+    public void addTask() {
+        int key = ThreadLocalRandom.current().nextInt(HOT_KEY_COUNT);
+        engine.addTask(key, new BenchmarkDelayTask(100L));
+    }
+    
+    private static class BenchmarkDelayTask extends AbstractDelayTask {
+        
+        BenchmarkDelayTask(long delay) {
+            setTaskInterval(delay);
+            setLastProcessTime(System.currentTimeMillis());
+        }
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            setLastProcessTime(Math.min(getLastProcessTime(), task.getLastProcessTime()));
+        }
+    }
+}
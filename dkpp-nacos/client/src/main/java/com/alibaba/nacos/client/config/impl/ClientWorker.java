@@ -17,6 +17,8 @@
 package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.Listener;
@@ -798,7 +800,7 @@ public class ClientWorker implements Closeable {
             }
             
             //execute check listen ,return true if has change keys.
-            boolean hasChangedKeys = checkListenCache(listenCachesMap);
+            boolean hasChangedKeys = checkListenCache(listenCachesMap, needAllSync);
             
             //execute check remove listen.
             checkRemoveListenCache(removeListenCachesMap);
@@ -953,7 +955,8 @@ public class ClientWorker implements Closeable {
             }
         }
         
-        private boolean checkListenCache(Map<String, List<CacheData>> listenCachesMap) throws NacosException {
+        private boolean checkListenCache(Map<String, List<CacheData>> listenCachesMap, boolean needAllSync)
+                throws NacosException {
             
             final AtomicBoolean hasChangedKeys = new AtomicBoolean(false);
             if (!listenCachesMap.isEmpty()) {
@@ -969,11 +972,22 @@ public class ClientWorker implements Closeable {
                         for (CacheData cacheData : listenCaches) {
                             cacheData.getReceiveNotifyChanged().set(false);
                         }
-                        ConfigBatchListenRequest configChangeListenRequest = buildConfigRequest(listenCaches);
+                        ConfigBatchListenRequest configChangeListenRequest =
+                                needAllSync && isSupportListenDigest(rpcClient) ? buildDigestConfigRequest(
+                                        listenCaches) : buildConfigRequest(listenCaches);
                         configChangeListenRequest.setListen(true);
                         try {
                             ConfigChangeBatchListenResponse listenResponse = (ConfigChangeBatchListenResponse) requestProxy(
                                     rpcClient, configChangeListenRequest);
+                            if (listenResponse != null && listenResponse.isListenDigestMismatch()) {
+                                // server doesn't have the same listen set, send the whole listen set.
+                                LOGGER.info("[{}] [listen-digest] mismatch, sync whole listen set of task {}",
+                                        rpcClient.getName(), taskId);
+                                configChangeListenRequest = buildConfigRequest(listenCaches);
+                                configChangeListenRequest.setListen(true);
+                                listenResponse = (ConfigChangeBatchListenResponse) requestProxy(rpcClient,
+                                        configChangeListenRequest);
+                            }
                             if (listenResponse != null && listenResponse.isSuccess()) {
                                 
                                 Set<String> changeKeys = new HashSet<String>();
@@ -986,8 +1000,14 @@ public class ClientWorker implements Closeable {
                                         String changeKey = GroupKey.getKeyTenant(changeConfig.getDataId(),
                                                 changeConfig.getGroup(), changeConfig.getTenant());
                                         changeKeys.add(changeKey);
-                                        boolean isInitializing = cacheMap.get().get(changeKey).isInitializing();
+                                        CacheData changeCache = cacheMap.get().get(changeKey);
+                                        if (changeCache == null) {
+                                            continue;
+                                        }
+                                        boolean isInitializing = changeCache.isInitializing();
                                         refreshContentAndCheck(rpcClient, changeKey, !isInitializing);
+                                        // make sure the new md5 is sent to server in next listen.
+                                        changeCache.setConsistentWithServer(false);
                                     }
                                     
                                 }
@@ -1078,6 +1098,33 @@ public class ClientWorker implements Closeable {
             return configChangeListenRequest;
         }
         
+        /**
+         * Build listen request which only contains caches not consistent with server, and the digest of all caches,
+         * so server checks other caches by the listen set recorded for this connection.
+         *
+         * @param caches all listen caches of the task.
+         * @return request.
+         */
+        private ConfigBatchListenRequest buildDigestConfigRequest(List<CacheData> caches) {
+            
+            ConfigBatchListenRequest configChangeListenRequest = new ConfigBatchListenRequest();
+            Map<String, String> listenKeys = new HashMap<>(caches.size());
+            for (CacheData cacheData : caches) {
+                String md5 = cacheData.getMd5();
+                listenKeys.put(GroupKey.getKeyTenant(cacheData.dataId, cacheData.group, cacheData.tenant), md5);
+                if (!cacheData.isConsistentWithServer()) {
+                    configChangeListenRequest.addConfigListenContext(cacheData.group, cacheData.dataId,
+                            cacheData.tenant, md5);
+                }
+            }
+            configChangeListenRequest.setListenDigest(ListenDigestUtils.digest(listenKeys));
+            return configChangeListenRequest;
+        }
+        
+        private boolean isSupportListenDigest(RpcClient rpcClient) {
+            return rpcClient.getConnectionAbility(AbilityKey.SERVER_SUPPORT_LISTEN_DIGEST) == AbilityStatus.SUPPORTED;
+        }
+        
         @Override
         public void removeCache(String dataId, String group) {
             // Notify to rpc un listen ,and remove cache if success.
@@ -22,6 +22,7 @@ import com.alibaba.nacos.client.naming.backups.FailoverDataSource;
 import com.alibaba.nacos.client.naming.backups.FailoverSwitch;
 import com.alibaba.nacos.client.naming.backups.NamingFailoverData;
 import com.alibaba.nacos.client.naming.cache.DiskCache;
+import com.alibaba.nacos.client.naming.cache.MappedDiskCache;
 import com.alibaba.nacos.client.naming.utils.CacheDirUtil;
 import com.alibaba.nacos.client.naming.utils.UtilAndComs;
 import com.alibaba.nacos.client.utils.ConcurrentDiskUtil;
@@ -87,6 +88,14 @@ public class DiskFailoverDataSource implements FailoverDataSource {
                         continue;
                     }
                     
+                    if (file.getName().equals(MappedDiskCache.SNAPSHOT_FILE_NAME)) {
+                        // snapshot file copied from cache dir of mapped disk cache.
+                        for (Map.Entry<String, ServiceInfo> entry : MappedDiskCache.readSnapshot(file).entrySet()) {
+                            domMap.put(entry.getKey(), NamingFailoverData.newNamingFailoverData(entry.getValue()));
+                        }
+                        continue;
+                    }
+                    
                     for (Map.Entry<String, ServiceInfo> entry : DiskCache.parseServiceInfoFromCache(file).entrySet()) {
                         domMap.put(entry.getKey(), NamingFailoverData.newNamingFailoverData(entry.getValue()));
                     }
@@ -92,7 +92,7 @@ public class DiskCache {
             }
             
             for (File file : files) {
-                if (!file.isFile()) {
+                if (!file.isFile() || MappedDiskCache.SNAPSHOT_FILE_NAME.equals(file.getName())) {
                     continue;
                 }
                 domMap.putAll(parseServiceInfoFromCache(file));
@@ -0,0 +1,346 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.cache;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.lifecycle.Closeable;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
+
+/**
+ * Memory mapped disk cache, which stores all service infos into one snapshot file.
+ *
+ * <p>Different from {@link DiskCache}, which writes one json file for each service info and parses all files when
+ * reading, service infos are appended to the end of the mapped snapshot file, and positions of the latest records are
+ * kept as index in memory. So that updating service info is a sequential write, and service info is only parsed when
+ * it is read.
+ *
+ * <p>The snapshot file starts with magic and version, followed by records of
+ * {@code keyLength(int) valueLength(int) crc32(int) key value}. Scanning stops at the first record which is out of file
+ * or whose crc is not matched, so a record partially written by a crashed process is dropped. The snapshot file is
+ * compacted when the size of overwritten records is larger than the size of live records.
+ *
+ * @author Nacos
+ */
+public class MappedDiskCache implements Closeable {
+    
+    public static final String SNAPSHOT_FILE_NAME = "service-info.snapshot";
+    
+    private static final int MAGIC = 0x4E41434F;
+    
+    private static final int VERSION = 1;
+    
+    private static final int FILE_HEADER_SIZE = 8;
+    
+    private static final int RECORD_HEADER_SIZE = 12;
+    
+    private static final int INITIAL_MAPPED_SIZE = 1024 * 1024;
+    
+    private static final String COMPACT_FILE_SUFFIX = ".compact";
+    
+    private final File file;
+    
+    /**
+     * Position of the latest record of each service key.
+     */
+    private final Map<String, Integer> index = new HashMap<>(16);
+    
+    private FileChannel channel;
+    
+    private MappedByteBuffer buffer;
+    
+    private int writePosition;
+    
+    private int garbageSize;
+    
+    public MappedDiskCache(String dir) throws IOException {
+        File cacheDir = new File(dir);
+        DiskCache.createFileIfAbsent(cacheDir, true);
+        this.file = new File(cacheDir, SNAPSHOT_FILE_NAME);
+        open();
+    }
+    
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(checkSize(channel), INITIAL_MAPPED_SIZE));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        index.clear();
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            if (buffer.getInt(0) != 0) {
+                NAMING_LOGGER.warn("[NA] unknown format of snapshot file {}, rebuild it", file.getPath());
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(FILE_HEADER_SIZE, 0);
+            writePosition = FILE_HEADER_SIZE;
+            garbageSize = 0;
+            return;
+        }
+        writePosition = scan(buffer, index);
+        int liveSize = 0;
+        for (int each : index.values()) {
+            liveSize += recordSize(buffer, each);
+        }
+        garbageSize = writePosition - FILE_HEADER_SIZE - liveSize;
+    }
+    
+    /**
+     * Write service info to the end of snapshot file.
+     *
+     * @param serviceInfo service info
+     * @throws IOException if snapshot file can't be extended or compacted
+     */
+    public synchronized void write(ServiceInfo serviceInfo) throws IOException {
+        String json = serviceInfo.getJsonFromServer();
+        if (StringUtils.isEmpty(json)) {
+            json = JacksonUtils.toJson(serviceInfo);
+        }
+        byte[] key = serviceInfo.getKey().getBytes(StandardCharsets.UTF_8);
+        byte[] value = json.getBytes(StandardCharsets.UTF_8);
+        int recordSize = RECORD_HEADER_SIZE + key.length + value.length;
+        ensureCapacity(recordSize + 4);
+        CRC32 crc32 = new CRC32();
+        crc32.update(key);
+        crc32.update(value);
+        int position = writePosition;
+        buffer.position(position + RECORD_HEADER_SIZE);
+        buffer.put(key);
+        buffer.put(value);
+        buffer.putInt(position + recordSize, 0);
+        // write record header at last, so a partially written record can't be scanned.
+        buffer.putInt(position + 8, (int) crc32.getValue());
+        buffer.putInt(position + 4, value.length);
+        buffer.putInt(position, key.length);
+        writePosition = position + recordSize;
+        Integer previous = index.put(serviceInfo.getKey(), position);
+        if (null != previous) {
+            garbageSize += recordSize(buffer, previous);
+        }
+        if (writePosition > INITIAL_MAPPED_SIZE / 2 && garbageSize > writePosition - FILE_HEADER_SIZE - garbageSize) {
+            compact();
+        }
+    }
+    
+    /**
+     * Read service info from snapshot file.
+     *
+     * @param key key of service info
+     * @return service info, or {@code null} if not found or broken
+     */
+    public ServiceInfo read(String key) {
+        byte[] value;
+        synchronized (this) {
+            Integer position = index.get(key);
+            if (null == position) {
+                return null;
+            }
+            value = readValue(buffer, position);
+        }
+        return parse(key, value);
+    }
+    
+    /**
+     * Read all service infos from snapshot file.
+     *
+     * @return service infos
+     */
+    public Map<String, ServiceInfo> readAll() {
+        Map<String, ServiceInfo> result = new HashMap<>(16);
+        for (String each : keySet()) {
+            ServiceInfo serviceInfo = read(each);
+            if (null != serviceInfo) {
+                result.put(each, serviceInfo);
+            }
+        }
+        return result;
+    }
+    
+    public synchronized Set<String> keySet() {
+        return new HashSet<>(index.keySet());
+    }
+    
+    public synchronized boolean isEmpty() {
+        return index.isEmpty();
+    }
+    
+    @Override
+    public synchronized void shutdown() throws NacosException {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            NAMING_LOGGER.warn("[NA] close snapshot file {} failed", file.getPath(), e);
+        }
+    }
+    
+    /**
+     * Read all service infos from a snapshot file without changing it, such as snapshot file copied as failover data.
+     *
+     * @param file snapshot file
+     * @return service infos
+     */
+    public static Map<String, ServiceInfo> readSnapshot(File file) {
+        Map<String, ServiceInfo> result = new HashMap<>(16);
+        try (FileChannel readChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, checkSize(readChannel));
+            if (readBuffer.limit() < FILE_HEADER_SIZE || readBuffer.getInt(0) != MAGIC
+                    || readBuffer.getInt(4) != VERSION) {
+                NAMING_LOGGER.warn("[NA] unknown format of snapshot file {}, ignore it", file.getPath());
+                return result;
+            }
+            Map<String, Integer> positions = new HashMap<>(16);
+            scan(readBuffer, positions);
+            for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+                ServiceInfo serviceInfo = parse(entry.getKey(), readValue(readBuffer, entry.getValue()));
+                if (null != serviceInfo) {
+                    result.put(entry.getKey(), serviceInfo);
+                }
+            }
+        } catch (IOException e) {
+            NAMING_LOGGER.error("[NA] failed to read snapshot file: " + file.getPath(), e);
+        }
+        return result;
+    }
+    
+    private void ensureCapacity(int size) throws IOException {
+        if ((long) writePosition + size <= buffer.capacity()) {
+            return;
+        }
+        long newCapacity = Math.max((long) buffer.capacity() * 2, (long) writePosition + size);
+        if (newCapacity > Integer.MAX_VALUE) {
+            throw new IOException("snapshot file is too large: " + file.getPath());
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+    }
+    
+    /**
+     * Write live records into a new snapshot file and replace the current one.
+     */
+    private void compact() throws IOException {
+        File compactFile = new File(file.getPath() + COMPACT_FILE_SUFFIX);
+        try (FileChannel compactChannel = FileChannel.open(compactFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(compactChannel, header);
+            for (int each : index.values()) {
+                ByteBuffer record = buffer.duplicate();
+                record.limit(each + recordSize(buffer, each)).position(each);
+                writeFully(compactChannel, record);
+            }
+            compactChannel.force(true);
+        }
+        buffer.force();
+        channel.close();
+        Files.move(compactFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        open();
+        NAMING_LOGGER.info("[NA] snapshot file {} compacted, size: {}", file.getPath(), writePosition);
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+    
+    private static long checkSize(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("snapshot file is too large, size: " + size);
+        }
+        return size;
+    }
+    
+    /**
+     * Scan records from file header, and put the position of the latest record of each key into positions.
+     *
+     * @return the end position of valid records
+     */
+    private static int scan(ByteBuffer buffer, Map<String, Integer> positions) {
+        int position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+            int keyLength = buffer.getInt(position);
+            int valueLength = buffer.getInt(position + 4);
+            if (keyLength <= 0 || valueLength < 0
+                    || (long) position + RECORD_HEADER_SIZE + keyLength + valueLength > buffer.limit()) {
+                break;
+            }
+            ByteBuffer content = buffer.duplicate();
+            content.limit(position + RECORD_HEADER_SIZE + keyLength + valueLength)
+                    .position(position + RECORD_HEADER_SIZE);
+            CRC32 crc32 = new CRC32();
+            crc32.update(content);
+            if (buffer.getInt(position + 8) != (int) crc32.getValue()) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            content.position(position + RECORD_HEADER_SIZE);
+            content.get(key);
+            positions.put(new String(key, StandardCharsets.UTF_8), position);
+            position += RECORD_HEADER_SIZE + keyLength + valueLength;
+        }
+        return position;
+    }
+    
+    private static int recordSize(ByteBuffer buffer, int position) {
+        return RECORD_HEADER_SIZE + buffer.getInt(position) + buffer.getInt(position + 4);
+    }
+    
+    private static byte[] readValue(ByteBuffer buffer, int position) {
+        byte[] result = new byte[buffer.getInt(position + 4)];
+        ByteBuffer value = buffer.duplicate();
+        value.position(position + RECORD_HEADER_SIZE + buffer.getInt(position));
+        value.get(result);
+        return result;
+    }
+    
+    private static ServiceInfo parse(String key, byte[] value) {
+        String json = new String(value, StandardCharsets.UTF_8);
+        try {
+            ServiceInfo result = JacksonUtils.toObj(json, ServiceInfo.class);
+            result.setJsonFromServer(json);
+            return result;
+        } catch (Exception e) {
+            NAMING_LOGGER.error("[NA] error while parsing snapshot of service: " + key, e);
+            return null;
+        }
+    }
+}
@@ -45,8 +45,18 @@ import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
  */
 public class ServiceInfoHolder implements Closeable {
     
+    /**
+     * Revision of service info which is not pushed by server with revision, such as query result and disk cache.
+     */
+    public static final long UNVERSIONED_REVISION = 0L;
+    
     private final ConcurrentMap<String, ServiceInfo> serviceInfoMap;
     
+    /**
+     * Revisions of service info pushed by server, used to check whether an incremental push can be applied.
+     */
+    private final ConcurrentMap<String, Long> serviceInfoRevisions = new ConcurrentHashMap<>(16);
+    
     private final FailoverReactor failoverReactor;
     
     private final boolean pushEmptyProtection;
@@ -55,13 +65,29 @@ public class ServiceInfoHolder implements Closeable {
     
     private String notifierEventScope;
     
+    /**
+     * Mapped disk cache, {@code null} if service infos are cached by {@link DiskCache}.
+     */
+    private final MappedDiskCache mappedDiskCache;
+    
+    /**
+     * Whether service info in mapped disk cache should be loaded when it is not in memory.
+     */
+    private final boolean lazyLoadMappedDiskCache;
+    
     public ServiceInfoHolder(String namespace, String notifierEventScope, NacosClientProperties properties) {
         cacheDir = CacheDirUtil.initCacheDir(namespace, properties);
-        if (isLoadCacheAtStart(properties)) {
+        this.mappedDiskCache = isMappedSnapshot(properties) ? openMappedDiskCache(cacheDir) : null;
+        boolean loadCacheAtStart = isLoadCacheAtStart(properties);
+        if (loadCacheAtStart && null == mappedDiskCache) {
             this.serviceInfoMap = new ConcurrentHashMap<>(DiskCache.read(this.cacheDir));
         } else {
             this.serviceInfoMap = new ConcurrentHashMap<>(16);
         }
+        if (loadCacheAtStart && null != mappedDiskCache && mappedDiskCache.isEmpty()) {
+            migrateToMappedDiskCache();
+        }
+        this.lazyLoadMappedDiskCache = loadCacheAtStart && null != mappedDiskCache;
         this.failoverReactor = new FailoverReactor(this, notifierEventScope);
         this.pushEmptyProtection = isPushEmptyProtect(properties);
         this.notifierEventScope = notifierEventScope;
@@ -77,6 +103,45 @@ public class ServiceInfoHolder implements Closeable {
         return loadCacheAtStart;
     }
     
+    private boolean isMappedSnapshot(NacosClientProperties properties) {
+        return properties != null && ConvertUtils.toBoolean(
+                properties.getProperty(PropertyKeyConst.NAMING_CACHE_MAPPED_SNAPSHOT), false);
+    }
+    
+    private static MappedDiskCache openMappedDiskCache(String cacheDir) {
+        try {
+            return new MappedDiskCache(cacheDir);
+        } catch (Throwable e) {
+            NAMING_LOGGER.error("[NA] failed to open mapped disk cache, use disk cache instead", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Migrate service infos cached by {@link DiskCache} into the empty mapped disk cache.
+     */
+    private void migrateToMappedDiskCache() {
+        Map<String, ServiceInfo> oldCache = DiskCache.read(cacheDir);
+        for (ServiceInfo each : oldCache.values()) {
+            writeDiskCache(each);
+        }
+        if (!oldCache.isEmpty()) {
+            NAMING_LOGGER.info("[NA] migrate {} service infos into mapped disk cache", oldCache.size());
+        }
+    }
+    
+    private void writeDiskCache(ServiceInfo serviceInfo) {
+        if (null == mappedDiskCache) {
+            DiskCache.write(serviceInfo, cacheDir);
+            return;
+        }
+        try {
+            mappedDiskCache.write(serviceInfo);
+        } catch (Throwable e) {
+            NAMING_LOGGER.error("[NA] failed to write mapped disk cache for dom:" + serviceInfo.getName(), e);
+        }
+    }
+    
     private boolean isPushEmptyProtect(NacosClientProperties properties) {
         boolean pushEmptyProtection = false;
         if (properties != null && StringUtils.isNotEmpty(
@@ -94,7 +159,20 @@ public class ServiceInfoHolder implements Closeable {
     public ServiceInfo getServiceInfo(final String serviceName, final String groupName, final String clusters) {
         String groupedServiceName = NamingUtils.getGroupedName(serviceName, groupName);
         String key = ServiceInfo.getKey(groupedServiceName, clusters);
-        return serviceInfoMap.get(key);
+        ServiceInfo result = serviceInfoMap.get(key);
+        if (null == result && lazyLoadMappedDiskCache) {
+            result = loadFromMappedDiskCache(key);
+        }
+        return result;
+    }
+    
+    private ServiceInfo loadFromMappedDiskCache(String key) {
+        ServiceInfo cached = mappedDiskCache.read(key);
+        if (null == cached || null == cached.getHosts()) {
+            return null;
+        }
+        ServiceInfo exist = serviceInfoMap.putIfAbsent(key, cached);
+        return null == exist ? cached : exist;
     }
     
     /**
@@ -116,6 +194,77 @@ public class ServiceInfoHolder implements Closeable {
      * @return service info
      */
     public ServiceInfo processServiceInfo(ServiceInfo serviceInfo) {
+        return processServiceInfo(serviceInfo, UNVERSIONED_REVISION);
+    }
+    
+    /**
+     * Process service info with revision pushed by server.
+     *
+     * @param serviceInfo new service info
+     * @param revision    revision of new service info, {@link #UNVERSIONED_REVISION} if not versioned
+     * @return service info
+     */
+    public synchronized ServiceInfo processServiceInfo(ServiceInfo serviceInfo, long revision) {
+        ServiceInfo result = doProcessServiceInfo(serviceInfo);
+        String serviceKey = serviceInfo.getKey();
+        if (null != serviceKey) {
+            if (result == serviceInfo && revision != UNVERSIONED_REVISION) {
+                serviceInfoRevisions.put(serviceKey, revision);
+            } else {
+                serviceInfoRevisions.remove(serviceKey);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Process incremental service info pushed by server. The changes can only be applied to the service info of base
+     * revision, otherwise server should push the full service info again.
+     *
+     * @param changedServiceInfo service info which only contains added and changed instances
+     * @param removedInstances   removed instances
+     * @param baseRevision       revision of service info which the changes based on
+     * @param revision           revision of service info after changes applied
+     * @return service info after changes applied, or {@code null} if local service info is not the base revision
+     */
+    public synchronized ServiceInfo processIncrementalServiceInfo(ServiceInfo changedServiceInfo,
+            List<Instance> removedInstances, long baseRevision, long revision) {
+        String serviceKey = changedServiceInfo.getKey();
+        ServiceInfo oldService = null == serviceKey ? null : serviceInfoMap.get(serviceKey);
+        Long localRevision = null == serviceKey ? null : serviceInfoRevisions.get(serviceKey);
+        if (null == oldService || null == localRevision || localRevision != baseRevision) {
+            NAMING_LOGGER.warn("[DELTA-PUSH] base revision {} not matched local revision {} for service {}",
+                    baseRevision, localRevision, serviceKey);
+            return null;
+        }
+        Map<String, Instance> hostMap = new LinkedHashMap<>(oldService.getHosts().size() * 4 / 3 + 1);
+        for (Instance each : oldService.getHosts()) {
+            hostMap.put(NamingUtils.getInstanceKey(each), each);
+        }
+        if (null != removedInstances) {
+            for (Instance each : removedInstances) {
+                hostMap.remove(NamingUtils.getInstanceKey(each));
+            }
+        }
+        if (null != changedServiceInfo.getHosts()) {
+            for (Instance each : changedServiceInfo.getHosts()) {
+                hostMap.put(NamingUtils.getInstanceKey(each), each);
+            }
+        }
+        ServiceInfo newService = new ServiceInfo();
+        newService.setName(changedServiceInfo.getName());
+        newService.setGroupName(changedServiceInfo.getGroupName());
+        newService.setClusters(changedServiceInfo.getClusters());
+        newService.setCacheMillis(changedServiceInfo.getCacheMillis());
+        newService.setLastRefTime(changedServiceInfo.getLastRefTime());
+        newService.setChecksum(changedServiceInfo.getChecksum());
+        newService.setAllIPs(changedServiceInfo.isAllIPs());
+        newService.setReachProtectionThreshold(changedServiceInfo.isReachProtectionThreshold());
+        newService.setHosts(new ArrayList<>(hostMap.values()));
+        return processServiceInfo(newService, revision);
+    }
+    
+    private ServiceInfo doProcessServiceInfo(ServiceInfo serviceInfo) {
         String serviceKey = serviceInfo.getKey();
         if (serviceKey == null) {
             NAMING_LOGGER.warn("process service info but serviceKey is null, service host: {}",
@@ -143,7 +292,7 @@ public class ServiceInfoHolder implements Closeable {
                         new InstancesChangeEvent(notifierEventScope, serviceInfo.getName(), serviceInfo.getGroupName(),
                                 serviceInfo.getClusters(), serviceInfo.getHosts()));
             }
-            DiskCache.write(serviceInfo, cacheDir);
+            writeDiskCache(serviceInfo);
         }
         return serviceInfo;
     }
@@ -248,6 +397,9 @@ public class ServiceInfoHolder implements Closeable {
         String className = this.getClass().getName();
         NAMING_LOGGER.info("{} do shutdown begin", className);
         failoverReactor.shutdown();
+        if (null != mappedDiskCache) {
+            mappedDiskCache.shutdown();
+        }
         NAMING_LOGGER.info("{} do shutdown stop", className);
     }
 }
@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -41,8 +43,18 @@ public class NamingPushRequestHandler implements ServerRequestHandler {
     public Response requestReply(Request request, Connection connection) {
         if (request instanceof NotifySubscriberRequest) {
             NotifySubscriberRequest notifyRequest = (NotifySubscriberRequest) request;
-            serviceInfoHolder.processServiceInfo(notifyRequest.getServiceInfo());
-            return new NotifySubscriberResponse();
+            if (!notifyRequest.isIncremental()) {
+                serviceInfoHolder.processServiceInfo(notifyRequest.getServiceInfo(), notifyRequest.getRevision());
+                return new NotifySubscriberResponse();
+            }
+            NotifySubscriberResponse response = new NotifySubscriberResponse();
+            ServiceInfo result = serviceInfoHolder.processIncrementalServiceInfo(notifyRequest.getServiceInfo(),
+                    notifyRequest.getRemovedInstances(), notifyRequest.getBaseRevision(), notifyRequest.getRevision());
+            if (null == result) {
+                // let server push full service info instead.
+                response.setErrorInfo(NacosException.CONFLICT, "Base revision of incremental push not matched.");
+            }
+            return response;
         }
         return null;
     }
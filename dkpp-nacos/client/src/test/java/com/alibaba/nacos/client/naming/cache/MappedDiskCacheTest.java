@@ -0,0 +1,147 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.cache;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappedDiskCacheTest {
+    
+    private static final String CACHE_DIR = MappedDiskCacheTest.class.getResource("/").getPath() + "mapped-cache/";
+    
+    private MappedDiskCache mappedDiskCache;
+    
+    @Before
+    public void setUp() throws Exception {
+        mappedDiskCache = new MappedDiskCache(CACHE_DIR);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        mappedDiskCache.shutdown();
+        File file = new File(CACHE_DIR);
+        if (file.exists() && file.list().length > 0) {
+            for (File each : file.listFiles()) {
+                each.delete();
+            }
+            file.delete();
+        }
+    }
+    
+    @Test
+    public void testWriteAndRead() throws Exception {
+        ServiceInfo serviceInfo = createServiceInfo("testName", "1.1.1.1");
+        mappedDiskCache.write(serviceInfo);
+        ServiceInfo actual = mappedDiskCache.read(serviceInfo.getKey());
+        assertServiceInfo(serviceInfo, actual);
+        assertNull(mappedDiskCache.read("G@@notExist"));
+    }
+    
+    @Test
+    public void testReopen() throws Exception {
+        mappedDiskCache.write(createServiceInfo("testName", "1.1.1.1"));
+        mappedDiskCache.write(createServiceInfo("testName2", "1.1.1.2"));
+        ServiceInfo updated = createServiceInfo("testName", "1.1.1.3");
+        mappedDiskCache.write(updated);
+        mappedDiskCache.shutdown();
+        mappedDiskCache = new MappedDiskCache(CACHE_DIR);
+        assertEquals(2, mappedDiskCache.keySet().size());
+        assertServiceInfo(updated, mappedDiskCache.read(updated.getKey()));
+        Map<String, ServiceInfo> actual = MappedDiskCache.readSnapshot(
+                new File(CACHE_DIR, MappedDiskCache.SNAPSHOT_FILE_NAME));
+        assertEquals(2, actual.size());
+        assertServiceInfo(updated, actual.get(updated.getKey()));
+    }
+    
+    @Test
+    public void testReopenWithBrokenRecord() throws Exception {
+        ServiceInfo serviceInfo = createServiceInfo("testName", "1.1.1.1");
+        mappedDiskCache.write(serviceInfo);
+        mappedDiskCache.write(createServiceInfo("testName2", "1.1.1.2"));
+        mappedDiskCache.shutdown();
+        File file = new File(CACHE_DIR, MappedDiskCache.SNAPSHOT_FILE_NAME);
+        int lastRecordPosition = 8 + 12 + serviceInfo.getKey().length() + serviceInfo.getJsonFromServer().length();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // break the value of the last record.
+            randomAccessFile.seek(lastRecordPosition + 20);
+            randomAccessFile.write('X');
+        }
+        mappedDiskCache = new MappedDiskCache(CACHE_DIR);
+        assertEquals(Collections.singleton(serviceInfo.getKey()), mappedDiskCache.keySet());
+        ServiceInfo newServiceInfo = createServiceInfo("testName3", "1.1.1.3");
+        mappedDiskCache.write(newServiceInfo);
+        assertServiceInfo(newServiceInfo, mappedDiskCache.read(newServiceInfo.getKey()));
+    }
+    
+    @Test
+    public void testCompact() throws Exception {
+        ServiceInfo serviceInfo = null;
+        for (int i = 0; i < 5000; i++) {
+            serviceInfo = createServiceInfo("testName" + (i % 10), "1.1.1." + (i % 256));
+            mappedDiskCache.write(serviceInfo);
+        }
+        File file = new File(CACHE_DIR, MappedDiskCache.SNAPSHOT_FILE_NAME);
+        assertTrue(file.length() <= 1024 * 1024);
+        assertEquals(10, mappedDiskCache.keySet().size());
+        assertServiceInfo(serviceInfo, mappedDiskCache.read(serviceInfo.getKey()));
+        mappedDiskCache.shutdown();
+        mappedDiskCache = new MappedDiskCache(CACHE_DIR);
+        assertEquals(10, mappedDiskCache.readAll().size());
+        assertServiceInfo(serviceInfo, mappedDiskCache.read(serviceInfo.getKey()));
+    }
+    
+    @Test
+    public void testReadSnapshotWithUnknownFile() throws Exception {
+        File file = new File(CACHE_DIR, "unknown");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.writeBytes("{\"name\":\"unknown\"}");
+        }
+        assertTrue(MappedDiskCache.readSnapshot(file).isEmpty());
+    }
+    
+    private ServiceInfo createServiceInfo(String serviceName, String ip) {
+        ServiceInfo serviceInfo = new ServiceInfo("G@@" + serviceName, "testClusters");
+        Instance instance = new Instance();
+        instance.setClusterName("testClusters");
+        instance.setIp(ip);
+        instance.setPort(1234);
+        instance.setServiceName(serviceName);
+        serviceInfo.setHosts(Collections.singletonList(instance));
+        serviceInfo.setJsonFromServer(JacksonUtils.toJson(serviceInfo));
+        return serviceInfo;
+    }
+    
+    private void assertServiceInfo(ServiceInfo expected, ServiceInfo actual) {
+        assertEquals(expected.getKey(), actual.getKey());
+        assertEquals(expected.getHosts().size(), actual.getHosts().size());
+        assertEquals(expected.getHosts().get(0).getIp(), actual.getHosts().get(0).getIp());
+        assertEquals(expected.getHosts().get(0).getPort(), actual.getHosts().get(0).getPort());
+    }
+}
@@ -29,8 +29,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -168,6 +170,49 @@ public class ServiceInfoHolderTest {
         Assert.assertEquals(expect.getHosts().get(0), actual.getHosts().get(0));
     }
     
+    @Test
+    public void testProcessIncrementalServiceInfo() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        hosts.add(createInstance("1.1.1.2", 2));
+        info.setHosts(hosts);
+        holder.processServiceInfo(info, 1L);
+        
+        ServiceInfo changed = new ServiceInfo("a@@b@@c");
+        Instance changedInstance = createInstance("1.1.1.1", 1);
+        changedInstance.setWeight(2.0);
+        List<Instance> changedHosts = new ArrayList<>();
+        changedHosts.add(changedInstance);
+        changedHosts.add(createInstance("1.1.1.3", 3));
+        changed.setHosts(changedHosts);
+        List<Instance> removed = new ArrayList<>();
+        removed.add(createInstance("1.1.1.2", 2));
+        ServiceInfo actual = holder.processIncrementalServiceInfo(changed, removed, 1L, 2L);
+        
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(2, actual.getHosts().size());
+        Assert.assertEquals(2.0, actual.getHosts().get(0).getWeight(), 0.0);
+        Assert.assertEquals("1.1.1.3", actual.getHosts().get(1).getIp());
+        Assert.assertEquals(actual, holder.getServiceInfo("b", "a", "c"));
+        // apply again with the stale base revision should be rejected
+        Assert.assertNull(holder.processIncrementalServiceInfo(changed, removed, 1L, 3L));
+    }
+    
+    @Test
+    public void testProcessIncrementalServiceInfoWithoutRevision() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        info.setHosts(hosts);
+        holder.processServiceInfo(info, 1L);
+        // query result is not versioned and should reset the revision
+        holder.processServiceInfo(info);
+        ServiceInfo changed = new ServiceInfo("a@@b@@c");
+        Assert.assertNull(holder.processIncrementalServiceInfo(changed, null, 1L, 2L));
+        Assert.assertNull(holder.processIncrementalServiceInfo(new ServiceInfo("a@@b@@d"), null, 0L, 1L));
+    }
+    
     @Test
     public void testShutdown() throws NacosException, NoSuchFieldException, IllegalAccessException {
         Field field = ServiceInfoHolder.class.getDeclaredField("failoverReactor");
@@ -191,6 +236,53 @@ public class ServiceInfoHolderTest {
         Assert.assertTrue(holder.getServiceInfoMap().isEmpty());
     }
     
+    @Test
+    public void testConstructWithMappedCacheLoad() throws NacosException {
+        nacosClientProperties.setProperty(PropertyKeyConst.NAMING_LOAD_CACHE_AT_START, "true");
+        nacosClientProperties.setProperty(PropertyKeyConst.NAMING_CACHE_MAPPED_SNAPSHOT, "true");
+        nacosClientProperties.setProperty(PropertyKeyConst.NAMING_CACHE_REGISTRY_DIR, "mapped");
+        holder.shutdown();
+        holder = new ServiceInfoHolder("aa", "scope-001", nacosClientProperties);
+        File snapshotFile = new File(holder.getCacheDir(), MappedDiskCache.SNAPSHOT_FILE_NAME);
+        try {
+            ServiceInfo info = new ServiceInfo("a@@b@@c");
+            info.setHosts(Collections.singletonList(createInstance("1.1.1.1", 1)));
+            holder.processServiceInfo(info);
+            holder.shutdown();
+            
+            holder = new ServiceInfoHolder("aa", "scope-001", nacosClientProperties);
+            Assert.assertTrue(holder.getServiceInfoMap().isEmpty());
+            ServiceInfo actual = holder.getServiceInfo("b", "a", "c");
+            Assert.assertEquals(info.getKey(), actual.getKey());
+            Assert.assertEquals(1, actual.getHosts().size());
+            Assert.assertEquals(actual, holder.getServiceInfoMap().get(info.getKey()));
+            Assert.assertNull(holder.getServiceInfo("b", "a", "d"));
+        } finally {
+            holder.shutdown();
+            snapshotFile.delete();
+        }
+    }
+    
+    @Test
+    public void testProcessServiceInfoWithDiskCache() throws NacosException {
+        nacosClientProperties.setProperty(PropertyKeyConst.NAMING_CACHE_MAPPED_SNAPSHOT, "false");
+        nacosClientProperties.setProperty(PropertyKeyConst.NAMING_CACHE_REGISTRY_DIR, "disk");
+        holder.shutdown();
+        holder = new ServiceInfoHolder("aa", "scope-001", nacosClientProperties);
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        info.setHosts(Collections.singletonList(createInstance("1.1.1.1", 1)));
+        File cacheFile = new File(holder.getCacheDir(), info.getKeyEncoded());
+        try {
+            Assert.assertEquals(info, holder.processServiceInfo(info));
+            ServiceInfo cached = DiskCache.read(holder.getCacheDir()).get(info.getKey());
+            Assert.assertNotNull(cached);
+            Assert.assertEquals(1, cached.getHosts().size());
+        } finally {
+            holder.shutdown();
+            cacheFile.delete();
+        }
+    }
+    
     @Test
     public void testIsFailoverSwitch() throws IllegalAccessException, NoSuchFieldException, NacosException {
         FailoverReactor mock = injectMockFailoverReactor();
@@ -18,6 +18,8 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
@@ -30,6 +32,9 @@ import com.alibaba.nacos.common.remote.client.RpcClient;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 
 public class NamingPushRequestHandlerTest {
@@ -45,7 +50,32 @@ public class NamingPushRequestHandlerTest {
         Response response = handler.requestReply(req, new TestConnection(new RpcClient.ServerInfo()));
         //then
         Assert.assertTrue(response instanceof NotifySubscriberResponse);
-        verify(holder, times(1)).processServiceInfo(info);
+        verify(holder, times(1)).processServiceInfo(info, ServiceInfoHolder.UNVERSIONED_REVISION);
+    }
+    
+    @Test
+    public void testRequestReplyIncremental() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        ServiceInfo info = new ServiceInfo("name", "cluster1");
+        List<Instance> removed = Collections.singletonList(new Instance());
+        Request req = NotifySubscriberRequest.buildIncrementalNotifySubscriberRequest(info, removed, 1L, 2L);
+        when(holder.processIncrementalServiceInfo(info, removed, 1L, 2L)).thenReturn(info);
+        Response response = handler.requestReply(req, new TestConnection(new RpcClient.ServerInfo()));
+        Assert.assertTrue(response.isSuccess());
+        verify(holder, times(1)).processIncrementalServiceInfo(info, removed, 1L, 2L);
+    }
+    
+    @Test
+    public void testRequestReplyIncrementalNotMatched() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        ServiceInfo info = new ServiceInfo("name", "cluster1");
+        Request req = NotifySubscriberRequest
+                .buildIncrementalNotifySubscriberRequest(info, Collections.emptyList(), 1L, 2L);
+        Response response = handler.requestReply(req, new TestConnection(new RpcClient.ServerInfo()));
+        Assert.assertFalse(response.isSuccess());
+        Assert.assertEquals(NacosException.CONFLICT, response.getErrorCode());
     }
     
     @Test
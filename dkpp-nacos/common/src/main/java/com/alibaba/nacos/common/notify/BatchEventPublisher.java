@@ -0,0 +1,369 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event publisher which stages events in {@link EventRingBuffer} and handles them in batch.
+ *
+ * <p>Compared with {@link DefaultPublisher}:
+ * <ul>
+ *     <li>Producers don't contend on one lock of a blocking queue.</li>
+ *     <li>Events of one batch which implement {@link CoalescableEvent} with the same type and key are coalesced to
+ *     the latest one if coalescing enabled.</li>
+ *     <li>Subscribers which declare {@link Subscriber#isThreadSafe()} are notified in parallel by the dispatch
+ *     executor, others are still notified in order by the publisher thread.</li>
+ * </ul>
+ *
+ * @author Nacos
+ */
+public class BatchEventPublisher extends Thread implements ShardedEventPublisher {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final String THREAD_NAME = "nacos.batch.publisher-";
+    
+    private static final int DEFAULT_WAIT_TIME = 60;
+    
+    private static final long AWAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    private final Map<Class<? extends Event>, Set<Subscriber<? extends Event>>> subscribes = new ConcurrentHashMap<>();
+    
+    private final int batchSize;
+    
+    private final boolean coalesceEnabled;
+    
+    private final Executor dispatchExecutor;
+    
+    private final int dispatchParallelism;
+    
+    private final AtomicLong handledCount = new AtomicLong();
+    
+    private final AtomicLong coalescedCount = new AtomicLong();
+    
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    
+    private final AtomicLong lastEventSequence = new AtomicLong(-1L);
+    
+    private volatile boolean initialized = false;
+    
+    private volatile boolean shutdown = false;
+    
+    private EventRingBuffer ringBuffer;
+    
+    private String publisherName;
+    
+    /**
+     * Create publisher with default settings of {@link BatchEventPublisherFactory}, used when loaded by SPI.
+     */
+    public BatchEventPublisher() {
+        this(BatchEventPublisherFactory.getInstance().getBatchSize(),
+                BatchEventPublisherFactory.getInstance().isCoalesceEnabled(),
+                BatchEventPublisherFactory.getInstance().getDispatchExecutor(),
+                BatchEventPublisherFactory.getInstance().getDispatchThreads());
+    }
+    
+    /**
+     * Create publisher.
+     *
+     * @param batchSize           max events handled in one batch
+     * @param coalesceEnabled     whether to coalesce {@link CoalescableEvent}
+     * @param dispatchExecutor    executor to notify thread safe subscribers, {@code null} to notify all subscribers in
+     *                            publisher thread
+     * @param dispatchParallelism max parallel jobs of one batch for thread safe subscribers
+     */
+    public BatchEventPublisher(int batchSize, boolean coalesceEnabled, Executor dispatchExecutor,
+            int dispatchParallelism) {
+        this.batchSize = Math.max(1, batchSize);
+        this.coalesceEnabled = coalesceEnabled;
+        this.dispatchExecutor = dispatchExecutor;
+        this.dispatchParallelism = Math.max(1, dispatchParallelism);
+    }
+    
+    @Override
+    public void init(Class<? extends Event> type, int bufferSize) {
+        this.ringBuffer = new EventRingBuffer(bufferSize);
+        this.publisherName = type.getSimpleName();
+        super.setName(THREAD_NAME + this.publisherName);
+        super.setDaemon(true);
+        super.start();
+        initialized = true;
+    }
+    
+    @Override
+    public long currentEventSize() {
+        return ringBuffer.size();
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber) {
+        addSubscriber(subscriber, subscriber.subscribeType());
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber, Class<? extends Event> subscribeType) {
+        subscribes.computeIfAbsent(subscribeType, inputType -> new ConcurrentHashSet<>()).add(subscriber);
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber) {
+        removeSubscriber(subscriber, subscriber.subscribeType());
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber, Class<? extends Event> subscribeType) {
+        subscribes.computeIfPresent(subscribeType, (inputType, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+    
+    @Override
+    public boolean publish(Event event) {
+        checkIsStart();
+        if (!ringBuffer.offer(event)) {
+            LOGGER.warn("Unable to plug in due to buffer full, synchronize sending time, event : {}", event);
+            handleEvents(Collections.singletonList(event));
+        }
+        return true;
+    }
+    
+    @Override
+    public void notifySubscriber(Subscriber subscriber, Event event) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
+        }
+        final Runnable job = () -> subscriber.onEvent(event);
+        final Executor executor = subscriber.executor();
+        if (executor != null) {
+            executor.execute(job);
+        } else {
+            try {
+                job.run();
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            }
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        ringBuffer.wakeup();
+    }
+    
+    @Override
+    public void run() {
+        try {
+            waitSubscriberForInit();
+            handleBatches();
+        } catch (Throwable e) {
+            LOGGER.error("Batch Event Publisher {}, stop to handle event due to unexpected exception: ",
+                    this.publisherName, e);
+        }
+    }
+    
+    private void waitSubscriberForInit() {
+        // To ensure that messages are not lost, enable EventHandler when
+        // waiting for the first Subscriber to register
+        for (int waitTimes = DEFAULT_WAIT_TIME; waitTimes > 0; waitTimes--) {
+            if (shutdown || !subscribes.isEmpty()) {
+                break;
+            }
+            ThreadUtils.sleep(1000L);
+        }
+    }
+    
+    private void handleBatches() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (!shutdown) {
+            long firstPublishNanos = ringBuffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                ringBuffer.await(AWAIT_NANOS);
+                continue;
+            }
+            updateMaxLatency(System.nanoTime() - firstPublishNanos);
+            handleEvents(coalesceEnabled ? coalesce(batch) : batch);
+            batch.clear();
+        }
+    }
+    
+    private void updateMaxLatency(long latencyNanos) {
+        long current;
+        do {
+            current = maxLatencyNanos.get();
+        } while (latencyNanos > current && !maxLatencyNanos.compareAndSet(current, latencyNanos));
+    }
+    
+    /**
+     * Keep the latest one of the events with same type and coalesce key, and keep the order of the left events.
+     */
+    private List<Event> coalesce(List<Event> batch) {
+        if (batch.size() < 2) {
+            return batch;
+        }
+        Set<Map.Entry<Class<?>, Object>> keys = null;
+        List<Event> result = new ArrayList<>(batch.size());
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            Event event = batch.get(i);
+            Object key = event instanceof CoalescableEvent ? ((CoalescableEvent) event).coalesceKey() : null;
+            if (null != key) {
+                if (null == keys) {
+                    keys = new HashSet<>();
+                }
+                if (!keys.add(new AbstractMap.SimpleImmutableEntry<>(event.getClass(), key))) {
+                    coalescedCount.incrementAndGet();
+                    continue;
+                }
+            }
+            result.add(event);
+        }
+        if (result.size() == batch.size()) {
+            return batch;
+        }
+        Collections.reverse(result);
+        return result;
+    }
+    
+    private void handleEvents(List<Event> events) {
+        List<Runnable> parallelJobs = null;
+        List<Runnable> sequentialJobs = new ArrayList<>(events.size());
+        long lastSequence = lastEventSequence.get();
+        for (Event event : events) {
+            final long currentEventSequence = event.sequence();
+            final long lastSequenceOfEvent = lastSequence;
+            lastSequence = Math.max(lastSequence, currentEventSequence);
+            Set<Subscriber<? extends Event>> subscribers = subscribes.get(event.getClass());
+            if (null == subscribers) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("[NotifyCenter] No subscribers for event {}", event.getClass().getName());
+                }
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.scopeMatches(event)) {
+                    continue;
+                }
+                // Whether to ignore expiration events
+                if (subscriber.ignoreExpireEvent() && lastSequenceOfEvent > currentEventSequence) {
+                    LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
+                            event.getClass());
+                    continue;
+                }
+                Runnable job = () -> notifySubscriber(subscriber, event);
+                if (null != dispatchExecutor && null == subscriber.executor() && subscriber.isThreadSafe()) {
+                    if (null == parallelJobs) {
+                        parallelJobs = new ArrayList<>();
+                    }
+                    parallelJobs.add(job);
+                } else {
+                    sequentialJobs.add(job);
+                }
+            }
+        }
+        lastEventSequence.accumulateAndGet(lastSequence, Math::max);
+        CountDownLatch latch = null == parallelJobs ? null : dispatchParallel(parallelJobs);
+        for (Runnable each : sequentialJobs) {
+            each.run();
+        }
+        if (null != latch) {
+            awaitParallel(latch);
+        }
+        handledCount.addAndGet(events.size());
+    }
+    
+    private CountDownLatch dispatchParallel(List<Runnable> jobs) {
+        int parallelism = Math.min(dispatchParallelism, jobs.size());
+        int chunkSize = (jobs.size() + parallelism - 1) / parallelism;
+        List<List<Runnable>> chunks = new ArrayList<>(parallelism);
+        for (int start = 0; start < jobs.size(); start += chunkSize) {
+            chunks.add(jobs.subList(start, Math.min(jobs.size(), start + chunkSize)));
+        }
+        CountDownLatch latch = new CountDownLatch(chunks.size());
+        for (List<Runnable> chunk : chunks) {
+            Runnable chunkJob = () -> {
+                try {
+                    chunk.forEach(Runnable::run);
+                } finally {
+                    latch.countDown();
+                }
+            };
+            try {
+                dispatchExecutor.execute(chunkJob);
+            } catch (RejectedExecutionException e) {
+                chunkJob.run();
+            }
+        }
+        return latch;
+    }
+    
+    private void awaitParallel(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            // don't keep the interrupted flag, otherwise the publisher thread can't park when idle.
+            LOGGER.warn("Batch Event Publisher {} wait parallel dispatch interrupted", this.publisherName, e);
+        }
+    }
+    
+    void checkIsStart() {
+        if (!initialized) {
+            throw new IllegalStateException("Publisher does not start");
+        }
+    }
+    
+    public long getHandledCount() {
+        return handledCount.get();
+    }
+    
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+    
+    /**
+     * Get the max latency from publishing to handling since last call, and reset it.
+     *
+     * @return max latency in milliseconds
+     */
+    public long getAndResetMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.getAndSet(0L));
+    }
+    
+    public String getStatus() {
+        return String.format("Publisher %-30s: shutdown=%5s, queue=%7d/%-7d, handled=%d, coalesced=%d", publisherName,
+                shutdown, currentEventSize(), ringBuffer.capacity(), getHandledCount(), getCoalescedCount());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Event publisher factory for {@link BatchEventPublisher}.
+ *
+ * <p>Settings are read from system properties like {@link NotifyCenter}:
+ * <ul>
+ *     <li>{@code nacos.core.notify.batch-size}: max events handled in one batch, default 256.</li>
+ *     <li>{@code nacos.core.notify.coalesce-enabled}: whether to coalesce {@link CoalescableEvent}, default true.</li>
+ *     <li>{@code nacos.core.notify.dispatch-threads}: threads to notify thread safe subscribers in parallel, 0 to
+ *     disable parallel dispatch, default suitable thread count of the machine.</li>
+ * </ul>
+ *
+ * @author Nacos
+ */
+public class BatchEventPublisherFactory implements EventPublisherFactory {
+    
+    private static final String BATCH_SIZE_PROPERTY = "nacos.core.notify.batch-size";
+    
+    private static final String COALESCE_ENABLED_PROPERTY = "nacos.core.notify.coalesce-enabled";
+    
+    private static final String DISPATCH_THREADS_PROPERTY = "nacos.core.notify.dispatch-threads";
+    
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    
+    private static final BatchEventPublisherFactory INSTANCE = new BatchEventPublisherFactory();
+    
+    private final Map<Class<? extends Event>, BatchEventPublisher> publisher = new ConcurrentHashMap<>();
+    
+    private final int batchSize;
+    
+    private final boolean coalesceEnabled;
+    
+    private final int dispatchThreads;
+    
+    private volatile ExecutorService dispatchExecutor;
+    
+    private BatchEventPublisherFactory() {
+        batchSize = Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE);
+        coalesceEnabled = Boolean.parseBoolean(System.getProperty(COALESCE_ENABLED_PROPERTY, Boolean.TRUE.toString()));
+        dispatchThreads = Integer.getInteger(DISPATCH_THREADS_PROPERTY, ThreadUtils.getSuitableThreadCount(1));
+    }
+    
+    public static BatchEventPublisherFactory getInstance() {
+        return INSTANCE;
+    }
+    
+    @Override
+    public EventPublisher apply(final Class<? extends Event> eventType, final Integer maxQueueSize) {
+        return publisher.computeIfAbsent(eventType, eventClass -> newPublisher(eventClass, maxQueueSize));
+    }
+    
+    /**
+     * Create and init a new {@link BatchEventPublisher} with the settings of factory, which is not cached by factory.
+     *
+     * @param eventType    event type
+     * @param maxQueueSize max queue size
+     * @return new publisher
+     */
+    public BatchEventPublisher newPublisher(final Class<? extends Event> eventType, final int maxQueueSize) {
+        BatchEventPublisher result = new BatchEventPublisher(batchSize, coalesceEnabled, getDispatchExecutor(),
+                dispatchThreads);
+        result.init(eventType, maxQueueSize);
+        return result;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public boolean isCoalesceEnabled() {
+        return coalesceEnabled;
+    }
+    
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+    
+    /**
+     * Get the shared executor to notify thread safe subscribers, created when first used.
+     *
+     * @return dispatch executor, {@code null} if parallel dispatch disabled
+     */
+    public ExecutorService getDispatchExecutor() {
+        if (dispatchThreads <= 0) {
+            return null;
+        }
+        if (null == dispatchExecutor) {
+            synchronized (this) {
+                if (null == dispatchExecutor) {
+                    dispatchExecutor = ExecutorFactory.newFixedExecutorService(dispatchThreads,
+                            new NameThreadFactory("com.alibaba.nacos.common.notify.dispatcher"));
+                }
+            }
+        }
+        return dispatchExecutor;
+    }
+    
+    public String getAllPublisherStatues() {
+        StringBuilder result = new StringBuilder("Batch event publisher statues:\n");
+        for (BatchEventPublisher each : publisher.values()) {
+            result.append('\t').append(each.getStatus()).append('\n');
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+/**
+ * Event which can be coalesced with other events of the same type and key.
+ *
+ * <p>When several events of the same type and key are staged in one batch of {@link BatchEventPublisher}, only the
+ * latest one will be notified. So the event should only be used when handling the latest one is enough, such as
+ * refreshing a whole object.
+ *
+ * @author Nacos
+ */
+public interface CoalescableEvent {
+    
+    /**
+     * Key to coalesce events of the same type.
+     *
+     * @return coalesce key, {@code null} means never coalesce the event
+     */
+    Object coalesceKey();
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring buffer for events with multiple producers and a single consumer.
+ *
+ * <p>Producers claim a slot by CAS on the tail sequence and publish the event into the slot. The consumer drains the
+ * published events in batch and clears the slots before moving the head sequence, so there is no lock for both sides.
+ *
+ * @author Nacos
+ */
+public class EventRingBuffer {
+    
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    
+    private final int capacity;
+    
+    private final int mask;
+    
+    private final AtomicReferenceArray<Event> slots;
+    
+    private final long[] publishNanos;
+    
+    private final AtomicLong tail = new AtomicLong();
+    
+    private volatile long head;
+    
+    private volatile Thread waitingConsumer;
+    
+    public EventRingBuffer(int bufferSize) {
+        this.capacity = tableSizeFor(bufferSize);
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.publishNanos = new long[capacity];
+    }
+    
+    private static int tableSizeFor(int bufferSize) {
+        int result = 1;
+        while (result < bufferSize && result < MAXIMUM_CAPACITY) {
+            result <<= 1;
+        }
+        return result;
+    }
+    
+    /**
+     * Offer event into buffer.
+     *
+     * @param event event
+     * @return {@code false} if the buffer is full
+     */
+    public boolean offer(Event event) {
+        while (true) {
+            long current = tail.get();
+            if (current - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                int index = (int) (current & mask);
+                publishNanos[index] = System.nanoTime();
+                slots.lazySet(index, event);
+                Thread consumer = waitingConsumer;
+                if (null != consumer) {
+                    LockSupport.unpark(consumer);
+                }
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Drain published events into batch, should only be called by the consumer thread.
+     *
+     * @param batch   batch to add events
+     * @param maxSize max size to drain
+     * @return publish time by {@link System#nanoTime()} of the first drained event, meaningless if nothing drained
+     */
+    public long drainTo(List<Event> batch, int maxSize) {
+        long current = head;
+        long firstPublishNanos = 0L;
+        int count = 0;
+        while (count < maxSize) {
+            int index = (int) (current & mask);
+            Event event = slots.get(index);
+            if (null == event) {
+                // empty or the claimed slot is not published yet.
+                break;
+            }
+            if (0 == count) {
+                firstPublishNanos = publishNanos[index];
+            }
+            slots.lazySet(index, null);
+            batch.add(event);
+            current++;
+            count++;
+        }
+        if (count > 0) {
+            head = current;
+        }
+        return firstPublishNanos;
+    }
+    
+    /**
+     * Wait until some events offered or timeout, should only be called by the consumer thread.
+     *
+     * @param timeoutNanos max wait nanos
+     */
+    public void await(long timeoutNanos) {
+        waitingConsumer = Thread.currentThread();
+        try {
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            } else {
+                // some slot is claimed but not published.
+                Thread.yield();
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+    
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+    
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0L, Math.min(size, capacity));
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    /**
+     * Wake up the waiting consumer, such as for shutdown.
+     */
+    public void wakeup() {
+        Thread consumer = waitingConsumer;
+        if (null != consumer) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
@@ -61,6 +61,17 @@ public abstract class Subscriber<T extends Event> {
         return false;
     }
     
+    /**
+     * Whether the subscriber can be notified by multiple threads at the same time. If so, publishers which support
+     * parallel dispatch, such as {@link com.alibaba.nacos.common.notify.BatchEventPublisher}, may notify it in parallel
+     * and the events are not in order any more.
+     *
+     * @return default value is {@link Boolean#FALSE}
+     */
+    public boolean isThreadSafe() {
+        return false;
+    }
+    
     /**
      * Whether the event's scope matches current subscriber. Default implementation is all scopes matched.
      * If you override this method, it better to override related {@link com.alibaba.nacos.common.notify.Event#scope()}.
@@ -24,9 +24,11 @@ import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.codec.JsonPayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecManager;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import com.alibaba.nacos.common.utils.JacksonUtils;
-import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.UnsafeByteOperations;
@@ -43,6 +45,11 @@ import java.util.Map;
  */
 public class GrpcUtils {
     
+    /**
+     * Metadata header which carries the name of payload codec, absent means json.
+     */
+    public static final String PAYLOAD_CODEC_HEADER = "payloadCodec";
+    
     /**
      * convert request to payload.
      *
@@ -61,7 +68,7 @@ public class GrpcUtils {
         payloadBuilder.setMetadata(metaBuilder.build());
         
         // request body .
-        byte[] jsonBytes = convertRequestToByte(request);
+        byte[] jsonBytes = convertRequestToByte(request, PayloadCodecManager.getInstance().getJsonCodec());
         return payloadBuilder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes))).build();
         
     }
@@ -73,16 +80,30 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
+        return convert(request, PayloadCodecManager.getInstance().getJsonCodec());
+    }
+    
+    /**
+     * convert request to payload with the specified codec.
+     *
+     * @param request request.
+     * @param codec   codec to encode request body, which should be supported by remote.
+     * @return payload.
+     */
+    public static Payload convert(Request request, PayloadCodec codec) {
         
-        Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
-                .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
+        Metadata.Builder metaBuilder = Metadata.newBuilder().setType(request.getClass().getSimpleName())
+                .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders());
+        if (!JsonPayloadCodec.NAME.equals(codec.getName())) {
+            metaBuilder.putHeaders(PAYLOAD_CODEC_HEADER, codec.getName());
+        }
         
-        byte[] jsonBytes = convertRequestToByte(request);
+        byte[] bodyBytes = convertRequestToByte(request, codec);
         
         Payload.Builder builder = Payload.newBuilder();
         
-        return builder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(newMeta).build();
+        return builder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(bodyBytes)))
+                .setMetadata(metaBuilder.build()).build();
         
     }
     
@@ -100,12 +121,14 @@ public class GrpcUtils {
                 .setMetadata(metaBuilder.build()).build();
     }
     
-    private static byte[] convertRequestToByte(Request request) {
+    private static byte[] convertRequestToByte(Request request, PayloadCodec codec) {
         Map<String, String> requestHeaders = new HashMap<>(request.getHeaders());
         request.clearHeaders();
-        byte[] jsonBytes = JacksonUtils.toJsonBytes(request);
-        request.putAllHeader(requestHeaders);
-        return jsonBytes;
+        try {
+            return codec.encode(request);
+        } finally {
+            request.putAllHeader(requestHeaders);
+        }
     }
     
     /**
@@ -117,11 +140,20 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
+            Map<String, String> headers = payload.getMetadata().getHeadersMap();
+            String codecName = headers.get(PAYLOAD_CODEC_HEADER);
+            PayloadCodec codec = PayloadCodecManager.getInstance().getCodec(codecName);
+            if (null == codec) {
+                throw new RemoteException(NacosException.SERVER_ERROR, "Unknown payload codec:" + codecName);
+            }
             ByteString byteString = payload.getBody().getValue();
             ByteBuffer byteBuffer = byteString.asReadOnlyByteBuffer();
-            Object obj = JacksonUtils.toObj(new ByteBufferBackedInputStream(byteBuffer), classType);
+            Object obj = codec.decode(byteBuffer, classType);
             if (obj instanceof Request) {
-                ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
+                ((Request) obj).putAllHeader(headers);
+                if (null != codecName) {
+                    ((Request) obj).getHeaders().remove(PAYLOAD_CODEC_HEADER);
+                }
             }
             return obj;
         } else {
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.remote.exception.RemoteException;
+import com.alibaba.nacos.common.spi.NacosServiceLoader;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary payload codec. Each supported payload type has a hand-written {@link BinaryPayloadSerializer}, which
+ * writes fields in fixed order without field names and reflection. Extra serializers can be added by SPI of
+ * {@link BinaryPayloadSerializer}.
+ *
+ * @author Nacos
+ */
+public class BinaryPayloadCodec implements PayloadCodec {
+    
+    public static final String NAME = "binary";
+    
+    /**
+     * Format version written as the first byte of body, for compatible changes in the future.
+     */
+    private static final int FORMAT_VERSION = 1;
+    
+    private static final ThreadLocal<BinaryPayloadWriter> WRITER = ThreadLocal.withInitial(BinaryPayloadWriter::new);
+    
+    private final Map<Class<?>, BinaryPayloadSerializer<?>> serializers = new HashMap<>();
+    
+    public BinaryPayloadCodec() {
+        register(new BinaryPayloadSerializers.ConfigBatchListenRequestSerializer());
+        register(new BinaryPayloadSerializers.ConfigChangeNotifyRequestSerializer());
+        register(new BinaryPayloadSerializers.InstanceRequestSerializer());
+        register(new BinaryPayloadSerializers.NotifySubscriberRequestSerializer());
+        for (BinaryPayloadSerializer<?> each : NacosServiceLoader.load(BinaryPayloadSerializer.class)) {
+            register(each);
+        }
+    }
+    
+    private void register(BinaryPayloadSerializer<?> serializer) {
+        serializers.put(serializer.payloadType(), serializer);
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public boolean isSupport(Class<?> payloadType) {
+        return serializers.containsKey(payloadType);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object payload) {
+        BinaryPayloadSerializer<Object> serializer = (BinaryPayloadSerializer<Object>) getSerializer(
+                payload.getClass());
+        BinaryPayloadWriter writer = WRITER.get();
+        writer.reset();
+        writer.writeByte(FORMAT_VERSION);
+        serializer.write(payload, writer);
+        return writer.toByteArray();
+    }
+    
+    @Override
+    public Object decode(ByteBuffer body, Class<?> payloadType) {
+        BinaryPayloadSerializer<?> serializer = getSerializer(payloadType);
+        BinaryPayloadReader reader = new BinaryPayloadReader(body);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new RemoteException(NacosException.BAD_GATEWAY,
+                    "Unsupported binary payload version " + version + " for " + payloadType.getSimpleName());
+        }
+        return serializer.read(reader);
+    }
+    
+    private BinaryPayloadSerializer<?> getSerializer(Class<?> payloadType) {
+        BinaryPayloadSerializer<?> serializer = serializers.get(payloadType);
+        if (null == serializer) {
+            throw new RemoteException(NacosException.SERVER_ERROR,
+                    "No binary payload serializer for " + payloadType.getName());
+        }
+        return serializer;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.remote.exception.RemoteException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reader of {@link BinaryPayloadCodec}, the opposite of {@link BinaryPayloadWriter}.
+ *
+ * @author Nacos
+ */
+public class BinaryPayloadReader {
+    
+    private final ByteBuffer buffer;
+    
+    public BinaryPayloadReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+    
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+    
+    public int readByte() {
+        checkRemaining(1);
+        return buffer.get();
+    }
+    
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+    
+    /**
+     * Read unsigned varint.
+     *
+     * @return int value
+     */
+    public int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new RemoteException(NacosException.BAD_GATEWAY, "Malformed varint in binary payload.");
+    }
+    
+    /**
+     * Read unsigned varlong.
+     *
+     * @return long value
+     */
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new RemoteException(NacosException.BAD_GATEWAY, "Malformed varlong in binary payload.");
+    }
+    
+    /**
+     * Read fixed 8 bytes double.
+     *
+     * @return double value
+     */
+    public double readDouble() {
+        checkRemaining(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) (buffer.get() & 0xFF) << (i * 8);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+    
+    /**
+     * Read nullable string.
+     *
+     * @return string value
+     */
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkRemaining(length);
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Read nullable string map.
+     *
+     * @return string map
+     */
+    public Map<String, String> readStringMap() {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        if (size > buffer.remaining()) {
+            throw new RemoteException(NacosException.BAD_GATEWAY, "Illegal map size " + size + " in binary payload.");
+        }
+        Map<String, String> result = new HashMap<>(Math.max(4, (int) (size / 0.75F) + 1));
+        for (int i = 0; i < size; i++) {
+            result.put(readString(), readString());
+        }
+        return result;
+    }
+    
+    /**
+     * Read size of collection, make sure the size is reasonable before allocating.
+     *
+     * @return collection size
+     */
+    public int readSize() {
+        int size = readVarInt();
+        if (size < 0 || size > buffer.remaining()) {
+            throw new RemoteException(NacosException.BAD_GATEWAY, "Illegal collection size " + size
+                    + " in binary payload.");
+        }
+        return size;
+    }
+    
+    private void checkRemaining(int required) {
+        if (buffer.remaining() < required) {
+            throw new RemoteException(NacosException.BAD_GATEWAY, "Unexpected end of binary payload.");
+        }
+    }
+}
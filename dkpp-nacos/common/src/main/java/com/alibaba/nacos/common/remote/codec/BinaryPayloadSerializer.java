@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+/**
+ * Hand-written serializer of one payload type for {@link BinaryPayloadCodec}.
+ *
+ * <p>Fields are written in a fixed order without names, so any change of field order is incompatible. New fields
+ * must be appended at the end and readers should check {@link BinaryPayloadReader} remaining bytes before reading.
+ *
+ * @param <T> payload type
+ * @author Nacos
+ */
+public interface BinaryPayloadSerializer<T> {
+    
+    /**
+     * The payload type handled by this serializer.
+     *
+     * @return payload type
+     */
+    Class<T> payloadType();
+    
+    /**
+     * Write payload fields.
+     *
+     * @param payload payload
+     * @param writer  writer
+     */
+    void write(T payload, BinaryPayloadWriter writer);
+    
+    /**
+     * Read payload fields.
+     *
+     * @param reader reader
+     * @return payload
+     */
+    T read(BinaryPayloadReader reader);
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Built-in {@link BinaryPayloadSerializer}s for the hot request types of config and naming.
+ *
+ * @author Nacos
+ */
+public class BinaryPayloadSerializers {
+    
+    private BinaryPayloadSerializers() {
+    }
+    
+    static void writeInstance(Instance instance, BinaryPayloadWriter writer) {
+        if (null == instance) {
+            writer.writeBoolean(false);
+            return;
+        }
+        writer.writeBoolean(true);
+        writer.writeString(instance.getInstanceId());
+        writer.writeString(instance.getIp());
+        writer.writeVarInt(instance.getPort());
+        writer.writeDouble(instance.getWeight());
+        writer.writeBoolean(instance.isHealthy());
+        writer.writeBoolean(instance.isEnabled());
+        writer.writeBoolean(instance.isEphemeral());
+        writer.writeString(instance.getClusterName());
+        writer.writeString(instance.getServiceName());
+        writer.writeStringMap(instance.getMetadata());
+    }
+    
+    static Instance readInstance(BinaryPayloadReader reader) {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        Instance instance = new Instance();
+        instance.setInstanceId(reader.readString());
+        instance.setIp(reader.readString());
+        instance.setPort(reader.readVarInt());
+        instance.setWeight(reader.readDouble());
+        instance.setHealthy(reader.readBoolean());
+        instance.setEnabled(reader.readBoolean());
+        instance.setEphemeral(reader.readBoolean());
+        instance.setClusterName(reader.readString());
+        instance.setServiceName(reader.readString());
+        Map<String, String> metadata = reader.readStringMap();
+        instance.setMetadata(null == metadata ? new HashMap<>(2) : metadata);
+        return instance;
+    }
+    
+    static void writeServiceInfo(ServiceInfo serviceInfo, BinaryPayloadWriter writer) {
+        if (null == serviceInfo) {
+            writer.writeBoolean(false);
+            return;
+        }
+        writer.writeBoolean(true);
+        writer.writeString(serviceInfo.getName());
+        writer.writeString(serviceInfo.getGroupName());
+        writer.writeString(serviceInfo.getClusters());
+        writer.writeVarLong(serviceInfo.getCacheMillis());
+        writer.writeVarLong(serviceInfo.getLastRefTime());
+        writer.writeString(serviceInfo.getChecksum());
+        writer.writeBoolean(serviceInfo.isAllIPs());
+        writer.writeBoolean(serviceInfo.isReachProtectionThreshold());
+        List<Instance> hosts = serviceInfo.getHosts();
+        if (null == hosts) {
+            writer.writeVarInt(0);
+            return;
+        }
+        writer.writeVarInt(hosts.size());
+        for (Instance each : hosts) {
+            writeInstance(each, writer);
+        }
+    }
+    
+    static void writeInstances(List<Instance> instances, BinaryPayloadWriter writer) {
+        if (null == instances) {
+            writer.writeBoolean(false);
+            return;
+        }
+        writer.writeBoolean(true);
+        writer.writeVarInt(instances.size());
+        for (Instance each : instances) {
+            writeInstance(each, writer);
+        }
+    }
+    
+    static List<Instance> readInstances(BinaryPayloadReader reader) {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        int size = reader.readSize();
+        List<Instance> instances = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            instances.add(readInstance(reader));
+        }
+        return instances;
+    }
+    
+    static ServiceInfo readServiceInfo(BinaryPayloadReader reader) {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        ServiceInfo serviceInfo = new ServiceInfo();
+        serviceInfo.setName(reader.readString());
+        serviceInfo.setGroupName(reader.readString());
+        serviceInfo.setClusters(reader.readString());
+        serviceInfo.setCacheMillis(reader.readVarLong());
+        serviceInfo.setLastRefTime(reader.readVarLong());
+        serviceInfo.setChecksum(reader.readString());
+        serviceInfo.setAllIPs(reader.readBoolean());
+        serviceInfo.setReachProtectionThreshold(reader.readBoolean());
+        int size = reader.readSize();
+        List<Instance> hosts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hosts.add(readInstance(reader));
+        }
+        serviceInfo.setHosts(hosts);
+        return serviceInfo;
+    }
+    
+    /**
+     * Serializer of {@link ConfigBatchListenRequest}.
+     */
+    public static class ConfigBatchListenRequestSerializer
+            implements BinaryPayloadSerializer<ConfigBatchListenRequest> {
+        
+        @Override
+        public Class<ConfigBatchListenRequest> payloadType() {
+            return ConfigBatchListenRequest.class;
+        }
+        
+        @Override
+        public void write(ConfigBatchListenRequest payload, BinaryPayloadWriter writer) {
+            writer.writeString(payload.getRequestId());
+            writer.writeString(payload.getDataId());
+            writer.writeString(payload.getGroup());
+            writer.writeString(payload.getTenant());
+            writer.writeBoolean(payload.isListen());
+            List<ConfigBatchListenRequest.ConfigListenContext> contexts = payload.getConfigListenContexts();
+            writer.writeVarInt(contexts.size());
+            for (ConfigBatchListenRequest.ConfigListenContext each : contexts) {
+                writer.writeString(each.getDataId());
+                writer.writeString(each.getGroup());
+                writer.writeString(each.getTenant());
+                writer.writeString(each.getMd5());
+            }
+            writer.writeString(payload.getListenDigest());
+        }
+        
+        @Override
+        public ConfigBatchListenRequest read(BinaryPayloadReader reader) {
+            ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+            request.setRequestId(reader.readString());
+            request.setDataId(reader.readString());
+            request.setGroup(reader.readString());
+            request.setTenant(reader.readString());
+            request.setListen(reader.readBoolean());
+            int size = reader.readSize();
+            List<ConfigBatchListenRequest.ConfigListenContext> contexts = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ConfigBatchListenRequest.ConfigListenContext context =
+                        new ConfigBatchListenRequest.ConfigListenContext();
+                context.setDataId(reader.readString());
+                context.setGroup(reader.readString());
+                context.setTenant(reader.readString());
+                context.setMd5(reader.readString());
+                contexts.add(context);
+            }
+            request.setConfigListenContexts(contexts);
+            if (reader.hasRemaining()) {
+                request.setListenDigest(reader.readString());
+            }
+            return request;
+        }
+    }
+    
+    /**
+     * Serializer of {@link ConfigChangeNotifyRequest}.
+     */
+    public static class ConfigChangeNotifyRequestSerializer
+            implements BinaryPayloadSerializer<ConfigChangeNotifyRequest> {
+        
+        @Override
+        public Class<ConfigChangeNotifyRequest> payloadType() {
+            return ConfigChangeNotifyRequest.class;
+        }
+        
+        @Override
+        public void write(ConfigChangeNotifyRequest payload, BinaryPayloadWriter writer) {
+            writer.writeString(payload.getRequestId());
+            writer.writeString(payload.getDataId());
+            writer.writeString(payload.getGroup());
+            writer.writeString(payload.getTenant());
+        }
+        
+        @Override
+        public ConfigChangeNotifyRequest read(BinaryPayloadReader reader) {
+            ConfigChangeNotifyRequest request = new ConfigChangeNotifyRequest();
+            request.setRequestId(reader.readString());
+            request.setDataId(reader.readString());
+            request.setGroup(reader.readString());
+            request.setTenant(reader.readString());
+            return request;
+        }
+    }
+    
+    /**
+     * Serializer of {@link InstanceRequest}.
+     */
+    public static class InstanceRequestSerializer implements BinaryPayloadSerializer<InstanceRequest> {
+        
+        @Override
+        public Class<InstanceRequest> payloadType() {
+            return InstanceRequest.class;
+        }
+        
+        @Override
+        public void write(InstanceRequest payload, BinaryPayloadWriter writer) {
+            writer.writeString(payload.getRequestId());
+            writer.writeString(payload.getNamespace());
+            writer.writeString(payload.getServiceName());
+            writer.writeString(payload.getGroupName());
+            writer.writeString(payload.getType());
+            writeInstance(payload.getInstance(), writer);
+        }
+        
+        @Override
+        public InstanceRequest read(BinaryPayloadReader reader) {
+            InstanceRequest request = new InstanceRequest();
+            request.setRequestId(reader.readString());
+            request.setNamespace(reader.readString());
+            request.setServiceName(reader.readString());
+            request.setGroupName(reader.readString());
+            request.setType(reader.readString());
+            request.setInstance(readInstance(reader));
+            return request;
+        }
+    }
+    
+    /**
+     * Serializer of {@link NotifySubscriberRequest}.
+     */
+    public static class NotifySubscriberRequestSerializer implements BinaryPayloadSerializer<NotifySubscriberRequest> {
+        
+        @Override
+        public Class<NotifySubscriberRequest> payloadType() {
+            return NotifySubscriberRequest.class;
+        }
+        
+        @Override
+        public void write(NotifySubscriberRequest payload, BinaryPayloadWriter writer) {
+            writer.writeString(payload.getRequestId());
+            writer.writeString(payload.getNamespace());
+            writer.writeString(payload.getServiceName());
+            writer.writeString(payload.getGroupName());
+            writeServiceInfo(payload.getServiceInfo(), writer);
+            writer.writeVarLong(payload.getRevision());
+            writer.writeBoolean(payload.isIncremental());
+            writer.writeVarLong(payload.getBaseRevision());
+            writeInstances(payload.getRemovedInstances(), writer);
+        }
+        
+        @Override
+        public NotifySubscriberRequest read(BinaryPayloadReader reader) {
+            NotifySubscriberRequest request = new NotifySubscriberRequest();
+            request.setRequestId(reader.readString());
+            request.setNamespace(reader.readString());
+            request.setServiceName(reader.readString());
+            request.setGroupName(reader.readString());
+            request.setServiceInfo(readServiceInfo(reader));
+            if (reader.hasRemaining()) {
+                request.setRevision(reader.readVarLong());
+                request.setIncremental(reader.readBoolean());
+                request.setBaseRevision(reader.readVarLong());
+                request.setRemovedInstances(readInstances(reader));
+            }
+            return request;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writer of {@link BinaryPayloadCodec}. The writer is reused by thread, so call {@link #reset()} before writing a new
+ * payload and {@link #toByteArray()} to get a copy of written bytes.
+ *
+ * @author Nacos
+ */
+public class BinaryPayloadWriter {
+    
+    private static final int DEFAULT_CAPACITY = 1024;
+    
+    /**
+     * Buffers larger than this size are not kept after {@link #reset()}, avoid holding large memory by idle threads.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    
+    private byte[] buffer;
+    
+    private int position;
+    
+    public BinaryPayloadWriter() {
+        this.buffer = new byte[DEFAULT_CAPACITY];
+    }
+    
+    /**
+     * Reset writer to write a new payload.
+     */
+    public void reset() {
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[DEFAULT_CAPACITY];
+        }
+        position = 0;
+    }
+    
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+    
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+    
+    /**
+     * Write int as unsigned varint, negative value costs 5 bytes.
+     *
+     * @param value int value
+     */
+    public void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+    
+    /**
+     * Write long as unsigned varint, negative value costs 10 bytes.
+     *
+     * @param value long value
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+    
+    /**
+     * Write double as fixed 8 bytes.
+     *
+     * @param value double value
+     */
+    public void writeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (bits >>> (i * 8));
+        }
+    }
+    
+    /**
+     * Write nullable string as {@code length + 1} varint and utf-8 bytes, {@code 0} means null.
+     *
+     * @param value string value
+     */
+    public void writeString(String value) {
+        if (null == value) {
+            writeVarInt(0);
+            return;
+        }
+        int length = value.length();
+        if (isAscii(value, length)) {
+            writeVarInt(length + 1);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+    
+    /**
+     * Write nullable string map as {@code size + 1} varint and entries, {@code 0} means null.
+     *
+     * @param map string map
+     */
+    public void writeStringMap(Map<String, String> map) {
+        if (null == map) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(map.size() + 1);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+        }
+    }
+    
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+    
+    public int size() {
+        return position;
+    }
+    
+    private static boolean isAscii(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (position + required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + required));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Json payload codec, the default codec which all versions of nacos can handle.
+ *
+ * @author Nacos
+ */
+public class JsonPayloadCodec implements PayloadCodec {
+    
+    public static final String NAME = "json";
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public boolean isSupport(Class<?> payloadType) {
+        return true;
+    }
+    
+    @Override
+    public byte[] encode(Object payload) {
+        return JacksonUtils.toJsonBytes(payload);
+    }
+    
+    @Override
+    public Object decode(ByteBuffer body, Class<?> payloadType) {
+        return JacksonUtils.toObj(new ByteBufferBackedInputStream(body), payloadType);
+    }
+}
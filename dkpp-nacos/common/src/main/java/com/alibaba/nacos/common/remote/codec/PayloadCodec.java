@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec of grpc payload body. The codec used by sender is written into payload metadata, so receiver can always find
+ * the codec to decode it. Codec other than json only be used after the remote endpoint declared it supports.
+ *
+ * @author Nacos
+ */
+public interface PayloadCodec {
+    
+    /**
+     * Unique name of codec, which will be sent within payload metadata.
+     *
+     * @return codec name
+     */
+    String getName();
+    
+    /**
+     * Whether this codec can encode and decode the payload type.
+     *
+     * @param payloadType class of request or response
+     * @return {@code true} if supported
+     */
+    boolean isSupport(Class<?> payloadType);
+    
+    /**
+     * Encode payload into body bytes.
+     *
+     * @param payload request or response
+     * @return body bytes
+     */
+    byte[] encode(Object payload);
+    
+    /**
+     * Decode body bytes into payload.
+     *
+     * @param body        body bytes
+     * @param payloadType class of request or response
+     * @return payload
+     */
+    Object decode(ByteBuffer body, Class<?> payloadType);
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.common.spi.NacosServiceLoader;
+import com.alibaba.nacos.common.utils.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manager of {@link PayloadCodec}s loaded by SPI.
+ *
+ * <p>Json codec is always available and used when the remote endpoint does not declare the payload codec ability.
+ * Otherwise the preferred codec, which can be set by system property {@link #PREFERRED_CODEC_PROPERTY} and default
+ * is {@link BinaryPayloadCodec#NAME}, is used for payload types it supports.
+ *
+ * @author Nacos
+ */
+public class PayloadCodecManager {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(PayloadCodecManager.class);
+    
+    public static final String PREFERRED_CODEC_PROPERTY = "nacos.remote.payload.codec";
+    
+    private static final PayloadCodecManager INSTANCE = new PayloadCodecManager();
+    
+    private final Map<String, PayloadCodec> codecs = new HashMap<>();
+    
+    private final PayloadCodec jsonCodec;
+    
+    private final PayloadCodec preferredCodec;
+    
+    private PayloadCodecManager() {
+        for (PayloadCodec each : NacosServiceLoader.load(PayloadCodec.class)) {
+            codecs.put(each.getName(), each);
+        }
+        codecs.putIfAbsent(JsonPayloadCodec.NAME, new JsonPayloadCodec());
+        jsonCodec = codecs.get(JsonPayloadCodec.NAME);
+        String preferredName = System.getProperty(PREFERRED_CODEC_PROPERTY, BinaryPayloadCodec.NAME);
+        PayloadCodec preferred = codecs.get(preferredName);
+        if (null == preferred && StringUtils.isNotBlank(preferredName)) {
+            LOGGER.warn("Payload codec {} not found, use {} instead.", preferredName, JsonPayloadCodec.NAME);
+        }
+        preferredCodec = null == preferred ? jsonCodec : preferred;
+    }
+    
+    public static PayloadCodecManager getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Get codec by name, which is read from payload metadata.
+     *
+     * @param name codec name, json codec if blank
+     * @return codec, or {@code null} if not found
+     */
+    public PayloadCodec getCodec(String name) {
+        if (StringUtils.isBlank(name)) {
+            return jsonCodec;
+        }
+        return codecs.get(name);
+    }
+    
+    public PayloadCodec getJsonCodec() {
+        return jsonCodec;
+    }
+    
+    /**
+     * Select codec to encode payload for remote endpoint.
+     *
+     * @param payloadType               class of payload
+     * @param remoteSupportPayloadCodec whether remote endpoint declared payload codec ability
+     * @return codec
+     */
+    public PayloadCodec selectCodec(Class<?> payloadType, boolean remoteSupportPayloadCodec) {
+        if (remoteSupportPayloadCodec && preferredCodec.isSupport(payloadType)) {
+            return preferredCodec;
+        }
+        return jsonCodec;
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nacos delay task execute engine based on hierarchical timing wheel.
+ *
+ * <p>Different from {@link NacosDelayTaskExecuteEngine}, which scans all tasks every interval, tasks are put into the
+ * bucket of their deadline when added, so that adding task is O(1) and each tick only touches the expired bucket.
+ * Tasks with same key are still merged when added, and the merged task is rescheduled by its new deadline.
+ *
+ * <p>Each bucket is guarded by its own lock. Adding tasks only holds the read lock of the wheel, and the tick holds
+ * the write lock only to move the clock and take out expired tasks, processors are called without any lock.
+ *
+ * @author Nacos
+ */
+public class NacosTimingWheelDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<AbstractDelayTask> {
+    
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    
+    /**
+     * Levels of wheel, with default wheel size and 100ms tick, the top level can hold tasks delayed for years.
+     */
+    private static final int WHEEL_LEVELS = 4;
+    
+    private final ScheduledExecutorService processingExecutor;
+    
+    private final ConcurrentHashMap<Object, TaskEntry> tasks;
+    
+    private final ReentrantReadWriteLock wheelLock = new ReentrantReadWriteLock();
+    
+    private final AtomicInteger scheduledCount = new AtomicInteger();
+    
+    private final long tickMillis;
+    
+    private final int wheelSize;
+    
+    private final Bucket[][] wheels;
+    
+    private final Bucket expiredBucket = new Bucket();
+    
+    /**
+     * The first tick which has not been expired, only changed with the write lock of wheel.
+     */
+    private volatile long currentTick;
+    
+    public NacosTimingWheelDelayTaskExecuteEngine(String name) {
+        this(name, null);
+    }
+    
+    public NacosTimingWheelDelayTaskExecuteEngine(String name, Logger logger) {
+        this(name, 32, logger, 100L);
+    }
+    
+    public NacosTimingWheelDelayTaskExecuteEngine(String name, int initCapacity, Logger logger,
+            long processInterval) {
+        this(name, initCapacity, logger, processInterval, DEFAULT_WHEEL_SIZE);
+    }
+    
+    public NacosTimingWheelDelayTaskExecuteEngine(String name, int initCapacity, Logger logger, long processInterval,
+            int wheelSize) {
+        super(logger);
+        if (processInterval <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException(
+                    "processInterval should be positive and wheelSize should be greater than 1, but are "
+                            + processInterval + " and " + wheelSize);
+        }
+        this.tasks = new ConcurrentHashMap<>(initCapacity);
+        this.tickMillis = processInterval;
+        this.wheelSize = wheelSize;
+        this.wheels = new Bucket[WHEEL_LEVELS][wheelSize];
+        for (Bucket[] wheel : wheels) {
+            for (int i = 0; i < wheelSize; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        processingExecutor = ExecutorFactory.newSingleScheduledExecutorService(new NameThreadFactory(name));
+        processingExecutor
+                .scheduleWithFixedDelay(new ProcessRunnable(), processInterval, processInterval, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+    
+    /**
+     * Add task only if there is no task with the same key in engine.
+     *
+     * @param key     key of task
+     * @param newTask task
+     * @return {@code true} if added, otherwise the task with same key is kept and new task is not merged
+     */
+    public boolean addTaskIfAbsent(Object key, AbstractDelayTask newTask) {
+        boolean[] added = new boolean[1];
+        tasks.computeIfAbsent(key, taskKey -> {
+            TaskEntry entry = new TaskEntry(taskKey);
+            entry.task = newTask;
+            schedule(entry);
+            added[0] = true;
+            return entry;
+        });
+        return added[0];
+    }
+    
+    @Override
+    public AbstractDelayTask removeTask(Object key) {
+        AbstractDelayTask[] result = new AbstractDelayTask[1];
+        tasks.computeIfPresent(key, (taskKey, entry) -> {
+            if (!entry.task.shouldProcess()) {
+                return entry;
+            }
+            unschedule(entry);
+            result[0] = entry.task;
+            return null;
+        });
+        return result[0];
+    }
+    
+    @Override
+    public Collection<Object> getAllTaskKeys() {
+        return new HashSet<>(tasks.keySet());
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        tasks.clear();
+        processingExecutor.shutdown();
+    }
+    
+    @Override
+    public void addTask(Object key, AbstractDelayTask newTask) {
+        tasks.compute(key, (taskKey, existEntry) -> {
+            TaskEntry entry = existEntry;
+            if (null == entry) {
+                entry = new TaskEntry(taskKey);
+            } else {
+                newTask.merge(entry.task);
+            }
+            entry.task = newTask;
+            schedule(entry);
+            return entry;
+        });
+    }
+    
+    /**
+     * Process expired tasks in execute engine.
+     */
+    protected void processTasks() {
+        List<TaskEntry> expiredEntries = new ArrayList<>();
+        wheelLock.writeLock().lock();
+        try {
+            advanceClock(System.currentTimeMillis() / tickMillis, expiredEntries);
+        } finally {
+            wheelLock.writeLock().unlock();
+        }
+        for (TaskEntry each : expiredEntries) {
+            AbstractDelayTask task = takeExpiredTask(each);
+            if (null == task) {
+                continue;
+            }
+            NacosTaskProcessor processor = getProcessor(each.key);
+            try {
+                // ReAdd task if process failed
+                if (!processor.process(task)) {
+                    retryFailedTask(each.key, task);
+                }
+            } catch (Throwable e) {
+                getEngineLog().error("Nacos task execute error ", e);
+                retryFailedTask(each.key, task);
+            }
+        }
+    }
+    
+    private void retryFailedTask(Object key, AbstractDelayTask task) {
+        task.setLastProcessTime(System.currentTimeMillis());
+        addTask(key, task);
+    }
+    
+    /**
+     * Take the task out of engine if the entry is still expired and not changed after taken out from wheel.
+     */
+    private AbstractDelayTask takeExpiredTask(TaskEntry entry) {
+        AbstractDelayTask[] result = new AbstractDelayTask[1];
+        tasks.computeIfPresent(entry.key, (taskKey, current) -> {
+            if (current != entry || null != current.bucket) {
+                // removed or rescheduled by other thread.
+                return current;
+            }
+            if (!current.task.shouldProcess()) {
+                // task interval or process time changed after added.
+                schedule(current);
+                return current;
+            }
+            result[0] = current.task;
+            return null;
+        });
+        return result[0];
+    }
+    
+    /**
+     * Put the entry into the bucket of its deadline, must be called within the lock of entry key.
+     */
+    private void schedule(TaskEntry entry) {
+        wheelLock.readLock().lock();
+        try {
+            Bucket oldBucket = entry.bucket;
+            if (null != oldBucket && oldBucket.remove(entry)) {
+                scheduledCount.decrementAndGet();
+            }
+            entry.deadline = getDeadline(entry.task);
+            place(entry);
+        } finally {
+            wheelLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove the entry from wheel, must be called within the lock of entry key.
+     */
+    private void unschedule(TaskEntry entry) {
+        wheelLock.readLock().lock();
+        try {
+            Bucket bucket = entry.bucket;
+            if (null != bucket && bucket.remove(entry)) {
+                scheduledCount.decrementAndGet();
+            }
+        } finally {
+            wheelLock.readLock().unlock();
+        }
+    }
+    
+    private long getDeadline(AbstractDelayTask task) {
+        long lastProcessTime = task.getLastProcessTime();
+        long interval = Math.max(0L, task.getTaskInterval());
+        return interval > Long.MAX_VALUE - lastProcessTime ? Long.MAX_VALUE : lastProcessTime + interval;
+    }
+    
+    /**
+     * Place entry into the lowest level whose range covers the deadline, entry with deadline out of range of top level
+     * is placed into the farthest bucket of top level and will be placed again when the bucket expired.
+     */
+    private void place(TaskEntry entry) {
+        long deadlineTick = entry.deadline / tickMillis;
+        long tick = currentTick;
+        if (deadlineTick < tick) {
+            expiredBucket.add(entry);
+            scheduledCount.incrementAndGet();
+            return;
+        }
+        long span = 1L;
+        for (int level = 0; level < WHEEL_LEVELS; level++) {
+            long deadlineGroup = deadlineTick / span;
+            long currentGroup = tick / span;
+            if (deadlineGroup - currentGroup < wheelSize || level == WHEEL_LEVELS - 1) {
+                long targetGroup = Math.min(deadlineGroup, currentGroup + wheelSize - 1);
+                wheels[level][(int) (targetGroup % wheelSize)].add(entry);
+                scheduledCount.incrementAndGet();
+                return;
+            }
+            span *= wheelSize;
+        }
+    }
+    
+    /**
+     * Move clock to target tick and take out expired entries, must be called within the write lock of wheel.
+     */
+    private void advanceClock(long targetTick, List<TaskEntry> expiredEntries) {
+        List<TaskEntry> cascadeEntries = new ArrayList<>();
+        while (currentTick < targetTick) {
+            if (scheduledCount.get() == expiredBucket.size()) {
+                // nothing in wheel, jump to target tick directly.
+                currentTick = targetTick;
+                break;
+            }
+            long expiredTick = currentTick;
+            scheduledCount.addAndGet(-wheels[0][(int) (expiredTick % wheelSize)].drainTo(expiredEntries));
+            currentTick = expiredTick + 1;
+            long span = wheelSize;
+            for (int level = 1; level < WHEEL_LEVELS && currentTick % span == 0; level++) {
+                Bucket bucket = wheels[level][(int) ((currentTick / span) % wheelSize)];
+                scheduledCount.addAndGet(-bucket.drainTo(cascadeEntries));
+                span *= wheelSize;
+            }
+            for (TaskEntry each : cascadeEntries) {
+                place(each);
+            }
+            cascadeEntries.clear();
+        }
+        scheduledCount.addAndGet(-expiredBucket.drainTo(expiredEntries));
+    }
+    
+    private static class TaskEntry {
+        
+        private final Object key;
+        
+        private AbstractDelayTask task;
+        
+        private long deadline;
+        
+        private volatile Bucket bucket;
+        
+        private TaskEntry(Object key) {
+            this.key = key;
+        }
+    }
+    
+    private static class Bucket {
+        
+        private final Set<TaskEntry> entries = new HashSet<>();
+        
+        private synchronized void add(TaskEntry entry) {
+            entries.add(entry);
+            entry.bucket = this;
+        }
+        
+        private synchronized boolean remove(TaskEntry entry) {
+            if (entries.remove(entry)) {
+                entry.bucket = null;
+                return true;
+            }
+            return false;
+        }
+        
+        private synchronized int size() {
+            return entries.size();
+        }
+        
+        private synchronized int drainTo(List<TaskEntry> target) {
+            int result = entries.size();
+            for (TaskEntry each : entries) {
+                each.bucket = null;
+                target.add(each);
+            }
+            entries.clear();
+            return result;
+        }
+    }
+    
+    private class ProcessRunnable implements Runnable {
+        
+        @Override
+        public void run() {
+            try {
+                processTasks();
+            } catch (Throwable e) {
+                getEngineLog().error(e.toString(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Digest util of config listen set, shared by client and server to check whether their listen sets are the same.
+ *
+ * <p>The digest is the count of entries and the sum of the 64 bits hash of each group key and md5, so it doesn't depend
+ * on the order of entries and doesn't need sorting.
+ *
+ * @author Nacos
+ */
+public class ListenDigestUtils {
+    
+    private static final char SEPARATOR = '\u0002';
+    
+    private ListenDigestUtils() {
+    }
+    
+    /**
+     * Calculate digest of listen set.
+     *
+     * @param listenKeys map of group key and md5, {@code null} md5 is regarded as empty
+     * @return digest of listen set
+     */
+    public static String digest(Map<String, String> listenKeys) {
+        if (null == listenKeys || listenKeys.isEmpty()) {
+            return "0-0";
+        }
+        MessageDigest messageDigest = newMessageDigest();
+        long sum = 0L;
+        for (Map.Entry<String, String> entry : listenKeys.entrySet()) {
+            sum += hash(messageDigest, entry.getKey(), entry.getValue());
+        }
+        return listenKeys.size() + "-" + Long.toHexString(sum);
+    }
+    
+    private static long hash(MessageDigest messageDigest, String groupKey, String md5) {
+        String value = groupKey + SEPARATOR + (null == md5 ? "" : md5);
+        byte[] bytes = messageDigest.digest(value.getBytes(StandardCharsets.UTF_8));
+        long result = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = (result << 8) | (bytes[i] & 0xFF);
+        }
+        return result;
+    }
+    
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MessageDigest get MD5 instance error", e);
+        }
+    }
+}
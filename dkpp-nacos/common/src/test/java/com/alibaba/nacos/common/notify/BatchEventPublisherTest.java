@@ -0,0 +1,234 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchEventPublisherTest {
+    
+    private BatchEventPublisher publisher;
+    
+    private ExecutorService dispatchExecutor;
+    
+    @After
+    public void tearDown() {
+        if (null != publisher) {
+            publisher.shutdown();
+        }
+        if (null != dispatchExecutor) {
+            dispatchExecutor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testRingBuffer() {
+        EventRingBuffer ringBuffer = new EventRingBuffer(3);
+        assertEquals(4, ringBuffer.capacity());
+        assertTrue(ringBuffer.isEmpty());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(new MockCoalescableEvent(i)));
+        }
+        assertFalse(ringBuffer.offer(new MockCoalescableEvent(4)));
+        assertEquals(4, ringBuffer.size());
+        List<Event> batch = new ArrayList<>();
+        ringBuffer.drainTo(batch, 3);
+        assertEquals(3, batch.size());
+        assertEquals(1, ringBuffer.size());
+        assertTrue(ringBuffer.offer(new MockCoalescableEvent(5)));
+        batch.clear();
+        ringBuffer.drainTo(batch, 10);
+        assertEquals(2, batch.size());
+        assertEquals(3, ((MockCoalescableEvent) batch.get(0)).key);
+        assertEquals(5, ((MockCoalescableEvent) batch.get(1)).key);
+        assertTrue(ringBuffer.isEmpty());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testCheckIsStart() {
+        new BatchEventPublisher(16, true, null, 1).publish(new MockCoalescableEvent(1));
+    }
+    
+    @Test
+    public void testNotifyInOrder() throws InterruptedException {
+        RecordSubscriber subscriber = new RecordSubscriber(100, false);
+        publisher = new BatchEventPublisher(8, false, null, 1);
+        publisher.addSubscriber(subscriber);
+        publisher.init(MockCoalescableEvent.class, 128);
+        for (int i = 0; i < 100; i++) {
+            publisher.publish(new MockCoalescableEvent(i));
+        }
+        assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, subscriber.received.get(i).key);
+        }
+        assertEquals(0L, publisher.getCoalescedCount());
+    }
+    
+    @Test
+    public void testCoalesce() throws InterruptedException {
+        publisher = new BatchEventPublisher(16, true, null, 1);
+        publisher.init(MockCoalescableEvent.class, 16);
+        // publisher is waiting for the first subscriber, so all events will be drained in one batch.
+        publisher.publish(new MockCoalescableEvent(1));
+        publisher.publish(new MockCoalescableEvent(2));
+        publisher.publish(new MockCoalescableEvent(1));
+        publisher.publish(new MockCoalescableEvent(3));
+        publisher.publish(new MockCoalescableEvent(2));
+        assertEquals(5, publisher.currentEventSize());
+        RecordSubscriber subscriber = new RecordSubscriber(3, false);
+        publisher.addSubscriber(subscriber);
+        assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(3, subscriber.received.size());
+        assertEquals(1, subscriber.received.get(0).key);
+        assertEquals(3, subscriber.received.get(1).key);
+        assertEquals(2, subscriber.received.get(2).key);
+        assertEquals(2L, publisher.getCoalescedCount());
+    }
+    
+    @Test
+    public void testParallelDispatch() throws InterruptedException {
+        dispatchExecutor = Executors.newFixedThreadPool(4);
+        RecordSubscriber threadSafeSubscriber = new RecordSubscriber(200, true);
+        RecordSubscriber orderedSubscriber = new RecordSubscriber(200, false);
+        publisher = new BatchEventPublisher(32, false, dispatchExecutor, 4);
+        publisher.addSubscriber(threadSafeSubscriber);
+        publisher.addSubscriber(orderedSubscriber);
+        publisher.init(MockCoalescableEvent.class, 256);
+        for (int i = 0; i < 200; i++) {
+            publisher.publish(new MockCoalescableEvent(i));
+        }
+        assertTrue(threadSafeSubscriber.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(orderedSubscriber.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(200, threadSafeSubscriber.received.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, orderedSubscriber.received.get(i).key);
+        }
+    }
+    
+    @Test
+    public void testIgnoreExpireEvent() throws InterruptedException {
+        RecordSubscriber subscriber = new RecordSubscriber(3, false);
+        RecordSubscriber ignoreExpireSubscriber = new RecordSubscriber(2, false, true);
+        publisher = new BatchEventPublisher(2, false, null, 1);
+        publisher.addSubscriber(subscriber);
+        publisher.addSubscriber(ignoreExpireSubscriber);
+        publisher.init(MockCoalescableEvent.class, 16);
+        publisher.publish(new MockCoalescableEvent(1, 1L));
+        publisher.publish(new MockCoalescableEvent(3, 3L));
+        publisher.publish(new MockCoalescableEvent(2, 2L));
+        assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(ignoreExpireSubscriber.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(3, subscriber.received.size());
+        assertEquals(2, ignoreExpireSubscriber.received.size());
+        assertEquals(1, ignoreExpireSubscriber.received.get(0).key);
+        assertEquals(3, ignoreExpireSubscriber.received.get(1).key);
+    }
+    
+    @Test
+    public void testFactory() {
+        EventPublisher actual = BatchEventPublisherFactory.getInstance().apply(MockCoalescableEvent.class, 16);
+        assertTrue(actual instanceof BatchEventPublisher);
+        assertEquals(actual, BatchEventPublisherFactory.getInstance().apply(MockCoalescableEvent.class, 16));
+        assertTrue(BatchEventPublisherFactory.getInstance().getAllPublisherStatues()
+                .contains(MockCoalescableEvent.class.getSimpleName()));
+    }
+    
+    private static class MockCoalescableEvent extends Event implements CoalescableEvent {
+        
+        private static final long serialVersionUID = 1820279328155315373L;
+        
+        private final int key;
+        
+        private final long sequence;
+        
+        private MockCoalescableEvent(int key) {
+            this.key = key;
+            this.sequence = super.sequence();
+        }
+        
+        private MockCoalescableEvent(int key, long sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+        
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+        
+        @Override
+        public Object coalesceKey() {
+            return key;
+        }
+    }
+    
+    private static class RecordSubscriber extends Subscriber<MockCoalescableEvent> {
+        
+        private final List<MockCoalescableEvent> received = Collections.synchronizedList(new ArrayList<>());
+        
+        private final CountDownLatch latch;
+        
+        private final boolean threadSafe;
+        
+        private final boolean ignoreExpireEvent;
+        
+        private RecordSubscriber(int expectedCount, boolean threadSafe) {
+            this(expectedCount, threadSafe, false);
+        }
+        
+        private RecordSubscriber(int expectedCount, boolean threadSafe, boolean ignoreExpireEvent) {
+            this.latch = new CountDownLatch(expectedCount);
+            this.threadSafe = threadSafe;
+            this.ignoreExpireEvent = ignoreExpireEvent;
+        }
+        
+        @Override
+        public void onEvent(MockCoalescableEvent event) {
+            received.add(event);
+            latch.countDown();
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return MockCoalescableEvent.class;
+        }
+        
+        @Override
+        public boolean isThreadSafe() {
+            return threadSafe;
+        }
+        
+        @Override
+        public boolean ignoreExpireEvent() {
+            return ignoreExpireEvent;
+        }
+    }
+}
@@ -18,12 +18,15 @@
 
 package com.alibaba.nacos.common.remote.client.grpc;
 
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.config.remote.response.ClientConfigMetricResponse;
 import com.alibaba.nacos.api.grpc.auto.Metadata;
 import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.codec.BinaryPayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecManager;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,6 +34,7 @@ import org.junit.Test;
 import java.util.HashMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -120,4 +124,30 @@ public class GrpcUtilsTest {
         when(mockPayload.getMetadata()).thenReturn(mockMetadata);
         GrpcUtils.parse(mockPayload);
     }
+    
+    @Test
+    public void testParseWithBinaryCodec() {
+        ConfigChangeNotifyRequest notifyRequest = ConfigChangeNotifyRequest.build("dataId", "group", "tenant");
+        notifyRequest.putHeader("h1", "v1");
+        Payload payload = GrpcUtils
+                .convert(notifyRequest, PayloadCodecManager.getInstance().getCodec(BinaryPayloadCodec.NAME));
+        assertEquals(BinaryPayloadCodec.NAME,
+                payload.getMetadata().getHeadersMap().get(GrpcUtils.PAYLOAD_CODEC_HEADER));
+        assertEquals("v1", notifyRequest.getHeader("h1"));
+        
+        ConfigChangeNotifyRequest actual = (ConfigChangeNotifyRequest) GrpcUtils.parse(payload);
+        assertEquals("dataId", actual.getDataId());
+        assertEquals("group", actual.getGroup());
+        assertEquals("tenant", actual.getTenant());
+        assertEquals("v1", actual.getHeader("h1"));
+        assertFalse(actual.getHeaders().containsKey(GrpcUtils.PAYLOAD_CODEC_HEADER));
+    }
+    
+    @Test(expected = RemoteException.class)
+    public void testParseUnknownCodec() {
+        Payload payload = GrpcUtils.convert(request);
+        Payload unknownCodecPayload = payload.toBuilder().setMetadata(
+                payload.getMetadata().toBuilder().putHeaders(GrpcUtils.PAYLOAD_CODEC_HEADER, "unknown")).build();
+        GrpcUtils.parse(unknownCodecPayload);
+    }
 }
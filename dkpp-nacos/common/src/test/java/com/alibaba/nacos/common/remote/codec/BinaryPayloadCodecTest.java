@@ -0,0 +1,151 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
+import com.alibaba.nacos.common.remote.exception.RemoteException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryPayloadCodecTest {
+    
+    private final BinaryPayloadCodec codec = new BinaryPayloadCodec();
+    
+    @Test
+    public void testIsSupport() {
+        assertTrue(codec.isSupport(ConfigBatchListenRequest.class));
+        assertTrue(codec.isSupport(ConfigChangeNotifyRequest.class));
+        assertTrue(codec.isSupport(InstanceRequest.class));
+        assertTrue(codec.isSupport(NotifySubscriberRequest.class));
+        assertFalse(codec.isSupport(ServiceQueryRequest.class));
+    }
+    
+    @Test
+    public void testConfigBatchListenRequest() {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        request.setRequestId("1");
+        request.setListen(true);
+        request.addConfigListenContext("group", "dataId", "tenant", "md5");
+        request.addConfigListenContext("group2", "数据", "", null);
+        ConfigBatchListenRequest actual = roundTrip(request, ConfigBatchListenRequest.class);
+        assertEquals("1", actual.getRequestId());
+        assertTrue(actual.isListen());
+        assertEquals(2, actual.getConfigListenContexts().size());
+        ConfigBatchListenRequest.ConfigListenContext context = actual.getConfigListenContexts().get(0);
+        assertEquals("dataId", context.getDataId());
+        assertEquals("group", context.getGroup());
+        assertEquals("tenant", context.getTenant());
+        assertEquals("md5", context.getMd5());
+        context = actual.getConfigListenContexts().get(1);
+        assertEquals("数据", context.getDataId());
+        assertEquals("", context.getTenant());
+        assertNull(context.getMd5());
+        assertNull(actual.getListenDigest());
+    }
+    
+    @Test
+    public void testConfigBatchListenRequestWithDigest() {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        request.setListen(true);
+        request.setListenDigest("2-abc");
+        ConfigBatchListenRequest actual = roundTrip(request, ConfigBatchListenRequest.class);
+        assertTrue(actual.getConfigListenContexts().isEmpty());
+        assertEquals("2-abc", actual.getListenDigest());
+    }
+    
+    @Test
+    public void testConfigChangeNotifyRequest() {
+        ConfigChangeNotifyRequest request = ConfigChangeNotifyRequest.build("dataId", "group", "tenant");
+        ConfigChangeNotifyRequest actual = roundTrip(request, ConfigChangeNotifyRequest.class);
+        assertEquals("dataId", actual.getDataId());
+        assertEquals("group", actual.getGroup());
+        assertEquals("tenant", actual.getTenant());
+    }
+    
+    @Test
+    public void testInstanceRequest() {
+        Instance instance = new Instance();
+        instance.setIp("127.0.0.1");
+        instance.setPort(8848);
+        instance.setWeight(2.5D);
+        instance.setHealthy(false);
+        instance.setClusterName("cluster");
+        instance.setMetadata(Collections.singletonMap("k", "v"));
+        InstanceRequest request = new InstanceRequest("namespace", "service", "group",
+                NamingRemoteConstants.REGISTER_INSTANCE, instance);
+        InstanceRequest actual = roundTrip(request, InstanceRequest.class);
+        assertEquals("namespace", actual.getNamespace());
+        assertEquals("service", actual.getServiceName());
+        assertEquals("group", actual.getGroupName());
+        assertEquals(NamingRemoteConstants.REGISTER_INSTANCE, actual.getType());
+        assertEquals("127.0.0.1", actual.getInstance().getIp());
+        assertEquals(8848, actual.getInstance().getPort());
+        assertEquals(2.5D, actual.getInstance().getWeight(), 0.0D);
+        assertFalse(actual.getInstance().isHealthy());
+        assertEquals("cluster", actual.getInstance().getClusterName());
+        assertEquals("v", actual.getInstance().getMetadata().get("k"));
+    }
+    
+    @Test
+    public void testNotifySubscriberRequest() {
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(80);
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service@@cluster");
+        serviceInfo.setHosts(Arrays.asList(instance, instance));
+        serviceInfo.setLastRefTime(100L);
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        NotifySubscriberRequest actual = roundTrip(request, NotifySubscriberRequest.class);
+        assertEquals("service", actual.getServiceInfo().getName());
+        assertEquals("group", actual.getServiceInfo().getGroupName());
+        assertEquals("cluster", actual.getServiceInfo().getClusters());
+        assertEquals(100L, actual.getServiceInfo().getLastRefTime());
+        assertEquals(2, actual.getServiceInfo().getHosts().size());
+        assertEquals("1.1.1.1", actual.getServiceInfo().getHosts().get(1).getIp());
+    }
+    
+    @Test(expected = RemoteException.class)
+    public void testDecodeMalformedBody() {
+        byte[] bytes = codec.encode(ConfigChangeNotifyRequest.build("dataId", "group", "tenant"));
+        codec.decode(ByteBuffer.wrap(bytes, 0, bytes.length - 3), ConfigChangeNotifyRequest.class);
+    }
+    
+    @Test(expected = RemoteException.class)
+    public void testEncodeUnsupportedType() {
+        codec.encode(new ServiceQueryRequest());
+    }
+    
+    private <T> T roundTrip(Object payload, Class<T> type) {
+        byte[] bytes = codec.encode(payload);
+        return type.cast(codec.decode(ByteBuffer.wrap(bytes), type));
+    }
+}
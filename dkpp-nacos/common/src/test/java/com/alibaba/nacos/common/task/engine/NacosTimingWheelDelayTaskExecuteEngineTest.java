@@ -0,0 +1,195 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NacosTimingWheelDelayTaskExecuteEngineTest {
+    
+    private NacosTimingWheelDelayTaskExecuteEngine executeEngine;
+    
+    private CountingProcessor taskProcessor;
+    
+    @Before
+    public void setUp() throws Exception {
+        executeEngine = new NacosTimingWheelDelayTaskExecuteEngine(
+                NacosTimingWheelDelayTaskExecuteEngineTest.class.getName(), 32, null, 10L, 4);
+        taskProcessor = new CountingProcessor();
+        executeEngine.setDefaultTaskProcessor(taskProcessor);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        executeEngine.shutdown();
+    }
+    
+    @Test
+    public void testSizeAndRemove() {
+        assertTrue(executeEngine.isEmpty());
+        executeEngine.addTask("test", new TestDelayTask("test", 10000L));
+        assertEquals(1, executeEngine.size());
+        assertNull(executeEngine.removeTask("test"));
+        executeEngine.addTask("test2", new TestDelayTask("test2", 0L));
+        assertEquals(2, executeEngine.size());
+        assertEquals(2, executeEngine.getAllTaskKeys().size());
+        assertNotNull(executeEngine.removeTask("test2"));
+        assertEquals(1, executeEngine.size());
+    }
+    
+    @Test
+    public void testProcessTask() throws InterruptedException {
+        executeEngine.addTask("test", new TestDelayTask("test", 0L));
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertEquals(1, taskProcessor.getCount("test"));
+        assertTrue(executeEngine.isEmpty());
+    }
+    
+    @Test
+    public void testRetryTaskAfterFail() throws InterruptedException {
+        taskProcessor.failTimes.set(1);
+        executeEngine.addTask("test", new TestDelayTask("test", 0L));
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertEquals(2, taskProcessor.getCount("test"));
+        assertTrue(executeEngine.isEmpty());
+    }
+    
+    @Test
+    public void testTaskShouldNotExecute() throws InterruptedException {
+        TestDelayTask task = new TestDelayTask("test", 0L);
+        executeEngine.addTask("test", task);
+        task.setTaskInterval(10000L);
+        task.setLastProcessTime(System.currentTimeMillis());
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertEquals(0, taskProcessor.getCount("test"));
+        assertEquals(1, executeEngine.size());
+    }
+    
+    @Test
+    public void testTaskMerge() throws InterruptedException {
+        executeEngine.addTask("test", new TestDelayTask("test", 10000L));
+        TestDelayTask newTask = new TestDelayTask("test", 0L);
+        executeEngine.addTask("test", newTask);
+        assertEquals(1, executeEngine.size());
+        assertEquals(2, newTask.mergedCount);
+        TimeUnit.MILLISECONDS.sleep(200L);
+        // merged task is rescheduled by new deadline.
+        assertEquals(1, taskProcessor.getCount("test"));
+    }
+    
+    @Test
+    public void testAddTaskIfAbsent() throws InterruptedException {
+        TestDelayTask task = new TestDelayTask("test", 10000L);
+        assertTrue(executeEngine.addTaskIfAbsent("test", task));
+        TestDelayTask newTask = new TestDelayTask("test", 0L);
+        assertFalse(executeEngine.addTaskIfAbsent("test", newTask));
+        assertEquals(1, task.mergedCount);
+        assertEquals(1, newTask.mergedCount);
+        TimeUnit.MILLISECONDS.sleep(200L);
+        // the existed task is kept.
+        assertEquals(0, taskProcessor.getCount("test"));
+        assertEquals(1, executeEngine.size());
+    }
+    
+    @Test
+    public void testDelayTaskCascade() throws InterruptedException {
+        // with tick 10ms and wheel size 4, delay 300ms is placed in the third level.
+        long start = System.currentTimeMillis();
+        executeEngine.addTask("test", new TestDelayTask("test", 300L));
+        TimeUnit.MILLISECONDS.sleep(150L);
+        assertEquals(0, taskProcessor.getCount("test"));
+        long deadline = System.currentTimeMillis() + 3000L;
+        while (taskProcessor.getCount("test") == 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+        assertEquals(1, taskProcessor.getCount("test"));
+        assertTrue(taskProcessor.lastProcessTime.get() - start >= 300L);
+    }
+    
+    @Test
+    public void testLotsOfTasks() throws InterruptedException {
+        int taskCount = 10000;
+        for (int i = 0; i < taskCount; i++) {
+            executeEngine.addTask("test" + i, new TestDelayTask("test" + i, i % 100));
+        }
+        long deadline = System.currentTimeMillis() + 3000L;
+        while (!executeEngine.isEmpty() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+        assertTrue(executeEngine.isEmpty());
+        assertEquals(taskCount, taskProcessor.counts.size());
+        for (int i = 0; i < taskCount; i++) {
+            assertEquals(1, taskProcessor.getCount("test" + i));
+        }
+    }
+    
+    private static class TestDelayTask extends AbstractDelayTask {
+        
+        private final String key;
+        
+        private int mergedCount = 1;
+        
+        TestDelayTask(String key, long delay) {
+            this.key = key;
+            setTaskInterval(delay);
+            setLastProcessTime(System.currentTimeMillis());
+        }
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            mergedCount += ((TestDelayTask) task).mergedCount;
+        }
+    }
+    
+    private static class CountingProcessor implements NacosTaskProcessor {
+        
+        private final Map<Object, AtomicInteger> counts = new ConcurrentHashMap<>();
+        
+        private final AtomicInteger failTimes = new AtomicInteger();
+        
+        private final AtomicLong lastProcessTime = new AtomicLong();
+        
+        @Override
+        public boolean process(NacosTask task) {
+            lastProcessTime.set(System.currentTimeMillis());
+            counts.computeIfAbsent(((TestDelayTask) task).key, key -> new AtomicInteger()).incrementAndGet();
+            return failTimes.getAndDecrement() <= 0;
+        }
+        
+        int getCount(Object key) {
+            AtomicInteger count = counts.get(key);
+            return null == count ? 0 : count.get();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ListenDigestUtilsTest {
+    
+    @Test
+    public void testDigestEmpty() {
+        assertEquals("0-0", ListenDigestUtils.digest(null));
+        assertEquals("0-0", ListenDigestUtils.digest(new HashMap<>()));
+    }
+    
+    @Test
+    public void testDigestIgnoreOrder() {
+        Map<String, String> listenKeys = new LinkedHashMap<>();
+        listenKeys.put("dataId+group", "md5");
+        listenKeys.put("dataId2+group+tenant", "md52");
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("dataId2+group+tenant", "md52");
+        reversed.put("dataId+group", "md5");
+        assertEquals(ListenDigestUtils.digest(listenKeys), ListenDigestUtils.digest(reversed));
+    }
+    
+    @Test
+    public void testDigestNullMd5AsEmpty() {
+        Map<String, String> listenKeys = new HashMap<>();
+        listenKeys.put("dataId+group", null);
+        Map<String, String> emptyMd5 = new HashMap<>();
+        emptyMd5.put("dataId+group", "");
+        assertEquals(ListenDigestUtils.digest(listenKeys), ListenDigestUtils.digest(emptyMd5));
+    }
+    
+    @Test
+    public void testDigestChanged() {
+        Map<String, String> listenKeys = new HashMap<>();
+        listenKeys.put("dataId+group", "md5");
+        String digest = ListenDigestUtils.digest(listenKeys);
+        listenKeys.put("dataId+group", "md52");
+        assertNotEquals(digest, ListenDigestUtils.digest(listenKeys));
+        listenKeys.put("dataId+group", "md5");
+        listenKeys.put("dataId2+group", "md5");
+        assertNotEquals(digest, ListenDigestUtils.digest(listenKeys));
+        listenKeys.remove("dataId2+group");
+        assertEquals(digest, ListenDigestUtils.digest(listenKeys));
+    }
+}
@@ -21,6 +21,7 @@ import com.alibaba.nacos.config.server.constant.CounterMode;
 import com.alibaba.nacos.config.server.model.ConfigInfo;
 import com.alibaba.nacos.config.server.model.capacity.Capacity;
 import com.alibaba.nacos.config.server.service.capacity.CapacityService;
+import com.alibaba.nacos.config.server.service.capacity.LocalCapacityUsageService;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -58,9 +59,17 @@ public class CapacityManagementAspect {
 
     private final ConfigInfoPersistService configInfoPersistService;
 
+    private final LocalCapacityUsageService localCapacityUsageService;
+
     public CapacityManagementAspect(ConfigInfoPersistService configInfoPersistService, CapacityService capacityService) {
+        this(configInfoPersistService, capacityService, null);
+    }
+
+    public CapacityManagementAspect(ConfigInfoPersistService configInfoPersistService, CapacityService capacityService,
+            LocalCapacityUsageService localCapacityUsageService) {
         this.configInfoPersistService = configInfoPersistService;
         this.capacityService = capacityService;
+        this.localCapacityUsageService = localCapacityUsageService;
     }
     
     /**
@@ -144,6 +153,13 @@ public class CapacityManagementAspect {
         return StringUtils.isNotBlank(tenant);
     }
     
+    /**
+     * Whether to count usage in memory by {@link LocalCapacityUsageService} instead of updating database directly.
+     */
+    private boolean isLocalUsage() {
+        return localCapacityUsageService != null && PropertyUtil.isCapacityLocalUsageEnabled();
+    }
+    
     /**
      * The usage of capacity table for counting module will subtracte one whether open the limitation check of capacity
      * management.
@@ -195,7 +211,10 @@ public class CapacityManagementAspect {
     
     private void correctUsage(String group, String tenant, boolean hasTenant) {
         try {
-            if (hasTenant) {
+            if (isLocalUsage()) {
+                LOGGER.info("[capacityManagement] correct local usage, group: {}, tenant: {}", group, tenant);
+                localCapacityUsageService.correctUsage(group, hasTenant ? tenant : null);
+            } else if (hasTenant) {
                 LOGGER.info("[capacityManagement] correct usage, tenant: {}", tenant);
                 capacityService.correctTenantUsage(tenant);
             } else {
@@ -228,6 +247,15 @@ public class CapacityManagementAspect {
      */
     private void insertOrUpdateUsage(String group, String tenant, CounterMode counterMode, boolean hasTenant) {
         try {
+            if (isLocalUsage()) {
+                localCapacityUsageService.insertAndUpdateClusterUsage(counterMode, true);
+                if (hasTenant) {
+                    localCapacityUsageService.insertAndUpdateTenantUsage(counterMode, tenant, true);
+                } else {
+                    localCapacityUsageService.insertAndUpdateGroupUsage(counterMode, group, true);
+                }
+                return;
+            }
             capacityService.insertAndUpdateClusterUsage(counterMode, true);
             if (hasTenant) {
                 capacityService.insertAndUpdateTenantUsage(counterMode, tenant, true);
@@ -242,7 +270,9 @@ public class CapacityManagementAspect {
     private LimitType getLimitType(CounterMode counterMode, String group, String tenant, String content,
             boolean hasTenant) {
         try {
-            boolean clusterLimited = !capacityService.insertAndUpdateClusterUsage(counterMode, false);
+            boolean clusterUpdated = isLocalUsage() ? localCapacityUsageService.insertAndUpdateClusterUsage(counterMode,
+                    false) : capacityService.insertAndUpdateClusterUsage(counterMode, false);
+            boolean clusterLimited = !clusterUpdated;
             if (clusterLimited) {
                 LOGGER.warn("[capacityManagement] cluster capacity reaches quota.");
                 return LimitType.OVER_CLUSTER_QUOTA;
@@ -283,7 +313,7 @@ public class CapacityManagementAspect {
         if (isSizeLimited(group, tenant, currentSize, hasTenant, false, capacity)) {
             return LimitType.OVER_MAX_SIZE;
         }
-        if (capacity == null) {
+        if (capacity == null && !isLocalUsage()) {
             insertCapacity(group, tenant, hasTenant);
         }
         boolean updateSuccess = isUpdateSuccess(counterMode, group, tenant, hasTenant);
@@ -299,12 +329,14 @@ public class CapacityManagementAspect {
     private boolean isUpdateSuccess(CounterMode counterMode, String group, String tenant, boolean hasTenant) {
         boolean updateSuccess;
         if (hasTenant) {
-            updateSuccess = capacityService.updateTenantUsage(counterMode, tenant);
+            updateSuccess = isLocalUsage() ? localCapacityUsageService.updateTenantUsage(counterMode, tenant)
+                    : capacityService.updateTenantUsage(counterMode, tenant);
             if (!updateSuccess) {
                 LOGGER.warn("[capacityManagement] tenant capacity reaches quota, tenant: {}", tenant);
             }
         } else {
-            updateSuccess = capacityService.updateGroupUsage(counterMode, group);
+            updateSuccess = isLocalUsage() ? localCapacityUsageService.updateGroupUsage(counterMode, group)
+                    : capacityService.updateGroupUsage(counterMode, group);
             if (!updateSuccess) {
                 LOGGER.warn("[capacityManagement] group capacity reaches quota, group: {}", group);
             }
@@ -321,6 +353,9 @@ public class CapacityManagementAspect {
     }
     
     private Capacity getCapacity(String group, String tenant, boolean hasTenant) {
+        if (isLocalUsage()) {
+            return localCapacityUsageService.getCapacity(group, hasTenant ? tenant : null);
+        }
         Capacity capacity;
         if (hasTenant) {
             capacity = capacityService.getTenantCapacity(tenant);
@@ -402,7 +437,13 @@ public class CapacityManagementAspect {
     private void rollback(CounterMode counterMode, String group, String tenant, boolean hasTenant) {
         try {
             rollbackClusterUsage(counterMode);
-            if (hasTenant) {
+            if (isLocalUsage()) {
+                if (hasTenant) {
+                    localCapacityUsageService.updateTenantUsage(counterMode.reverse(), tenant);
+                } else {
+                    localCapacityUsageService.updateGroupUsage(counterMode.reverse(), group);
+                }
+            } else if (hasTenant) {
                 capacityService.updateTenantUsage(counterMode.reverse(), tenant);
             } else {
                 capacityService.updateGroupUsage(counterMode.reverse(), group);
@@ -414,7 +455,9 @@ public class CapacityManagementAspect {
     
     private void rollbackClusterUsage(CounterMode counterMode) {
         try {
-            if (!capacityService.updateClusterUsage(counterMode.reverse())) {
+            boolean success = isLocalUsage() ? localCapacityUsageService.updateClusterUsage(counterMode.reverse())
+                    : capacityService.updateClusterUsage(counterMode.reverse());
+            if (!success) {
                 LOGGER.error("[capacityManagement] cluster usage rollback fail counterMode: {}", counterMode);
             }
         } catch (Exception e) {
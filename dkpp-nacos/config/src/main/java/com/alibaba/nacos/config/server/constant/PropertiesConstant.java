@@ -63,5 +63,27 @@ public class PropertiesConstant {
     
     public static final String DUMP_CHANGE_WORKER_INTERVAL = "dumpChangeWorkerInterval";
     
+    public static final String CACHE_COMPACT_ENABLED = "nacos.config.cache.compact.enabled";
+    
+    public static final String DUMP_ALL_PIPELINE_ENABLED = "nacos.config.dump.all.pipeline.enabled";
+    
+    public static final String DUMP_ALL_READER_COUNT = "nacos.config.dump.all.reader.count";
+    
+    public static final String DUMP_ALL_WRITER_COUNT = "nacos.config.dump.all.writer.count";
+    
+    public static final String DUMP_BATCH_SIZE = "nacos.config.dump.batch.size";
+    
+    public static final String DUMP_ALL_WAL_DISABLED = "nacos.config.dump.all.wal.disabled";
+    
+    public static final String CONTENT_CACHE_ENABLED = "nacos.config.content.cache.enabled";
+    
+    public static final String CONTENT_CACHE_MAX_BYTES = "nacos.config.content.cache.max.bytes";
+    
+    public static final String CAPACITY_LOCAL_USAGE_ENABLED = "nacos.config.capacity.local.usage.enabled";
+    
+    public static final String CAPACITY_USAGE_FLUSH_INTERVAL = "nacos.config.capacity.usage.flush.interval";
+    
+    public static final String SEARCH_INDEX_ENABLED = "nacos.config.search.index.enabled";
+    
     
 }
@@ -37,6 +37,7 @@ import com.alibaba.nacos.config.server.paramcheck.ConfigListenerHttpParamExtract
 import com.alibaba.nacos.config.server.result.code.ResultCodeEnum;
 import com.alibaba.nacos.config.server.service.ConfigChangePublisher;
 import com.alibaba.nacos.config.server.service.ConfigOperationService;
+import com.alibaba.nacos.config.server.service.ConfigSearchIndex;
 import com.alibaba.nacos.config.server.service.ConfigSubService;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoBetaPersistService;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
@@ -353,7 +354,8 @@ public class ConfigController {
     }
     
     /**
-     * Query the configuration information and return it in JSON format.
+     * Query the configuration information and return it in JSON format. The page is seeked by lastMaxId instead of
+     * pageNo when lastMaxId is given, and the lastMaxId of next page is returned.
      */
     @GetMapping(params = "search=accurate")
     @Secured(action = ActionTypes.READ, signType = SignType.CONFIG)
@@ -362,7 +364,9 @@ public class ConfigController {
             @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
             @RequestParam(value = "config_tags", required = false) String configTags,
-            @RequestParam("pageNo") int pageNo, @RequestParam("pageSize") int pageSize) {
+            @RequestParam(value = "pageNo", required = false, defaultValue = "1") int pageNo,
+            @RequestParam("pageSize") int pageSize,
+            @RequestParam(value = "lastMaxId", required = false) Long lastMaxId) {
         Map<String, Object> configAdvanceInfo = new HashMap<>(100);
         if (StringUtils.isNotBlank(appName)) {
             configAdvanceInfo.put("appName", appName);
@@ -371,6 +375,10 @@ public class ConfigController {
             configAdvanceInfo.put("config_tags", configTags);
         }
         try {
+            if (null != lastMaxId) {
+                return configInfoPersistService.findConfigInfo4PageByCursor(lastMaxId, pageSize, dataId, group, tenant,
+                        configAdvanceInfo);
+            }
             return configInfoPersistService.findConfigInfo4Page(pageNo, pageSize, dataId, group, tenant,
                     configAdvanceInfo);
         } catch (Exception e) {
@@ -382,7 +390,8 @@ public class ConfigController {
     
     /**
      * Fuzzy query configuration information. Fuzzy queries based only on content are not allowed, that is, both dataId
-     * and group are NULL, but content is not NULL. In this case, all configurations are returned.
+     * and group are NULL, but content is not NULL. In this case, all configurations are returned. The page is seeked
+     * by lastMaxId instead of pageNo when lastMaxId is given.
      */
     @GetMapping(params = "search=blur")
     @Secured(action = ActionTypes.READ, signType = SignType.CONFIG)
@@ -391,7 +400,9 @@ public class ConfigController {
             @RequestParam("group") String group, @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
             @RequestParam(value = "config_tags", required = false) String configTags,
-            @RequestParam("pageNo") int pageNo, @RequestParam("pageSize") int pageSize) {
+            @RequestParam(value = "pageNo", required = false, defaultValue = "1") int pageNo,
+            @RequestParam("pageSize") int pageSize,
+            @RequestParam(value = "lastMaxId", required = false) Long lastMaxId) {
         MetricsMonitor.getFuzzySearchMonitor().incrementAndGet();
         Map<String, Object> configAdvanceInfo = new HashMap<>(50);
         if (StringUtils.isNotBlank(appName)) {
@@ -401,6 +412,15 @@ public class ConfigController {
             configAdvanceInfo.put("config_tags", configTags);
         }
         try {
+            Page<ConfigInfo> page = ConfigSearchIndex.searchLike(configInfoPersistService, pageNo, pageSize,
+                    lastMaxId, dataId, group, tenant, configAdvanceInfo);
+            if (null != page) {
+                return page;
+            }
+            if (null != lastMaxId) {
+                return configInfoPersistService.findConfigInfoLike4PageByCursor(lastMaxId, pageSize, dataId, group,
+                        tenant, configAdvanceInfo);
+            }
             return configInfoPersistService.findConfigInfoLike4Page(pageNo, pageSize, dataId, group, tenant,
                     configAdvanceInfo);
         } catch (Exception e) {
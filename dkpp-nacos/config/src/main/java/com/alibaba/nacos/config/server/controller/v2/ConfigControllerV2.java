@@ -165,7 +165,8 @@ public class ConfigControllerV2 {
     }
     
     /**
-     * search config by config detail.
+     * search config by config detail. When lastMaxId is given, the page is seeked by keyset pagination instead of
+     * pageNo, and the lastMaxId of next page is returned in the page.
      *
      */
     @GetMapping("/searchDetail")
@@ -177,7 +178,9 @@ public class ConfigControllerV2 {
             @RequestParam(value = "config_tags", required = false) String configTags,
             @RequestParam(value = "config_detail") String configDetail,
             @RequestParam(value = "search", defaultValue = "blur", required = false) String search,
-            @RequestParam("pageNo") int pageNo, @RequestParam("pageSize") int pageSize) throws NacosException {
+            @RequestParam(value = "pageNo", required = false, defaultValue = "1") int pageNo,
+            @RequestParam("pageSize") int pageSize,
+            @RequestParam(value = "lastMaxId", required = false) Long lastMaxId) throws NacosException {
         Map<String, Object> configAdvanceInfo = new HashMap<>(100);
         if (StringUtils.isNotBlank(appName)) {
             configAdvanceInfo.put("appName", appName);
@@ -189,7 +192,8 @@ public class ConfigControllerV2 {
             configAdvanceInfo.put("content", configDetail);
         }
         try {
-            return configDetailService.findConfigInfoPage(search, pageNo, pageSize, dataId, group, tenant, configAdvanceInfo);
+            return configDetailService.findConfigInfoPage(search, pageNo, pageSize, lastMaxId, dataId, group, tenant,
+                    configAdvanceInfo);
         } catch (Exception e) {
             String errorMsg = "serialize page error, dataId=" + dataId + ", group=" + group;
             LOGGER.error(errorMsg, e);
@@ -31,6 +31,11 @@ import java.util.Map;
  */
 public class CacheItem {
     
+    /**
+     * Estimated heap bytes of a {@link SimpleReadWriteLock}, object header and status field.
+     */
+    private static final long LOCK_SAVED_BYTES = 16L;
+    
     final String groupKey;
     
     public String type;
@@ -60,7 +65,10 @@ public class CacheItem {
      */
     private volatile Map<String, ConfigCache> configCacheTags = null;
     
-    private final SimpleReadWriteLock rwLock = new SimpleReadWriteLock();
+    /**
+     * Created lazily, items which are never read or written don't need it.
+     */
+    private volatile SimpleReadWriteLock rwLock;
     
     public CacheItem(String groupKey, String encryptedDataKey) {
         this.groupKey = StringPool.get(groupKey);
@@ -100,8 +108,23 @@ public class CacheItem {
         this.ips4Beta = ips4Beta;
     }
     
+    /**
+     * get read write lock of the item, create it if absent.
+     *
+     * @return read write lock
+     */
     public SimpleReadWriteLock getRwLock() {
-        return rwLock;
+        SimpleReadWriteLock result = rwLock;
+        if (null == result) {
+            synchronized (this) {
+                result = rwLock;
+                if (null == result) {
+                    result = new SimpleReadWriteLock();
+                    rwLock = result;
+                }
+            }
+        }
+        return result;
     }
     
     public String getType() {
@@ -217,6 +240,24 @@ public class CacheItem {
         return configCacheTags.get(tag).getEncryptedDataKey();
     }
     
+    /**
+     * Get the estimated heap bytes saved by compact storage of the item, tag caches are rare and not counted.
+     *
+     * @return saved bytes
+     */
+    public long getCompactSavedBytes() {
+        long result = configCache.getCompactSavedBytes() + (null == rwLock ? LOCK_SAVED_BYTES : 0L);
+        ConfigCache beta = configCacheBeta;
+        if (null != beta) {
+            result += beta.getCompactSavedBytes();
+        }
+        ConfigCache batch = configCacheBatch;
+        if (null != batch) {
+            result += batch.getCompactSavedBytes();
+        }
+        return result;
+    }
+    
     public String getTagMd5(String tag, String encode) {
         if (configCacheTags == null || !configCacheTags.containsKey(tag)) {
             return null;
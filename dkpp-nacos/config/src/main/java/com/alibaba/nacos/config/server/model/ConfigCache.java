@@ -16,7 +16,9 @@
 
 package com.alibaba.nacos.config.server.model;
 
+import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.core.utils.StringPool;
 
 import java.io.Serializable;
@@ -26,13 +28,34 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 /**
  * config cache .
  *
+ * <p>In compact mode, md5 of hex format is kept as 16 bytes binary instead of a pooled 32 chars string, and only
+ * expanded to string when read.
+ *
  * @author shiyiyue1102
  */
 public class ConfigCache implements Serializable {
     
-    volatile String md5Gbk = Constants.NULL;
+    private static final int MD5_BINARY_LENGTH = 16;
+    
+    private static final int MD5_HEX_LENGTH = MD5_BINARY_LENGTH * 2;
+    
+    /**
+     * Estimated heap bytes saved by one binary md5, a 32 chars string costs at least 72 bytes (object header, fields
+     * and latin1 array) while a 16 bytes array costs 32 bytes.
+     */
+    public static final int MD5_COMPACT_SAVED_BYTES = 40;
+    
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
     
-    volatile String md5Utf8 = Constants.NULL;
+    /**
+     * md5 of gbk, {@code String} or {@code byte[]} in compact mode.
+     */
+    volatile Object md5Gbk = Constants.NULL;
+    
+    /**
+     * md5 of utf8, {@code String} or {@code byte[]} in compact mode.
+     */
+    volatile Object md5Utf8 = Constants.NULL;
     
     volatile String encryptedDataKey;
     
@@ -51,12 +74,46 @@ public class ConfigCache implements Serializable {
     public ConfigCache() {
     }
     
+    /**
+     * Get md5 of the encode, a new string is expanded from binary md5 in compact mode for each call, use {@link
+     * #isMd5Equal(String, String)} to compare md5.
+     *
+     * @param encode encode
+     * @return md5
+     */
     public String getMd5(String encode) {
         if (UTF_8.name().equalsIgnoreCase(encode)) {
-            return md5Utf8;
+            return expandMd5(md5Utf8);
         } else {
-            return md5Gbk;
+            return expandMd5(md5Gbk);
+        }
+    }
+    
+    /**
+     * Whether the md5 of the encode equals to the target, without expanding binary md5.
+     *
+     * @param encode encode
+     * @param md5    target md5
+     * @return true if equals
+     */
+    public boolean isMd5Equal(String encode, String md5) {
+        return md5Equals(UTF_8.name().equalsIgnoreCase(encode) ? md5Utf8 : md5Gbk, md5);
+    }
+    
+    /**
+     * Get the estimated heap bytes saved by compact storage, calculated by fixed object sizes instead of measured.
+     *
+     * @return saved bytes
+     */
+    public long getCompactSavedBytes() {
+        long result = 0L;
+        if (md5Gbk instanceof byte[]) {
+            result += MD5_COMPACT_SAVED_BYTES;
+        }
+        if (md5Utf8 instanceof byte[]) {
+            result += MD5_COMPACT_SAVED_BYTES;
         }
+        return result;
     }
     
     public String getEncryptedDataKey() {
@@ -68,25 +125,25 @@ public class ConfigCache implements Serializable {
     }
     
     public ConfigCache(String md5Gbk, String md5Utf8, long lastModifiedTs) {
-        this.md5Gbk = StringPool.get(md5Gbk);
-        this.md5Utf8 = StringPool.get(md5Utf8);
+        this.md5Gbk = compactMd5(md5Gbk);
+        this.md5Utf8 = compactMd5(md5Utf8);
         this.lastModifiedTs = lastModifiedTs;
     }
     
     public String getMd5Gbk() {
-        return md5Gbk;
+        return expandMd5(md5Gbk);
     }
     
     public void setMd5Gbk(String md5Gbk) {
-        this.md5Gbk = StringPool.get(md5Gbk);
+        this.md5Gbk = compactMd5(md5Gbk);
     }
     
     public String getMd5Utf8() {
-        return md5Utf8;
+        return expandMd5(md5Utf8);
     }
     
     public void setMd5Utf8(String md5Utf8) {
-        this.md5Utf8 = StringPool.get(md5Utf8);
+        this.md5Utf8 = compactMd5(md5Utf8);
     }
     
     public long getLastModifiedTs() {
@@ -96,4 +153,61 @@ public class ConfigCache implements Serializable {
     public void setLastModifiedTs(long lastModifiedTs) {
         this.lastModifiedTs = lastModifiedTs;
     }
-}
\ No newline at end of file
+    
+    private static Object compactMd5(String md5) {
+        if (!PropertyUtil.isCacheCompactEnabled() || null == md5 || md5.length() != MD5_HEX_LENGTH) {
+            return StringPool.get(md5);
+        }
+        byte[] result = new byte[MD5_BINARY_LENGTH];
+        for (int i = 0; i < MD5_BINARY_LENGTH; i++) {
+            int high = hexValue(md5.charAt(i * 2));
+            int low = hexValue(md5.charAt(i * 2 + 1));
+            if (high < 0 || low < 0) {
+                // not a lower case hex md5, keep it as it is.
+                return StringPool.get(md5);
+            }
+            result[i] = (byte) (high << 4 | low);
+        }
+        return result;
+    }
+    
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+    
+    private static String expandMd5(Object md5) {
+        if (!(md5 instanceof byte[])) {
+            return (String) md5;
+        }
+        byte[] bytes = (byte[]) md5;
+        char[] result = new char[MD5_HEX_LENGTH];
+        for (int i = 0; i < MD5_BINARY_LENGTH; i++) {
+            result[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+    
+    private static boolean md5Equals(Object stored, String md5) {
+        if (!(stored instanceof byte[])) {
+            return StringUtils.equals((String) stored, md5);
+        }
+        if (null == md5 || md5.length() != MD5_HEX_LENGTH) {
+            return false;
+        }
+        byte[] bytes = (byte[]) stored;
+        for (int i = 0; i < MD5_BINARY_LENGTH; i++) {
+            if (md5.charAt(i * 2) != HEX_DIGITS[(bytes[i] >> 4) & 0xF]
+                    || md5.charAt(i * 2 + 1) != HEX_DIGITS[bytes[i] & 0xF]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Metrics Monitor.
@@ -48,6 +49,26 @@ public class MetricsMonitor {
     
     private static AtomicInteger configCount = new AtomicInteger();
     
+    /**
+     * estimated heap bytes saved by compact config cache, calculated by fixed object sizes instead of measured.
+     */
+    private static AtomicLong configCacheCompactSavedBytes = new AtomicLong();
+    
+    /**
+     * hit count of config content cache.
+     */
+    private static AtomicLong configContentCacheHit = new AtomicLong();
+    
+    /**
+     * miss count of config content cache.
+     */
+    private static AtomicLong configContentCacheMiss = new AtomicLong();
+    
+    /**
+     * estimated heap bytes of config content cache.
+     */
+    private static AtomicLong configContentCacheBytes = new AtomicLong();
+    
     /**
      * task for notify config change to cluster server.
      */
@@ -60,6 +81,16 @@ public class MetricsMonitor {
     
     private static AtomicInteger dumpTask = new AtomicInteger();
     
+    /**
+     * count of config dumped by current or last dump all.
+     */
+    private static AtomicInteger dumpAllCount = new AtomicInteger();
+    
+    /**
+     * config dumped per second by current or last dump all.
+     */
+    private static AtomicInteger dumpAllRate = new AtomicInteger();
+    
     /**
      * config fuzzy search count.
      */
@@ -98,6 +129,26 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "configCount"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, configCount);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "configCacheCompactSavedBytesEstimate"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, configCacheCompactSavedBytes);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "configContentCacheHit"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, configContentCacheHit);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "configContentCacheMiss"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, configContentCacheMiss);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "configContentCacheBytes"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, configContentCacheBytes);
+        
         tags = new ArrayList<>();
         tags.add(immutableTag);
         tags.add(new ImmutableTag("name", "notifyTask"));
@@ -113,6 +164,16 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "dumpTask"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpTask);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "dumpAllCount"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpAllCount);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "dumpAllRate"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpAllRate);
+        
         tags = new ArrayList<>();
         tags.add(immutableTag);
         tags.add(new ImmutableTag("name", "fuzzySearch"));
@@ -146,6 +207,22 @@ public class MetricsMonitor {
         return configCount;
     }
     
+    public static AtomicLong getConfigCacheCompactSavedBytesMonitor() {
+        return configCacheCompactSavedBytes;
+    }
+    
+    public static AtomicLong getConfigContentCacheHitMonitor() {
+        return configContentCacheHit;
+    }
+    
+    public static AtomicLong getConfigContentCacheMissMonitor() {
+        return configContentCacheMiss;
+    }
+    
+    public static AtomicLong getConfigContentCacheBytesMonitor() {
+        return configContentCacheBytes;
+    }
+    
     public static AtomicInteger getNotifyTaskMonitor() {
         return notifyTask;
     }
@@ -158,6 +235,14 @@ public class MetricsMonitor {
         return dumpTask;
     }
     
+    public static AtomicInteger getDumpAllCountMonitor() {
+        return dumpAllCount;
+    }
+    
+    public static AtomicInteger getDumpAllRateMonitor() {
+        return dumpAllRate;
+    }
+    
     public static AtomicInteger getFuzzySearchMonitor() {
         return fuzzySearch;
     }
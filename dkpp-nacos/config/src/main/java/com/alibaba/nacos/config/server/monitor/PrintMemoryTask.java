@@ -36,5 +36,8 @@ public class PrintMemoryTask implements Runnable {
         MEMORY_LOG.info("groupCount = {}, subscriberClientCount = {}, subscriberCount = {}", groupCount, subClientCount,
                 subCount);
         MetricsMonitor.getConfigCountMonitor().set(groupCount);
+        long compactSavedBytes = ConfigCacheService.compactSavedBytes();
+        MEMORY_LOG.info("configCacheCompactSavedBytesEstimate = {}", compactSavedBytes);
+        MetricsMonitor.getConfigCacheCompactSavedBytesMonitor().set(compactSavedBytes);
     }
 }
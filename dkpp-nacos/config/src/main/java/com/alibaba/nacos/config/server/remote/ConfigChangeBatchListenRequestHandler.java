@@ -22,6 +22,7 @@ import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenRespo
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.auth.annotation.Secured;
+import com.alibaba.nacos.common.utils.ListenDigestUtils;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.core.control.TpsControl;
@@ -34,6 +35,10 @@ import com.alibaba.nacos.plugin.auth.constant.SignType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * config change listen request handler.
  *
@@ -57,11 +62,13 @@ public class ConfigChangeBatchListenRequestHandler
         String tag = configChangeListenRequest.getHeader(Constants.VIPSERVER_TAG);
         
         ConfigChangeBatchListenResponse configChangeBatchListenResponse = new ConfigChangeBatchListenResponse();
+        Set<String> requestGroupKeys = new HashSet<>();
         for (ConfigBatchListenRequest.ConfigListenContext listenContext : configChangeListenRequest
                 .getConfigListenContexts()) {
             String groupKey = GroupKey2
                     .getKey(listenContext.getDataId(), listenContext.getGroup(), listenContext.getTenant());
             groupKey = StringPool.get(groupKey);
+            requestGroupKeys.add(groupKey);
             
             String md5 = StringPool.get(listenContext.getMd5());
             
@@ -77,8 +84,38 @@ public class ConfigChangeBatchListenRequestHandler
             }
         }
         
+        String listenDigest = configChangeListenRequest.getListenDigest();
+        if (configChangeListenRequest.isListen() && null != listenDigest) {
+            checkListenDigest(listenDigest, requestGroupKeys, connectionId, meta.getClientIp(), tag,
+                    configChangeBatchListenResponse);
+        }
         return configChangeBatchListenResponse;
         
     }
     
+    /**
+     * Check the configs listened by connection but not in request, only if the listen set recorded for connection is
+     * the same as the listen set of client, otherwise client should send the whole listen set again.
+     */
+    private void checkListenDigest(String listenDigest, Set<String> requestGroupKeys, String connectionId,
+            String clientIp, String tag, ConfigChangeBatchListenResponse response) {
+        Map<String, String> listenKeys = configChangeListenContext.getListenKeys(connectionId);
+        if (!listenDigest.equals(ListenDigestUtils.digest(listenKeys))) {
+            response.setListenDigestMismatch(true);
+            return;
+        }
+        if (null == listenKeys) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : listenKeys.entrySet()) {
+            String groupKey = entry.getKey();
+            if (requestGroupKeys.contains(groupKey) || ConfigCacheService
+                    .isUptodate(groupKey, entry.getValue(), clientIp, tag)) {
+                continue;
+            }
+            String[] keys = GroupKey2.parseKey(groupKey);
+            response.addChangeConfig(keys[0], keys[1], keys[2]);
+        }
+    }
+    
 }
@@ -19,27 +19,39 @@ package com.alibaba.nacos.config.server.remote;
 import com.alibaba.nacos.common.utils.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * config change listen context.
  *
+ * <p>Both indexes are lock free for readers. Writers of the same connection are serialized on the bin of its
+ * connection id, and only contend with other connections on the hash bin of the same group key, so batch listen
+ * requests of different connections won't block each other or the notify fan-out.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeListenContext.java, v 0.1 2020年07月20日 1:37 PM liuzunfei Exp $
  */
 @Component
 public class ConfigChangeListenContext {
     
+    /**
+     * Stored instead of null md5 which is rejected by concurrent map, it is not a valid md5 hex string.
+     */
+    private static final String NULL_MD5 = "\u0000";
+    
     /**
      * groupKey-> connection set.
      */
-    private ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> groupKeyContext = new ConcurrentHashMap<>();
     
     /**
      * connectionId-> group key set.
      */
-    private ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, String>> connectionIdContext = new ConcurrentHashMap<>();
     
     /**
      * add listen.
@@ -47,11 +59,24 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connectionId.
      */
-    public synchronized void addListen(String groupKey, String md5, String connectionId) {
-        // 1.add groupKeyContext
-        groupKeyContext.computeIfAbsent(groupKey, k -> new HashSet<>()).add(connectionId);
-        // 2.add connectionIdContext
-        connectionIdContext.computeIfAbsent(connectionId, k -> new HashMap<>(16)).put(groupKey, md5);
+    public void addListen(String groupKey, String md5, String connectionId) {
+        // both writes are done in the bin of connection id, so they are atomic to clearing the connection.
+        connectionIdContext.compute(connectionId, (id, groupKeys) -> {
+            if (null == groupKeys) {
+                groupKeys = new ConcurrentHashMap<>(16);
+            }
+            // 1.add groupKeyContext, compute to avoid adding into the set which is being removed for empty.
+            groupKeyContext.compute(groupKey, (key, connectionIds) -> {
+                if (null == connectionIds) {
+                    connectionIds = ConcurrentHashMap.newKeySet();
+                }
+                connectionIds.add(connectionId);
+                return connectionIds;
+            });
+            // 2.add connectionIdContext.
+            groupKeys.put(groupKey, null == md5 ? NULL_MD5 : md5);
+            return groupKeys;
+        });
     }
     
     /**
@@ -60,81 +85,53 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connection id.
      */
-    public synchronized void removeListen(String groupKey, String connectionId) {
-        
-        //1. remove groupKeyContext
-        Set<String> connectionIds = groupKeyContext.get(groupKey);
-        if (connectionIds != null) {
-            connectionIds.remove(connectionId);
-            if (connectionIds.isEmpty()) {
-                groupKeyContext.remove(groupKey);
-            }
-        }
-        
-        //2.remove connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys != null) {
-            groupKeys.remove(groupKey);
+    public void removeListen(String groupKey, String connectionId) {
+        Map<String, String> groupKeys = connectionIdContext.computeIfPresent(connectionId, (id, keys) -> {
+            //1. remove groupKeyContext
+            removeConnectionOfGroupKey(groupKey, connectionId);
+            //2.remove connectionIdContext
+            keys.remove(groupKey);
+            return keys;
+        });
+        if (null == groupKeys) {
+            removeConnectionOfGroupKey(groupKey, connectionId);
         }
     }
     
+    private void removeConnectionOfGroupKey(String groupKey, String connectionId) {
+        groupKeyContext.computeIfPresent(groupKey, (key, connectionIds) -> {
+            connectionIds.remove(connectionId);
+            return connectionIds.isEmpty() ? null : connectionIds;
+        });
+    }
+    
     /**
      * get listeners of the group key.
      *
      * @param groupKey groupKey.
-     * @return the copy of listeners, may be return null.
+     * @return read only view of listeners without copy, which is weakly consistent during iteration, may be return
+     *     null.
      */
-    public synchronized Set<String> getListeners(String groupKey) {
-        
-        HashSet<String> strings = groupKeyContext.get(groupKey);
-        if (CollectionUtils.isNotEmpty(strings)) {
-            Set<String> listenConnections = new HashSet<>();
-            safeCopy(strings, listenConnections);
-            return listenConnections;
+    public Set<String> getListeners(String groupKey) {
+        Set<String> connectionIds = groupKeyContext.get(groupKey);
+        if (CollectionUtils.isNotEmpty(connectionIds)) {
+            return Collections.unmodifiableSet(connectionIds);
         }
         return null;
     }
     
-    /**
-     * copy collections.
-     *
-     * @param src  may be modified concurrently
-     * @param dest dest collection
-     */
-    private void safeCopy(Collection src, Collection dest) {
-        Iterator iterator = src.iterator();
-        while (iterator.hasNext()) {
-            dest.add(iterator.next());
-        }
-    }
-    
     /**
      * remove the context related to the connection id.
      *
      * @param connectionId connectionId.
      */
-    public synchronized void clearContextForConnectionId(final String connectionId) {
-        
-        Map<String, String> listenKeys = getListenKeys(connectionId);
-        
-        if (listenKeys == null) {
-            connectionIdContext.remove(connectionId);
-            return;
-        }
-        for (Map.Entry<String, String> groupKey : listenKeys.entrySet()) {
-
-            Set<String> connectionIds = groupKeyContext.get(groupKey.getKey());
-            if (CollectionUtils.isNotEmpty(connectionIds)) {
-                connectionIds.remove(connectionId);
-                if (connectionIds.isEmpty()) {
-                    groupKeyContext.remove(groupKey.getKey());
-                }
-            } else {
-                groupKeyContext.remove(groupKey.getKey());
+    public void clearContextForConnectionId(final String connectionId) {
+        connectionIdContext.computeIfPresent(connectionId, (id, listenKeys) -> {
+            for (String groupKey : listenKeys.keySet()) {
+                removeConnectionOfGroupKey(groupKey, connectionId);
             }
-
-        }
-        connectionIdContext.remove(connectionId);
+            return null;
+        });
     }
     
     /**
@@ -143,9 +140,16 @@ public class ConfigChangeListenContext {
      * @param connectionId connection id.
      * @return listen group keys of the connection id, key:group key,value:md5
      */
-    public synchronized Map<String, String> getListenKeys(String connectionId) {
-        HashMap<String, String> stringStringHashMap = connectionIdContext.get(connectionId);
-        return stringStringHashMap == null ? null : new HashMap<>(stringStringHashMap);
+    public Map<String, String> getListenKeys(String connectionId) {
+        Map<String, String> listenKeys = connectionIdContext.get(connectionId);
+        if (null == listenKeys) {
+            return null;
+        }
+        Map<String, String> result = new HashMap<>(listenKeys.size() * 2);
+        for (Map.Entry<String, String> entry : listenKeys.entrySet()) {
+            result.put(entry.getKey(), toMd5(entry.getValue()));
+        }
+        return result;
     }
     
     /**
@@ -156,7 +160,11 @@ public class ConfigChangeListenContext {
      */
     public String getListenKeyMd5(String connectionId, String groupKey) {
         Map<String, String> groupKeyContexts = connectionIdContext.get(connectionId);
-        return groupKeyContexts == null ? null : groupKeyContexts.get(groupKey);
+        return groupKeyContexts == null ? null : toMd5(groupKeyContexts.get(groupKey));
+    }
+    
+    private static String toMd5(String storedMd5) {
+        return NULL_MD5.equals(storedMd5) ? null : storedMd5;
     }
     
     /**
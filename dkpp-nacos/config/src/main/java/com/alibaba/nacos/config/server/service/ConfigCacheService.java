@@ -24,6 +24,7 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
@@ -32,6 +33,7 @@ import com.alibaba.nacos.sys.env.EnvUtil;
 import com.google.common.collect.Lists;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -64,6 +66,20 @@ public class ConfigCacheService {
         return CACHE.size();
     }
     
+    /**
+     * Get the estimated heap bytes saved by compact storage of all cache items, it is a rough estimate by fixed
+     * object sizes rather than measured heap usage.
+     *
+     * @return saved bytes
+     */
+    public static long compactSavedBytes() {
+        long result = 0L;
+        for (CacheItem each : CACHE.values()) {
+            result += each.getCompactSavedBytes();
+        }
+        return result;
+    }
+    
     /**
      * Save config file and update md5 value in cache.
      *
@@ -104,12 +120,12 @@ public class ConfigCacheService {
             }
             
             //check md5 & update local disk cache.
-            String localContentMd5 = ConfigCacheService.getContentMd5(groupKey);
-            boolean md5Changed = !md5.equals(localContentMd5);
+            boolean md5Changed = !ConfigCacheService.isUptodate(groupKey, md5);
             if (md5Changed) {
                 DUMP_LOG.info("[dump] md5 changed, save to disk cache ,groupKey={}, newMd5={},oldMd5={}", groupKey, md5,
-                        localContentMd5);
+                        ConfigCacheService.getContentMd5(groupKey));
                 ConfigDiskServiceFactory.getInstance().saveToDisk(dataId, group, tenant, content);
+                ConfigContentCache.remove(groupKey);
             } else {
                 DUMP_LOG.warn("[dump-ignore] ignore to save to disk cache. md5 consistent,groupKey={}, md5={}",
                         groupKey, md5);
@@ -135,15 +151,7 @@ public class ConfigCacheService {
             return true;
         } catch (IOException ioe) {
             DUMP_LOG.error("[dump-exception] save disk error. " + groupKey + ", " + ioe);
-            if (ioe.getMessage() != null) {
-                String errMsg = ioe.getMessage();
-                if (NO_SPACE_CN.equals(errMsg) || NO_SPACE_EN.equals(errMsg) || errMsg.contains(DISK_QUOTA_CN)
-                        || errMsg.contains(DISK_QUOTA_EN)) {
-                    // Protect from disk full.
-                    FATAL_LOG.error("Local Disk Full,Exit", ioe);
-                    EnvUtil.systemExit();
-                }
-            }
+            checkDiskFull(ioe);
             return false;
         } finally {
             releaseWriteLock(groupKey);
@@ -151,6 +159,18 @@ public class ConfigCacheService {
         
     }
     
+    private static void checkDiskFull(IOException ioe) {
+        if (ioe.getMessage() != null) {
+            String errMsg = ioe.getMessage();
+            if (NO_SPACE_CN.equals(errMsg) || NO_SPACE_EN.equals(errMsg) || errMsg.contains(DISK_QUOTA_CN)
+                    || errMsg.contains(DISK_QUOTA_EN)) {
+                // Protect from disk full.
+                FATAL_LOG.error("Local Disk Full,Exit", ioe);
+                EnvUtil.systemExit();
+            }
+        }
+    }
+    
     /**
      * Save config file and update md5 value in cache.
      *
@@ -168,6 +188,82 @@ public class ConfigCacheService {
         return dumpWithMd5(dataId, group, tenant, content, null, lastModifiedTs, type, encryptedDataKey);
     }
     
+    /**
+     * Save a batch of config to disk by one write and update md5 values in cache, used by dump processors.
+     *
+     * <p>Same as {@link #dumpWithMd5} for each config, but the configs whose md5 changed are saved to disk by one batch
+     * write, and the write locks of all configs are held until the batch is finished.
+     *
+     * @param configInfos configs to dump, md5 will be calculated if it is null.
+     * @param disableWal  whether write ahead log of disk can be skipped, only for rebuilding the whole disk cache.
+     * @return count of configs which are dumped successfully.
+     */
+    public static int batchDumpWithMd5(List<ConfigInfoWrapper> configInfos, boolean disableWal) {
+        List<ConfigInfoWrapper> lockedConfigs = new ArrayList<>(configInfos.size());
+        List<String> lockedGroupKeys = new ArrayList<>(configInfos.size());
+        try {
+            for (ConfigInfoWrapper each : configInfos) {
+                String groupKey = GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant());
+                CacheItem ci = makeSure(groupKey, each.getEncryptedDataKey());
+                ci.setType(each.getType());
+                int lockResult = tryWriteLock(groupKey);
+                if (lockResult < 0) {
+                    DUMP_LOG.warn("[dump-error] write lock failed. {}", groupKey);
+                    continue;
+                }
+                lockedConfigs.add(each);
+                lockedGroupKeys.add(lockResult > 0 ? groupKey : null);
+            }
+            
+            List<ConfigInfoWrapper> md5ChangedConfigs = new ArrayList<>(lockedConfigs.size());
+            List<ConfigInfoWrapper> newLastModifiedConfigs = new ArrayList<>();
+            for (ConfigInfoWrapper each : lockedConfigs) {
+                String groupKey = GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant());
+                long lastModifiedTs = getLastModifiedTs(groupKey);
+                if (each.getLastModified() < lastModifiedTs) {
+                    DUMP_LOG.warn("[dump-ignore] timestamp is outdated,groupKey={}", groupKey);
+                    continue;
+                }
+                if (null == each.getMd5()) {
+                    each.setMd5(MD5Utils.md5Hex(each.getContent(), PERSIST_ENCODE));
+                }
+                if (!isUptodate(groupKey, each.getMd5())) {
+                    md5ChangedConfigs.add(each);
+                } else if (each.getLastModified() > lastModifiedTs) {
+                    newLastModifiedConfigs.add(each);
+                } else {
+                    DUMP_LOG.warn("[dump-ignore] md5 consistent and no new timestamp changed.groupKey={}", groupKey);
+                }
+            }
+            
+            ConfigDiskServiceFactory.getInstance().batchSaveToDisk(md5ChangedConfigs, disableWal);
+            for (ConfigInfoWrapper each : md5ChangedConfigs) {
+                ConfigContentCache.remove(GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant()));
+            }
+            DUMP_LOG.info("[dump] md5 changed, batch save {} configs to disk cache", md5ChangedConfigs.size());
+            
+            for (ConfigInfoWrapper each : md5ChangedConfigs) {
+                updateMd5(GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant()), each.getMd5(),
+                        each.getLastModified(), each.getEncryptedDataKey());
+            }
+            for (ConfigInfoWrapper each : newLastModifiedConfigs) {
+                updateTimeStamp(GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant()),
+                        each.getLastModified(), each.getEncryptedDataKey());
+            }
+            return lockedConfigs.size();
+        } catch (IOException ioe) {
+            DUMP_LOG.error("[dump-exception] batch save disk error. " + ioe);
+            checkDiskFull(ioe);
+            return 0;
+        } finally {
+            for (String each : lockedGroupKeys) {
+                if (null != each) {
+                    releaseWriteLock(each);
+                }
+            }
+        }
+    }
+    
     /**
      * Save config file and update md5 value in cache.
      *
@@ -214,6 +310,7 @@ public class ConfigCacheService {
                         "[dump-beta] md5 changed, update md5 in local disk cache. groupKey={}, newMd5={}, oldMd5={}",
                         groupKey, md5, localContentBetaMd5);
                 ConfigDiskServiceFactory.getInstance().saveBetaToDisk(dataId, group, tenant, content);
+                ConfigContentCache.removeBeta(groupKey);
             }
             
             //md5 , ip list  timestamp check  and update local jvm cache.
@@ -290,6 +387,7 @@ public class ConfigCacheService {
             
             if (md5Changed) {
                 ConfigDiskServiceFactory.getInstance().saveTagToDisk(dataId, group, tenant, tag, content);
+                ConfigContentCache.removeTag(groupKey, tag);
             }
             
             if (md5Changed) {
@@ -343,6 +441,7 @@ public class ConfigCacheService {
         try {
             DUMP_LOG.info("[dump] remove  local disk cache,groupKey={} ", groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo(dataId, group, tenant);
+            ConfigContentCache.remove(groupKey);
             
             CACHE.remove(groupKey);
             DUMP_LOG.info("[dump] remove  local jvm cache,groupKey={} ", groupKey);
@@ -382,6 +481,7 @@ public class ConfigCacheService {
         try {
             DUMP_LOG.info("[remove-beta-ok] remove beta in local disk cache,groupKey={} ", groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo4Beta(dataId, group, tenant);
+            ConfigContentCache.removeBeta(groupKey);
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, CACHE.get(groupKey).getIps4Beta()));
             CACHE.get(groupKey).removeBeta();
             DUMP_LOG.info("[remove-beta-ok] remove beta in local jvm cache,groupKey={} ", groupKey);
@@ -420,6 +520,7 @@ public class ConfigCacheService {
         try {
             DUMP_LOG.info("[remove-tag-ok] remove tag in local disk cache,tag={},groupKey={} ", tag, groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo4Tag(dataId, group, tenant, tag);
+            ConfigContentCache.removeTag(groupKey, tag);
             
             CacheItem ci = CACHE.get(groupKey);
             if (ci.getConfigCacheTags() != null) {
@@ -447,7 +548,7 @@ public class ConfigCacheService {
      */
     public static void updateMd5(String groupKey, String md5Utf8, long lastModifiedTs, String encryptedDataKey) {
         CacheItem cache = makeSure(groupKey, encryptedDataKey);
-        if (cache.getConfigCache().getMd5Utf8() == null || !cache.getConfigCache().getMd5Utf8().equals(md5Utf8)) {
+        if (!cache.getConfigCache().isMd5Equal(ENCODE_UTF8, md5Utf8)) {
             cache.getConfigCache().setMd5Utf8(md5Utf8);
             cache.getConfigCache().setLastModifiedTs(lastModifiedTs);
             cache.getConfigCache().setEncryptedDataKey(encryptedDataKey);
@@ -467,8 +568,7 @@ public class ConfigCacheService {
             String encryptedDataKey4Beta) {
         CacheItem cache = makeSure(groupKey, null);
         cache.initBetaCacheIfEmpty();
-        String betaMd5Utf8 = cache.getConfigCacheBeta().getMd5(ENCODE_UTF8);
-        if (betaMd5Utf8 == null || !betaMd5Utf8.equals(md5Utf8) || !CollectionUtils.isListEqual(ips4Beta,
+        if (!cache.getConfigCacheBeta().isMd5Equal(ENCODE_UTF8, md5Utf8) || !CollectionUtils.isListEqual(ips4Beta,
                 cache.ips4Beta)) {
             cache.isBeta = true;
             cache.ips4Beta = ips4Beta;
@@ -506,23 +606,28 @@ public class ConfigCacheService {
     }
     
     public static String getContentMd5(String groupKey, String ip, String tag) {
+        ConfigCache configCache = selectConfigCache(groupKey, ip, tag);
+        return (null != configCache) ? configCache.getMd5(ENCODE_UTF8) : Constants.NULL;
+    }
+    
+    private static ConfigCache selectConfigCache(String groupKey, String ip, String tag) {
         CacheItem item = CACHE.get(groupKey);
         if (item != null && item.isBeta && item.ips4Beta != null && item.ips4Beta.contains(ip)
                 && item.getConfigCacheBeta() != null) {
-            return item.getConfigCacheBeta().getMd5(ENCODE_UTF8);
+            return item.getConfigCacheBeta();
         }
         
         if (item != null && StringUtils.isNotBlank(tag) && item.getConfigCacheTags() != null
                 && item.getConfigCacheTags().containsKey(tag)) {
-            return item.getConfigCacheTags().get(tag).getMd5(ENCODE_UTF8);
+            return item.getConfigCacheTags().get(tag);
         }
         
         if (item != null && item.isBatch && item.delimiter >= InternetAddressUtil.ipToInt(ip)
                 && item.getConfigCacheBatch() != null) {
-            return item.getConfigCacheBatch().getMd5(ENCODE_UTF8);
+            return item.getConfigCacheBatch();
         }
         
-        return (null != item) ? item.getConfigCache().getMd5(ENCODE_UTF8) : Constants.NULL;
+        return (null != item) ? item.getConfigCache() : null;
     }
     
     /**
@@ -608,13 +713,14 @@ public class ConfigCacheService {
     }
     
     public static boolean isUptodate(String groupKey, String md5) {
-        String serverMd5 = ConfigCacheService.getContentMd5(groupKey);
-        return StringUtils.equals(md5, serverMd5);
+        return isUptodate(groupKey, md5, "", "");
     }
     
     public static boolean isUptodate(String groupKey, String md5, String ip, String tag) {
-        String serverMd5 = ConfigCacheService.getContentMd5(groupKey, ip, tag);
-        return StringUtils.equals(md5, serverMd5);
+        // compare without expanding the compact md5, which is the hot path of listening.
+        ConfigCache configCache = selectConfigCache(groupKey, ip, tag);
+        return (null != configCache) ? configCache.isMd5Equal(ENCODE_UTF8, md5)
+                : StringUtils.equals(md5, Constants.NULL);
     }
     
     /**
@@ -0,0 +1,367 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded cache of config content in front of {@link ConfigDiskService}, which saves the disk read of hot
+ * configs queried by lots of clients.
+ *
+ * <p>Content is cached with its md5 and only returned to queries with the same md5, so a stale content is never
+ * returned even if the invalidation from dump is missed. The cache is split into segments by key to reduce lock
+ * contention, and each segment evicts the least recently used content when its estimated heap bytes exceed its share
+ * of {@link PropertyUtil#getContentCacheMaxBytes()}.
+ *
+ * @author Nacos
+ */
+public class ConfigContentCache {
+    
+    private static final int SEGMENT_COUNT = 16;
+    
+    /**
+     * Estimated heap bytes of entry, key and md5 objects besides the chars.
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+    
+    private static final int TYPE_FORMAL = 0;
+    
+    private static final int TYPE_BETA = 1;
+    
+    private static final int TYPE_TAG = 2;
+    
+    private static volatile Segment[] segments;
+    
+    /**
+     * Get the formal content of config, read from disk if not cached.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param md5    md5 of content from cache item.
+     * @return content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getContent(String dataId, String group, String tenant, String md5) throws IOException {
+        return getOrLoad(GroupKey2.getKey(dataId, group, tenant), TYPE_FORMAL, null, md5,
+                () -> ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant));
+    }
+    
+    /**
+     * Get the beta content of config, read from disk if not cached.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param md5    md5 of beta content from cache item.
+     * @return content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getBetaContent(String dataId, String group, String tenant, String md5) throws IOException {
+        return getOrLoad(GroupKey2.getKey(dataId, group, tenant), TYPE_BETA, null, md5,
+                () -> ConfigDiskServiceFactory.getInstance().getBetaContent(dataId, group, tenant));
+    }
+    
+    /**
+     * Get the tag content of config, read from disk if not cached.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param tag    tag.
+     * @param md5    md5 of tag content from cache item.
+     * @return content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getTagContent(String dataId, String group, String tenant, String tag, String md5)
+            throws IOException {
+        return getOrLoad(GroupKey2.getKey(dataId, group, tenant), TYPE_TAG, tag, md5,
+                () -> ConfigDiskServiceFactory.getInstance().getTagContent(dataId, group, tenant, tag));
+    }
+    
+    /**
+     * Remove the cached formal content of config.
+     *
+     * @param groupKey group key.
+     */
+    public static void remove(String groupKey) {
+        remove(new ContentKey(groupKey, TYPE_FORMAL, null));
+    }
+    
+    /**
+     * Remove the cached beta content of config.
+     *
+     * @param groupKey group key.
+     */
+    public static void removeBeta(String groupKey) {
+        remove(new ContentKey(groupKey, TYPE_BETA, null));
+    }
+    
+    /**
+     * Remove the cached tag content of config.
+     *
+     * @param groupKey group key.
+     * @param tag      tag.
+     */
+    public static void removeTag(String groupKey, String tag) {
+        remove(new ContentKey(groupKey, TYPE_TAG, tag));
+    }
+    
+    /**
+     * Clear all cached content, segments are rebuilt by the latest max bytes on next use.
+     */
+    public static void clearAll() {
+        Segment[] current;
+        synchronized (ConfigContentCache.class) {
+            current = segments;
+            segments = null;
+        }
+        if (null != current) {
+            for (Segment each : current) {
+                each.close();
+            }
+        }
+    }
+    
+    /**
+     * Clear all cached beta content.
+     */
+    public static void clearAllBeta() {
+        Segment[] current = segments;
+        if (null != current) {
+            for (Segment each : current) {
+                each.clear(TYPE_BETA);
+            }
+        }
+    }
+    
+    /**
+     * Clear all cached tag content.
+     */
+    public static void clearAllTag() {
+        Segment[] current = segments;
+        if (null != current) {
+            for (Segment each : current) {
+                each.clear(TYPE_TAG);
+            }
+        }
+    }
+    
+    private static String getOrLoad(String groupKey, int type, String tag, String md5, ContentLoader loader)
+            throws IOException {
+        if (!PropertyUtil.isContentCacheEnabled() || null == md5) {
+            return loader.load();
+        }
+        ContentKey key = new ContentKey(groupKey, type, tag);
+        Segment segment = getSegment(key);
+        String result = segment.get(key, md5);
+        if (null != result) {
+            MetricsMonitor.getConfigContentCacheHitMonitor().incrementAndGet();
+            return result;
+        }
+        MetricsMonitor.getConfigContentCacheMissMonitor().incrementAndGet();
+        result = loader.load();
+        if (null != result) {
+            segment.put(key, md5, result);
+        }
+        return result;
+    }
+    
+    private static void remove(ContentKey key) {
+        Segment[] current = segments;
+        if (null != current) {
+            getSegment(current, key).remove(key);
+        }
+    }
+    
+    private static Segment getSegment(ContentKey key) {
+        Segment[] current = segments;
+        if (null == current) {
+            synchronized (ConfigContentCache.class) {
+                current = segments;
+                if (null == current) {
+                    current = new Segment[SEGMENT_COUNT];
+                    long segmentCapacity = PropertyUtil.getContentCacheMaxBytes() / SEGMENT_COUNT;
+                    for (int i = 0; i < SEGMENT_COUNT; i++) {
+                        current[i] = new Segment(segmentCapacity);
+                    }
+                    segments = current;
+                }
+            }
+        }
+        return getSegment(current, key);
+    }
+    
+    private static Segment getSegment(Segment[] current, ContentKey key) {
+        int hash = key.hashCode();
+        return current[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+    
+    private static long estimateSize(ContentKey key, String md5, String content) {
+        int tagLength = null == key.tag ? 0 : key.tag.length();
+        return 2L * (key.groupKey.length() + tagLength + md5.length() + content.length()) + ENTRY_OVERHEAD;
+    }
+    
+    private interface ContentLoader {
+        
+        /**
+         * Load content from disk.
+         *
+         * @return content, null if not exist.
+         * @throws IOException io exception.
+         */
+        String load() throws IOException;
+    }
+    
+    private static class ContentKey {
+        
+        private final String groupKey;
+        
+        private final int type;
+        
+        private final String tag;
+        
+        private ContentKey(String groupKey, int type, String tag) {
+            this.groupKey = groupKey;
+            this.type = type;
+            this.tag = tag;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ContentKey that = (ContentKey) o;
+            return type == that.type && groupKey.equals(that.groupKey) && (null == tag ? null == that.tag
+                    : tag.equals(that.tag));
+        }
+        
+        @Override
+        public int hashCode() {
+            int result = groupKey.hashCode();
+            result = 31 * result + type;
+            return 31 * result + (null == tag ? 0 : tag.hashCode());
+        }
+    }
+    
+    private static class ContentEntry {
+        
+        private final String md5;
+        
+        private final String content;
+        
+        private final long size;
+        
+        private ContentEntry(String md5, String content, long size) {
+            this.md5 = md5;
+            this.content = content;
+            this.size = size;
+        }
+    }
+    
+    private static class Segment {
+        
+        private final long capacity;
+        
+        /**
+         * Content larger than this size is not cached, so that one large config can't flush the whole segment.
+         */
+        private final long maxEntrySize;
+        
+        private final LinkedHashMap<ContentKey, ContentEntry> entries = new LinkedHashMap<>(16, 0.75F, true);
+        
+        private long size;
+        
+        /**
+         * Closed segment has been detached by clear all, content put by concurrent query is dropped.
+         */
+        private boolean closed;
+        
+        private Segment(long capacity) {
+            this.capacity = capacity;
+            this.maxEntrySize = capacity / 4;
+        }
+        
+        private synchronized String get(ContentKey key, String md5) {
+            ContentEntry entry = entries.get(key);
+            return null != entry && entry.md5.equals(md5) ? entry.content : null;
+        }
+        
+        private synchronized void put(ContentKey key, String md5, String content) {
+            long entrySize = estimateSize(key, md5, content);
+            if (closed || entrySize > maxEntrySize) {
+                removeEntry(entries.remove(key));
+                return;
+            }
+            removeEntry(entries.put(key, new ContentEntry(md5, content, entrySize)));
+            addSize(entrySize);
+            Iterator<ContentEntry> iterator = entries.values().iterator();
+            while (size > capacity && iterator.hasNext()) {
+                ContentEntry eldest = iterator.next();
+                iterator.remove();
+                removeEntry(eldest);
+            }
+        }
+        
+        private synchronized void remove(ContentKey key) {
+            removeEntry(entries.remove(key));
+        }
+        
+        private synchronized void close() {
+            closed = true;
+            for (ContentEntry each : entries.values()) {
+                removeEntry(each);
+            }
+            entries.clear();
+        }
+        
+        private synchronized void clear(int type) {
+            Iterator<Map.Entry<ContentKey, ContentEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ContentKey, ContentEntry> each = iterator.next();
+                if (each.getKey().type == type) {
+                    iterator.remove();
+                    removeEntry(each.getValue());
+                }
+            }
+        }
+        
+        private void removeEntry(ContentEntry entry) {
+            if (null != entry) {
+                addSize(-entry.size);
+            }
+        }
+        
+        private void addSize(long delta) {
+            size += delta;
+            MetricsMonitor.getConfigContentCacheBytesMonitor().addAndGet(delta);
+        }
+    }
+}
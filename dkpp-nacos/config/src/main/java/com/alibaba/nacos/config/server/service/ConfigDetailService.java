@@ -98,14 +98,7 @@ public class ConfigDetailService {
                 while (true) {
                     try {
                         SearchEvent event = eventLinkedBlockingQueue.take();
-                        Page<ConfigInfo> result = null;
-                        if (Constants.CONFIG_SEARCH_BLUR.equals(event.getType())) {
-                            result = configInfoPersistService.findConfigInfoLike4Page(event.pageNo, event.pageSize,
-                                    event.dataId, event.group, event.tenant, event.configAdvanceInfo);
-                        } else {
-                            result = configInfoPersistService.findConfigInfo4Page(event.pageNo, event.pageSize,
-                                    event.dataId, event.group, event.tenant, event.configAdvanceInfo);
-                        }
+                        Page<ConfigInfo> result = search(event);
                         synchronized (event) {
                             event.setResponse(result);
                             event.notifyAll();
@@ -118,13 +111,51 @@ public class ConfigDetailService {
         }
     }
     
+    private Page<ConfigInfo> search(SearchEvent event) {
+        if (Constants.CONFIG_SEARCH_BLUR.equals(event.getType())) {
+            Page<ConfigInfo> result = ConfigSearchIndex.searchLike(configInfoPersistService, event.pageNo,
+                    event.pageSize, event.lastMaxId, event.dataId, event.group, event.tenant,
+                    event.configAdvanceInfo);
+            if (null != result) {
+                return result;
+            }
+        }
+        if (null != event.lastMaxId) {
+            return searchByCursor(event);
+        }
+        if (Constants.CONFIG_SEARCH_BLUR.equals(event.getType())) {
+            return configInfoPersistService.findConfigInfoLike4Page(event.pageNo, event.pageSize, event.dataId,
+                    event.group, event.tenant, event.configAdvanceInfo);
+        }
+        return configInfoPersistService.findConfigInfo4Page(event.pageNo, event.pageSize, event.dataId, event.group,
+                event.tenant, event.configAdvanceInfo);
+    }
+    
+    private Page<ConfigInfo> searchByCursor(SearchEvent event) {
+        if (Constants.CONFIG_SEARCH_BLUR.equals(event.getType())) {
+            return configInfoPersistService.findConfigInfoLike4PageByCursor(event.lastMaxId, event.pageSize,
+                    event.dataId, event.group, event.tenant, event.configAdvanceInfo);
+        }
+        return configInfoPersistService.findConfigInfo4PageByCursor(event.lastMaxId, event.pageSize, event.dataId,
+                event.group, event.tenant, event.configAdvanceInfo);
+    }
+    
     /**
      * block thread and use workerThread to search config.
      */
     public Page<ConfigInfo> findConfigInfoPage(String search, int pageNo, int pageSize, String dataId, String group,
             String tenant, Map<String, Object> configAdvanceInfo) throws NacosRuntimeException {
+        return findConfigInfoPage(search, pageNo, pageSize, null, dataId, group, tenant, configAdvanceInfo);
+    }
+    
+    /**
+     * block thread and use workerThread to search config, search by keyset pagination if lastMaxId is not null.
+     */
+    public Page<ConfigInfo> findConfigInfoPage(String search, int pageNo, int pageSize, Long lastMaxId, String dataId,
+            String group, String tenant, Map<String, Object> configAdvanceInfo) throws NacosRuntimeException {
         SearchEvent searchEvent = new SearchEvent(search, pageNo, pageSize, dataId, group, tenant,
                 configAdvanceInfo);
+        searchEvent.lastMaxId = lastMaxId;
         Page<ConfigInfo> result = null;
         try {
             synchronized (searchEvent) {
@@ -176,6 +207,8 @@ public class ConfigDetailService {
         
         private int pageSize;
         
+        private Long lastMaxId;
+        
         private String dataId;
         
         private String group;
@@ -212,6 +245,10 @@ public class ConfigDetailService {
             return pageSize;
         }
     
+        public Long getLastMaxId() {
+            return lastMaxId;
+        }
+    
         public String getDataId() {
             return dataId;
         }
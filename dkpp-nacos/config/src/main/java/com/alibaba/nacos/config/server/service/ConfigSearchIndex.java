@@ -0,0 +1,596 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.Pair;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.persistence.model.Page;
+import com.alibaba.nacos.plugin.encryption.handler.EncryptionHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index of formal config for blur search, which replaces the {@code LIKE} scan of config_info.
+ *
+ * <p>The dataId and group of configs are indexed by trigrams in each tenant, so a pattern with leading wildcard only
+ * verifies the configs sharing the rarest trigram of its literal parts. The patterns follow the semantic of the
+ * {@code LIKE} argument generated by {@link ConfigInfoPersistService#generateLikeArgument(String)}, {@code *} and
+ * {@code %} match any characters and {@code _} matches one character.
+ *
+ * <p>The index is updated by the dump of config change on every server, and rebuilt by dump all. Searches are served
+ * from the index only after the first rebuild finished, and searches with content or tags fall back to database.
+ *
+ * @author Nacos
+ */
+public class ConfigSearchIndex {
+    
+    private static final int GRAM_LENGTH = 3;
+    
+    /**
+     * Lock of all updates, so that updates of current and rebuilding index are atomic with swapping them, and the
+     * tombstone check of rebuild is atomic with removing.
+     */
+    private static final Object UPDATE_LOCK = new Object();
+    
+    private static volatile Index index = new Index();
+    
+    private static Index rebuilding;
+    
+    /**
+     * Group keys removed during rebuild, so that the stale config read by rebuild before removed is not indexed.
+     */
+    private static final Set<String> REMOVED_DURING_REBUILD = new HashSet<>();
+    
+    private static volatile boolean ready;
+    
+    /**
+     * Whether the blur search can be served by index.
+     *
+     * @return true if index is enabled and has been built
+     */
+    public static boolean isReady() {
+        return PropertyUtil.isSearchIndexEnabled() && ready;
+    }
+    
+    /**
+     * Update the formal config in index.
+     *
+     * @param configInfo config info with id, app name and last modified
+     */
+    public static void update(ConfigInfoWrapper configInfo) {
+        if (!PropertyUtil.isSearchIndexEnabled() || null == configInfo) {
+            return;
+        }
+        IndexedConfig config = new IndexedConfig(configInfo);
+        synchronized (UPDATE_LOCK) {
+            index.put(config);
+            if (null != rebuilding) {
+                REMOVED_DURING_REBUILD.remove(config.getGroupKey());
+                rebuilding.put(config);
+            }
+        }
+    }
+    
+    /**
+     * Remove the formal config from index.
+     *
+     * @param dataId dataId
+     * @param group  group
+     * @param tenant tenant
+     */
+    public static void remove(String dataId, String group, String tenant) {
+        if (!PropertyUtil.isSearchIndexEnabled()) {
+            return;
+        }
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        synchronized (UPDATE_LOCK) {
+            index.remove(dataId, group, tenantTmp);
+            if (null != rebuilding) {
+                REMOVED_DURING_REBUILD.add(GroupKey2.getKey(dataId, group, tenantTmp));
+                rebuilding.remove(dataId, group, tenantTmp);
+            }
+        }
+    }
+    
+    /**
+     * Start to rebuild index, configs added by {@link #addToRebuild(ConfigInfoWrapper)} are built into a new index.
+     */
+    public static void startRebuild() {
+        if (!PropertyUtil.isSearchIndexEnabled()) {
+            return;
+        }
+        synchronized (UPDATE_LOCK) {
+            REMOVED_DURING_REBUILD.clear();
+            rebuilding = new Index();
+        }
+    }
+    
+    /**
+     * Add the config read by dump all to the rebuilding index.
+     *
+     * @param configInfo config info with id, app name and last modified
+     */
+    public static void addToRebuild(ConfigInfoWrapper configInfo) {
+        if (null == configInfo) {
+            return;
+        }
+        IndexedConfig config = new IndexedConfig(configInfo);
+        synchronized (UPDATE_LOCK) {
+            if (null != rebuilding && !REMOVED_DURING_REBUILD.contains(config.getGroupKey())) {
+                rebuilding.put(config);
+            }
+        }
+    }
+    
+    /**
+     * Finish rebuilding index, the rebuilt index replaces current index only if all configs are read.
+     *
+     * @param success whether all configs are read
+     */
+    public static void finishRebuild(boolean success) {
+        synchronized (UPDATE_LOCK) {
+            Index current = rebuilding;
+            rebuilding = null;
+            REMOVED_DURING_REBUILD.clear();
+            if (null == current || !success) {
+                return;
+            }
+            index = current;
+            ready = true;
+            LogUtil.DEFAULT_LOG.info("[search-index] rebuild finished, {} configs indexed", current.size());
+        }
+    }
+    
+    /**
+     * Clear the index, searches fall back to database until next rebuild finished.
+     */
+    public static void clearAll() {
+        synchronized (UPDATE_LOCK) {
+            ready = false;
+            rebuilding = null;
+            REMOVED_DURING_REBUILD.clear();
+            index = new Index();
+        }
+    }
+    
+    /**
+     * Search configs by patterns of tenant, dataId, group and app name, ordered by id.
+     *
+     * @param tenant  pattern of tenant
+     * @param dataId  pattern of dataId, blank means any
+     * @param group   pattern of group, blank means any
+     * @param appName app name, blank means any
+     * @return matched configs ordered by id
+     */
+    public static List<IndexedConfig> search(String tenant, String dataId, String group, String appName) {
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        return index.search(tenantTmp, StringUtils.isBlank(dataId) ? null : dataId,
+                StringUtils.isBlank(group) ? null : group, StringUtils.isBlank(appName) ? null : appName);
+    }
+    
+    /**
+     * Blur search configs by index, the page items are read from database by ids in one query.
+     *
+     * @param configInfoPersistService config info persist service
+     * @param pageNo                   page number, ignored if lastMaxId is not null
+     * @param pageSize                 page size
+     * @param lastMaxId                the lastMaxId of previous page for keyset pagination, null for page number
+     * @param dataId                   pattern of dataId
+     * @param group                    pattern of group
+     * @param tenant                   pattern of tenant
+     * @param configAdvanceInfo        advance info
+     * @return page of configs, null if the search can't be served by index
+     */
+    public static Page<ConfigInfo> searchLike(ConfigInfoPersistService configInfoPersistService, int pageNo,
+            int pageSize, Long lastMaxId, String dataId, String group, String tenant,
+            Map<String, Object> configAdvanceInfo) {
+        if (!isReady() || !canSearch(configAdvanceInfo)) {
+            return null;
+        }
+        if (pageNo <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("pageNo and pageSize must be greater than zero");
+        }
+        final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
+        List<IndexedConfig> matched = search(tenant, dataId, group, appName);
+        
+        Page<ConfigInfo> page = new Page<>();
+        List<IndexedConfig> pageConfigs;
+        if (null != lastMaxId) {
+            int from = firstIndexAfter(matched, lastMaxId);
+            int to = Math.min(matched.size(), from + pageSize);
+            pageConfigs = matched.subList(from, to);
+            if (to < matched.size()) {
+                page.setLastMaxId(matched.get(to - 1).getId());
+            }
+        } else {
+            int pageCount = (matched.size() + pageSize - 1) / pageSize;
+            page.setPageNumber(pageNo);
+            page.setPagesAvailable(pageCount);
+            page.setTotalCount(matched.size());
+            int from = (int) Math.min(matched.size(), (long) (pageNo - 1) * pageSize);
+            pageConfigs = matched.subList(from, Math.min(matched.size(), from + pageSize));
+        }
+        if (pageConfigs.isEmpty()) {
+            return page;
+        }
+        StringBuilder ids = new StringBuilder();
+        for (IndexedConfig each : pageConfigs) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(each.getId());
+        }
+        List<ConfigInfo> configInfos = configInfoPersistService.findConfigInfosByIds(ids.toString());
+        Map<Long, ConfigInfo> configInfoMap = new HashMap<>(pageConfigs.size());
+        if (null != configInfos) {
+            for (ConfigInfo each : configInfos) {
+                configInfoMap.put(each.getId(), each);
+            }
+        }
+        for (IndexedConfig each : pageConfigs) {
+            ConfigInfo configInfo = configInfoMap.get(each.getId());
+            if (null == configInfo) {
+                // removed after indexed.
+                continue;
+            }
+            page.getPageItems().add(decrypt(configInfo));
+        }
+        return page;
+    }
+    
+    private static boolean canSearch(Map<String, Object> configAdvanceInfo) {
+        if (null == configAdvanceInfo) {
+            return true;
+        }
+        return StringUtils.isBlank((String) configAdvanceInfo.get("content")) && StringUtils.isBlank(
+                (String) configAdvanceInfo.get("config_tags"));
+    }
+    
+    private static int firstIndexAfter(List<IndexedConfig> configs, long lastMaxId) {
+        int low = 0;
+        int high = configs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (configs.get(mid).getId() <= lastMaxId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private static ConfigInfo decrypt(ConfigInfo configInfo) {
+        Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
+                configInfo.getEncryptedDataKey(), configInfo.getContent());
+        configInfo.setContent(pair.getSecond());
+        return configInfo;
+    }
+    
+    /**
+     * Match value with the pattern of {@code LIKE} argument.
+     *
+     * @param pattern pattern, {@code *} and {@code %} match any characters, {@code _} matches one character
+     * @param value   value
+     * @return true if matched
+     */
+    static boolean matches(String pattern, String value) {
+        int p = 0;
+        int v = 0;
+        int starP = -1;
+        int starV = 0;
+        while (v < value.length()) {
+            if (p < pattern.length() && isAnyWildcard(pattern.charAt(p))) {
+                starP = p++;
+                starV = v;
+            } else if (p < pattern.length() && (pattern.charAt(p) == '_' || pattern.charAt(p) == value.charAt(v))) {
+                p++;
+                v++;
+            } else if (starP >= 0) {
+                p = starP + 1;
+                v = ++starV;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && isAnyWildcard(pattern.charAt(p))) {
+            p++;
+        }
+        return p == pattern.length();
+    }
+    
+    private static boolean isAnyWildcard(char c) {
+        return c == '*' || c == '%';
+    }
+    
+    private static boolean isWildcard(char c) {
+        return isAnyWildcard(c) || c == '_';
+    }
+    
+    private static boolean hasWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (isWildcard(pattern.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get the trigrams of the literal parts of pattern.
+     */
+    static Set<String> patternGrams(String pattern) {
+        Set<String> result = new HashSet<>();
+        int start = 0;
+        for (int i = 0; i <= pattern.length(); i++) {
+            if (i == pattern.length() || isWildcard(pattern.charAt(i))) {
+                for (int j = start; j + GRAM_LENGTH <= i; j++) {
+                    result.add(pattern.substring(j, j + GRAM_LENGTH));
+                }
+                start = i + 1;
+            }
+        }
+        return result;
+    }
+    
+    private static Set<String> valueGrams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+    
+    /**
+     * Formal config in index.
+     */
+    public static class IndexedConfig {
+        
+        private final long id;
+        
+        private final String dataId;
+        
+        private final String group;
+        
+        private final String tenant;
+        
+        private final String appName;
+        
+        private final long lastModified;
+        
+        IndexedConfig(ConfigInfoWrapper configInfo) {
+            this.id = configInfo.getId();
+            this.dataId = configInfo.getDataId();
+            this.group = configInfo.getGroup();
+            this.tenant = StringUtils.isBlank(configInfo.getTenant()) ? StringUtils.EMPTY : configInfo.getTenant();
+            this.appName = configInfo.getAppName();
+            this.lastModified = configInfo.getLastModified();
+        }
+        
+        public long getId() {
+            return id;
+        }
+        
+        public String getDataId() {
+            return dataId;
+        }
+        
+        public String getGroup() {
+            return group;
+        }
+        
+        public String getTenant() {
+            return tenant;
+        }
+        
+        public String getAppName() {
+            return appName;
+        }
+        
+        String getGroupKey() {
+            return GroupKey2.getKey(dataId, group, tenant);
+        }
+    }
+    
+    private static class Index {
+        
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        
+        private final Map<String, TenantIndex> tenants = new HashMap<>();
+        
+        private void put(IndexedConfig config) {
+            lock.writeLock().lock();
+            try {
+                tenants.computeIfAbsent(config.getTenant(), tenant -> new TenantIndex()).put(config);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        private void remove(String dataId, String group, String tenant) {
+            lock.writeLock().lock();
+            try {
+                TenantIndex tenantIndex = tenants.get(tenant);
+                if (null != tenantIndex) {
+                    tenantIndex.remove(GroupKey2.getKey(dataId, group));
+                    if (tenantIndex.configs.isEmpty()) {
+                        tenants.remove(tenant);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        private int size() {
+            lock.readLock().lock();
+            try {
+                int result = 0;
+                for (TenantIndex each : tenants.values()) {
+                    result += each.configs.size();
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        
+        private List<IndexedConfig> search(String tenant, String dataId, String group, String appName) {
+            lock.readLock().lock();
+            try {
+                if (!hasWildcard(tenant)) {
+                    TenantIndex tenantIndex = tenants.get(tenant);
+                    return null == tenantIndex ? Collections.emptyList()
+                            : tenantIndex.search(dataId, group, appName);
+                }
+                List<IndexedConfig> result = new ArrayList<>();
+                for (Map.Entry<String, TenantIndex> entry : tenants.entrySet()) {
+                    if (matches(tenant, entry.getKey())) {
+                        result.addAll(entry.getValue().search(dataId, group, appName));
+                    }
+                }
+                result.sort((o1, o2) -> Long.compare(o1.getId(), o2.getId()));
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+    
+    private static class TenantIndex {
+        
+        private final TreeMap<Long, IndexedConfig> configs = new TreeMap<>();
+        
+        private final Map<String, IndexedConfig> configsByKey = new HashMap<>();
+        
+        private final Map<String, Set<Long>> dataIdGrams = new HashMap<>();
+        
+        private final Map<String, Set<Long>> groupGrams = new HashMap<>();
+        
+        private final Map<String, Set<Long>> appNames = new HashMap<>();
+        
+        private void put(IndexedConfig config) {
+            String key = GroupKey2.getKey(config.getDataId(), config.getGroup());
+            IndexedConfig old = configsByKey.get(key);
+            if (null != old) {
+                if (old.lastModified > config.lastModified) {
+                    // the config read before the newer one is indexed.
+                    return;
+                }
+                remove(key);
+            }
+            configsByKey.put(key, config);
+            configs.put(config.getId(), config);
+            for (String each : valueGrams(config.getDataId())) {
+                dataIdGrams.computeIfAbsent(each, gram -> new HashSet<>()).add(config.getId());
+            }
+            for (String each : valueGrams(config.getGroup())) {
+                groupGrams.computeIfAbsent(each, gram -> new HashSet<>()).add(config.getId());
+            }
+            if (StringUtils.isNotBlank(config.getAppName())) {
+                appNames.computeIfAbsent(config.getAppName(), name -> new HashSet<>()).add(config.getId());
+            }
+        }
+        
+        private void remove(String key) {
+            IndexedConfig config = configsByKey.remove(key);
+            if (null == config) {
+                return;
+            }
+            configs.remove(config.getId());
+            for (String each : valueGrams(config.getDataId())) {
+                removePosting(dataIdGrams, each, config.getId());
+            }
+            for (String each : valueGrams(config.getGroup())) {
+                removePosting(groupGrams, each, config.getId());
+            }
+            if (StringUtils.isNotBlank(config.getAppName())) {
+                removePosting(appNames, config.getAppName(), config.getId());
+            }
+        }
+        
+        private void removePosting(Map<String, Set<Long>> postings, String key, long id) {
+            Set<Long> ids = postings.get(key);
+            if (null != ids && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+        
+        private List<IndexedConfig> search(String dataId, String group, String appName) {
+            Collection<Long> candidates = null;
+            if (null != appName) {
+                candidates = appNames.getOrDefault(appName, Collections.emptySet());
+            }
+            candidates = rarest(candidates, dataIdGrams, dataId);
+            candidates = rarest(candidates, groupGrams, group);
+            List<IndexedConfig> result = new ArrayList<>();
+            if (null == candidates) {
+                for (IndexedConfig each : configs.values()) {
+                    if (isMatched(each, dataId, group, appName)) {
+                        result.add(each);
+                    }
+                }
+                return result;
+            }
+            for (Long each : candidates) {
+                IndexedConfig config = configs.get(each);
+                if (null != config && isMatched(config, dataId, group, appName)) {
+                    result.add(config);
+                }
+            }
+            result.sort((o1, o2) -> Long.compare(o1.getId(), o2.getId()));
+            return result;
+        }
+        
+        /**
+         * Get the smaller one between candidates and the rarest posting of the pattern grams.
+         */
+        private Collection<Long> rarest(Collection<Long> candidates, Map<String, Set<Long>> grams, String pattern) {
+            if (null == pattern) {
+                return candidates;
+            }
+            Collection<Long> result = candidates;
+            for (String each : patternGrams(pattern)) {
+                Set<Long> posting = grams.getOrDefault(each, Collections.emptySet());
+                if (null == result || posting.size() < result.size()) {
+                    result = posting;
+                }
+            }
+            return result;
+        }
+        
+        private boolean isMatched(IndexedConfig config, String dataId, String group, String appName) {
+            return (null == dataId || matches(dataId, config.getDataId())) && (null == group || matches(group,
+                    config.getGroup())) && (null == appName || appName.equals(config.getAppName()));
+        }
+    }
+}
@@ -244,6 +244,30 @@ public class GroupCapacityPersistService {
         }
     }
     
+    /**
+     * Update Usage by delta.
+     *
+     * @param group       group string value.
+     * @param delta       delta of usage, negative means decrement.
+     * @param gmtModified modified time.
+     * @return operate result.
+     */
+    public boolean updateUsageByDelta(String group, int delta, Timestamp gmtModified) {
+        GroupCapacityMapper groupCapacityMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.GROUP_CAPACITY);
+        MapperContext context = new MapperContext();
+        context.putUpdateParameter(FieldConstant.USAGE, delta);
+        context.putUpdateParameter(FieldConstant.GMT_MODIFIED, gmtModified);
+        context.putWhereParameter(FieldConstant.GROUP_ID, group);
+        MapperResult mapperResult = groupCapacityMapper.updateUsageByDeltaWhere(context);
+        try {
+            return jdbcTemplate.update(mapperResult.getSql(), mapperResult.getParamList().toArray()) == 1;
+        } catch (CannotGetJdbcConnectionException e) {
+            FATAL_LOG.error("[db-error]", e);
+            throw e;
+        }
+    }
+    
     /**
      * Update GroupCapacity.
      *
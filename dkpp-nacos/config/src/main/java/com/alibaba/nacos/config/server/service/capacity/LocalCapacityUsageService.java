@@ -0,0 +1,335 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.constant.CounterMode;
+import com.alibaba.nacos.config.server.model.capacity.Capacity;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.config.server.utils.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local capacity usage service, counts the usage of cluster, group and tenant in memory and flushes the delta to
+ * database asynchronously.
+ *
+ * <p>Each capacity has its own counter, which is loaded from database when first used. Quota is checked and usage is
+ * updated by CAS of the counter, so publishing config doesn't need to lock the capacity rows in database. The delta of
+ * usage is flushed in batch every {@link PropertyUtil#getCapacityUsageFlushInterval()} milliseconds, and counters are
+ * reloaded from database after usage corrected every {@link PropertyUtil#getCorrectUsageDelay()} seconds, so the
+ * difference between servers of cluster is limited within one correct interval.
+ *
+ * @author Nacos
+ */
+@Service
+public class LocalCapacityUsageService {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalCapacityUsageService.class);
+    
+    private static final String GROUP_KEY_PREFIX = "group@";
+    
+    private static final String TENANT_KEY_PREFIX = "tenant@";
+    
+    private final Map<String, UsageCounter> counters = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private CapacityService capacityService;
+    
+    @Autowired
+    private GroupCapacityPersistService groupCapacityPersistService;
+    
+    @Autowired
+    private TenantCapacityPersistService tenantCapacityPersistService;
+    
+    /**
+     * Init.
+     */
+    @PostConstruct
+    public void init() {
+        ConfigExecutor.scheduleCorrectUsageTask(this::flush, PropertyUtil.getCapacityUsageFlushInterval(),
+                PropertyUtil.getCapacityUsageFlushInterval(), TimeUnit.MILLISECONDS);
+        ConfigExecutor.scheduleCorrectUsageTask(this::reload, PropertyUtil.getCorrectUsageDelay(),
+                PropertyUtil.getCorrectUsageDelay(), TimeUnit.SECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    public boolean insertAndUpdateClusterUsage(CounterMode counterMode, boolean ignoreQuotaLimit) {
+        return updateUsage(getCounter(false, GroupCapacityPersistService.CLUSTER), counterMode,
+                PropertyUtil.getDefaultClusterQuota(), ignoreQuotaLimit);
+    }
+    
+    public boolean updateClusterUsage(CounterMode counterMode) {
+        return insertAndUpdateClusterUsage(counterMode, false);
+    }
+    
+    public boolean insertAndUpdateGroupUsage(CounterMode counterMode, String group, boolean ignoreQuotaLimit) {
+        return updateUsage(getCounter(false, group), counterMode, PropertyUtil.getDefaultGroupQuota(),
+                ignoreQuotaLimit);
+    }
+    
+    public boolean updateGroupUsage(CounterMode counterMode, String group) {
+        return insertAndUpdateGroupUsage(counterMode, group, false);
+    }
+    
+    public boolean insertAndUpdateTenantUsage(CounterMode counterMode, String tenant, boolean ignoreQuotaLimit) {
+        return updateUsage(getCounter(true, tenant), counterMode, PropertyUtil.getDefaultTenantQuota(),
+                ignoreQuotaLimit);
+    }
+    
+    public boolean updateTenantUsage(CounterMode counterMode, String tenant) {
+        return insertAndUpdateTenantUsage(counterMode, tenant, false);
+    }
+    
+    /**
+     * Get capacity of group or tenant, the capacity will be initialized if not exist.
+     *
+     * @param group  group string value.
+     * @param tenant tenant string value.
+     * @return capacity loaded from database, usage of which is not updated by local counter.
+     */
+    public Capacity getCapacity(String group, String tenant) {
+        if (StringUtils.isNotBlank(tenant)) {
+            return getCounter(true, tenant).capacity;
+        }
+        return getCounter(false, group).capacity;
+    }
+    
+    /**
+     * Correct usage of group or tenant in database and reload the counter asynchronously, in the same executor as the
+     * scheduled flush and reload, so that the counter is not reloaded concurrently.
+     *
+     * @param group  group string value.
+     * @param tenant tenant string value.
+     */
+    public void correctUsage(String group, String tenant) {
+        ConfigExecutor.executeCorrectUsageTask(() -> doCorrectUsage(group, tenant));
+    }
+    
+    private void doCorrectUsage(String group, String tenant) {
+        boolean isTenant = StringUtils.isNotBlank(tenant);
+        UsageCounter counter = counters.get(buildKey(isTenant, isTenant ? tenant : group));
+        if (null != counter) {
+            flush(counter);
+        }
+        if (isTenant) {
+            capacityService.correctTenantUsage(tenant);
+        } else {
+            capacityService.correctGroupUsage(group);
+        }
+        if (null != counter) {
+            reload(counter);
+        }
+    }
+    
+    /**
+     * Flush the delta of usage of all counters to database.
+     */
+    public void flush() {
+        for (UsageCounter each : counters.values()) {
+            flush(each);
+        }
+    }
+    
+    /**
+     * Flush the delta and reload usage of all counters from database, counters not used since last reload are removed.
+     */
+    public void reload() {
+        LOGGER.info("[capacityManagement] start reload local usage, size: {}", counters.size());
+        flush();
+        for (Map.Entry<String, UsageCounter> entry : counters.entrySet()) {
+            UsageCounter counter = entry.getValue();
+            if (!counter.accessed && 0 == counter.pendingDelta.get() && tryRemove(entry.getKey(), counter)) {
+                continue;
+            }
+            counter.accessed = false;
+            reload(counter);
+        }
+    }
+    
+    /**
+     * Remove the counter if it is still not accessed. The counter is marked as removed before checking, so a request
+     * which gets the counter concurrently either is seen here or sees the mark and gets a new counter.
+     */
+    private boolean tryRemove(String key, UsageCounter counter) {
+        counters.computeIfPresent(key, (k, current) -> {
+            if (current != counter) {
+                return current;
+            }
+            counter.removed = true;
+            if (counter.accessed || 0 != counter.pendingDelta.get()) {
+                counter.removed = false;
+                return counter;
+            }
+            return null;
+        });
+        return counter.removed;
+    }
+    
+    private boolean updateUsage(UsageCounter counter, CounterMode counterMode, int defaultQuota,
+            boolean ignoreQuotaLimit) {
+        if (CounterMode.INCREMENT == counterMode) {
+            Integer quota = counter.capacity.getQuota();
+            int limit = null == quota || 0 == quota ? defaultQuota : quota;
+            while (true) {
+                int current = counter.usage.get();
+                if (!ignoreQuotaLimit && current >= limit) {
+                    return false;
+                }
+                if (counter.usage.compareAndSet(current, current + 1)) {
+                    counter.pendingDelta.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+        while (true) {
+            int current = counter.usage.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (counter.usage.compareAndSet(current, current - 1)) {
+                counter.pendingDelta.decrementAndGet();
+                return true;
+            }
+        }
+    }
+    
+    private void flush(UsageCounter counter) {
+        int delta = counter.pendingDelta.getAndSet(0);
+        if (0 == delta) {
+            return;
+        }
+        try {
+            final Timestamp now = TimeUtils.getCurrentTime();
+            boolean success;
+            if (counter.isTenant) {
+                success = tenantCapacityPersistService.updateUsageByDelta(counter.id, delta, now);
+            } else {
+                success = groupCapacityPersistService.updateUsageByDelta(counter.id, delta, now);
+            }
+            if (!success) {
+                LOGGER.warn("[capacityManagement] flush usage delta {} of {} fail, will be corrected later.", delta,
+                        counter.id);
+            }
+        } catch (Exception e) {
+            // retry in next flush.
+            counter.pendingDelta.addAndGet(delta);
+            LOGGER.error("[capacityManagement] flush usage delta of {} error", counter.id, e);
+        }
+    }
+    
+    private void reload(UsageCounter counter) {
+        try {
+            Capacity capacity = counter.isTenant ? capacityService.getTenantCapacity(counter.id)
+                    : capacityService.getGroupCapacity(counter.id);
+            if (null == capacity) {
+                return;
+            }
+            counter.capacity = capacity;
+            // delta counted during reloading is kept in pending delta and will be flushed next time.
+            counter.usage.set(getUsage(capacity) + counter.pendingDelta.get());
+        } catch (Exception e) {
+            LOGGER.error("[capacityManagement] reload usage of {} error", counter.id, e);
+        }
+    }
+    
+    private UsageCounter getCounter(boolean isTenant, String id) {
+        String key = buildKey(isTenant, id);
+        while (true) {
+            UsageCounter result = counters.get(key);
+            if (null == result) {
+                UsageCounter counter = new UsageCounter(isTenant, id, loadCapacity(isTenant, id));
+                result = counters.putIfAbsent(key, counter);
+                if (null == result) {
+                    return counter;
+                }
+            }
+            result.accessed = true;
+            // removed by reload concurrently, get a new one.
+            if (!result.removed) {
+                return result;
+            }
+        }
+    }
+    
+    private Capacity loadCapacity(boolean isTenant, String id) {
+        Capacity capacity = isTenant ? capacityService.getTenantCapacity(id) : capacityService.getGroupCapacity(id);
+        if (null != capacity) {
+            return capacity;
+        }
+        capacityService.initCapacity(isTenant ? null : id, isTenant ? id : null);
+        capacity = isTenant ? capacityService.getTenantCapacity(id) : capacityService.getGroupCapacity(id);
+        if (null != capacity) {
+            return capacity;
+        }
+        LOGGER.warn("[capacityManagement] init capacity of {} fail, use default capacity.", id);
+        capacity = new Capacity();
+        capacity.setQuota(0);
+        capacity.setUsage(0);
+        capacity.setMaxSize(0);
+        capacity.setMaxAggrCount(0);
+        capacity.setMaxAggrSize(0);
+        return capacity;
+    }
+    
+    private static int getUsage(Capacity capacity) {
+        return null == capacity.getUsage() ? 0 : capacity.getUsage();
+    }
+    
+    private static String buildKey(boolean isTenant, String id) {
+        return (isTenant ? TENANT_KEY_PREFIX : GROUP_KEY_PREFIX) + id;
+    }
+    
+    private static class UsageCounter {
+        
+        private final boolean isTenant;
+        
+        private final String id;
+        
+        private final AtomicInteger usage;
+        
+        private final AtomicInteger pendingDelta = new AtomicInteger();
+        
+        private volatile Capacity capacity;
+        
+        private volatile boolean accessed = true;
+        
+        private volatile boolean removed = false;
+        
+        private UsageCounter(boolean isTenant, String id, Capacity capacity) {
+            this.isTenant = isTenant;
+            this.id = id;
+            this.capacity = capacity;
+            this.usage = new AtomicInteger(getUsage(capacity));
+        }
+    }
+}
@@ -225,6 +225,30 @@ public class TenantCapacityPersistService {
         }
     }
     
+    /**
+     * Update Usage by delta.
+     *
+     * @param tenant      tenant string value.
+     * @param delta       delta of usage, negative means decrement.
+     * @param gmtModified modified time.
+     * @return operate result.
+     */
+    public boolean updateUsageByDelta(String tenant, int delta, Timestamp gmtModified) {
+        TenantCapacityMapper tenantCapacityMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.TENANT_CAPACITY);
+        MapperContext context = new MapperContext();
+        context.putUpdateParameter(FieldConstant.USAGE, delta);
+        context.putUpdateParameter(FieldConstant.GMT_MODIFIED, gmtModified);
+        context.putWhereParameter(FieldConstant.TENANT_ID, tenant);
+        MapperResult mapperResult = tenantCapacityMapper.updateUsageByDelta(context);
+        try {
+            return jdbcTemplate.update(mapperResult.getSql(), mapperResult.getParamList().toArray()) == 1;
+        } catch (CannotGetJdbcConnectionException e) {
+            FATAL_LOG.error("[db-error]", e);
+            throw e;
+        }
+    }
+    
     /**
      * Update TenantCapacity.
      *
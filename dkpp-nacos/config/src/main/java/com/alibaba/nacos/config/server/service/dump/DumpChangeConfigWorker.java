@@ -21,6 +21,7 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.ConfigInfoStateWrapper;
 import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigSearchIndex;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.service.repository.HistoryConfigInfoPersistService;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
@@ -29,6 +30,7 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -88,6 +90,8 @@ public class DumpChangeConfigWorker implements Runnable {
                             configInfo.getTenant()) == null) {
                         ConfigCacheService.remove(configInfo.getDataId(), configInfo.getGroup(),
                                 configInfo.getTenant());
+                        ConfigSearchIndex.remove(configInfo.getDataId(), configInfo.getGroup(),
+                                configInfo.getTenant());
                         LogUtil.DEFAULT_LOG.info("[dump-delete-ok] {}",
                                 new Object[] {GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup())});
                     }
@@ -109,6 +113,7 @@ public class DumpChangeConfigWorker implements Runnable {
                 LogUtil.DEFAULT_LOG.info("Check changed configs from  time {},lastMaxId={}", startTime, changeCursorId);
                 List<ConfigInfoStateWrapper> changeConfigs = configInfoPersistService.findChangeConfig(startTime,
                         changeCursorId, pageSize);
+                List<ConfigInfoWrapper> changedConfigInfos = new ArrayList<>();
                 for (ConfigInfoStateWrapper cf : changeConfigs) {
                     final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
                     //check md5 & localtimestamp update local disk cache.
@@ -120,21 +125,15 @@ public class DumpChangeConfigWorker implements Runnable {
                                 new Object[] {groupKey, cf.getLastModified(), cf.getMd5()});
                         ConfigInfoWrapper configInfoWrapper = configInfoPersistService.findConfigInfo(cf.getDataId(),
                                 cf.getGroup(), cf.getTenant());
+                        if (configInfoWrapper == null) {
+                            continue;
+                        }
                         LogUtil.DUMP_LOG.info("[dump-change] find change config  {}, {}, md5={}",
                                 new Object[] {groupKey, cf.getLastModified(), cf.getMd5()});
-                        ConfigCacheService.dump(configInfoWrapper.getDataId(), configInfoWrapper.getGroup(),
-                                configInfoWrapper.getTenant(), configInfoWrapper.getContent(),
-                                configInfoWrapper.getLastModified(), configInfoWrapper.getType(),
-                                configInfoWrapper.getEncryptedDataKey());
-                        final String content = configInfoWrapper.getContent();
-                        final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE_GBK);
-                        final String md5Utf8 = MD5Utils.md5Hex(content, Constants.ENCODE_UTF8);
-                        
-                        LogUtil.DEFAULT_LOG.info("[dump-change-ok] {}, {}, length={}, md5={},md5UTF8={}",
-                                new Object[] {groupKey, configInfoWrapper.getLastModified(), content.length(), md5,
-                                        md5Utf8});
+                        changedConfigInfos.add(configInfoWrapper);
                     }
                 }
+                dumpChangedConfigs(changedConfigInfos);
                 if (changeConfigs.size() < pageSize) {
                     break;
                 }
@@ -156,4 +155,35 @@ public class DumpChangeConfigWorker implements Runnable {
             
         }
     }
+    
+    /**
+     * Dump changed configs of one page, configs are saved to disk by batches if batch dump is enabled.
+     */
+    private void dumpChangedConfigs(List<ConfigInfoWrapper> changedConfigInfos) {
+        int batchSize = PropertyUtil.getDumpBatchSize();
+        if (batchSize > 1) {
+            for (int from = 0; from < changedConfigInfos.size(); from += batchSize) {
+                List<ConfigInfoWrapper> batch = changedConfigInfos.subList(from,
+                        Math.min(from + batchSize, changedConfigInfos.size()));
+                for (ConfigInfoWrapper each : batch) {
+                    each.setMd5(MD5Utils.md5Hex(each.getContent(), Constants.PERSIST_ENCODE));
+                }
+                ConfigCacheService.batchDumpWithMd5(batch, false);
+            }
+        } else {
+            for (ConfigInfoWrapper each : changedConfigInfos) {
+                ConfigCacheService.dump(each.getDataId(), each.getGroup(), each.getTenant(), each.getContent(),
+                        each.getLastModified(), each.getType(), each.getEncryptedDataKey());
+            }
+        }
+        for (ConfigInfoWrapper each : changedConfigInfos) {
+            ConfigSearchIndex.update(each);
+            final String groupKey = GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant());
+            final String content = each.getContent();
+            final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE_GBK);
+            final String md5Utf8 = MD5Utils.md5Hex(content, Constants.ENCODE_UTF8);
+            LogUtil.DEFAULT_LOG.info("[dump-change-ok] {}, {}, length={}, md5={},md5UTF8={}",
+                    new Object[] {groupKey, each.getLastModified(), content.length(), md5, md5Utf8});
+        }
+    }
 }
@@ -16,7 +16,10 @@
 
 package com.alibaba.nacos.config.server.service.dump.disk;
 
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+
 import java.io.IOException;
+import java.util.List;
 
 /**
  * config disk service.
@@ -59,6 +62,20 @@ public interface ConfigDiskService {
      */
     void saveTagToDisk(String dataId, String group, String tenant, String tag, String content) throws IOException;
     
+    /**
+     * Save a batch of configuration information to disk.
+     *
+     * @param configInfos configs with dataId, group, tenant and content.
+     * @param disableWal  whether write ahead log can be skipped, which is only safe when the whole disk cache is
+     *                    rebuilding, ignored if not supported.
+     * @throws IOException io exception.
+     */
+    default void batchSaveToDisk(List<? extends ConfigInfo> configInfos, boolean disableWal) throws IOException {
+        for (ConfigInfo each : configInfos) {
+            saveToDisk(each.getDataId(), each.getGroup(), each.getTenant(), each.getContent());
+        }
+    }
+    
     /**
      * Deletes configuration files on disk.
      *
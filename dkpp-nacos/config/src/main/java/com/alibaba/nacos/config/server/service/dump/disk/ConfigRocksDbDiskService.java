@@ -17,20 +17,30 @@
 package com.alibaba.nacos.config.server.service.dump.disk;
 
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.sys.env.EnvUtil;
+import com.alibaba.nacos.sys.utils.DiskUtils;
 import org.rocksdb.*;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
 
 /**
  * config rocks db disk service.
  *
+ * <p>All kinds of config are stored in one rocks db, each kind is stored in its own column family, so that they share
+ * the write ahead log and background jobs, and a kind can be cleared by dropping its column family. Column family
+ * handles are only used under the read lock of the db, so that a handle is never closed by clearing while in use.
+ *
  * @author shiyiyue
  */
 @SuppressWarnings("PMD.ServiceOrDaoClassShouldEndWithImplRule")
@@ -38,6 +48,8 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private static final String ROCKSDB_DATA = File.separator + "rocksdata" + File.separator;
     
+    private static final String DB_DIR = ROCKSDB_DATA + "config-db";
+    
     private static final String BASE_DIR = ROCKSDB_DATA + "config-data";
     
     private static final String BETA_DIR = ROCKSDB_DATA + "beta-data";
@@ -46,9 +58,14 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private static final String BATCH_DIR = ROCKSDB_DATA + "batch-data";
     
+    private static final String[] COLUMN_FAMILY_DIRS = new String[] {BASE_DIR, BETA_DIR, TAG_DIR, BATCH_DIR};
+    
     private static final long DEFAULT_WRITE_BUFFER_MB = 32;
     
-    Map<String, RocksDB> rocksDbMap = new HashMap<>();
+    /**
+     * db path -> opened db, rocks db can only be opened once in one process.
+     */
+    private static final Map<String, RocksDbHolder> DB_HOLDERS = new ConcurrentHashMap<>();
     
     private void createDirIfNotExist(String dir) {
         File roskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
@@ -61,22 +78,8 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         }
     }
     
-    private void deleteDirIfExist(String dir) {
-        File rockskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
-        if (!rockskDataDir.exists()) {
-            return;
-        }
-        File baseDir = new File(EnvUtil.getNacosHome(), dir);
-        if (baseDir.exists()) {
-            baseDir.delete();
-        }
-    }
-    
     public ConfigRocksDbDiskService() {
-        createDirIfNotExist(BASE_DIR);
-        createDirIfNotExist(BETA_DIR);
-        createDirIfNotExist(TAG_DIR);
-        createDirIfNotExist(BATCH_DIR);
+        createDirIfNotExist(DB_DIR);
     }
     
     private byte[] getKeyByte(String dataId, String group, String tenant, String tag) throws IOException {
@@ -114,7 +117,10 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     public void saveToDiskInner(String type, String dataId, String group, String tenant, String tag, String content)
             throws IOException {
         try {
-            initAndGetDB(type).put(getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
+            doInColumnFamily(type, (rocksDb, columnFamily) -> {
+                rocksDb.put(columnFamily, getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
+                return null;
+            });
         } catch (RocksDBException e) {
             throw new IOException(e);
         }
@@ -174,6 +180,26 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         
     }
     
+    @Override
+    public void batchSaveToDisk(List<? extends ConfigInfo> configInfos, boolean disableWal) throws IOException {
+        if (configInfos.isEmpty()) {
+            return;
+        }
+        try (WriteBatch writeBatch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+            writeOptions.setDisableWAL(disableWal);
+            doInColumnFamily(BASE_DIR, (rocksDb, columnFamily) -> {
+                for (ConfigInfo each : configInfos) {
+                    writeBatch.put(columnFamily, getKeyByte(each.getDataId(), each.getGroup(), each.getTenant(), null),
+                            each.getContent().getBytes(ENCODE_UTF8));
+                }
+                rocksDb.write(writeOptions, writeBatch);
+                return null;
+            });
+        } catch (RocksDBException e) {
+            throw new IOException(e);
+        }
+    }
+    
     private String byte2String(byte[] bytes) throws IOException {
         if (bytes == null) {
             return null;
@@ -181,20 +207,82 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         return new String(bytes, ENCODE_UTF8);
     }
     
-    RocksDB initAndGetDB(String dir) throws RocksDBException {
-        if (rocksDbMap.containsKey(dir)) {
-            return rocksDbMap.get(dir);
-        } else {
-            synchronized (this) {
-                if (rocksDbMap.containsKey(dir)) {
-                    return rocksDbMap.get(dir);
-                }
-                createDirIfEmpty(EnvUtil.getNacosHome() + dir);
-                rocksDbMap.put(dir, RocksDB.open(createOptions(dir), EnvUtil.getNacosHome() + dir));
-                return rocksDbMap.get(dir);
+    RocksDB initAndGetDB() throws RocksDBException {
+        return getDbHolder().rocksDb;
+    }
+    
+    /**
+     * Do action with the column family of dir, the column family won't be dropped by clearing during the action.
+     */
+    private <T> T doInColumnFamily(String dir, ColumnFamilyAction<T> action) throws RocksDBException, IOException {
+        RocksDbHolder holder = getDbHolder();
+        holder.lock.readLock().lock();
+        try {
+            ColumnFamilyHandle columnFamily = holder.columnFamilies.get(dir);
+            if (null == columnFamily) {
+                throw new RocksDBException("Unknown column family " + dir);
             }
-            
+            return action.apply(holder.rocksDb, columnFamily);
+        } finally {
+            holder.lock.readLock().unlock();
+        }
+    }
+    
+    private RocksDbHolder getDbHolder() throws RocksDBException {
+        String dbPath = EnvUtil.getNacosHome() + DB_DIR;
+        RocksDbHolder holder = DB_HOLDERS.get(dbPath);
+        if (null != holder) {
+            return holder;
+        }
+        synchronized (DB_HOLDERS) {
+            holder = DB_HOLDERS.get(dbPath);
+            if (null == holder) {
+                holder = openDb(dbPath);
+                DB_HOLDERS.put(dbPath, holder);
+            }
+            return holder;
+        }
+    }
+    
+    private RocksDbHolder openDb(String dbPath) throws RocksDBException {
+        deleteLegacyDbs();
+        createDirIfEmpty(dbPath);
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
+        for (String each : COLUMN_FAMILY_DIRS) {
+            descriptors.add(createColumnFamilyDescriptor(each));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        RocksDB rocksDb = RocksDB.open(createDbOptions(), dbPath, descriptors, handles);
+        RocksDbHolder holder = new RocksDbHolder(rocksDb);
+        for (int i = 0; i < COLUMN_FAMILY_DIRS.length; i++) {
+            holder.columnFamilies.put(COLUMN_FAMILY_DIRS[i], handles.get(i + 1));
         }
+        LogUtil.DEFAULT_LOG.info("open config rocksdb {} with column families {}", dbPath,
+                holder.columnFamilies.keySet());
+        return holder;
+    }
+    
+    /**
+     * Delete the dbs of each dir used before column families, they are never opened again and the disk cache is
+     * rebuilt by dump all on startup.
+     */
+    private void deleteLegacyDbs() {
+        for (String each : COLUMN_FAMILY_DIRS) {
+            File legacyDir = new File(EnvUtil.getNacosHome(), each);
+            if (legacyDir.exists()) {
+                DiskUtils.deleteQuietly(legacyDir);
+                LogUtil.DEFAULT_LOG.info("delete legacy config rocksdb {}", legacyDir.getAbsolutePath());
+            }
+        }
+    }
+    
+    private ColumnFamilyDescriptor createColumnFamilyDescriptor(String dir) {
+        return new ColumnFamilyDescriptor(getColumnFamilyName(dir), createColumnFamilyOptions(dir));
+    }
+    
+    private byte[] getColumnFamilyName(String dir) {
+        return dir.substring(ROCKSDB_DATA.length()).getBytes(StandardCharsets.UTF_8);
     }
     
     private void createDirIfEmpty(String filePath) {
@@ -205,21 +293,14 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     }
     
     private String getContentInner(String type, String dataId, String group, String tenant) throws IOException {
-        byte[] bytes = null;
-        try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, null));
-            String string = byte2String(bytes);
-            return string;
-        } catch (RocksDBException e) {
-            throw new IOException(e);
-        }
+        return getTagContentInner(type, dataId, group, tenant, null);
     }
     
     private String getTagContentInner(String type, String dataId, String group, String tenant, String tag)
             throws IOException {
-        byte[] bytes = null;
         try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, tag));
+            byte[] bytes = doInColumnFamily(type,
+                    (rocksDb, columnFamily) -> rocksDb.get(columnFamily, getKeyByte(dataId, group, tenant, tag)));
             return byte2String(bytes);
         } catch (RocksDBException e) {
             throw new IOException(e);
@@ -228,7 +309,10 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private void removeContentInner(String type, String dataId, String group, String tenant, String tag) {
         try {
-            initAndGetDB(type).delete(getKeyByte(dataId, group, tenant, tag));
+            doInColumnFamily(type, (rocksDb, columnFamily) -> {
+                rocksDb.delete(columnFamily, getKeyByte(dataId, group, tenant, tag));
+                return null;
+            });
         } catch (Exception e) {
             LogUtil.DEFAULT_LOG.warn("Remove dir=[{}] config fail,dataId={},group={},tenant={},error={}", type, dataId,
                     group, tenant, e.getCause());
@@ -253,12 +337,12 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         return getContentInner(BASE_DIR, dataId, group, tenant);
     }
     
-    Options createOptions(String dir) {
+    DBOptions createDbOptions() {
         DBOptions dbOptions = new DBOptions();
         dbOptions.setMaxBackgroundJobs(Runtime.getRuntime().availableProcessors());
-        Options options = new Options(dbOptions, createColumnFamilyOptions(dir));
-        options.setCreateIfMissing(true);
-        return options;
+        dbOptions.setCreateIfMissing(true);
+        dbOptions.setCreateMissingColumnFamilies(true);
+        return dbOptions;
     }
     
     ColumnFamilyOptions createColumnFamilyOptions(String dir) {
@@ -308,49 +392,63 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      * Clear all config file.
      */
     public void clearAll() {
-        try {
-            if (rocksDbMap.containsKey(BASE_DIR)) {
-                rocksDbMap.get(BASE_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BASE_DIR, new Options());
-            }
-            deleteDirIfExist(BASE_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info failed.", e);
-        }
+        clearColumnFamily(BASE_DIR, "config-info");
     }
     
     /**
      * Clear all beta config file.
      */
     public void clearAllBeta() {
-        try {
-            if (rocksDbMap.containsKey(BETA_DIR)) {
-                rocksDbMap.get(BETA_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BETA_DIR, new Options());
-            }
-            deleteDirIfExist(BETA_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-beta success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-beta failed.", e);
-        }
+        clearColumnFamily(BETA_DIR, "config-info-beta");
     }
     
     /**
      * Clear all tag config file.
      */
     public void clearAllTag() {
-        
+        clearColumnFamily(TAG_DIR, "config-info-tag");
+    }
+    
+    /**
+     * Drop the column family and create an empty one, which is much faster than deleting keys one by one.
+     */
+    private void clearColumnFamily(String dir, String name) {
         try {
-            if (rocksDbMap.containsKey(TAG_DIR)) {
-                rocksDbMap.get(TAG_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + TAG_DIR, new Options());
+            RocksDbHolder holder = getDbHolder();
+            holder.lock.writeLock().lock();
+            try {
+                ColumnFamilyHandle oldHandle = holder.columnFamilies.get(dir);
+                holder.rocksDb.dropColumnFamily(oldHandle);
+                holder.columnFamilies.put(dir, holder.rocksDb.createColumnFamily(createColumnFamilyDescriptor(dir)));
+                oldHandle.close();
+            } finally {
+                holder.lock.writeLock().unlock();
             }
-            deleteDirIfExist(TAG_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-tag success.");
+            LogUtil.DEFAULT_LOG.info("clear all {} success.", name);
         } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-tag failed.", e);
+            LogUtil.DEFAULT_LOG.warn("clear all {} failed.", name, e);
         }
     }
     
+    @FunctionalInterface
+    private interface ColumnFamilyAction<T> {
+        
+        T apply(RocksDB rocksDb, ColumnFamilyHandle columnFamily) throws RocksDBException, IOException;
+    }
+    
+    private static class RocksDbHolder {
+        
+        private final RocksDB rocksDb;
+        
+        private final Map<String, ColumnFamilyHandle> columnFamilies = new ConcurrentHashMap<>();
+        
+        /**
+         * Read lock for using column family handles, write lock for dropping them.
+         */
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        
+        private RocksDbHolder(RocksDB rocksDb) {
+            this.rocksDb = rocksDb;
+        }
+    }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigSearchIndex;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.persistence.model.Page;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
+import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
+
+/**
+ * Pipeline to dump all config on startup.
+ *
+ * <p>The id range of config is split into ranges, which are read by several readers in parallel and put into a bounded
+ * page queue. Several writers take pages from the queue, calculate md5 and dump configs to disk and cache by batches.
+ * Readers are blocked when the queue is full, so that at most
+ * {@code (queueCapacity + readerCount + writerCount) * pageSize} configs are held in memory.
+ *
+ * @author Nacos
+ */
+public class DumpAllPipeline {
+    
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000L;
+    
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+    
+    /**
+     * Pages of each id range, the ranges are small enough to be balanced between readers.
+     */
+    private static final int RANGE_PAGES = 8;
+    
+    private static final List<ConfigInfoWrapper> END_OF_PAGES = Collections.emptyList();
+    
+    private final ConfigInfoPersistService configInfoPersistService;
+    
+    private final int readerCount;
+    
+    private final int writerCount;
+    
+    private final int pageSize;
+    
+    private final int batchSize;
+    
+    private final boolean disableWal;
+    
+    private final BlockingQueue<List<ConfigInfoWrapper>> pageQueue;
+    
+    private final AtomicLong nextRangeStart = new AtomicLong();
+    
+    private final LongAdder readCount = new LongAdder();
+    
+    private final LongAdder dumpCount = new LongAdder();
+    
+    private final LongAdder failCount = new LongAdder();
+    
+    private volatile boolean exhausted;
+    
+    private volatile Throwable readError;
+    
+    public DumpAllPipeline(ConfigInfoPersistService configInfoPersistService, int readerCount, int writerCount,
+            int pageSize) {
+        this(configInfoPersistService, readerCount, writerCount, pageSize, PropertyUtil.getDumpBatchSize(),
+                PropertyUtil.isDumpAllWalDisabled());
+    }
+    
+    public DumpAllPipeline(ConfigInfoPersistService configInfoPersistService, int readerCount, int writerCount,
+            int pageSize, int batchSize, boolean disableWal) {
+        this.configInfoPersistService = configInfoPersistService;
+        this.readerCount = Math.max(1, readerCount);
+        this.writerCount = Math.max(1, writerCount);
+        this.pageSize = pageSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.disableWal = disableWal;
+        this.pageQueue = new ArrayBlockingQueue<>(this.writerCount * 2);
+    }
+    
+    /**
+     * Dump all configs whose id is not greater than max id.
+     *
+     * @param maxId max id of config
+     * @return count of configs which are dumped successfully
+     */
+    public long dumpAll(long maxId) {
+        ExecutorService readers = ExecutorFactory.newFixedExecutorService(readerCount,
+                new NameThreadFactory("com.alibaba.nacos.config.dump.all.reader"));
+        ExecutorService writers = ExecutorFactory.newFixedExecutorService(writerCount,
+                new NameThreadFactory("com.alibaba.nacos.config.dump.all.writer"));
+        CountDownLatch readerLatch = new CountDownLatch(readerCount);
+        CountDownLatch writerLatch = new CountDownLatch(writerCount);
+        long rangeSize = (long) pageSize * RANGE_PAGES;
+        long startTime = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < readerCount; i++) {
+                readers.execute(() -> {
+                    try {
+                        readRanges(maxId, rangeSize);
+                    } catch (Throwable e) {
+                        DEFAULT_LOG.error("[all-dump] read config-info error", e);
+                        readError = e;
+                    } finally {
+                        readerLatch.countDown();
+                    }
+                });
+            }
+            for (int i = 0; i < writerCount; i++) {
+                writers.execute(() -> {
+                    try {
+                        writePages();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        writerLatch.countDown();
+                    }
+                });
+            }
+            awaitWithProgress(readerLatch, startTime);
+            for (int i = 0; i < writerCount; i++) {
+                pageQueue.put(END_OF_PAGES);
+            }
+            awaitWithProgress(writerLatch, startTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NacosRuntimeException(NacosException.SERVER_ERROR, "dump all config-info interrupted", e);
+        } finally {
+            readers.shutdownNow();
+            writers.shutdownNow();
+        }
+        reportProgress(startTime, 0L, 0L);
+        if (null != readError) {
+            throw new NacosRuntimeException(NacosException.SERVER_ERROR, "dump all config-info failed", readError);
+        }
+        DEFAULT_LOG.info("[all-dump] finished, dumped={}, failed={}, cost={}ms", dumpCount.sum(), failCount.sum(),
+                System.currentTimeMillis() - startTime);
+        return dumpCount.sum();
+    }
+    
+    private void readRanges(long maxId, long rangeSize) throws InterruptedException {
+        while (null == readError && !exhausted) {
+            long rangeStart = nextRangeStart.getAndAdd(rangeSize);
+            if (rangeStart >= maxId) {
+                return;
+            }
+            readRange(rangeStart, Math.min(rangeStart + rangeSize, maxId));
+        }
+    }
+    
+    /**
+     * Read configs whose id is in range (rangeStart, rangeEnd].
+     */
+    private void readRange(long rangeStart, long rangeEnd) throws InterruptedException {
+        long lastId = rangeStart;
+        while (lastId < rangeEnd && null == readError) {
+            Page<ConfigInfoWrapper> page = configInfoPersistService.findAllConfigInfoFragment(lastId, pageSize, true);
+            if (page == null || page.getPageItems() == null || page.getPageItems().isEmpty()) {
+                // no config after last id, so the following ranges are empty too.
+                exhausted = true;
+                return;
+            }
+            List<ConfigInfoWrapper> items = page.getPageItems();
+            long pageMaxId = items.get(items.size() - 1).getId();
+            if (items.size() < pageSize && pageMaxId <= rangeEnd) {
+                // no config after this range, configs of short page beyond range end are read by following ranges.
+                exhausted = true;
+            }
+            if (pageMaxId > rangeEnd) {
+                List<ConfigInfoWrapper> rangeItems = new ArrayList<>(items.size());
+                for (ConfigInfoWrapper each : items) {
+                    if (each.getId() <= rangeEnd) {
+                        rangeItems.add(each);
+                    }
+                }
+                items = rangeItems;
+                lastId = rangeEnd;
+            } else {
+                lastId = pageMaxId;
+            }
+            if (!items.isEmpty()) {
+                readCount.add(items.size());
+                for (ConfigInfoWrapper each : items) {
+                    ConfigSearchIndex.addToRebuild(each);
+                }
+                putPage(items);
+            }
+        }
+    }
+    
+    private void putPage(List<ConfigInfoWrapper> page) throws InterruptedException {
+        while (!pageQueue.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (null != readError) {
+                return;
+            }
+        }
+    }
+    
+    private void writePages() throws InterruptedException {
+        while (true) {
+            List<ConfigInfoWrapper> page = pageQueue.take();
+            if (END_OF_PAGES == page) {
+                return;
+            }
+            if (batchSize > 1) {
+                for (int from = 0; from < page.size(); from += batchSize) {
+                    writeBatch(page.subList(from, Math.min(from + batchSize, page.size())));
+                }
+                continue;
+            }
+            for (ConfigInfoWrapper each : page) {
+                try {
+                    DumpAllProcessor.loadMetadata(each);
+                    if (DumpAllProcessor.dumpConfig(each)) {
+                        dumpCount.increment();
+                    } else {
+                        failCount.increment();
+                    }
+                } catch (Throwable e) {
+                    DEFAULT_LOG.error("[all-dump] dump config-info {} error", each.getDataId(), e);
+                    failCount.increment();
+                }
+            }
+        }
+    }
+    
+    private void writeBatch(List<ConfigInfoWrapper> batch) {
+        try {
+            for (ConfigInfoWrapper each : batch) {
+                DumpAllProcessor.loadMetadata(each);
+                each.setMd5(MD5Utils.md5Hex(each.getContent(), ENCODE_UTF8));
+            }
+            int success = ConfigCacheService.batchDumpWithMd5(batch, disableWal);
+            dumpCount.add(success);
+            failCount.add(batch.size() - success);
+        } catch (Throwable e) {
+            DEFAULT_LOG.error("[all-dump] dump batch of config-info error", e);
+            failCount.add(batch.size());
+        }
+    }
+    
+    private void awaitWithProgress(CountDownLatch latch, long startTime) throws InterruptedException {
+        long lastTime = startTime;
+        long lastCount = 0L;
+        while (!latch.await(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            long now = System.currentTimeMillis();
+            long count = dumpCount.sum();
+            reportProgress(startTime, now - lastTime, count - lastCount);
+            lastTime = now;
+            lastCount = count;
+        }
+    }
+    
+    private void reportProgress(long startTime, long intervalMillis, long intervalCount) {
+        long dumped = dumpCount.sum();
+        long cost = Math.max(1L, System.currentTimeMillis() - startTime);
+        long rate = intervalMillis > 0 ? intervalCount * 1000L / intervalMillis : dumped * 1000L / cost;
+        MetricsMonitor.getDumpAllCountMonitor().set((int) Math.min(Integer.MAX_VALUE, dumped));
+        MetricsMonitor.getDumpAllRateMonitor().set((int) Math.min(Integer.MAX_VALUE, rate));
+        DEFAULT_LOG.info("[all-dump] progress read={}, dumped={}, failed={}, queuedPages={}, rate={}/s, cost={}ms",
+                readCount.sum(), dumped, failCount.sum(), pageQueue.size(), rate, cost);
+    }
+}
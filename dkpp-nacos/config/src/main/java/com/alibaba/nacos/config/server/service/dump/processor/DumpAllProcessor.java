@@ -23,6 +23,7 @@ import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.service.AggrWhitelist;
 import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigSearchIndex;
 import com.alibaba.nacos.config.server.service.SwitchService;
 import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
@@ -60,6 +61,25 @@ public class DumpAllProcessor implements NacosTaskProcessor {
         DumpAllTask dumpAllTask = (DumpAllTask) task;
         
         long currentMaxId = configInfoPersistService.findConfigMaxId();
+        ConfigSearchIndex.startRebuild();
+        boolean rebuilt = false;
+        try {
+            rebuilt = dumpAll(dumpAllTask, currentMaxId);
+            return rebuilt;
+        } finally {
+            ConfigSearchIndex.finishRebuild(rebuilt);
+        }
+    }
+    
+    private boolean dumpAll(DumpAllTask dumpAllTask, long currentMaxId) {
+        if (dumpAllTask.isStartUp() && PropertyUtil.isDumpAllPipelineEnabled()) {
+            DEFAULT_LOG.info("start dump all config-info with {} readers and {} writers...",
+                    PropertyUtil.getDumpAllReaderCount(), PropertyUtil.getDumpAllWriterCount());
+            new DumpAllPipeline(configInfoPersistService, PropertyUtil.getDumpAllReaderCount(),
+                    PropertyUtil.getDumpAllWriterCount(), PropertyUtil.getAllDumpPageSize()).dumpAll(currentMaxId);
+            DEFAULT_LOG.info("success to  dump all config-info。");
+            return true;
+        }
         long lastMaxId = 0;
         ThreadPoolExecutor executorService = null;
         if (dumpAllTask.isStartUp()) {
@@ -87,6 +107,7 @@ public class DumpAllProcessor implements NacosTaskProcessor {
             
             for (ConfigInfoWrapper cf : page.getPageItems()) {
                 lastMaxId = Math.max(cf.getId(), lastMaxId);
+                ConfigSearchIndex.addToRebuild(cf);
                 //if not start up, page query will not return content, check md5 and lastModified first ,if changed ,get single content info to dump.
                 if (!dumpAllTask.isStartUp()) {
                     final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
@@ -106,38 +127,10 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                 if (cf == null) {
                     continue;
                 }
-                if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
-                    AggrWhitelist.load(cf.getContent());
-                }
+                loadMetadata(cf);
                 
-                if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
-                    ClientIpWhiteList.load(cf.getContent());
-                }
-                
-                if (cf.getDataId().equals(SwitchService.SWITCH_META_DATA_ID)) {
-                    SwitchService.load(cf.getContent());
-                }
-                
-                final String content = cf.getContent();
-                final String dataId = cf.getDataId();
-                final String group = cf.getGroup();
-                final String tenant = cf.getTenant();
-                final long lastModified = cf.getLastModified();
-                final String type = cf.getType();
-                final String encryptedDataKey = cf.getEncryptedDataKey();
-                
-                executorService.execute(() -> {
-                    final String md5Utf8 = MD5Utils.md5Hex(content, ENCODE_UTF8);
-                    boolean result = ConfigCacheService.dumpWithMd5(dataId, group, tenant, content, md5Utf8,
-                            lastModified, type, encryptedDataKey);
-                    if (result) {
-                        LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={},md5UTF8={}",
-                                GroupKey2.getKey(dataId, group), lastModified, content.length(), md5Utf8);
-                    } else {
-                        LogUtil.DUMP_LOG.info("[dump-all-error] {}", GroupKey2.getKey(dataId, group));
-                    }
-                    
-                });
+                final ConfigInfoWrapper configInfo = cf;
+                executorService.execute(() -> dumpConfig(configInfo));
                 
             }
             
@@ -162,5 +155,47 @@ public class DumpAllProcessor implements NacosTaskProcessor {
         return true;
     }
     
+    /**
+     * Load config which is used as metadata of config server.
+     *
+     * @param cf config info
+     */
+    static void loadMetadata(ConfigInfoWrapper cf) {
+        if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
+            AggrWhitelist.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
+            ClientIpWhiteList.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(SwitchService.SWITCH_META_DATA_ID)) {
+            SwitchService.load(cf.getContent());
+        }
+    }
+    
+    /**
+     * Calculate md5 of config and dump it to disk and cache.
+     *
+     * @param cf config info with content
+     * @return true if dump success, otherwise false
+     */
+    static boolean dumpConfig(ConfigInfoWrapper cf) {
+        final String content = cf.getContent();
+        final String dataId = cf.getDataId();
+        final String group = cf.getGroup();
+        final long lastModified = cf.getLastModified();
+        final String md5Utf8 = MD5Utils.md5Hex(content, ENCODE_UTF8);
+        boolean result = ConfigCacheService.dumpWithMd5(dataId, group, cf.getTenant(), content, md5Utf8,
+                lastModified, cf.getType(), cf.getEncryptedDataKey());
+        if (result) {
+            LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={},md5UTF8={}", GroupKey2.getKey(dataId, group),
+                    lastModified, content.length(), md5Utf8);
+        } else {
+            LogUtil.DUMP_LOG.info("[dump-all-error] {}", GroupKey2.getKey(dataId, group));
+        }
+        return result;
+    }
+    
     final ConfigInfoPersistService configInfoPersistService;
 }
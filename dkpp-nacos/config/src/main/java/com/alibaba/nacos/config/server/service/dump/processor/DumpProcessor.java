@@ -23,6 +23,7 @@ import com.alibaba.nacos.config.server.model.ConfigInfoBetaWrapper;
 import com.alibaba.nacos.config.server.model.ConfigInfoTagWrapper;
 import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.event.ConfigDumpEvent;
+import com.alibaba.nacos.config.server.service.ConfigSearchIndex;
 import com.alibaba.nacos.config.server.service.dump.DumpConfigHandler;
 import com.alibaba.nacos.config.server.service.dump.task.DumpTask;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoBetaPersistService;
@@ -104,6 +105,11 @@ public class DumpProcessor implements NacosTaskProcessor {
         build.type(Objects.isNull(cf) ? null : cf.getType());
         build.encryptedDataKey(Objects.isNull(cf) ? null : cf.getEncryptedDataKey());
         build.lastModifiedTs(Objects.isNull(cf) ? lastModifiedOut : cf.getLastModified());
+        if (Objects.isNull(cf)) {
+            ConfigSearchIndex.remove(dataId, group, tenant);
+        } else {
+            ConfigSearchIndex.update(cf);
+        }
         return DumpConfigHandler.configDump(build.build());
         
     }
@@ -271,6 +271,21 @@ public interface ConfigInfoPersistService {
     Page<ConfigInfo> findConfigInfo4Page(final int pageNo, final int pageSize, final String dataId, final String group,
             final String tenant, final Map<String, Object> configAdvanceInfo);
     
+    /**
+     * find config info by keyset pagination, the total count is not queried. When config tags is in advance info,
+     * fall back to the first page of {@link #findConfigInfo4Page} without lastMaxId.
+     *
+     * @param lastMaxId         the lastMaxId of previous page, 0 for the first page
+     * @param pageSize          page size
+     * @param dataId            data id
+     * @param group             group
+     * @param tenant            tenant
+     * @param configAdvanceInfo advance info
+     * @return {@link Page} with {@link ConfigInfo} generation and the lastMaxId of next page
+     */
+    Page<ConfigInfo> findConfigInfo4PageByCursor(final long lastMaxId, final int pageSize, final String dataId,
+            final String group, final String tenant, final Map<String, Object> configAdvanceInfo);
+    
     
     /**
      * Returns the number of configuration items.
@@ -329,6 +344,21 @@ public interface ConfigInfoPersistService {
     Page<ConfigInfo> findConfigInfoLike4Page(final int pageNo, final int pageSize, final String dataId,
             final String group, final String tenant, final Map<String, Object> configAdvanceInfo);
     
+    /**
+     * Query config info by keyset pagination, the total count is not queried. When config tags is in advance info,
+     * fall back to the first page of {@link #findConfigInfoLike4Page} without lastMaxId.
+     *
+     * @param lastMaxId         the lastMaxId of previous page, 0 for the first page
+     * @param pageSize          page size
+     * @param dataId            data id
+     * @param group             group
+     * @param tenant            tenant
+     * @param configAdvanceInfo advance info
+     * @return {@link Page} with {@link ConfigInfo} generation and the lastMaxId of next page
+     */
+    Page<ConfigInfo> findConfigInfoLike4PageByCursor(final long lastMaxId, final int pageSize, final String dataId,
+            final String group, final String tenant, final Map<String, Object> configAdvanceInfo);
+    
     /**
      * Query change config.order by id asc.
      *
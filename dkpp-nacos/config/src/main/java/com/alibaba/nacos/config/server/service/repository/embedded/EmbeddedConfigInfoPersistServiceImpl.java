@@ -39,6 +39,7 @@ import com.alibaba.nacos.persistence.model.event.DerbyImportEvent;
 import com.alibaba.nacos.persistence.repository.PaginationHelper;
 import com.alibaba.nacos.persistence.repository.embedded.EmbeddedPaginationHelperImpl;
 import com.alibaba.nacos.persistence.repository.embedded.EmbeddedStorageContextHolder;
+import com.alibaba.nacos.persistence.repository.embedded.ReadConsistency;
 import com.alibaba.nacos.persistence.repository.embedded.operate.DatabaseOperate;
 import com.alibaba.nacos.plugin.datasource.MapperManager;
 import com.alibaba.nacos.plugin.datasource.constants.CommonConstant;
@@ -703,7 +704,9 @@ public class EmbeddedConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
             sql = configInfoMapper.findConfigInfo4PageFetchRows(context);
         }
         PaginationHelper<ConfigInfo> helper = createPaginationHelper();
-        Page<ConfigInfo> page = helper.fetchPageLimit(sqlCount, sql, pageNo, pageSize, CONFIG_INFO_ROW_MAPPER);
+        // console listing tolerates stale data, read local storage directly to avoid raft read.
+        Page<ConfigInfo> page = EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.FOLLOWER,
+                () -> helper.fetchPageLimit(sqlCount, sql, pageNo, pageSize, CONFIG_INFO_ROW_MAPPER));
         
         for (ConfigInfo configInfo : page.getPageItems()) {
             Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
@@ -714,6 +717,49 @@ public class EmbeddedConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
         return page;
     }
     
+    @Override
+    public Page<ConfigInfo> findConfigInfo4PageByCursor(final long lastMaxId, final int pageSize, final String dataId,
+            final String group, final String tenant, final Map<String, Object> configAdvanceInfo) {
+        final String configTags = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("config_tags");
+        if (StringUtils.isNotBlank(configTags)) {
+            // the join of config tags is not seeked by id, only the first page is supported.
+            return findConfigInfo4Page(1, pageSize, dataId, group, tenant, configAdvanceInfo);
+        }
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
+        final String content = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("content");
+        
+        // fetch one more row to know whether there is next page.
+        MapperContext context = new MapperContext(0, pageSize + 1);
+        context.putWhereParameter(FieldConstant.TENANT_ID, tenantTmp);
+        if (StringUtils.isNotBlank(dataId)) {
+            context.putWhereParameter(FieldConstant.DATA_ID, dataId);
+        }
+        if (StringUtils.isNotBlank(group)) {
+            context.putWhereParameter(FieldConstant.GROUP_ID, group);
+        }
+        if (StringUtils.isNotBlank(appName)) {
+            context.putWhereParameter(FieldConstant.APP_NAME, appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            context.putWhereParameter(FieldConstant.CONTENT, content);
+        }
+        context.putWhereParameter(FieldConstant.LAST_MAX_ID, lastMaxId);
+        ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.CONFIG_INFO);
+        MapperResult sqlFetchRows = configInfoMapper.findConfigInfo4PageByCursorFetchRows(context);
+        PaginationHelper<ConfigInfo> helper = createPaginationHelper();
+        Page<ConfigInfo> page = EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.FOLLOWER,
+                () -> helper.fetchPageByCursor(sqlFetchRows, pageSize, ConfigInfo::getId, CONFIG_INFO_ROW_MAPPER));
+        
+        for (ConfigInfo configInfo : page.getPageItems()) {
+            Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
+                    configInfo.getEncryptedDataKey(), configInfo.getContent());
+            configInfo.setContent(pair.getSecond());
+        }
+        return page;
+    }
+    
     @Override
     public int configInfoCount() {
         ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
@@ -826,8 +872,8 @@ public class EmbeddedConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
             sqlFetchRows = configInfoMapper.findConfigInfoLike4PageFetchRows(context);
         }
         PaginationHelper<ConfigInfo> helper = createPaginationHelper();
-        Page<ConfigInfo> page = helper.fetchPageLimit(sqlCountRows, sqlFetchRows, pageNo, pageSize,
-                CONFIG_INFO_ROW_MAPPER);
+        Page<ConfigInfo> page = EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.FOLLOWER,
+                () -> helper.fetchPageLimit(sqlCountRows, sqlFetchRows, pageNo, pageSize, CONFIG_INFO_ROW_MAPPER));
         for (ConfigInfo configInfo : page.getPageItems()) {
             Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
                     configInfo.getEncryptedDataKey(), configInfo.getContent());
@@ -837,6 +883,49 @@ public class EmbeddedConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
         
     }
     
+    @Override
+    public Page<ConfigInfo> findConfigInfoLike4PageByCursor(final long lastMaxId, final int pageSize,
+            final String dataId, final String group, final String tenant, final Map<String, Object> configAdvanceInfo) {
+        final String configTags = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("config_tags");
+        if (StringUtils.isNotBlank(configTags)) {
+            // the join of config tags is not seeked by id, only the first page is supported.
+            return findConfigInfoLike4Page(1, pageSize, dataId, group, tenant, configAdvanceInfo);
+        }
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
+        final String content = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("content");
+        
+        // fetch one more row to know whether there is next page.
+        MapperContext context = new MapperContext(0, pageSize + 1);
+        context.putWhereParameter(FieldConstant.TENANT_ID, generateLikeArgument(tenantTmp));
+        if (!StringUtils.isBlank(dataId)) {
+            context.putWhereParameter(FieldConstant.DATA_ID, generateLikeArgument(dataId));
+        }
+        if (!StringUtils.isBlank(group)) {
+            context.putWhereParameter(FieldConstant.GROUP_ID, generateLikeArgument(group));
+        }
+        if (!StringUtils.isBlank(appName)) {
+            context.putWhereParameter(FieldConstant.APP_NAME, appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            context.putWhereParameter(FieldConstant.CONTENT, generateLikeArgument(content));
+        }
+        context.putWhereParameter(FieldConstant.LAST_MAX_ID, lastMaxId);
+        ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.CONFIG_INFO);
+        MapperResult sqlFetchRows = configInfoMapper.findConfigInfoLike4PageByCursorFetchRows(context);
+        PaginationHelper<ConfigInfo> helper = createPaginationHelper();
+        Page<ConfigInfo> page = EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.FOLLOWER,
+                () -> helper.fetchPageByCursor(sqlFetchRows, pageSize, ConfigInfo::getId, CONFIG_INFO_ROW_MAPPER));
+        
+        for (ConfigInfo configInfo : page.getPageItems()) {
+            Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
+                    configInfo.getEncryptedDataKey(), configInfo.getContent());
+            configInfo.setContent(pair.getSecond());
+        }
+        return page;
+    }
+    
     @Override
     public List<ConfigInfoStateWrapper> findChangeConfig(final Timestamp startTime, long lastMaxId,
             final int pageSize) {
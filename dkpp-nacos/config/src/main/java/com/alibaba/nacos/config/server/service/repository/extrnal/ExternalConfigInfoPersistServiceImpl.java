@@ -762,6 +762,53 @@ public class ExternalConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
         }
     }
     
+    @Override
+    public Page<ConfigInfo> findConfigInfo4PageByCursor(final long lastMaxId, final int pageSize, final String dataId,
+            final String group, final String tenant, final Map<String, Object> configAdvanceInfo) {
+        final String configTags = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("config_tags");
+        if (StringUtils.isNotBlank(configTags)) {
+            // the join of config tags is not seeked by id, only the first page is supported.
+            return findConfigInfo4Page(1, pageSize, dataId, group, tenant, configAdvanceInfo);
+        }
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
+        final String content = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("content");
+        
+        // fetch one more row to know whether there is next page.
+        MapperContext context = new MapperContext(0, pageSize + 1);
+        context.putWhereParameter(FieldConstant.TENANT_ID, tenantTmp);
+        if (StringUtils.isNotBlank(dataId)) {
+            context.putWhereParameter(FieldConstant.DATA_ID, dataId);
+        }
+        if (StringUtils.isNotBlank(group)) {
+            context.putWhereParameter(FieldConstant.GROUP_ID, group);
+        }
+        if (StringUtils.isNotBlank(appName)) {
+            context.putWhereParameter(FieldConstant.APP_NAME, appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            context.putWhereParameter(FieldConstant.CONTENT, content);
+        }
+        context.putWhereParameter(FieldConstant.LAST_MAX_ID, lastMaxId);
+        ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.CONFIG_INFO);
+        MapperResult sqlFetchRows = configInfoMapper.findConfigInfo4PageByCursorFetchRows(context);
+        PaginationHelper<ConfigInfo> helper = createPaginationHelper();
+        try {
+            Page<ConfigInfo> page = helper.fetchPageByCursor(sqlFetchRows, pageSize, ConfigInfo::getId,
+                    CONFIG_INFO_ROW_MAPPER);
+            for (ConfigInfo configInfo : page.getPageItems()) {
+                Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
+                        configInfo.getEncryptedDataKey(), configInfo.getContent());
+                configInfo.setContent(pair.getSecond());
+            }
+            return page;
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e, e);
+            throw e;
+        }
+    }
+    
     @Override
     public int configInfoCount() {
         ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
@@ -882,6 +929,53 @@ public class ExternalConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
         }
     }
     
+    @Override
+    public Page<ConfigInfo> findConfigInfoLike4PageByCursor(final long lastMaxId, final int pageSize,
+            final String dataId, final String group, final String tenant, final Map<String, Object> configAdvanceInfo) {
+        final String configTags = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("config_tags");
+        if (StringUtils.isNotBlank(configTags)) {
+            // the join of config tags is not seeked by id, only the first page is supported.
+            return findConfigInfoLike4Page(1, pageSize, dataId, group, tenant, configAdvanceInfo);
+        }
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        final String appName = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("appName");
+        final String content = configAdvanceInfo == null ? null : (String) configAdvanceInfo.get("content");
+        
+        // fetch one more row to know whether there is next page.
+        MapperContext context = new MapperContext(0, pageSize + 1);
+        context.putWhereParameter(FieldConstant.TENANT_ID, generateLikeArgument(tenantTmp));
+        if (!StringUtils.isBlank(dataId)) {
+            context.putWhereParameter(FieldConstant.DATA_ID, generateLikeArgument(dataId));
+        }
+        if (!StringUtils.isBlank(group)) {
+            context.putWhereParameter(FieldConstant.GROUP_ID, generateLikeArgument(group));
+        }
+        if (!StringUtils.isBlank(appName)) {
+            context.putWhereParameter(FieldConstant.APP_NAME, appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            context.putWhereParameter(FieldConstant.CONTENT, generateLikeArgument(content));
+        }
+        context.putWhereParameter(FieldConstant.LAST_MAX_ID, lastMaxId);
+        ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.CONFIG_INFO);
+        MapperResult sqlFetchRows = configInfoMapper.findConfigInfoLike4PageByCursorFetchRows(context);
+        PaginationHelper<ConfigInfo> helper = createPaginationHelper();
+        try {
+            Page<ConfigInfo> page = helper.fetchPageByCursor(sqlFetchRows, pageSize, ConfigInfo::getId,
+                    CONFIG_INFO_ROW_MAPPER);
+            for (ConfigInfo configInfo : page.getPageItems()) {
+                Pair<String, String> pair = EncryptionHandler.decryptHandler(configInfo.getDataId(),
+                        configInfo.getEncryptedDataKey(), configInfo.getContent());
+                configInfo.setContent(pair.getSecond());
+            }
+            return page;
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e, e);
+            throw e;
+        }
+    }
+    
     @Override
     public List<ConfigInfoStateWrapper> findChangeConfig(final Timestamp startTime, long lastMaxId,
             final int pageSize) {
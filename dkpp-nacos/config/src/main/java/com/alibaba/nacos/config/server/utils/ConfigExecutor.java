@@ -73,6 +73,10 @@ public final class ConfigExecutor {
         CAPACITY_MANAGEMENT_EXECUTOR.scheduleWithFixedDelay(runnable, initialDelay, delay, unit);
     }
     
+    public static void executeCorrectUsageTask(Runnable runnable) {
+        CAPACITY_MANAGEMENT_EXECUTOR.execute(runnable);
+    }
+    
     public static void executeAsyncNotify(Runnable runnable) {
         ASYNC_NOTIFY_EXECUTOR.execute(runnable);
     }
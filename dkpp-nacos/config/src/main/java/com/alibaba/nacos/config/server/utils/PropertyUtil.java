@@ -106,6 +106,61 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static long dumpChangeWorkerInterval = 30 * 1000L;
     
+    /**
+     * Whether to store md5 of config cache in compact binary format.
+     */
+    private static boolean cacheCompactEnabled = true;
+    
+    /**
+     * Whether to dump all config on startup by parallel range readers and dump workers.
+     */
+    private static boolean dumpAllPipelineEnabled = true;
+    
+    /**
+     * Count of threads which read config from database for pipelined dump all.
+     */
+    private static int dumpAllReaderCount = Math.min(4, Runtime.getRuntime().availableProcessors());
+    
+    /**
+     * Count of threads which calculate md5 and dump config to disk and cache for pipelined dump all.
+     */
+    private static int dumpAllWriterCount = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * Count of configs saved to disk by one batch write when dumping, 1 means saving config one by one.
+     */
+    private static int dumpBatchSize = 100;
+    
+    /**
+     * Whether to skip write ahead log of disk cache when dump all on startup, disk cache is rebuilt on every startup.
+     */
+    private static boolean dumpAllWalDisabled = true;
+    
+    /**
+     * Whether to cache config content read from disk in memory for config query.
+     */
+    private static boolean contentCacheEnabled = false;
+    
+    /**
+     * Max estimated heap bytes of config content cache.
+     */
+    private static long contentCacheMaxBytes = 64 * 1024 * 1024L;
+    
+    /**
+     * Whether to count capacity usage in memory and flush it to database asynchronously.
+     */
+    private static boolean capacityLocalUsageEnabled = false;
+    
+    /**
+     * Interval of flushing capacity usage counted in memory to database, the unit is in milliseconds.
+     */
+    private static long capacityUsageFlushInterval = 1000L;
+    
+    /**
+     * Whether to serve config blur search by the in-memory index instead of database.
+     */
+    private static boolean searchIndexEnabled = false;
+    
     public static boolean isDumpChangeOn() {
         return dumpChangeOn;
     }
@@ -122,6 +177,94 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.dumpChangeWorkerInterval = dumpChangeWorkerInterval;
     }
     
+    public static boolean isCacheCompactEnabled() {
+        return cacheCompactEnabled;
+    }
+    
+    public static void setCacheCompactEnabled(boolean cacheCompactEnabled) {
+        PropertyUtil.cacheCompactEnabled = cacheCompactEnabled;
+    }
+    
+    public static boolean isDumpAllPipelineEnabled() {
+        return dumpAllPipelineEnabled;
+    }
+    
+    public static void setDumpAllPipelineEnabled(boolean dumpAllPipelineEnabled) {
+        PropertyUtil.dumpAllPipelineEnabled = dumpAllPipelineEnabled;
+    }
+    
+    public static int getDumpAllReaderCount() {
+        return dumpAllReaderCount;
+    }
+    
+    public static void setDumpAllReaderCount(int dumpAllReaderCount) {
+        PropertyUtil.dumpAllReaderCount = Math.max(1, dumpAllReaderCount);
+    }
+    
+    public static int getDumpAllWriterCount() {
+        return dumpAllWriterCount;
+    }
+    
+    public static void setDumpAllWriterCount(int dumpAllWriterCount) {
+        PropertyUtil.dumpAllWriterCount = Math.max(1, dumpAllWriterCount);
+    }
+    
+    public static int getDumpBatchSize() {
+        return dumpBatchSize;
+    }
+    
+    public static void setDumpBatchSize(int dumpBatchSize) {
+        PropertyUtil.dumpBatchSize = Math.max(1, dumpBatchSize);
+    }
+    
+    public static boolean isDumpAllWalDisabled() {
+        return dumpAllWalDisabled;
+    }
+    
+    public static void setDumpAllWalDisabled(boolean dumpAllWalDisabled) {
+        PropertyUtil.dumpAllWalDisabled = dumpAllWalDisabled;
+    }
+    
+    public static boolean isContentCacheEnabled() {
+        return contentCacheEnabled;
+    }
+    
+    public static void setContentCacheEnabled(boolean contentCacheEnabled) {
+        PropertyUtil.contentCacheEnabled = contentCacheEnabled;
+    }
+    
+    public static long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+    
+    public static void setContentCacheMaxBytes(long contentCacheMaxBytes) {
+        PropertyUtil.contentCacheMaxBytes = Math.max(0L, contentCacheMaxBytes);
+    }
+    
+    public static boolean isCapacityLocalUsageEnabled() {
+        return capacityLocalUsageEnabled;
+    }
+    
+    public static void setCapacityLocalUsageEnabled(boolean capacityLocalUsageEnabled) {
+        PropertyUtil.capacityLocalUsageEnabled = capacityLocalUsageEnabled;
+    }
+    
+    public static long getCapacityUsageFlushInterval() {
+        return capacityUsageFlushInterval;
+    }
+    
+    public static void setCapacityUsageFlushInterval(long capacityUsageFlushInterval) {
+        PropertyUtil.capacityUsageFlushInterval = Math.max(100L, capacityUsageFlushInterval);
+    }
+    
+    public static boolean isSearchIndexEnabled() {
+        return searchIndexEnabled;
+    }
+    
+    public static void setSearchIndexEnabled(boolean searchIndexEnabled) {
+        PropertyUtil.searchIndexEnabled = searchIndexEnabled;
+    }
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -278,6 +421,19 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDumpChangeOn(getBoolean(PropertiesConstant.DUMP_CHANGE_ON, dumpChangeOn));
             setDumpChangeWorkerInterval(
                     getLong(PropertiesConstant.DUMP_CHANGE_WORKER_INTERVAL, dumpChangeWorkerInterval));
+            setCacheCompactEnabled(getBoolean(PropertiesConstant.CACHE_COMPACT_ENABLED, cacheCompactEnabled));
+            setDumpAllPipelineEnabled(getBoolean(PropertiesConstant.DUMP_ALL_PIPELINE_ENABLED, dumpAllPipelineEnabled));
+            setDumpAllReaderCount(getInt(PropertiesConstant.DUMP_ALL_READER_COUNT, dumpAllReaderCount));
+            setDumpAllWriterCount(getInt(PropertiesConstant.DUMP_ALL_WRITER_COUNT, dumpAllWriterCount));
+            setDumpBatchSize(getInt(PropertiesConstant.DUMP_BATCH_SIZE, dumpBatchSize));
+            setDumpAllWalDisabled(getBoolean(PropertiesConstant.DUMP_ALL_WAL_DISABLED, dumpAllWalDisabled));
+            setContentCacheEnabled(getBoolean(PropertiesConstant.CONTENT_CACHE_ENABLED, contentCacheEnabled));
+            setContentCacheMaxBytes(getLong(PropertiesConstant.CONTENT_CACHE_MAX_BYTES, contentCacheMaxBytes));
+            setCapacityLocalUsageEnabled(
+                    getBoolean(PropertiesConstant.CAPACITY_LOCAL_USAGE_ENABLED, capacityLocalUsageEnabled));
+            setCapacityUsageFlushInterval(
+                    getLong(PropertiesConstant.CAPACITY_USAGE_FLUSH_INTERVAL, capacityUsageFlushInterval));
+            setSearchIndexEnabled(getBoolean(PropertiesConstant.SEARCH_INDEX_ENABLED, searchIndexEnabled));
         } catch (Exception e) {
             LOGGER.error("read application.properties failed", e);
             throw e;
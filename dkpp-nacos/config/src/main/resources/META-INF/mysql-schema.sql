@@ -36,7 +36,10 @@ CREATE TABLE `config_info` (
   `c_schema` text COMMENT '配置的模式',
   `encrypted_data_key` text NOT NULL COMMENT '密钥',
   PRIMARY KEY (`id`),
-  UNIQUE KEY `uk_configinfo_datagrouptenant` (`data_id`,`group_id`,`tenant_id`)
+  UNIQUE KEY `uk_configinfo_datagrouptenant` (`data_id`,`group_id`,`tenant_id`),
+  KEY `idx_configinfo_tenant_id` (`tenant_id`,`id`),
+  KEY `idx_configinfo_tenant_group_id` (`tenant_id`,`group_id`,`id`),
+  KEY `idx_configinfo_tenant_app_id` (`tenant_id`,`app_name`,`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_bin COMMENT='config_info';
 
 /******************************************/
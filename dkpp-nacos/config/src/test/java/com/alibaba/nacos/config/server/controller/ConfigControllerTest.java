@@ -60,6 +60,8 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -287,6 +289,35 @@ public class ConfigControllerTest {
         Assert.assertEquals(configInfo.getContent(), resConfigInfo.getContent());
     }
     
+    @Test
+    public void testSearchConfigByCursor() throws Exception {
+        
+        List<ConfigInfo> configInfoList = new ArrayList<>();
+        ConfigInfo configInfo = new ConfigInfo("test", "test", "test");
+        configInfo.setId(20);
+        configInfoList.add(configInfo);
+        
+        Page<ConfigInfo> page = new Page<>();
+        page.setPageItems(configInfoList);
+        page.setLastMaxId(20L);
+        Map<String, Object> configAdvanceInfo = new HashMap<>(8);
+        
+        when(configInfoPersistService.findConfigInfo4PageByCursor(10L, 1, "test", "test", "",
+                configAdvanceInfo)).thenReturn(page);
+        
+        MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.get(Constants.CONFIG_CONTROLLER_PATH)
+                .param("search", "accurate").param("dataId", "test").param("group", "test").param("appName", "")
+                .param("tenant", "").param("config_tags", "").param("lastMaxId", "10").param("pageSize", "1");
+        
+        String actualValue = mockmvc.perform(builder).andReturn().getResponse().getContentAsString();
+        
+        JsonNode pageNode = JacksonUtils.toObj(actualValue);
+        Assert.assertEquals(1, pageNode.get("pageItems").size());
+        Assert.assertEquals(20L, pageNode.get("lastMaxId").asLong());
+        verify(configInfoPersistService, never()).findConfigInfo4Page(anyInt(), anyInt(), anyString(), anyString(),
+                anyString(), any());
+    }
+    
     @Test
     public void testFuzzySearchConfig() throws Exception {
         
@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.model;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConfigCacheTest {
+    
+    private static final String UTF8 = "UTF-8";
+    
+    @After
+    public void tearDown() {
+        PropertyUtil.setCacheCompactEnabled(true);
+    }
+    
+    @Test
+    public void testCompactMd5() {
+        String md5 = MD5Utils.md5Hex("content", UTF8);
+        ConfigCache configCache = new ConfigCache();
+        configCache.setMd5Utf8(md5);
+        Assert.assertTrue(configCache.md5Utf8 instanceof byte[]);
+        Assert.assertEquals(md5, configCache.getMd5Utf8());
+        Assert.assertEquals(md5, configCache.getMd5(UTF8));
+        Assert.assertTrue(configCache.isMd5Equal(UTF8, md5));
+        Assert.assertFalse(configCache.isMd5Equal(UTF8, MD5Utils.md5Hex("other", UTF8)));
+        Assert.assertFalse(configCache.isMd5Equal(UTF8, md5.toUpperCase()));
+        Assert.assertFalse(configCache.isMd5Equal(UTF8, null));
+        Assert.assertEquals(ConfigCache.MD5_COMPACT_SAVED_BYTES, configCache.getCompactSavedBytes());
+    }
+    
+    @Test
+    public void testNonHexMd5() {
+        ConfigCache configCache = new ConfigCache("md5", "ABCDEF0123456789ABCDEF0123456789", 1L);
+        Assert.assertEquals("md5", configCache.getMd5Gbk());
+        Assert.assertEquals("ABCDEF0123456789ABCDEF0123456789", configCache.getMd5Utf8());
+        Assert.assertTrue(configCache.isMd5Equal(UTF8, "ABCDEF0123456789ABCDEF0123456789"));
+        Assert.assertTrue(configCache.isMd5Equal("GBK", "md5"));
+        Assert.assertEquals(0L, configCache.getCompactSavedBytes());
+        configCache.clear();
+        Assert.assertEquals("", configCache.getMd5Utf8());
+        Assert.assertTrue(configCache.isMd5Equal(UTF8, ""));
+    }
+    
+    @Test
+    public void testCompactDisabled() {
+        PropertyUtil.setCacheCompactEnabled(false);
+        String md5 = MD5Utils.md5Hex("content", UTF8);
+        ConfigCache configCache = new ConfigCache();
+        configCache.setMd5Utf8(md5);
+        Assert.assertTrue(configCache.md5Utf8 instanceof String);
+        Assert.assertTrue(configCache.isMd5Equal(UTF8, md5));
+        Assert.assertEquals(0L, configCache.getCompactSavedBytes());
+    }
+    
+    @Test
+    public void testLazyLockOfCacheItem() {
+        CacheItem cacheItem = new CacheItem("groupKey");
+        cacheItem.getConfigCache().setMd5Utf8(MD5Utils.md5Hex("content", UTF8));
+        long savedWithoutLock = cacheItem.getCompactSavedBytes();
+        Assert.assertTrue(savedWithoutLock > ConfigCache.MD5_COMPACT_SAVED_BYTES);
+        Assert.assertSame(cacheItem.getRwLock(), cacheItem.getRwLock());
+        Assert.assertEquals(ConfigCache.MD5_COMPACT_SAVED_BYTES, cacheItem.getCompactSavedBytes());
+    }
+}
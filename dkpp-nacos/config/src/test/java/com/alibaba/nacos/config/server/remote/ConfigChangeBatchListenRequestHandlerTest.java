@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
 import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.common.utils.ListenDigestUtils;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.core.utils.StringPool;
@@ -33,6 +34,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.mockito.ArgumentMatchers.eq;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -87,5 +91,58 @@ public class ConfigChangeBatchListenRequestHandlerTest extends TestCase {
             configCacheServiceMockedStatic.close();
         }
     }
+    
+    @Test
+    public void testHandleWithListenDigest() throws NacosException {
+        requestMeta.setConnectionId("connectionId");
+        String groupKey = GroupKey2.getKey("dataId", "group", "tenant");
+        String groupKey2 = GroupKey2.getKey("dataId2", "group", "");
+        try (MockedStatic<ConfigCacheService> configCacheServiceMockedStatic = Mockito.mockStatic(
+                ConfigCacheService.class)) {
+            configCacheServiceMockedStatic.when(
+                    () -> ConfigCacheService.isUptodate(eq(groupKey), Mockito.any(), Mockito.any(), Mockito.any()))
+                    .thenReturn(true);
+            configCacheServiceMockedStatic.when(
+                    () -> ConfigCacheService.isUptodate(eq(groupKey2), Mockito.any(), Mockito.any(), Mockito.any()))
+                    .thenReturn(false);
+            configChangeListenContext.addListen(groupKey2, "md5", "connectionId");
+            Map<String, String> listenKeys = new HashMap<>();
+            listenKeys.put(groupKey, "md5");
+            listenKeys.put(groupKey2, "md5");
+            ConfigBatchListenRequest configChangeListenRequest = new ConfigBatchListenRequest();
+            configChangeListenRequest.addConfigListenContext("group", "dataId", "tenant", "md5");
+            configChangeListenRequest.setListenDigest(ListenDigestUtils.digest(listenKeys));
+            
+            ConfigChangeBatchListenResponse response = configQueryRequestHandler
+                    .handle(configChangeListenRequest, requestMeta);
+            assertFalse(response.isListenDigestMismatch());
+            assertEquals(1, response.getChangedConfigs().size());
+            assertEquals("dataId2", response.getChangedConfigs().get(0).getDataId());
+            assertEquals("group", response.getChangedConfigs().get(0).getGroup());
+        }
+    }
+    
+    @Test
+    public void testHandleWithListenDigestMismatch() throws NacosException {
+        requestMeta.setConnectionId("connectionId");
+        String groupKey = GroupKey2.getKey("dataId", "group", "tenant");
+        try (MockedStatic<ConfigCacheService> configCacheServiceMockedStatic = Mockito.mockStatic(
+                ConfigCacheService.class)) {
+            configCacheServiceMockedStatic.when(
+                    () -> ConfigCacheService.isUptodate(eq(groupKey), Mockito.any(), Mockito.any(), Mockito.any()))
+                    .thenReturn(true);
+            Map<String, String> listenKeys = new HashMap<>();
+            listenKeys.put(groupKey, "md5");
+            listenKeys.put(GroupKey2.getKey("dataId2", "group", ""), "md5");
+            ConfigBatchListenRequest configChangeListenRequest = new ConfigBatchListenRequest();
+            configChangeListenRequest.addConfigListenContext("group", "dataId", "tenant", "md5");
+            configChangeListenRequest.setListenDigest(ListenDigestUtils.digest(listenKeys));
+            
+            ConfigChangeBatchListenResponse response = configQueryRequestHandler
+                    .handle(configChangeListenRequest, requestMeta);
+            assertTrue(response.isListenDigestMismatch());
+            assertTrue(response.getChangedConfigs().isEmpty());
+        }
+    }
 
 }
\ No newline at end of file
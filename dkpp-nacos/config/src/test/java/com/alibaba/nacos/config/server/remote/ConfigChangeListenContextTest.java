@@ -24,6 +24,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConfigChangeListenContextTest {
@@ -81,4 +85,81 @@ public class ConfigChangeListenContextTest {
         Assert.assertEquals("md5", listenKeyMd5);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testClearContextForMultiGroupKeys() {
+        configChangeListenContext.addListen("groupKey1", "md5", "connectionId");
+        configChangeListenContext.addListen("groupKey2", null, "connectionId");
+        configChangeListenContext.addListen("groupKey1", "md5", "connectionId2");
+        Assert.assertNull(configChangeListenContext.getListenKeyMd5("connectionId", "groupKey2"));
+        Map<String, String> listenKeys = configChangeListenContext.getListenKeys("connectionId");
+        Assert.assertTrue(listenKeys.containsKey("groupKey2"));
+        Assert.assertNull(listenKeys.get("groupKey2"));
+        configChangeListenContext.clearContextForConnectionId("connectionId");
+        Assert.assertEquals(1, configChangeListenContext.getListeners("groupKey1").size());
+        Assert.assertNull(configChangeListenContext.getListeners("groupKey2"));
+        Assert.assertEquals(1, configChangeListenContext.getConnectionCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetListenersReadOnly() {
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId");
+        configChangeListenContext.getListeners("groupKey").add("connectionId2");
+    }
+
+    @Test
+    public void testConcurrentReconnect() throws InterruptedException {
+        int connectionCount = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(connectionCount);
+        try {
+            for (int i = 0; i < connectionCount; i++) {
+                final String connectionId = "connectionId" + i;
+                executorService.execute(() -> {
+                    for (int j = 0; j < 10; j++) {
+                        configChangeListenContext.addListen("groupKey" + j, "md5", connectionId);
+                    }
+                    configChangeListenContext.clearContextForConnectionId(connectionId);
+                    latch.countDown();
+                });
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        for (int j = 0; j < 10; j++) {
+            Assert.assertNull(configChangeListenContext.getListeners("groupKey" + j));
+        }
+        Assert.assertEquals(0, configChangeListenContext.getConnectionCount());
+    }
+
+    @Test
+    public void testConcurrentAddAndClear() throws InterruptedException {
+        int groupKeyCount = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        try {
+            executorService.execute(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    configChangeListenContext.addListen("groupKey" + (i % groupKeyCount), "md5", "connectionId");
+                }
+                latch.countDown();
+            });
+            executorService.execute(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    configChangeListenContext.clearContextForConnectionId("connectionId");
+                }
+                latch.countDown();
+            });
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        Map<String, String> listenKeys = configChangeListenContext.getListenKeys("connectionId");
+        for (int j = 0; j < groupKeyCount; j++) {
+            String groupKey = "groupKey" + j;
+            boolean listened = null != listenKeys && listenKeys.containsKey(groupKey);
+            Assert.assertEquals(listened, null != configChangeListenContext.getListeners(groupKey));
+        }
+    }
+
+}
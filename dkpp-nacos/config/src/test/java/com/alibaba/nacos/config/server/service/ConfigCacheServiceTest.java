@@ -19,6 +19,7 @@ package com.alibaba.nacos.config.server.service;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
@@ -38,11 +39,15 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
@@ -148,6 +153,61 @@ public class ConfigCacheServiceTest {
         
     }
     
+    @Test
+    public void testBatchDumpWithMd5() throws Exception {
+        String dataIdPrefix = "dataIdtestBatchDump";
+        String group = "group11";
+        String tenant = "tenant112";
+        long ts = System.currentTimeMillis();
+        List<ConfigInfoWrapper> configInfos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ConfigInfoWrapper configInfo = new ConfigInfoWrapper();
+            configInfo.setDataId(dataIdPrefix + i);
+            configInfo.setGroup(group);
+            configInfo.setTenant(tenant);
+            configInfo.setContent("content" + i);
+            configInfo.setLastModified(ts);
+            configInfo.setType("json");
+            configInfos.add(configInfo);
+        }
+        Assert.assertEquals(3, ConfigCacheService.batchDumpWithMd5(configInfos, true));
+        Mockito.verify(configDiskService, times(1)).batchSaveToDisk(eq(configInfos), eq(true));
+        for (int i = 0; i < 3; i++) {
+            CacheItem contentCache = ConfigCacheService.getContentCache(
+                    GroupKey2.getKey(dataIdPrefix + i, group, tenant));
+            Assert.assertEquals(ts, contentCache.getConfigCache().getLastModifiedTs());
+            Assert.assertEquals(MD5Utils.md5Hex("content" + i, "UTF-8"), contentCache.getConfigCache().getMd5Utf8());
+        }
+        
+        //new timestamp with same content only updates timestamp, old timestamp is ignored.
+        configInfos.get(0).setLastModified(ts + 10L);
+        configInfos.get(1).setLastModified(ts - 10L);
+        configInfos.get(1).setContent("content1-old");
+        configInfos.get(1).setMd5(null);
+        Assert.assertEquals(3, ConfigCacheService.batchDumpWithMd5(configInfos, false));
+        Mockito.verify(configDiskService, times(1)).batchSaveToDisk(eq(Collections.emptyList()), eq(false));
+        Assert.assertEquals(ts + 10L,
+                ConfigCacheService.getContentCache(GroupKey2.getKey(dataIdPrefix + 0, group, tenant)).getConfigCache()
+                        .getLastModifiedTs());
+        Assert.assertEquals(MD5Utils.md5Hex("content1", "UTF-8"),
+                ConfigCacheService.getContentCache(GroupKey2.getKey(dataIdPrefix + 1, group, tenant)).getConfigCache()
+                        .getMd5Utf8());
+        
+        //save to disk error
+        doThrow(new IOException("No space left on device")).when(configDiskService)
+                .batchSaveToDisk(anyList(), anyBoolean());
+        configInfos.get(2).setContent("content2-new");
+        configInfos.get(2).setMd5(null);
+        Assert.assertEquals(0, ConfigCacheService.batchDumpWithMd5(configInfos, false));
+        envUtilMockedStatic.verify(() -> EnvUtil.systemExit(), times(1));
+        Assert.assertEquals(MD5Utils.md5Hex("content2", "UTF-8"),
+                ConfigCacheService.getContentCache(GroupKey2.getKey(dataIdPrefix + 2, group, tenant)).getConfigCache()
+                        .getMd5Utf8());
+        for (int i = 0; i < 3; i++) {
+            ConfigCacheService.remove(dataIdPrefix + i, group, tenant);
+        }
+    }
+    
     @Test
     public void testDumpBeta() throws Exception {
         String dataId = "dataIdtestDumpBetaNewCache123";
@@ -0,0 +1,165 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigContentCacheTest {
+    
+    private MockedStatic<ConfigDiskServiceFactory> configDiskServiceFactoryMockedStatic;
+    
+    @Mock
+    private ConfigDiskService configDiskService;
+    
+    private boolean originalEnabled;
+    
+    private long originalMaxBytes;
+    
+    @Before
+    public void setUp() {
+        configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
+        configDiskServiceFactoryMockedStatic.when(ConfigDiskServiceFactory::getInstance).thenReturn(configDiskService);
+        originalEnabled = PropertyUtil.isContentCacheEnabled();
+        originalMaxBytes = PropertyUtil.getContentCacheMaxBytes();
+        PropertyUtil.setContentCacheEnabled(true);
+        ConfigContentCache.clearAll();
+    }
+    
+    @After
+    public void tearDown() {
+        ConfigContentCache.clearAll();
+        PropertyUtil.setContentCacheEnabled(originalEnabled);
+        PropertyUtil.setContentCacheMaxBytes(originalMaxBytes);
+        configDiskServiceFactoryMockedStatic.close();
+    }
+    
+    @Test
+    public void testGetContentDisabled() throws IOException {
+        PropertyUtil.setContentCacheEnabled(false);
+        when(configDiskService.getContent("dataId", "group", "tenant")).thenReturn("content");
+        Assert.assertEquals("content", ConfigContentCache.getContent("dataId", "group", "tenant", "md5"));
+        Assert.assertEquals("content", ConfigContentCache.getContent("dataId", "group", "tenant", "md5"));
+        verify(configDiskService, times(2)).getContent("dataId", "group", "tenant");
+    }
+    
+    @Test
+    public void testGetContentCached() throws IOException {
+        when(configDiskService.getContent("dataId", "group", "tenant")).thenReturn("content");
+        long hit = MetricsMonitor.getConfigContentCacheHitMonitor().get();
+        long miss = MetricsMonitor.getConfigContentCacheMissMonitor().get();
+        Assert.assertEquals("content", ConfigContentCache.getContent("dataId", "group", "tenant", "md5"));
+        Assert.assertEquals("content", ConfigContentCache.getContent("dataId", "group", "tenant", "md5"));
+        verify(configDiskService, times(1)).getContent("dataId", "group", "tenant");
+        Assert.assertEquals(hit + 1, MetricsMonitor.getConfigContentCacheHitMonitor().get());
+        Assert.assertEquals(miss + 1, MetricsMonitor.getConfigContentCacheMissMonitor().get());
+        Assert.assertTrue(MetricsMonitor.getConfigContentCacheBytesMonitor().get() > 0);
+    }
+    
+    @Test
+    public void testGetContentWithNewMd5() throws IOException {
+        when(configDiskService.getContent("dataId", "group", "tenant")).thenReturn("content", "newContent");
+        Assert.assertEquals("content", ConfigContentCache.getContent("dataId", "group", "tenant", "md5"));
+        Assert.assertEquals("newContent", ConfigContentCache.getContent("dataId", "group", "tenant", "newMd5"));
+        Assert.assertEquals("newContent", ConfigContentCache.getContent("dataId", "group", "tenant", "newMd5"));
+        verify(configDiskService, times(2)).getContent("dataId", "group", "tenant");
+    }
+    
+    @Test
+    public void testRemove() throws IOException {
+        when(configDiskService.getContent("dataId", "group", "tenant")).thenReturn("content");
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        ConfigContentCache.remove("dataId+group+tenant");
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        verify(configDiskService, times(2)).getContent("dataId", "group", "tenant");
+    }
+    
+    @Test
+    public void testBetaAndTagSeparated() throws IOException {
+        when(configDiskService.getContent("dataId", "group", "tenant")).thenReturn("content");
+        when(configDiskService.getBetaContent("dataId", "group", "tenant")).thenReturn("beta");
+        when(configDiskService.getTagContent("dataId", "group", "tenant", "tag")).thenReturn("tag");
+        Assert.assertEquals("content", ConfigContentCache.getContent("dataId", "group", "tenant", "md5"));
+        Assert.assertEquals("beta", ConfigContentCache.getBetaContent("dataId", "group", "tenant", "md5"));
+        Assert.assertEquals("tag", ConfigContentCache.getTagContent("dataId", "group", "tenant", "tag", "md5"));
+        ConfigContentCache.clearAllTag();
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        ConfigContentCache.getBetaContent("dataId", "group", "tenant", "md5");
+        ConfigContentCache.getTagContent("dataId", "group", "tenant", "tag", "md5");
+        verify(configDiskService, times(1)).getContent("dataId", "group", "tenant");
+        verify(configDiskService, times(1)).getBetaContent("dataId", "group", "tenant");
+        verify(configDiskService, times(2)).getTagContent("dataId", "group", "tenant", "tag");
+    }
+    
+    @Test
+    public void testNotExistContentNotCached() throws IOException {
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        verify(configDiskService, times(2)).getContent("dataId", "group", "tenant");
+    }
+    
+    @Test
+    public void testBoundedBySize() throws IOException {
+        PropertyUtil.setContentCacheMaxBytes(16 * 4096L);
+        ConfigContentCache.clearAll();
+        long bytes = MetricsMonitor.getConfigContentCacheBytesMonitor().get();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            content.append('a');
+        }
+        for (int i = 0; i < 500; i++) {
+            when(configDiskService.getContent("dataId" + i, "group", "tenant")).thenReturn(content.toString());
+            ConfigContentCache.getContent("dataId" + i, "group", "tenant", "md5");
+        }
+        long cachedBytes = MetricsMonitor.getConfigContentCacheBytesMonitor().get() - bytes;
+        Assert.assertTrue(cachedBytes > 0 && cachedBytes <= 16 * 4096L);
+        ConfigContentCache.clearAll();
+        Assert.assertEquals(bytes, MetricsMonitor.getConfigContentCacheBytesMonitor().get());
+    }
+    
+    @Test
+    public void testLargeContentNotCached() throws IOException {
+        PropertyUtil.setContentCacheMaxBytes(16 * 4096L);
+        ConfigContentCache.clearAll();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 4096; i++) {
+            content.append('a');
+        }
+        when(configDiskService.getContent("dataId", "group", "tenant")).thenReturn(content.toString());
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        ConfigContentCache.getContent("dataId", "group", "tenant", "md5");
+        verify(configDiskService, times(2)).getContent("dataId", "group", "tenant");
+    }
+}
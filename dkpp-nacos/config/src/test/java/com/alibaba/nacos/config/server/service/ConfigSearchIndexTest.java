@@ -0,0 +1,271 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.persistence.model.Page;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ConfigSearchIndexTest {
+    
+    @Mock
+    private ConfigInfoPersistService configInfoPersistService;
+    
+    private boolean originalEnabled;
+    
+    @Before
+    public void setUp() {
+        originalEnabled = PropertyUtil.isSearchIndexEnabled();
+        PropertyUtil.setSearchIndexEnabled(true);
+        ConfigSearchIndex.clearAll();
+        when(configInfoPersistService.findConfigInfosByIds(anyString())).thenAnswer(invocation -> {
+            List<ConfigInfo> result = new ArrayList<>();
+            for (String each : ((String) invocation.getArgument(0)).split(",")) {
+                ConfigInfo configInfo = new ConfigInfo("config-" + each, "DEFAULT_GROUP", "content-config-" + each);
+                configInfo.setId(Long.parseLong(each));
+                result.add(configInfo);
+            }
+            // rows of database are not ordered by the ids.
+            Collections.reverse(result);
+            return result;
+        });
+    }
+    
+    @After
+    public void tearDown() {
+        ConfigSearchIndex.clearAll();
+        PropertyUtil.setSearchIndexEnabled(originalEnabled);
+    }
+    
+    @Test
+    public void testMatches() {
+        Assert.assertTrue(ConfigSearchIndex.matches("*", ""));
+        Assert.assertTrue(ConfigSearchIndex.matches("app*", "app.yaml"));
+        Assert.assertTrue(ConfigSearchIndex.matches("*.yaml", "app.yaml"));
+        Assert.assertTrue(ConfigSearchIndex.matches("a%p*y_ml", "app.yaml"));
+        Assert.assertTrue(ConfigSearchIndex.matches("app.yaml", "app.yaml"));
+        Assert.assertFalse(ConfigSearchIndex.matches("app", "app.yaml"));
+        Assert.assertFalse(ConfigSearchIndex.matches("App*", "app.yaml"));
+        Assert.assertFalse(ConfigSearchIndex.matches("*.yml", "app.yaml"));
+    }
+    
+    @Test
+    public void testSearch() {
+        ConfigSearchIndex.update(config(1L, "order-service.yaml", "DEFAULT_GROUP", "", "order"));
+        ConfigSearchIndex.update(config(2L, "user-service.yaml", "DEFAULT_GROUP", "", "user"));
+        ConfigSearchIndex.update(config(3L, "user-service.properties", "USER_GROUP", "", "user"));
+        ConfigSearchIndex.update(config(4L, "user-service.yaml", "DEFAULT_GROUP", "dev", "user"));
+        
+        Assert.assertEquals(Collections.singletonList(2L),
+                ids(ConfigSearchIndex.search("", "*service.yaml", "DEFAULT*", "user")));
+        Assert.assertEquals(Arrays.asList(2L, 3L), ids(ConfigSearchIndex.search("", "user*", null, null)));
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), ids(ConfigSearchIndex.search(null, null, null, null)));
+        Assert.assertEquals(Arrays.asList(2L, 4L),
+                ids(ConfigSearchIndex.search("*", "*user*yaml", null, null)));
+        Assert.assertEquals(Collections.singletonList(4L), ids(ConfigSearchIndex.search("dev", "*", "*", null)));
+        Assert.assertTrue(ConfigSearchIndex.search("", "*gateway*", null, null).isEmpty());
+        Assert.assertTrue(ConfigSearchIndex.search("test", "*", null, null).isEmpty());
+    }
+    
+    @Test
+    public void testUpdateAndRemove() {
+        ConfigSearchIndex.update(config(1L, "order-service.yaml", "DEFAULT_GROUP", "", "order"));
+        ConfigSearchIndex.update(config(1L, "order-service.yaml", "DEFAULT_GROUP", "", "payment"));
+        Assert.assertTrue(ConfigSearchIndex.search("", "*order*", null, "order").isEmpty());
+        Assert.assertEquals(Collections.singletonList(1L),
+                ids(ConfigSearchIndex.search("", "*order*", null, "payment")));
+        
+        ConfigSearchIndex.remove("order-service.yaml", "DEFAULT_GROUP", null);
+        Assert.assertTrue(ConfigSearchIndex.search("", "*order*", null, null).isEmpty());
+    }
+    
+    @Test
+    public void testUpdateDisabled() {
+        PropertyUtil.setSearchIndexEnabled(false);
+        ConfigSearchIndex.update(config(1L, "order-service.yaml", "DEFAULT_GROUP", "", "order"));
+        PropertyUtil.setSearchIndexEnabled(true);
+        Assert.assertTrue(ConfigSearchIndex.search("", "*", null, null).isEmpty());
+    }
+    
+    @Test
+    public void testRebuild() {
+        ConfigSearchIndex.update(config(1L, "stale.yaml", "DEFAULT_GROUP", "", null));
+        Assert.assertFalse(ConfigSearchIndex.isReady());
+        
+        ConfigSearchIndex.startRebuild();
+        ConfigSearchIndex.addToRebuild(config(2L, "order-service.yaml", "DEFAULT_GROUP", "", null));
+        // removed after read by rebuild but before added to rebuild.
+        ConfigSearchIndex.remove("user-service.yaml", "DEFAULT_GROUP", "");
+        ConfigSearchIndex.addToRebuild(config(3L, "user-service.yaml", "DEFAULT_GROUP", "", null));
+        // published during rebuild.
+        ConfigSearchIndex.update(config(4L, "pay-service.yaml", "DEFAULT_GROUP", "", null));
+        Assert.assertEquals(Arrays.asList(1L, 4L), ids(ConfigSearchIndex.search("", "*", null, null)));
+        Assert.assertFalse(ConfigSearchIndex.isReady());
+        
+        ConfigSearchIndex.finishRebuild(true);
+        Assert.assertTrue(ConfigSearchIndex.isReady());
+        Assert.assertEquals(Arrays.asList(2L, 4L), ids(ConfigSearchIndex.search("", "*", null, null)));
+    }
+    
+    @Test
+    public void testRebuildFailed() {
+        ConfigSearchIndex.update(config(1L, "order-service.yaml", "DEFAULT_GROUP", "", null));
+        ConfigSearchIndex.startRebuild();
+        ConfigSearchIndex.addToRebuild(config(2L, "user-service.yaml", "DEFAULT_GROUP", "", null));
+        ConfigSearchIndex.finishRebuild(false);
+        Assert.assertFalse(ConfigSearchIndex.isReady());
+        Assert.assertEquals(Collections.singletonList(1L), ids(ConfigSearchIndex.search("", "*", null, null)));
+    }
+    
+    @Test
+    public void testRebuildKeepNewer() {
+        ConfigSearchIndex.startRebuild();
+        ConfigInfoWrapper newer = config(1L, "order-service.yaml", "DEFAULT_GROUP", "", "payment");
+        newer.setLastModified(2000L);
+        ConfigSearchIndex.update(newer);
+        ConfigInfoWrapper older = config(1L, "order-service.yaml", "DEFAULT_GROUP", "", "order");
+        older.setLastModified(1000L);
+        ConfigSearchIndex.addToRebuild(older);
+        ConfigSearchIndex.finishRebuild(true);
+        Assert.assertEquals(Collections.singletonList(1L),
+                ids(ConfigSearchIndex.search("", "*", null, "payment")));
+    }
+    
+    @Test
+    public void testSearchLikeNotReady() {
+        ConfigSearchIndex.update(config(1L, "order-service.yaml", "DEFAULT_GROUP", "", null));
+        Assert.assertNull(ConfigSearchIndex.searchLike(configInfoPersistService, 1, 10, null, "*", "*", "",
+                new HashMap<>()));
+    }
+    
+    @Test
+    public void testSearchLikeFallbackByContentAndTags() {
+        buildIndex(3);
+        Map<String, Object> configAdvanceInfo = new HashMap<>();
+        configAdvanceInfo.put("content", "order");
+        Assert.assertNull(
+                ConfigSearchIndex.searchLike(configInfoPersistService, 1, 10, null, "*", "*", "", configAdvanceInfo));
+        configAdvanceInfo.clear();
+        configAdvanceInfo.put("config_tags", "tag");
+        Assert.assertNull(
+                ConfigSearchIndex.searchLike(configInfoPersistService, 1, 10, null, "*", "*", "", configAdvanceInfo));
+    }
+    
+    @Test
+    public void testSearchLikeByPageNo() {
+        buildIndex(5);
+        Page<ConfigInfo> page = ConfigSearchIndex.searchLike(configInfoPersistService, 2, 2, null, "config*", "*",
+                "", new HashMap<>());
+        Assert.assertNotNull(page);
+        Assert.assertEquals(5, page.getTotalCount());
+        Assert.assertEquals(2, page.getPageNumber());
+        Assert.assertEquals(3, page.getPagesAvailable());
+        Assert.assertEquals(2, page.getPageItems().size());
+        Assert.assertEquals("config-3", page.getPageItems().get(0).getDataId());
+        Assert.assertEquals("content-config-3", page.getPageItems().get(0).getContent());
+        Assert.assertEquals("config-4", page.getPageItems().get(1).getDataId());
+        verify(configInfoPersistService).findConfigInfosByIds("3,4");
+        verify(configInfoPersistService, never()).findConfigInfo(anyString(), anyString(), anyString());
+    }
+    
+    @Test
+    public void testSearchLikeSkipRemoved() {
+        buildIndex(3);
+        ConfigInfo configInfo = new ConfigInfo("config-2", "DEFAULT_GROUP", "content-config-2");
+        configInfo.setId(2L);
+        when(configInfoPersistService.findConfigInfosByIds(anyString())).thenReturn(
+                Collections.singletonList(configInfo));
+        Page<ConfigInfo> page = ConfigSearchIndex.searchLike(configInfoPersistService, 1, 10, null, "config*", "*",
+                "", new HashMap<>());
+        Assert.assertEquals(3, page.getTotalCount());
+        Assert.assertEquals(1, page.getPageItems().size());
+        Assert.assertEquals("config-2", page.getPageItems().get(0).getDataId());
+        
+        when(configInfoPersistService.findConfigInfosByIds(anyString())).thenReturn(null);
+        page = ConfigSearchIndex.searchLike(configInfoPersistService, 1, 10, null, "config*", "*", "", null);
+        Assert.assertTrue(page.getPageItems().isEmpty());
+    }
+    
+    @Test
+    public void testSearchLikeEmptyPage() {
+        buildIndex(3);
+        Page<ConfigInfo> page = ConfigSearchIndex.searchLike(configInfoPersistService, 3, 2, null, "config*", "*",
+                "", null);
+        Assert.assertTrue(page.getPageItems().isEmpty());
+        verify(configInfoPersistService, never()).findConfigInfosByIds(anyString());
+    }
+    
+    @Test
+    public void testSearchLikeByCursor() {
+        buildIndex(5);
+        Page<ConfigInfo> page = ConfigSearchIndex.searchLike(configInfoPersistService, 1, 2, 0L, "config*", "*", "",
+                null);
+        Assert.assertEquals(2, page.getPageItems().size());
+        Assert.assertEquals(Long.valueOf(2L), page.getLastMaxId());
+        
+        page = ConfigSearchIndex.searchLike(configInfoPersistService, 1, 2, 4L, "config*", "*", "", null);
+        Assert.assertEquals(1, page.getPageItems().size());
+        Assert.assertEquals("config-5", page.getPageItems().get(0).getDataId());
+        Assert.assertNull(page.getLastMaxId());
+    }
+    
+    private void buildIndex(int count) {
+        ConfigSearchIndex.startRebuild();
+        for (long i = 1; i <= count; i++) {
+            ConfigSearchIndex.addToRebuild(config(i, "config-" + i, "DEFAULT_GROUP", "", null));
+        }
+        ConfigSearchIndex.finishRebuild(true);
+    }
+    
+    private static ConfigInfoWrapper config(long id, String dataId, String group, String tenant, String appName) {
+        ConfigInfoWrapper result = new ConfigInfoWrapper();
+        result.setId(id);
+        result.setDataId(dataId);
+        result.setGroup(group);
+        result.setTenant(tenant);
+        result.setAppName(appName);
+        result.setLastModified(1000L);
+        return result;
+    }
+    
+    private static List<Long> ids(List<ConfigSearchIndex.IndexedConfig> configs) {
+        return configs.stream().map(ConfigSearchIndex.IndexedConfig::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.config.server.constant.CounterMode;
+import com.alibaba.nacos.config.server.model.capacity.GroupCapacity;
+import com.alibaba.nacos.config.server.model.capacity.TenantCapacity;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LocalCapacityUsageServiceTest {
+    
+    private LocalCapacityUsageService service;
+    
+    @Mock
+    private CapacityService capacityService;
+    
+    @Mock
+    private GroupCapacityPersistService groupCapacityPersistService;
+    
+    @Mock
+    private TenantCapacityPersistService tenantCapacityPersistService;
+    
+    @Before
+    public void setUp() {
+        service = new LocalCapacityUsageService();
+        ReflectionTestUtils.setField(service, "capacityService", capacityService);
+        ReflectionTestUtils.setField(service, "groupCapacityPersistService", groupCapacityPersistService);
+        ReflectionTestUtils.setField(service, "tenantCapacityPersistService", tenantCapacityPersistService);
+    }
+    
+    @Test
+    public void testUpdateGroupUsageWithQuotaAndFlush() {
+        when(capacityService.getGroupCapacity("testGroup")).thenReturn(buildGroupCapacity(2, 1));
+        when(groupCapacityPersistService.updateUsageByDelta(eq("testGroup"), eq(1), any())).thenReturn(true);
+        
+        Assert.assertTrue(service.insertAndUpdateGroupUsage(CounterMode.INCREMENT, "testGroup", false));
+        Assert.assertFalse(service.updateGroupUsage(CounterMode.INCREMENT, "testGroup"));
+        service.flush();
+        service.flush();
+        verify(groupCapacityPersistService, times(1)).updateUsageByDelta(eq("testGroup"), eq(1), any());
+        verify(capacityService, times(1)).getGroupCapacity("testGroup");
+    }
+    
+    @Test
+    public void testUpdateTenantUsageIgnoreQuotaAndDecrement() {
+        TenantCapacity tenantCapacity = new TenantCapacity();
+        tenantCapacity.setTenant("testTenant");
+        tenantCapacity.setQuota(1);
+        tenantCapacity.setUsage(1);
+        when(capacityService.getTenantCapacity("testTenant")).thenReturn(tenantCapacity);
+        when(tenantCapacityPersistService.updateUsageByDelta(eq("testTenant"), eq(-1), any())).thenReturn(true);
+        
+        Assert.assertTrue(service.insertAndUpdateTenantUsage(CounterMode.INCREMENT, "testTenant", true));
+        Assert.assertTrue(service.updateTenantUsage(CounterMode.DECREMENT, "testTenant"));
+        Assert.assertTrue(service.updateTenantUsage(CounterMode.DECREMENT, "testTenant"));
+        Assert.assertFalse(service.updateTenantUsage(CounterMode.DECREMENT, "testTenant"));
+        service.flush();
+        verify(tenantCapacityPersistService).updateUsageByDelta(eq("testTenant"), eq(-1), any());
+    }
+    
+    @Test
+    public void testInitCapacityIfAbsent() {
+        when(capacityService.getGroupCapacity("testGroup")).thenReturn(null, buildGroupCapacity(0, 0));
+        
+        Assert.assertNotNull(service.getCapacity("testGroup", null));
+        verify(capacityService).initCapacity("testGroup", null);
+    }
+    
+    @Test
+    public void testFlushFailAndRetry() {
+        when(capacityService.getGroupCapacity(GroupCapacityPersistService.CLUSTER))
+                .thenReturn(buildGroupCapacity(10, 0));
+        when(groupCapacityPersistService.updateUsageByDelta(eq(GroupCapacityPersistService.CLUSTER), eq(2), any()))
+                .thenThrow(new CannotGetJdbcConnectionException("conn fail")).thenReturn(true);
+        
+        Assert.assertTrue(service.insertAndUpdateClusterUsage(CounterMode.INCREMENT, false));
+        Assert.assertTrue(service.updateClusterUsage(CounterMode.INCREMENT));
+        service.flush();
+        service.flush();
+        verify(groupCapacityPersistService, times(2))
+                .updateUsageByDelta(eq(GroupCapacityPersistService.CLUSTER), eq(2), any());
+    }
+    
+    @Test
+    public void testReload() {
+        when(capacityService.getGroupCapacity("testGroup")).thenReturn(buildGroupCapacity(2, 0),
+                buildGroupCapacity(2, 2));
+        
+        Assert.assertTrue(service.updateGroupUsage(CounterMode.INCREMENT, "testGroup"));
+        service.reload();
+        // usage of other servers is loaded.
+        Assert.assertFalse(service.updateGroupUsage(CounterMode.INCREMENT, "testGroup"));
+        verify(groupCapacityPersistService).updateUsageByDelta(eq("testGroup"), eq(1), any());
+        
+        // counter not used since last reload is removed.
+        service.reload();
+        service.reload();
+        verify(capacityService, times(3)).getGroupCapacity("testGroup");
+        Assert.assertNotNull(service.getCapacity("testGroup", null));
+        verify(capacityService, times(4)).getGroupCapacity("testGroup");
+        verify(tenantCapacityPersistService, never()).updateUsageByDelta(anyString(), anyInt(), any());
+    }
+    
+    @Test
+    public void testCorrectUsage() {
+        when(capacityService.getTenantCapacity("testTenant")).thenReturn(new TenantCapacity());
+        
+        Assert.assertTrue(service.updateTenantUsage(CounterMode.INCREMENT, "testTenant"));
+        try (MockedStatic<ConfigExecutor> configExecutorMockedStatic = Mockito.mockStatic(ConfigExecutor.class)) {
+            service.correctUsage("testGroup", "testTenant");
+            ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+            configExecutorMockedStatic.verify(() -> ConfigExecutor.executeCorrectUsageTask(captor.capture()));
+            // corrected in capacity management executor.
+            verify(capacityService, never()).correctTenantUsage("testTenant");
+            captor.getValue().run();
+        }
+        verify(tenantCapacityPersistService).updateUsageByDelta(eq("testTenant"), eq(1), any());
+        verify(capacityService).correctTenantUsage("testTenant");
+        verify(capacityService, times(2)).getTenantCapacity("testTenant");
+    }
+    
+    private GroupCapacity buildGroupCapacity(int quota, int usage) {
+        GroupCapacity groupCapacity = new GroupCapacity();
+        groupCapacity.setQuota(quota);
+        groupCapacity.setUsage(usage);
+        return groupCapacity;
+    }
+}
@@ -202,6 +202,24 @@ public class TenantCapacityPersistServiceTest {
         }
     }
     
+    @Test
+    public void testUpdateUsageByDelta() {
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+        when(jdbcTemplate.update(anyString(), eq(-2), eq(timestamp), eq("test4"), eq(-2))).thenReturn(1);
+        
+        Assert.assertTrue(service.updateUsageByDelta("test4", -2, timestamp));
+        
+        //mock get connection fail
+        when(jdbcTemplate.update(anyString(), eq(-2), eq(timestamp), eq("test4"), eq(-2))).thenThrow(
+                new CannotGetJdbcConnectionException("conn fail"));
+        try {
+            service.updateUsageByDelta("test4", -2, timestamp);
+            Assert.assertTrue(false);
+        } catch (Exception e) {
+            Assert.assertEquals("conn fail", e.getMessage());
+        }
+    }
+    
     @Test
     public void testUpdateTenantCapacity() {
         final MockedStatic<TimeUtils> timeUtilsMockedStatic = Mockito.mockStatic(TimeUtils.class);
@@ -0,0 +1,151 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.rocksdb.RocksDB;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class ConfigRocksDbDiskServiceTest {
+    
+    private String originalNacosHome;
+    
+    private File nacosHome;
+    
+    private ConfigRocksDbDiskService diskService;
+    
+    @Before
+    public void setUp() throws IOException {
+        originalNacosHome = EnvUtil.getNacosHome();
+        // rocks db can only be opened once in one process, so each test uses its own nacos home.
+        nacosHome = Files.createTempDirectory("ConfigRocksDbDiskServiceTest").toFile();
+        EnvUtil.setNacosHomePath(nacosHome.getAbsolutePath());
+        diskService = new ConfigRocksDbDiskService();
+    }
+    
+    @After
+    @SuppressWarnings("unchecked")
+    public void tearDown() {
+        Map<String, ?> holders = (Map<String, ?>) ReflectionTestUtils
+                .getField(ConfigRocksDbDiskService.class, "DB_HOLDERS");
+        Object holder = holders.remove(EnvUtil.getNacosHome() + File.separator + "rocksdata" + File.separator
+                + "config-db");
+        if (null != holder) {
+            ((RocksDB) ReflectionTestUtils.getField(holder, "rocksDb")).close();
+        }
+        EnvUtil.setNacosHomePath(originalNacosHome);
+        DiskUtils.deleteQuietly(nacosHome);
+    }
+    
+    @Test
+    public void testBatchSaveToDisk() throws IOException {
+        diskService.batchSaveToDisk(Arrays.asList(new ConfigInfo("dataId1", "group", "tenant", null, "content1"),
+                new ConfigInfo("dataId2", "group", "tenant", null, "content2")), false);
+        diskService.batchSaveToDisk(Collections.singletonList(new ConfigInfo("dataId3", "group", "content3")), true);
+        diskService.batchSaveToDisk(Collections.emptyList(), true);
+        
+        Assert.assertEquals("content1", diskService.getContent("dataId1", "group", "tenant"));
+        Assert.assertEquals("content2", diskService.getContent("dataId2", "group", "tenant"));
+        Assert.assertEquals("content3", diskService.getContent("dataId3", "group", null));
+        Assert.assertNull(diskService.getContent("dataId1", "group", null));
+        // batch saved configs are only in formal column family.
+        Assert.assertNull(diskService.getBetaContent("dataId1", "group", "tenant"));
+    }
+    
+    @Test
+    public void testKeyEncode() throws IOException {
+        diskService.saveToDisk("a+b", "group", "", "content1");
+        diskService.saveToDisk("a", "b+group", "", "content2");
+        diskService.saveToDisk("a%2Bb", "group", "", "content3");
+        Assert.assertEquals("content1", diskService.getContent("a+b", "group", ""));
+        Assert.assertEquals("content2", diskService.getContent("a", "b+group", ""));
+        Assert.assertEquals("content3", diskService.getContent("a%2Bb", "group", ""));
+    }
+    
+    @Test
+    public void testSaveAndRemove() throws IOException {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        diskService.saveBetaToDisk("dataId", "group", "tenant", "beta");
+        diskService.saveTagToDisk("dataId", "group", "tenant", "tag", "tag content");
+        Assert.assertEquals("formal", diskService.getContent("dataId", "group", "tenant"));
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId", "group", "tenant"));
+        Assert.assertEquals("tag content", diskService.getTagContent("dataId", "group", "tenant", "tag"));
+        
+        diskService.removeConfigInfo4Beta("dataId", "group", "tenant");
+        Assert.assertNull(diskService.getBetaContent("dataId", "group", "tenant"));
+        diskService.removeConfigInfo4Tag("dataId", "group", "tenant", "tag");
+        Assert.assertNull(diskService.getTagContent("dataId", "group", "tenant", "tag"));
+        Assert.assertEquals("formal", diskService.getContent("dataId", "group", "tenant"));
+        diskService.removeConfigInfo("dataId", "group", "tenant");
+        Assert.assertNull(diskService.getContent("dataId", "group", "tenant"));
+    }
+    
+    @Test
+    public void testClear() throws IOException {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        diskService.saveBetaToDisk("dataId", "group", "tenant", "beta");
+        diskService.saveTagToDisk("dataId", "group", "tenant", "tag", "tag content");
+        
+        diskService.clearAll();
+        Assert.assertNull(diskService.getContent("dataId", "group", "tenant"));
+        // other column families are not cleared.
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId", "group", "tenant"));
+        Assert.assertEquals("tag content", diskService.getTagContent("dataId", "group", "tenant", "tag"));
+        // the column family is recreated after cleared.
+        diskService.batchSaveToDisk(Collections.singletonList(new ConfigInfo("dataId", "group", "tenant", null,
+                "new formal")), false);
+        Assert.assertEquals("new formal", diskService.getContent("dataId", "group", "tenant"));
+        
+        diskService.clearAllBeta();
+        Assert.assertNull(diskService.getBetaContent("dataId", "group", "tenant"));
+        diskService.clearAllTag();
+        Assert.assertNull(diskService.getTagContent("dataId", "group", "tenant", "tag"));
+        Assert.assertEquals("new formal", diskService.getContent("dataId", "group", "tenant"));
+        
+        diskService.saveBetaToDisk("dataId", "group", "tenant", "new beta");
+        Assert.assertEquals("new beta", diskService.getBetaContent("dataId", "group", "tenant"));
+    }
+    
+    @Test
+    public void testDeleteLegacyDbs() throws IOException {
+        File legacyDir = new File(nacosHome, "rocksdata" + File.separator + "config-data");
+        File legacyBetaDir = new File(nacosHome, "rocksdata" + File.separator + "beta-data");
+        Assert.assertTrue(legacyDir.mkdirs());
+        Assert.assertTrue(legacyBetaDir.mkdirs());
+        Assert.assertTrue(new File(legacyDir, "CURRENT").createNewFile());
+        
+        // legacy dbs are deleted when the db is opened.
+        Assert.assertTrue(legacyDir.exists());
+        Assert.assertNull(diskService.getContent("dataId", "group", "tenant"));
+        Assert.assertFalse(legacyDir.exists());
+        Assert.assertFalse(legacyBetaDir.exists());
+        Assert.assertTrue(new File(nacosHome, "rocksdata" + File.separator + "config-db").exists());
+    }
+}
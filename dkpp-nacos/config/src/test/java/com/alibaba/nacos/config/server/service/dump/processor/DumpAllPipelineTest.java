@@ -0,0 +1,141 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.persistence.model.Page;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DumpAllPipelineTest {
+    
+    private static final int PAGE_SIZE = 10;
+    
+    @Mock
+    private ConfigInfoPersistService configInfoPersistService;
+    
+    private MockedStatic<EnvUtil> envUtilMockedStatic;
+    
+    private final List<ConfigInfoWrapper> configs = new ArrayList<>();
+    
+    @Before
+    public void setUp() {
+        envUtilMockedStatic = Mockito.mockStatic(EnvUtil.class);
+        when(EnvUtil.getNacosHome()).thenReturn(System.getProperty("user.home"));
+        // ids with gaps to make sure ranges without config are handled.
+        for (int i = 1; i <= 500; i++) {
+            configs.add(createConfig(i * 3L));
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        envUtilMockedStatic.close();
+    }
+    
+    private ConfigInfoWrapper createConfig(long id) {
+        ConfigInfoWrapper configInfoWrapper = new ConfigInfoWrapper();
+        configInfoWrapper.setId(id);
+        configInfoWrapper.setDataId("pipelineDataId" + id);
+        configInfoWrapper.setGroup("pipelineGroup");
+        configInfoWrapper.setTenant("pipelineTenant");
+        configInfoWrapper.setContent("content " + id);
+        configInfoWrapper.setLastModified(System.currentTimeMillis());
+        return configInfoWrapper;
+    }
+    
+    private Page<ConfigInfoWrapper> findFragment(long lastMaxId) {
+        List<ConfigInfoWrapper> items = new ArrayList<>();
+        for (ConfigInfoWrapper each : configs) {
+            if (each.getId() > lastMaxId && items.size() < PAGE_SIZE) {
+                items.add(each);
+            }
+        }
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setPageItems(items);
+        return page;
+    }
+    
+    @Test
+    public void testDumpAll() {
+        when(configInfoPersistService.findAllConfigInfoFragment(anyLong(), eq(PAGE_SIZE), eq(true))).thenAnswer(
+                invocation -> findFragment(invocation.getArgument(0)));
+        DumpAllPipeline pipeline = new DumpAllPipeline(configInfoPersistService, 3, 2, PAGE_SIZE);
+        Assert.assertEquals(configs.size(), pipeline.dumpAll(configs.get(configs.size() - 1).getId()));
+        for (ConfigInfoWrapper each : configs) {
+            CacheItem cacheItem = ConfigCacheService.getContentCache(
+                    GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant()));
+            Assert.assertNotNull(cacheItem);
+            Assert.assertEquals(MD5Utils.md5Hex(each.getContent(), "UTF-8"), cacheItem.getConfigCache().getMd5Utf8());
+        }
+    }
+    
+    @Test
+    public void testDumpAllWithMaxId() {
+        when(configInfoPersistService.findAllConfigInfoFragment(anyLong(), eq(PAGE_SIZE), eq(true))).thenAnswer(
+                invocation -> findFragment(invocation.getArgument(0)));
+        DumpAllPipeline pipeline = new DumpAllPipeline(configInfoPersistService, 2, 2, PAGE_SIZE);
+        // configs with id greater than max id are not dumped.
+        Assert.assertEquals(100, pipeline.dumpAll(300L));
+    }
+    
+    @Test
+    public void testDumpAllWithShortPageBeyondRange() {
+        // range size is 80 with page size 10, the last page (71..75, 85) of first range is short and crosses it.
+        configs.clear();
+        for (int i = 1; i <= 75; i++) {
+            configs.add(createConfig(i));
+        }
+        configs.add(createConfig(85L));
+        when(configInfoPersistService.findAllConfigInfoFragment(anyLong(), eq(PAGE_SIZE), eq(true))).thenAnswer(
+                invocation -> findFragment(invocation.getArgument(0)));
+        DumpAllPipeline pipeline = new DumpAllPipeline(configInfoPersistService, 1, 1, PAGE_SIZE);
+        Assert.assertEquals(configs.size(), pipeline.dumpAll(85L));
+        Assert.assertNotNull(ConfigCacheService.getContentCache(
+                GroupKey2.getKey("pipelineDataId85", "pipelineGroup", "pipelineTenant")));
+    }
+    
+    @Test(expected = NacosRuntimeException.class)
+    public void testDumpAllWithReadError() {
+        when(configInfoPersistService.findAllConfigInfoFragment(anyLong(), eq(PAGE_SIZE), eq(true))).thenThrow(
+                new IllegalStateException("test"));
+        new DumpAllPipeline(configInfoPersistService, 2, 2, PAGE_SIZE).dumpAll(1500L);
+    }
+}
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.consistency;
 
 import com.alibaba.nacos.common.spi.NacosServiceLoader;
+import com.alibaba.nacos.consistency.serialize.CompactSerializer;
 import com.alibaba.nacos.consistency.serialize.HessianSerializer;
 
 import java.util.HashMap;
@@ -31,6 +32,16 @@ public class SerializeFactory {
     
     public static final String HESSIAN_INDEX = "Hessian".toLowerCase();
     
+    public static final String COMPACT_INDEX = CompactSerializer.NAME.toLowerCase();
+    
+    /**
+     * Property to use compact serializer as default, which still writes hessian until all members enabled it.
+     *
+     * <p>Raft logs and snapshots written after negotiation can only be read by members with compact serializer
+     * enabled, so a member can't be downgraded or disabled once the cluster negotiated compact serializer.
+     */
+    public static final String COMPACT_ENABLED_PROPERTY = "nacos.core.protocol.serializer.compact.enabled";
+    
     private static final Map<String, Serializer> SERIALIZER_MAP = new HashMap<>(4);
     
     public static String defaultSerializer = HESSIAN_INDEX;
@@ -44,7 +55,7 @@ public class SerializeFactory {
     }
     
     public static Serializer getDefault() {
-        return SERIALIZER_MAP.get(defaultSerializer);
+        return SERIALIZER_MAP.getOrDefault(defaultSerializer, SERIALIZER_MAP.get(HESSIAN_INDEX));
     }
     
     public static Serializer getSerializer(String type) {
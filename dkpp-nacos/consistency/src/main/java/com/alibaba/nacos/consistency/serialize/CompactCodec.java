@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.consistency.serialize;
+
+/**
+ * Hand-written codec of one known type for {@link CompactSerializer}, loaded by SPI.
+ *
+ * <p>Only the type id is written into data instead of class name, so the id must be unique among all codecs and
+ * never be reused by another type. Fields should be appended to the end when the type is changed, and
+ * {@link CompactInput#hasRemaining()} tells whether the data is written by older codec.
+ *
+ * @param <T> type of value
+ * @author Nacos
+ */
+public interface CompactCodec<T> {
+    
+    /**
+     * Unique and stable id of the type.
+     *
+     * @return type id
+     */
+    int typeId();
+    
+    /**
+     * The exact type which is encoded by this codec, sub classes are not matched.
+     *
+     * @return type
+     */
+    Class<T> type();
+    
+    /**
+     * Write fields of value.
+     *
+     * @param output output
+     * @param value  value, never {@code null}
+     */
+    void write(CompactOutput output, T value);
+    
+    /**
+     * Read value written by {@link #write(CompactOutput, Object)}.
+     *
+     * @param input input
+     * @return value
+     */
+    T read(CompactInput input);
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.consistency.serialize;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Input of {@link CompactSerializer}, reading the data written by {@link CompactOutput}.
+ *
+ * @author Nacos
+ */
+public final class CompactInput {
+    
+    private final CompactSerializer serializer;
+    
+    private final byte[] data;
+    
+    private int position;
+    
+    CompactInput(CompactSerializer serializer, byte[] data, int position) {
+        this.serializer = serializer;
+        this.data = data;
+        this.position = position;
+    }
+    
+    public boolean hasRemaining() {
+        return position < data.length;
+    }
+    
+    int remaining() {
+        return data.length - position;
+    }
+    
+    public byte readByte() {
+        checkRemaining(1);
+        return data[position++];
+    }
+    
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+    
+    /**
+     * Read int written by {@link CompactOutput#writeVarInt(int)}.
+     *
+     * @return value
+     */
+    public int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte each = readByte();
+            result |= (each & 0x7F) << shift;
+            if (each >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed var int at " + position);
+    }
+    
+    /**
+     * Read long written by {@link CompactOutput#writeVarLong(long)}.
+     *
+     * @return value
+     */
+    public long readVarLong() {
+        long result = 0L;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte each = readByte();
+            result |= (long) (each & 0x7F) << shift;
+            if (each >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed var long at " + position);
+    }
+    
+    public int readInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    public long readLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    public double readDouble() {
+        return Double.longBitsToDouble(readFixedLong());
+    }
+    
+    public float readFloat() {
+        checkRemaining(4);
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            bits = (bits << 8) | (data[position++] & 0xFF);
+        }
+        return Float.intBitsToFloat(bits);
+    }
+    
+    /**
+     * Read string written by {@link CompactOutput#writeString(String)}.
+     *
+     * @return value, might be {@code null}
+     */
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkRemaining(length);
+        String result = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return result;
+    }
+    
+    /**
+     * Read byte array written by {@link CompactOutput#writeBytes(byte[])}.
+     *
+     * @return value, might be {@code null}
+     */
+    public byte[] readBytes() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkRemaining(length);
+        byte[] result = new byte[length];
+        System.arraycopy(data, position, result, 0, length);
+        position += length;
+        return result;
+    }
+    
+    /**
+     * Read value written by {@link CompactOutput#writeObject(Object)}.
+     *
+     * @return value, might be {@code null}
+     */
+    public Object readObject() {
+        return serializer.readValue(this);
+    }
+    
+    long readFixedLong() {
+        checkRemaining(8);
+        long result = 0L;
+        for (int i = 0; i < 8; i++) {
+            result = (result << 8) | (data[position++] & 0xFF);
+        }
+        return result;
+    }
+    
+    private void checkRemaining(int length) {
+        if (length > data.length - position) {
+            throw new IllegalStateException(
+                    "Unexpected end of data, need " + length + " bytes at " + position + " of " + data.length);
+        }
+    }
+}
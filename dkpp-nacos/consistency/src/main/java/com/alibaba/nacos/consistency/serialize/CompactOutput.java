@@ -0,0 +1,207 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.consistency.serialize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Output of {@link CompactSerializer}, the buffer is pooled by thread and reused by next serialization.
+ *
+ * @author Nacos
+ */
+public final class CompactOutput {
+    
+    private static final int INITIAL_CAPACITY = 256;
+    
+    /**
+     * Buffer larger than this is not kept by thread after used.
+     */
+    private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+    
+    private static final ThreadLocal<CompactOutput> POOL = ThreadLocal.withInitial(CompactOutput::new);
+    
+    private CompactSerializer serializer;
+    
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    
+    private int position;
+    
+    private boolean inUse;
+    
+    private CompactOutput() {
+    }
+    
+    static CompactOutput acquire(CompactSerializer serializer) {
+        CompactOutput output = POOL.get();
+        if (output.inUse) {
+            // serialize again inside a codec.
+            output = new CompactOutput();
+        }
+        output.inUse = true;
+        output.serializer = serializer;
+        output.position = 0;
+        return output;
+    }
+    
+    /**
+     * Copy the written bytes and give back the buffer.
+     */
+    byte[] toByteArrayAndRelease() {
+        byte[] result = Arrays.copyOf(buffer, position);
+        release();
+        return result;
+    }
+    
+    void release() {
+        if (buffer.length > MAX_POOLED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        serializer = null;
+        inUse = false;
+    }
+    
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+    
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+    
+    /**
+     * Write non-negative int in 1-5 bytes.
+     *
+     * @param value value
+     */
+    public void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+    
+    /**
+     * Write non-negative long in 1-10 bytes.
+     *
+     * @param value value
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+    
+    /**
+     * Write int by zigzag encoding, small negative value is also short.
+     *
+     * @param value value
+     */
+    public void writeInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+    
+    public void writeLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+    
+    public void writeDouble(double value) {
+        writeFixedLong(Double.doubleToRawLongBits(value));
+    }
+    
+    public void writeFloat(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (bits >>> shift);
+        }
+    }
+    
+    /**
+     * Write nullable string as utf-8.
+     *
+     * @param value value
+     */
+    public void writeString(String value) {
+        if (null == value) {
+            writeVarInt(0);
+            return;
+        }
+        final int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (!ascii) {
+            writeRawBytes(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        writeVarInt(length + 1);
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+    
+    /**
+     * Write nullable byte array.
+     *
+     * @param value value
+     */
+    public void writeBytes(byte[] value) {
+        if (null == value) {
+            writeVarInt(0);
+            return;
+        }
+        writeRawBytes(value);
+    }
+    
+    /**
+     * Write nullable value of any type supported by {@link CompactSerializer}.
+     *
+     * @param value value
+     */
+    public void writeObject(Object value) {
+        serializer.writeValue(this, value);
+    }
+    
+    private void writeRawBytes(byte[] value) {
+        writeVarInt(value.length + 1);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+    
+    void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+    
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+        }
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.consistency.serialize;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.alibaba.nacos.common.spi.NacosServiceLoader;
+import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.consistency.Serializer;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary serializer for the data of consistency protocols.
+ *
+ * <p>Common jdk types are written with a one byte tag, and types with a registered {@link CompactCodec} are written
+ * with their type id and hand-written fields, other values are written by hessian and embedded. The data starts with
+ * a null tag of hessian and the version of this format, which is never produced by hessian for a single value, so
+ * hessian data from older members can still be read.
+ *
+ * <p>It is used only if {@link com.alibaba.nacos.consistency.SerializeFactory#COMPACT_ENABLED_PROPERTY} is enabled.
+ * Compact data can't be read by older members, so it is written only after {@link #setCompactWritable(boolean)} is
+ * enabled by negotiation with all members, otherwise the data is written by hessian.
+ *
+ * @author Nacos
+ */
+@SuppressWarnings("unchecked")
+public class CompactSerializer implements Serializer {
+    
+    public static final String NAME = "Compact";
+    
+    private static final byte MAGIC = 'N';
+    
+    private static final byte VERSION = 1;
+    
+    private static final byte TAG_NULL = 0;
+    
+    private static final byte TAG_TRUE = 1;
+    
+    private static final byte TAG_FALSE = 2;
+    
+    private static final byte TAG_INT = 3;
+    
+    private static final byte TAG_LONG = 4;
+    
+    private static final byte TAG_SHORT = 5;
+    
+    private static final byte TAG_BYTE = 6;
+    
+    private static final byte TAG_DOUBLE = 7;
+    
+    private static final byte TAG_FLOAT = 8;
+    
+    private static final byte TAG_CHAR = 9;
+    
+    private static final byte TAG_STRING = 10;
+    
+    private static final byte TAG_BYTES = 11;
+    
+    private static final byte TAG_DATE = 12;
+    
+    private static final byte TAG_TIMESTAMP = 13;
+    
+    private static final byte TAG_BIG_DECIMAL = 14;
+    
+    private static final byte TAG_ARRAY_LIST = 15;
+    
+    private static final byte TAG_LINKED_LIST = 16;
+    
+    private static final byte TAG_HASH_MAP = 17;
+    
+    private static final byte TAG_LINKED_HASH_MAP = 18;
+    
+    private static final byte TAG_HASH_SET = 19;
+    
+    private static final byte TAG_LINKED_HASH_SET = 20;
+    
+    private static final byte TAG_OBJECT_ARRAY = 21;
+    
+    private static final byte TAG_CODEC = 22;
+    
+    private static final byte TAG_HESSIAN = 23;
+    
+    private final HessianSerializer hessianSerializer = new HessianSerializer();
+    
+    private final Map<Class<?>, CompactCodec<Object>> codecsByType = new HashMap<>(8);
+    
+    private final Map<Integer, CompactCodec<Object>> codecsById = new HashMap<>(8);
+    
+    private volatile boolean compactWritable;
+    
+    public CompactSerializer() {
+        for (CompactCodec<?> each : NacosServiceLoader.load(CompactCodec.class)) {
+            registerCodec(each);
+        }
+    }
+    
+    /**
+     * Register codec of a known type.
+     *
+     * @param codec codec
+     */
+    public synchronized void registerCodec(CompactCodec<?> codec) {
+        CompactCodec<?> exist = codecsById.get(codec.typeId());
+        if (null != exist && exist.type() != codec.type()) {
+            throw new IllegalStateException(
+                    "Duplicate compact type id " + codec.typeId() + " for " + codec.type() + " and " + exist.type());
+        }
+        codecsById.put(codec.typeId(), (CompactCodec<Object>) codec);
+        codecsByType.put(codec.type(), (CompactCodec<Object>) codec);
+    }
+    
+    public boolean isCompactWritable() {
+        return compactWritable;
+    }
+    
+    public void setCompactWritable(boolean compactWritable) {
+        this.compactWritable = compactWritable;
+    }
+    
+    @Override
+    public <T> T deserialize(byte[] data) {
+        if (ByteUtils.isEmpty(data)) {
+            return null;
+        }
+        if (!isCompact(data)) {
+            return hessianSerializer.deserialize(data);
+        }
+        return (T) readValue(new CompactInput(this, data, 2));
+    }
+    
+    @Override
+    public <T> T deserialize(byte[] data, Class<T> cls) {
+        T result;
+        try {
+            result = deserialize(data);
+        } catch (IllegalStateException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+        if (result == null) {
+            return null;
+        }
+        if (cls.isAssignableFrom(result.getClass())) {
+            return result;
+        }
+        throw new NacosDeserializationException(cls, new ClassCastException(
+                String.format("%s cannot be cast to %s", result.getClass().getCanonicalName(),
+                        cls.getCanonicalName())));
+    }
+    
+    @Override
+    public <T> T deserialize(byte[] data, Type type) {
+        return deserialize(data);
+    }
+    
+    @Override
+    public <T> byte[] serialize(T obj) {
+        if (!compactWritable) {
+            return hessianSerializer.serialize(obj);
+        }
+        CompactOutput output = CompactOutput.acquire(this);
+        try {
+            output.writeByte(MAGIC);
+            output.writeByte(VERSION);
+            writeValue(output, obj);
+            return output.toByteArrayAndRelease();
+        } catch (RuntimeException e) {
+            output.release();
+            throw e instanceof NacosSerializationException ? e : new NacosSerializationException(e);
+        }
+    }
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    /**
+     * Whether the data is written by compact format, a single null value of hessian is only one byte.
+     *
+     * @param data data
+     * @return {@code true} if data is written by compact format
+     */
+    public static boolean isCompact(byte[] data) {
+        return null != data && data.length > 2 && data[0] == MAGIC && data[1] == VERSION;
+    }
+    
+    void writeValue(CompactOutput output, Object value) {
+        if (null == value) {
+            output.writeByte(TAG_NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            output.writeByte(TAG_STRING);
+            output.writeString((String) value);
+        } else if (type == Integer.class) {
+            output.writeByte(TAG_INT);
+            output.writeInt((Integer) value);
+        } else if (type == Long.class) {
+            output.writeByte(TAG_LONG);
+            output.writeLong((Long) value);
+        } else if (type == Boolean.class) {
+            output.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (type == Timestamp.class) {
+            output.writeByte(TAG_TIMESTAMP);
+            output.writeLong(((Timestamp) value).getTime());
+            output.writeVarInt(((Timestamp) value).getNanos());
+        } else if (type == ArrayList.class || type == LinkedList.class) {
+            output.writeByte(type == ArrayList.class ? TAG_ARRAY_LIST : TAG_LINKED_LIST);
+            writeCollection(output, (Collection<?>) value);
+        } else if (type == HashMap.class || type == LinkedHashMap.class) {
+            output.writeByte(type == HashMap.class ? TAG_HASH_MAP : TAG_LINKED_HASH_MAP);
+            Map<?, ?> map = (Map<?, ?>) value;
+            output.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(output, entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        } else if (type == HashSet.class || type == LinkedHashSet.class) {
+            output.writeByte(type == HashSet.class ? TAG_HASH_SET : TAG_LINKED_HASH_SET);
+            writeCollection(output, (Collection<?>) value);
+        } else if (type == byte[].class) {
+            output.writeByte(TAG_BYTES);
+            output.writeBytes((byte[]) value);
+        } else if (type == Object[].class) {
+            Object[] array = (Object[]) value;
+            output.writeByte(TAG_OBJECT_ARRAY);
+            output.writeVarInt(array.length);
+            for (Object each : array) {
+                writeValue(output, each);
+            }
+        } else {
+            writeOtherValue(output, value, type);
+        }
+    }
+    
+    private void writeOtherValue(CompactOutput output, Object value, Class<?> type) {
+        CompactCodec<Object> codec = codecsByType.get(type);
+        if (null != codec) {
+            output.writeByte(TAG_CODEC);
+            output.writeVarInt(codec.typeId());
+            codec.write(output, value);
+        } else if (type == Short.class) {
+            output.writeByte(TAG_SHORT);
+            output.writeInt((Short) value);
+        } else if (type == Byte.class) {
+            output.writeByte(TAG_BYTE);
+            output.writeByte((Byte) value);
+        } else if (type == Double.class) {
+            output.writeByte(TAG_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (type == Float.class) {
+            output.writeByte(TAG_FLOAT);
+            output.writeFloat((Float) value);
+        } else if (type == Character.class) {
+            output.writeByte(TAG_CHAR);
+            output.writeVarInt((Character) value);
+        } else if (type == Date.class) {
+            output.writeByte(TAG_DATE);
+            output.writeLong(((Date) value).getTime());
+        } else if (type == BigDecimal.class) {
+            output.writeByte(TAG_BIG_DECIMAL);
+            output.writeString(value.toString());
+        } else {
+            output.writeByte(TAG_HESSIAN);
+            output.writeBytes(hessianSerializer.serialize(value));
+        }
+    }
+    
+    private void writeCollection(CompactOutput output, Collection<?> collection) {
+        output.writeVarInt(collection.size());
+        for (Object each : collection) {
+            writeValue(output, each);
+        }
+    }
+    
+    Object readValue(CompactInput input) {
+        byte tag = input.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_INT:
+                return input.readInt();
+            case TAG_LONG:
+                return input.readLong();
+            case TAG_SHORT:
+                return (short) input.readInt();
+            case TAG_BYTE:
+                return input.readByte();
+            case TAG_DOUBLE:
+                return input.readDouble();
+            case TAG_FLOAT:
+                return input.readFloat();
+            case TAG_CHAR:
+                return (char) input.readVarInt();
+            case TAG_STRING:
+                return input.readString();
+            case TAG_BYTES:
+                return input.readBytes();
+            case TAG_DATE:
+                return new Date(input.readLong());
+            case TAG_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(input.readLong());
+                timestamp.setNanos(input.readVarInt());
+                return timestamp;
+            case TAG_BIG_DECIMAL:
+                return new BigDecimal(input.readString());
+            case TAG_ARRAY_LIST:
+                int listSize = readSize(input);
+                return readCollection(input, new ArrayList<>(listSize), listSize);
+            case TAG_LINKED_LIST:
+                return readCollection(input, new LinkedList<>(), readSize(input));
+            case TAG_HASH_MAP:
+            case TAG_LINKED_HASH_MAP:
+                return readMap(input, tag);
+            case TAG_HASH_SET:
+                int setSize = readSize(input);
+                return readCollection(input, new HashSet<>(capacity(setSize)), setSize);
+            case TAG_LINKED_HASH_SET:
+                int linkedSetSize = readSize(input);
+                return readCollection(input, new LinkedHashSet<>(capacity(linkedSetSize)), linkedSetSize);
+            case TAG_OBJECT_ARRAY:
+                Object[] array = new Object[readSize(input)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readValue(input);
+                }
+                return array;
+            case TAG_CODEC:
+                int typeId = input.readVarInt();
+                CompactCodec<Object> codec = codecsById.get(typeId);
+                if (null == codec) {
+                    throw new IllegalStateException("Unknown compact type id " + typeId);
+                }
+                return codec.read(input);
+            case TAG_HESSIAN:
+                return hessianSerializer.deserialize(input.readBytes());
+            default:
+                throw new IllegalStateException("Unknown compact tag " + tag);
+        }
+    }
+    
+    private Object readMap(CompactInput input, byte tag) {
+        int size = readSize(input);
+        Map<Object, Object> map = tag == TAG_HASH_MAP ? new HashMap<>(capacity(size))
+                : new LinkedHashMap<>(capacity(size));
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(input);
+            map.put(key, readValue(input));
+        }
+        return map;
+    }
+    
+    private <C extends Collection<Object>> C readCollection(CompactInput input, C collection, int size) {
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(input));
+        }
+        return collection;
+    }
+    
+    /**
+     * Read size of container, each element takes one byte at least, so that malformed size is found before allocation.
+     */
+    private static int readSize(CompactInput input) {
+        int size = input.readVarInt();
+        if (size < 0 || size > input.remaining()) {
+            throw new IllegalStateException("Illegal size " + size + " with " + input.remaining() + " bytes left");
+        }
+        return size;
+    }
+    
+    private static int capacity(int size) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) size * 4 / 3 + 1);
+    }
+}
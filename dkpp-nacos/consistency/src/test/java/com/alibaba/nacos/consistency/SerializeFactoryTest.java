@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.consistency;
 
+import com.alibaba.nacos.consistency.serialize.CompactSerializer;
+import com.alibaba.nacos.consistency.serialize.HessianSerializer;
 import com.alibaba.nacos.consistency.serialize.JacksonSerializer;
 import org.junit.Assert;
 import org.junit.Test;
@@ -67,6 +69,13 @@ public class SerializeFactoryTest {
         System.out.println(result);
     }
     
+    @Test
+    public void testDefaultHessian() {
+        // Compact serializer is only used when it is enabled explicitly.
+        Assert.assertTrue(SerializeFactory.getDefault() instanceof HessianSerializer);
+        Assert.assertTrue(SerializeFactory.getSerializer(SerializeFactory.COMPACT_INDEX) instanceof CompactSerializer);
+    }
+    
     @Test
     public void testGetSerializer() {
         Serializer serializer = SerializeFactory.getSerializer("JSON");
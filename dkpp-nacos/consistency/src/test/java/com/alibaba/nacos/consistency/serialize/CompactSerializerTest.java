@@ -0,0 +1,152 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.consistency.serialize;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * {@link CompactSerializer} unit test.
+ *
+ * @author Nacos
+ */
+public class CompactSerializerTest {
+    
+    private CompactSerializer compactSerializer;
+    
+    @Before
+    public void setUp() {
+        compactSerializer = new CompactSerializer();
+        compactSerializer.registerCodec(new PointCodec());
+        compactSerializer.setCompactWritable(true);
+    }
+    
+    @Test
+    public void testWriteHessianBeforeNegotiated() {
+        compactSerializer.setCompactWritable(false);
+        byte[] bytes = compactSerializer.serialize("xxx");
+        Assert.assertFalse(CompactSerializer.isCompact(bytes));
+        Assert.assertEquals("xxx", compactSerializer.deserialize(bytes, String.class));
+    }
+    
+    @Test
+    public void testReadHessianData() {
+        byte[] bytes = new HessianSerializer().serialize("xxx");
+        Assert.assertEquals("xxx", compactSerializer.deserialize(bytes, String.class));
+        Assert.assertNull(compactSerializer.deserialize(new HessianSerializer().serialize(null)));
+    }
+    
+    @Test
+    public void testSerializeCommonTypes() {
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+        timestamp.setNanos(123456789);
+        Object[] args = new Object[] {"中文", 1, -1L, timestamp, null, 1.5D, Boolean.TRUE};
+        Map<String, Object> map = new HashMap<>(4);
+        map.put("args", args);
+        map.put("bytes", new byte[] {1, 2});
+        List<Object> list = new ArrayList<>();
+        list.add(map);
+        list.add(Long.MIN_VALUE);
+        
+        byte[] bytes = compactSerializer.serialize(list);
+        Assert.assertTrue(CompactSerializer.isCompact(bytes));
+        List<Object> result = compactSerializer.deserialize(bytes, ArrayList.class);
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(Long.MIN_VALUE, result.get(1));
+        Map<String, Object> resultMap = (Map<String, Object>) result.get(0);
+        Assert.assertArrayEquals(args, (Object[]) resultMap.get("args"));
+        Assert.assertArrayEquals(new byte[] {1, 2}, (byte[]) resultMap.get("bytes"));
+    }
+    
+    @Test
+    public void testSerializeByCodec() {
+        List<Point> points = new ArrayList<>();
+        points.add(new Point(1, -2));
+        List<Point> result = compactSerializer.deserialize(compactSerializer.serialize(points), List.class);
+        Assert.assertEquals(1, result.get(0).x);
+        Assert.assertEquals(-2, result.get(0).y);
+    }
+    
+    @Test
+    public void testFallbackToHessian() {
+        CopyOnWriteArraySet<Integer> set = new CopyOnWriteArraySet<>();
+        set.add(1);
+        byte[] bytes = compactSerializer.serialize(set);
+        Assert.assertTrue(CompactSerializer.isCompact(bytes));
+        Assert.assertEquals(set, compactSerializer.deserialize(bytes, CopyOnWriteArraySet.class));
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDeserializeMalformedData() {
+        compactSerializer.deserialize(new byte[] {'N', 1, 15, 100}, List.class);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testRegisterDuplicateTypeId() {
+        compactSerializer.registerCodec(new PointCodec() {
+            @Override
+            public Class<Point> type() {
+                return (Class) Object.class;
+            }
+        });
+    }
+    
+    private static class Point {
+        
+        private final int x;
+        
+        private final int y;
+        
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+    
+    private static class PointCodec implements CompactCodec<Point> {
+        
+        @Override
+        public int typeId() {
+            return Integer.MAX_VALUE;
+        }
+        
+        @Override
+        public Class<Point> type() {
+            return Point.class;
+        }
+        
+        @Override
+        public void write(CompactOutput output, Point value) {
+            output.writeInt(value.x);
+            output.writeInt(value.y);
+        }
+        
+        @Override
+        public Point read(CompactInput input) {
+            return new Point(input.readInt(), input.readInt());
+        }
+    }
+}
@@ -40,6 +40,9 @@ CREATE TABLE config_info (
 CREATE INDEX configinfo_dataid_key_idx ON config_info(data_id);
 CREATE INDEX configinfo_groupid_key_idx ON config_info(group_id);
 CREATE INDEX configinfo_dataid_group_key_idx ON config_info(data_id, group_id);
+CREATE INDEX configinfo_tenant_id_idx ON config_info(tenant_id, id);
+CREATE INDEX configinfo_tenant_group_id_idx ON config_info(tenant_id, group_id, id);
+CREATE INDEX configinfo_tenant_app_id_idx ON config_info(tenant_id, app_name, id);
 
 CREATE TABLE his_config_info (
   id bigint NOT NULL,
@@ -42,6 +42,11 @@ public class MemberMetaDataConstants {
     
     public static final String READY_TO_UPGRADE = "readyToUpgrade";
     
+    /**
+     * Whether the member can read data written by compact serializer of consistency module.
+     */
+    public static final String SUPPORT_COMPACT_SERIALIZER = "supportCompactSerializer";
+    
     public static final String[] BASIC_META_KEYS = new String[] {SITE_KEY, AD_WEIGHT, RAFT_PORT, WEIGHT, VERSION,
-            READY_TO_UPGRADE};
+            READY_TO_UPGRADE, SUPPORT_COMPACT_SERIALIZER};
 }
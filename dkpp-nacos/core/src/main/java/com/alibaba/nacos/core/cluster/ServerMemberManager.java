@@ -32,6 +32,7 @@ import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.common.utils.*;
+import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.core.ability.ServerAbilityInitializer;
 import com.alibaba.nacos.core.ability.ServerAbilityInitializerHolder;
 import com.alibaba.nacos.core.ability.control.ServerAbilityControlManager;
@@ -153,6 +154,8 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
         this.localAddress = InetUtils.getSelfIP() + ":" + port;
         this.self = MemberUtil.singleParse(this.localAddress);
         this.self.setExtendVal(MemberMetaDataConstants.VERSION, VersionUtils.version);
+        this.self.setExtendVal(MemberMetaDataConstants.SUPPORT_COMPACT_SERIALIZER,
+                EnvUtil.getProperty(SerializeFactory.COMPACT_ENABLED_PROPERTY, Boolean.class, false));
         this.self.setGrpcReportEnabled(true);
 
         // init abilities.
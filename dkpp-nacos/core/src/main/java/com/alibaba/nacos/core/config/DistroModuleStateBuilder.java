@@ -40,6 +40,12 @@ public class DistroModuleStateBuilder implements ModuleStateBuilder {
         moduleState.newState(DistroConstants.DATA_SYNC_RETRY_DELAY_MILLISECONDS_STATE,
                 EnvUtil.getProperty(DistroConstants.DATA_SYNC_RETRY_DELAY_MILLISECONDS, Long.class,
                         DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS));
+        moduleState.newState(DistroConstants.DATA_SYNC_DELTA_ENABLED_STATE,
+                EnvUtil.getProperty(DistroConstants.DATA_SYNC_DELTA_ENABLED, Boolean.class,
+                        DistroConstants.DEFAULT_DATA_SYNC_DELTA_ENABLED));
+        moduleState.newState(DistroConstants.DATA_SYNC_BATCH_SIZE_STATE,
+                EnvUtil.getProperty(DistroConstants.DATA_SYNC_BATCH_SIZE, Integer.class,
+                        DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE));
         moduleState.newState(DistroConstants.DATA_VERIFY_INTERVAL_MILLISECONDS_STATE,
                 EnvUtil.getProperty(DistroConstants.DATA_VERIFY_INTERVAL_MILLISECONDS, Long.class,
                         DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS));
@@ -52,6 +58,9 @@ public class DistroModuleStateBuilder implements ModuleStateBuilder {
         moduleState.newState(DistroConstants.DATA_LOAD_TIMEOUT_MILLISECONDS_STATE,
                 EnvUtil.getProperty(DistroConstants.DATA_LOAD_TIMEOUT_MILLISECONDS, Long.class,
                         DistroConstants.DEFAULT_DATA_LOAD_TIMEOUT_MILLISECONDS));
+        moduleState.newState(DistroConstants.DATA_LOAD_CHUNK_SIZE_STATE,
+                EnvUtil.getProperty(DistroConstants.DATA_LOAD_CHUNK_SIZE, Integer.class,
+                        DistroConstants.DEFAULT_DATA_LOAD_CHUNK_SIZE));
         return moduleState;
     }
     
@@ -18,8 +18,11 @@ package com.alibaba.nacos.core.distributed;
 
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.consistency.Config;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
 import com.alibaba.nacos.consistency.ap.APProtocol;
 import com.alibaba.nacos.consistency.cp.CPProtocol;
+import com.alibaba.nacos.consistency.serialize.CompactSerializer;
 import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.cluster.MemberChangeListener;
 import com.alibaba.nacos.core.cluster.MemberMetaDataConstants;
@@ -27,6 +30,7 @@ import com.alibaba.nacos.core.cluster.MemberUtil;
 import com.alibaba.nacos.core.cluster.MembersChangeEvent;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.core.utils.ClassUtils;
+import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
@@ -61,6 +65,7 @@ public class ProtocolManager extends MemberChangeListener implements DisposableB
     public ProtocolManager(ServerMemberManager memberManager) {
         this.memberManager = memberManager;
         NotifyCenter.registerSubscriber(this);
+        negotiateSerializer(memberManager.allMembers());
     }
     
     public static Set<String> toAPMembersInfo(Collection<Member> members) {
@@ -160,5 +165,26 @@ public class ProtocolManager extends MemberChangeListener implements DisposableB
         if (Objects.nonNull(cpProtocol)) {
             ProtocolExecutor.cpMemberChange(() -> cpProtocol.memberChange(toCPMembersInfo(event.getMembers())));
         }
+        negotiateSerializer(event.getMembers());
+    }
+    
+    /**
+     * Write data by compact serializer only when all members can read it, otherwise hessian is written.
+     */
+    private void negotiateSerializer(Collection<Member> members) {
+        Serializer serializer = SerializeFactory.getDefault();
+        if (!(serializer instanceof CompactSerializer) || null == members) {
+            return;
+        }
+        boolean compactWritable = !members.isEmpty();
+        for (Member each : members) {
+            compactWritable &= Boolean.parseBoolean(
+                    String.valueOf(each.getExtendVal(MemberMetaDataConstants.SUPPORT_COMPACT_SERIALIZER)));
+        }
+        CompactSerializer compactSerializer = (CompactSerializer) serializer;
+        if (compactSerializer.isCompactWritable() != compactWritable) {
+            Loggers.CORE.info("[ProtocolManager] compact serializer writable changed to {}", compactWritable);
+            compactSerializer.setCompactWritable(compactWritable);
+        }
     }
 }
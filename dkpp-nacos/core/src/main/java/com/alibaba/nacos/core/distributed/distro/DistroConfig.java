@@ -36,6 +36,10 @@ public class DistroConfig extends AbstractDynamicConfig {
     
     private long syncRetryDelayMillis = DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS;
     
+    private boolean syncDeltaEnabled = DistroConstants.DEFAULT_DATA_SYNC_DELTA_ENABLED;
+    
+    private int syncBatchSize = DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE;
+    
     private long verifyIntervalMillis = DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS;
     
     private long verifyTimeoutMillis = DistroConstants.DEFAULT_DATA_VERIFY_TIMEOUT_MILLISECONDS;
@@ -44,6 +48,8 @@ public class DistroConfig extends AbstractDynamicConfig {
     
     private long loadDataTimeoutMillis = DistroConstants.DEFAULT_DATA_LOAD_TIMEOUT_MILLISECONDS;
     
+    private int loadDataChunkSize = DistroConstants.DEFAULT_DATA_LOAD_CHUNK_SIZE;
+    
     private DistroConfig() {
         super(DISTRO);
         resetConfig();
@@ -57,6 +63,10 @@ public class DistroConfig extends AbstractDynamicConfig {
                 DistroConstants.DEFAULT_DATA_SYNC_TIMEOUT_MILLISECONDS);
         syncRetryDelayMillis = EnvUtil.getProperty(DistroConstants.DATA_SYNC_RETRY_DELAY_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS);
+        syncDeltaEnabled = EnvUtil.getProperty(DistroConstants.DATA_SYNC_DELTA_ENABLED, Boolean.class,
+                DistroConstants.DEFAULT_DATA_SYNC_DELTA_ENABLED);
+        syncBatchSize = EnvUtil.getProperty(DistroConstants.DATA_SYNC_BATCH_SIZE, Integer.class,
+                DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE);
         verifyIntervalMillis = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_INTERVAL_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS);
         verifyTimeoutMillis = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_TIMEOUT_MILLISECONDS, Long.class,
@@ -65,6 +75,8 @@ public class DistroConfig extends AbstractDynamicConfig {
                 DistroConstants.DEFAULT_DATA_LOAD_RETRY_DELAY_MILLISECONDS);
         loadDataTimeoutMillis = EnvUtil.getProperty(DistroConstants.DATA_LOAD_TIMEOUT_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_LOAD_TIMEOUT_MILLISECONDS);
+        loadDataChunkSize = EnvUtil.getProperty(DistroConstants.DATA_LOAD_CHUNK_SIZE, Integer.class,
+                DistroConstants.DEFAULT_DATA_LOAD_CHUNK_SIZE);
     }
     
     public static DistroConfig getInstance() {
@@ -95,6 +107,22 @@ public class DistroConfig extends AbstractDynamicConfig {
         this.syncRetryDelayMillis = syncRetryDelayMillis;
     }
     
+    public boolean isSyncDeltaEnabled() {
+        return syncDeltaEnabled;
+    }
+    
+    public void setSyncDeltaEnabled(boolean syncDeltaEnabled) {
+        this.syncDeltaEnabled = syncDeltaEnabled;
+    }
+    
+    public int getSyncBatchSize() {
+        return syncBatchSize;
+    }
+    
+    public void setSyncBatchSize(int syncBatchSize) {
+        this.syncBatchSize = syncBatchSize;
+    }
+    
     public long getVerifyIntervalMillis() {
         return verifyIntervalMillis;
     }
@@ -127,11 +155,20 @@ public class DistroConfig extends AbstractDynamicConfig {
         this.loadDataTimeoutMillis = loadDataTimeoutMillis;
     }
     
+    public int getLoadDataChunkSize() {
+        return loadDataChunkSize;
+    }
+    
+    public void setLoadDataChunkSize(int loadDataChunkSize) {
+        this.loadDataChunkSize = loadDataChunkSize;
+    }
+    
     @Override
     protected String printConfig() {
         return "DistroConfig{" + "syncDelayMillis=" + syncDelayMillis + ", syncTimeoutMillis=" + syncTimeoutMillis
-                + ", syncRetryDelayMillis=" + syncRetryDelayMillis + ", verifyIntervalMillis=" + verifyIntervalMillis
+                + ", syncRetryDelayMillis=" + syncRetryDelayMillis + ", syncDeltaEnabled=" + syncDeltaEnabled
+                + ", syncBatchSize=" + syncBatchSize + ", verifyIntervalMillis=" + verifyIntervalMillis
                 + ", verifyTimeoutMillis=" + verifyTimeoutMillis + ", loadDataRetryDelayMillis=" + loadDataRetryDelayMillis
-                + ", loadDataTimeoutMillis=" + loadDataTimeoutMillis + '}';
+                + ", loadDataTimeoutMillis=" + loadDataTimeoutMillis + ", loadDataChunkSize=" + loadDataChunkSize + '}';
     }
 }
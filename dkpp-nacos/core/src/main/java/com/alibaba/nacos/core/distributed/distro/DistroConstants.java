@@ -43,6 +43,18 @@ public class DistroConstants {
     
     public static final long DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS = 3000L;
     
+    public static final String DATA_SYNC_DELTA_ENABLED = "nacos.core.protocol.distro.data.sync.deltaEnabled";
+    
+    public static final String DATA_SYNC_DELTA_ENABLED_STATE = "data_sync_deltaEnabled";
+    
+    public static final boolean DEFAULT_DATA_SYNC_DELTA_ENABLED = true;
+    
+    public static final String DATA_SYNC_BATCH_SIZE = "nacos.core.protocol.distro.data.sync.batchSize";
+    
+    public static final String DATA_SYNC_BATCH_SIZE_STATE = "data_sync_batchSize";
+    
+    public static final int DEFAULT_DATA_SYNC_BATCH_SIZE = 100;
+    
     public static final String DATA_VERIFY_INTERVAL_MILLISECONDS = "nacos.core.protocol.distro.data.verify.intervalMs";
     
     public static final String DATA_VERIFY_INTERVAL_MILLISECONDS_STATE = "data_verify_intervalMs";
@@ -67,4 +79,10 @@ public class DistroConstants {
     
     public static final long DEFAULT_DATA_LOAD_TIMEOUT_MILLISECONDS = 30000L;
     
+    public static final String DATA_LOAD_CHUNK_SIZE = "nacos.core.protocol.distro.data.load.chunkSize";
+    
+    public static final String DATA_LOAD_CHUNK_SIZE_STATE = "data_load_chunkSize";
+    
+    public static final int DEFAULT_DATA_LOAD_CHUNK_SIZE = 1000;
+    
 }
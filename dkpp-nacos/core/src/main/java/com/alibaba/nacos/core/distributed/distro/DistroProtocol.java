@@ -224,4 +224,20 @@ public class DistroProtocol {
         }
         return distroDataStorage.getDatumSnapshot();
     }
+    
+    /**
+     * Query a chunk of datum snapshot.
+     *
+     * @param type     datum type
+     * @param startKey exclusive start key of the chunk
+     * @return chunk of datum snapshot
+     */
+    public DistroData onSnapshot(String type, String startKey) {
+        DistroDataStorage distroDataStorage = distroComponentHolder.findDataStorage(type);
+        if (null == distroDataStorage) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find data storage for received key {}", type);
+            return new DistroData(new DistroKey(DataOperation.SNAPSHOT.name(), type), new byte[0]);
+        }
+        return distroDataStorage.getDatumSnapshot(startKey, DistroConfig.getInstance().getLoadDataChunkSize());
+    }
 }
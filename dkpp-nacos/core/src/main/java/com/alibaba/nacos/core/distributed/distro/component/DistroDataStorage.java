@@ -57,6 +57,22 @@ public interface DistroDataStorage {
      */
     DistroData getDatumSnapshot();
     
+    /**
+     * Get a chunk of distro datum snapshot, which contains at most {@code maxCount} datum with key after {@code
+     * startKey}.
+     *
+     * <p>The resource key of returned distro key is the start key of next chunk, or {@link
+     * com.alibaba.nacos.consistency.DataOperation#SNAPSHOT} name if no more chunk. Storage without chunk support
+     * returns the whole snapshot as the only chunk.
+     *
+     * @param startKey exclusive start key of this chunk, empty for the first chunk
+     * @param maxCount max count of datum in this chunk
+     * @return chunk of datum
+     */
+    default DistroData getDatumSnapshot(String startKey, int maxCount) {
+        return getDatumSnapshot();
+    }
+    
     /**
      * Get verify datum.
      *
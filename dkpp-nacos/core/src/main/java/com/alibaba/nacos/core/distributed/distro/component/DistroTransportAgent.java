@@ -89,4 +89,15 @@ public interface DistroTransportAgent {
      * @return distro data
      */
     DistroData getDatumSnapshot(String targetServer);
+    
+    /**
+     * Get a chunk of datum snapshot from target server.
+     *
+     * @param targetServer target server.
+     * @param startKey     exclusive start key of the chunk, empty for the first chunk
+     * @return distro data, see {@link DistroDataStorage#getDatumSnapshot(String, int)}
+     */
+    default DistroData getDatumSnapshot(String targetServer, String startKey) {
+        return getDatumSnapshot(targetServer);
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.core.distributed.distro.task.load;
 
+import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.core.distributed.distro.DistroConfig;
@@ -101,11 +102,9 @@ public class DistroLoadDataTask implements Runnable {
             long startTime = System.currentTimeMillis();
             try {
                 Loggers.DISTRO.info("[DISTRO-INIT] load snapshot {} from {}", resourceType, each.getAddress());
-                DistroData distroData = transportAgent.getDatumSnapshot(each.getAddress());
-                Loggers.DISTRO.info("[DISTRO-INIT] it took {} ms to load snapshot {} from {} and snapshot size is {}.",
-                        System.currentTimeMillis() - startTime, resourceType, each.getAddress(),
-                        getDistroDataLength(distroData));
-                boolean result = dataProcessor.processSnapshot(distroData);
+                boolean result = loadSnapshotChunks(transportAgent, dataProcessor, each.getAddress());
+                Loggers.DISTRO.info("[DISTRO-INIT] it took {} ms to load snapshot {} from {}.",
+                        System.currentTimeMillis() - startTime, resourceType, each.getAddress());
                 Loggers.DISTRO
                         .info("[DISTRO-INIT] load snapshot {} from {} result: {}", resourceType, each.getAddress(),
                                 result);
@@ -120,6 +119,41 @@ public class DistroLoadDataTask implements Runnable {
         return false;
     }
     
+    private boolean loadSnapshotChunks(DistroTransportAgent transportAgent, DistroDataProcessor dataProcessor,
+            String targetServer) {
+        DistroData distroData = transportAgent.getDatumSnapshot(targetServer);
+        String currentKey = "";
+        while (true) {
+            Loggers.DISTRO.info("[DISTRO-INIT] load snapshot chunk after [{}] from {} and chunk size is {}.",
+                    currentKey, targetServer, getDistroDataLength(distroData));
+            if (!dataProcessor.processSnapshot(distroData)) {
+                return false;
+            }
+            String nextKey = getNextChunkKey(distroData, currentKey);
+            if (null == nextKey) {
+                return true;
+            }
+            distroData = transportAgent.getDatumSnapshot(targetServer, nextKey);
+            currentKey = nextKey;
+        }
+    }
+    
+    /**
+     * Get the start key of next snapshot chunk.
+     *
+     * @return start key of next chunk, {@code null} if the snapshot is complete
+     */
+    private static String getNextChunkKey(DistroData distroData, String currentKey) {
+        if (null == distroData || null == distroData.getDistroKey()) {
+            return null;
+        }
+        String result = distroData.getDistroKey().getResourceKey();
+        if (null == result || DataOperation.SNAPSHOT.name().equals(result) || result.equals(currentKey)) {
+            return null;
+        }
+        return result;
+    }
+    
     private static int getDistroDataLength(DistroData distroData) {
         return distroData != null && distroData.getContent() != null ? distroData.getContent().length : 0;
     }
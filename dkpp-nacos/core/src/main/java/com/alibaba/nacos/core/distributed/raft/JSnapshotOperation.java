@@ -32,6 +32,11 @@ import com.google.protobuf.ZeroByteStringHelper;
 @SuppressWarnings("PMD.ClassNamingShouldBeCamelRule")
 interface JSnapshotOperation {
     
+    /**
+     * Keys of checksum used in metadata of snapshot files.
+     */
+    String[] CHECKSUM_KEYS = {"checkSum", "checksum"};
+    
     /**
      * do snapshot save operation.
      *
@@ -56,15 +61,27 @@ interface JSnapshotOperation {
     String info();
     
     /**
-     * Metadata information for snapshot files.
+     * Metadata information for snapshot files. The checksum in metadata is also set as the checksum of raft file meta,
+     * so that raft will not copy the file again when installing snapshot if the follower has the same file.
      *
      * @param metadata meta data
      * @return {@link LocalFileMetaOutter.LocalFileMeta}
      * @throws Exception Exception
      */
     default LocalFileMetaOutter.LocalFileMeta buildMetadata(final LocalFileMeta metadata) throws Exception {
-        return metadata == null ? null : LocalFileMetaOutter.LocalFileMeta.newBuilder()
-                .setUserMeta(ZeroByteStringHelper.wrap(JacksonUtils.toJsonBytes(metadata))).build();
+        if (metadata == null) {
+            return null;
+        }
+        LocalFileMetaOutter.LocalFileMeta.Builder builder = LocalFileMetaOutter.LocalFileMeta.newBuilder()
+                .setUserMeta(ZeroByteStringHelper.wrap(JacksonUtils.toJsonBytes(metadata)));
+        for (String each : CHECKSUM_KEYS) {
+            Object checksum = metadata.get(each);
+            if (null != checksum) {
+                builder.setChecksum(checksum.toString());
+                break;
+            }
+        }
+        return builder.build();
     }
     
 }
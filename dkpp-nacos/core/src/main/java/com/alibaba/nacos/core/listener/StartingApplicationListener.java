@@ -24,6 +24,7 @@ import com.alibaba.nacos.common.executor.NameThreadFactory;
 import com.alibaba.nacos.common.executor.ThreadPoolManager;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.file.FileChangeEvent;
 import com.alibaba.nacos.sys.file.FileWatcher;
@@ -107,6 +108,8 @@ public class StartingApplicationListener implements NacosApplicationListener {
         loadPreProperties(environment);
         
         initSystemProperty();
+        
+        initSerializer();
     }
     
     @Override
@@ -204,6 +207,16 @@ public class StartingApplicationListener implements NacosApplicationListener {
         System.setProperty(LOCAL_IP_PROPERTY_KEY, InetUtils.getSelfIP());
     }
     
+    /**
+     * Serializer must be decided before the beans of consistency protocols are created, which hold the default one.
+     */
+    private void initSerializer() {
+        if (EnvUtil.getProperty(SerializeFactory.COMPACT_ENABLED_PROPERTY, Boolean.class, false)) {
+            SerializeFactory.defaultSerializer = SerializeFactory.COMPACT_INDEX;
+            LOGGER.info("Compact serializer is enabled, it is written after all members enabled it.");
+        }
+    }
+    
     private void logClusterConf() {
         if (!EnvUtil.getStandaloneMode()) {
             try {
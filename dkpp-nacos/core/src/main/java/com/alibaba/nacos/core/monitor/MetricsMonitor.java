@@ -48,6 +48,8 @@ public final class MetricsMonitor {
     
     private static final Timer RAFT_APPLY_READ_TIMER;
     
+    private static final Map<String, Timer> RAFT_READ_LATENCY_TIMERS = new ConcurrentHashMap<>();
+    
     private static AtomicInteger longConnection = new AtomicInteger();
 
     private static GrpcServerExecutorMetric sdkServerExecutorMetric = new GrpcServerExecutorMetric("grpcSdkServer");
@@ -151,6 +153,22 @@ public final class MetricsMonitor {
         return RAFT_APPLY_READ_TIMER;
     }
     
+    /**
+     * Get the timer of embedded storage read latency for read consistency level.
+     *
+     * @param consistency read consistency level which the read executed with
+     * @return timer of read latency
+     */
+    public static Timer getRaftReadLatencyTimer(String consistency) {
+        return RAFT_READ_LATENCY_TIMERS.computeIfAbsent(consistency, key -> {
+            List<Tag> tags = new ArrayList<>();
+            tags.add(new ImmutableTag("module", "core"));
+            tags.add(new ImmutableTag("name", "raft_read_latency"));
+            tags.add(new ImmutableTag("consistency", key));
+            return NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_monitor", tags);
+        });
+    }
+    
     public static DistributionSummary getRaftReadIndexFailed() {
         return RAFT_READ_INDEX_FAILED;
     }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.persistence;
+
+import com.alibaba.nacos.consistency.snapshot.LocalFileMeta;
+import com.alibaba.nacos.consistency.snapshot.Reader;
+import com.alibaba.nacos.persistence.utils.PersistenceExecutor;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import com.alipay.sofa.jraft.util.CRC64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Checksum;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Chunked snapshot of derby backup.
+ *
+ * <p>Each file of the backup is split into fixed size chunks, and each chunk is compressed into an individual snapshot
+ * file in parallel, with the checksum of its content as metadata. Chunks not changed since last snapshot are linked
+ * from the local cache instead of compressing again, and raft only transfers the chunks whose checksum is different
+ * from the last snapshot of follower.
+ *
+ * @author Nacos
+ */
+class DerbyChunkedSnapshot {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(DerbyChunkedSnapshot.class);
+    
+    static final String CHUNK_DIR = "derby_chunks";
+    
+    private static final String PATH_KEY = "path";
+    
+    private static final String OFFSET_KEY = "offset";
+    
+    private static final String LENGTH_KEY = "length";
+    
+    private static final String CHECK_SUM_KEY = "checkSum";
+    
+    private final String cacheDir;
+    
+    private final int chunkSize;
+    
+    /**
+     * Checksum of the chunks in cache directory, chunk name -> checksum.
+     */
+    private final Map<String, String> cachedChecksums = new ConcurrentHashMap<>();
+    
+    DerbyChunkedSnapshot(String cacheDir, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be positive, but is " + chunkSize);
+        }
+        this.cacheDir = cacheDir;
+        this.chunkSize = chunkSize;
+        // Checksums of the cached chunks are lost after restart, so the cached chunks can't be reused.
+        DiskUtils.deleteQuietly(new File(cacheDir));
+    }
+    
+    /**
+     * Whether the snapshot is saved by {@link DerbyChunkedSnapshot}.
+     *
+     * @param reader snapshot reader
+     * @return {@code true} if there are chunks in snapshot
+     */
+    static boolean isChunkedSnapshot(Reader reader) {
+        return reader.listFiles().values().stream().anyMatch(meta -> null != meta && null != meta.get(PATH_KEY));
+    }
+    
+    /**
+     * Split all files under source directory into chunks and save them into snapshot directory.
+     *
+     * @param sourceDir    source directory, should not be changed during saving
+     * @param snapshotPath snapshot directory
+     * @return chunk file name in snapshot directory -> file meta
+     * @throws Exception any exception during saving
+     */
+    Map<String, LocalFileMeta> save(String sourceDir, String snapshotPath) throws Exception {
+        final Path root = Paths.get(sourceDir);
+        final List<String> chunkNames = new ArrayList<>();
+        final List<Future<LocalFileMeta>> futures = new ArrayList<>();
+        final AtomicInteger reusedCount = new AtomicInteger();
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path each : files) {
+            final String relativePath = root.relativize(each).toString().replace(File.separatorChar, '/');
+            final long size = Files.size(each);
+            long offset = 0L;
+            int index = 0;
+            do {
+                final long chunkOffset = offset;
+                final int length = (int) Math.min(chunkSize, size - offset);
+                final String chunkName = CHUNK_DIR + '/' + relativePath + '.' + index;
+                chunkNames.add(chunkName);
+                futures.add(PersistenceExecutor.submitSnapshotChunk(
+                        () -> saveChunk(each, relativePath, chunkOffset, length, chunkName, snapshotPath,
+                                reusedCount)));
+                offset += length;
+                index++;
+            } while (offset < size);
+        }
+        final List<LocalFileMeta> metas = waitAll(futures);
+        final Map<String, LocalFileMeta> result = new HashMap<>(chunkNames.size());
+        for (int i = 0; i < chunkNames.size(); i++) {
+            result.put(chunkNames.get(i), metas.get(i));
+        }
+        evictCache(result);
+        LOGGER.info("Derby snapshot saved {} chunks of {} files, {} chunks reused from cache.", result.size(),
+                files.size(), reusedCount.get());
+        return result;
+    }
+    
+    /**
+     * Load all chunks in snapshot and write them into output directory.
+     *
+     * @param reader    snapshot reader
+     * @param outputDir output directory
+     * @throws Exception any exception during loading
+     */
+    static void load(Reader reader, String outputDir) throws Exception {
+        final Path root = Paths.get(outputDir).toAbsolutePath().normalize();
+        final List<Future<LocalFileMeta>> futures = new ArrayList<>();
+        for (Map.Entry<String, LocalFileMeta> entry : reader.listFiles().entrySet()) {
+            final LocalFileMeta meta = entry.getValue();
+            if (null == meta || null == meta.get(PATH_KEY)) {
+                continue;
+            }
+            final Path chunk = Paths.get(reader.getPath(), entry.getKey());
+            futures.add(PersistenceExecutor.submitSnapshotChunk(() -> loadChunk(chunk, meta, root)));
+        }
+        waitAll(futures);
+        LOGGER.info("Derby snapshot loaded {} chunks into {}.", futures.size(), outputDir);
+    }
+    
+    private LocalFileMeta saveChunk(Path source, String relativePath, long offset, int length, String chunkName,
+            String snapshotPath, AtomicInteger reusedCount) throws IOException {
+        final byte[] data = new byte[length];
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            readFully(channel, ByteBuffer.wrap(data), offset);
+        }
+        final String checksum = checksum(data);
+        final Path target = Paths.get(snapshotPath, chunkName);
+        final Path cached = Paths.get(cacheDir, chunkName);
+        Files.createDirectories(target.getParent());
+        if (checksum.equals(cachedChecksums.get(chunkName)) && linkOrCopy(cached, target)) {
+            reusedCount.incrementAndGet();
+        } else {
+            cachedChecksums.remove(chunkName);
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(target))) {
+                outputStream.write(data);
+            }
+            Files.createDirectories(cached.getParent());
+            if (linkOrCopy(target, cached)) {
+                cachedChecksums.put(chunkName, checksum);
+            }
+        }
+        return new LocalFileMeta().append(PATH_KEY, relativePath).append(OFFSET_KEY, String.valueOf(offset))
+                .append(LENGTH_KEY, String.valueOf(length)).append(CHECK_SUM_KEY, checksum);
+    }
+    
+    private static LocalFileMeta loadChunk(Path chunk, LocalFileMeta meta, Path root) throws IOException {
+        final Path target = root.resolve(String.valueOf(meta.get(PATH_KEY))).normalize();
+        if (!target.startsWith(root)) {
+            throw new IllegalArgumentException("Illegal snapshot chunk path : " + meta.get(PATH_KEY));
+        }
+        final long offset = Long.parseLong(String.valueOf(meta.get(OFFSET_KEY)));
+        final byte[] data = new byte[Integer.parseInt(String.valueOf(meta.get(LENGTH_KEY)))];
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(chunk))) {
+            int read = 0;
+            while (read < data.length) {
+                int count = inputStream.read(data, read, data.length - read);
+                if (count < 0) {
+                    throw new EOFException("Snapshot chunk is truncated : " + chunk);
+                }
+                read += count;
+            }
+        }
+        if (!checksum(data).equals(meta.get(CHECK_SUM_KEY))) {
+            throw new IllegalArgumentException("Snapshot checksum failed : " + chunk);
+        }
+        Files.createDirectories(target.getParent());
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+        }
+        return meta;
+    }
+    
+    private void evictCache(Map<String, LocalFileMeta> currentChunks) {
+        Iterator<String> iterator = cachedChecksums.keySet().iterator();
+        while (iterator.hasNext()) {
+            String chunkName = iterator.next();
+            if (!currentChunks.containsKey(chunkName)) {
+                iterator.remove();
+                DiskUtils.deleteQuietly(Paths.get(cacheDir, chunkName));
+            }
+        }
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("File is truncated during snapshot");
+            }
+        }
+    }
+    
+    private static String checksum(byte[] data) {
+        final Checksum checksum = new CRC64();
+        checksum.update(data, 0, data.length);
+        return Long.toHexString(checksum.getValue());
+    }
+    
+    /**
+     * Link source to target, or copy if link is not supported. The target is replaced and never written in place,
+     * because it may be shared with other snapshots by link.
+     */
+    private static boolean linkOrCopy(Path source, Path target) {
+        try {
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, source);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(source, target);
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Link snapshot chunk from {} to {} failed, {}", source, target, e.toString());
+            return false;
+        }
+    }
+    
+    /**
+     * Wait all tasks finished even if some of them failed, so that no task is still writing files after returned.
+     */
+    private static <T> List<T> waitAll(List<Future<T>> futures) throws Exception {
+        final List<T> result = new ArrayList<>(futures.size());
+        Exception failure = null;
+        for (Future<T> each : futures) {
+            try {
+                result.add(each.get());
+            } catch (ExecutionException e) {
+                if (null == failure) {
+                    failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+        return result;
+    }
+}
@@ -39,6 +39,7 @@ import java.io.File;
 import java.nio.file.Paths;
 import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.locks.Lock;
@@ -75,12 +76,27 @@ public class DerbySnapshotOperation implements SnapshotOperation {
     
     private final ReentrantReadWriteLock.WriteLock writeLock;
     
+    /**
+     * Save snapshot as chunks of derby backup, {@code null} if save snapshot as a single archive. Snapshot of both
+     * formats can be loaded, so that the mode can be switched in rolling upgrade.
+     */
+    private final DerbyChunkedSnapshot chunkedSnapshot;
+    
     public DerbySnapshotOperation(ReentrantReadWriteLock.WriteLock writeLock) {
         this.writeLock = writeLock;
+        final String cacheDir = Paths.get(EnvUtil.getNacosHome(), "data", "derby_snapshot_cache").toString();
+        final int chunkSize = EnvUtil.getProperty(PersistenceConstant.EMBEDDED_SNAPSHOT_CHUNK_SIZE, Integer.class,
+                PersistenceConstant.DEFAULT_EMBEDDED_SNAPSHOT_CHUNK_SIZE);
+        this.chunkedSnapshot = EnvUtil.getProperty(PersistenceConstant.EMBEDDED_SNAPSHOT_INCREMENTAL, Boolean.class,
+                false) ? new DerbyChunkedSnapshot(cacheDir, chunkSize) : null;
     }
     
     @Override
     public void onSnapshotSave(Writer writer, BiConsumer<Boolean, Throwable> callFinally) {
+        if (null != chunkedSnapshot) {
+            PersistenceExecutor.executeSnapshot(() -> doChunkedSnapshotSave(writer, callFinally));
+            return;
+        }
         PersistenceExecutor.executeSnapshot(() -> {
             TimerContext.start(DERBY_SNAPSHOT_SAVE);
             
@@ -122,14 +138,20 @@ public class DerbySnapshotOperation implements SnapshotOperation {
         final Lock lock = writeLock;
         lock.lock();
         try {
-            final Checksum checksum = new CRC64();
-            DiskUtils.decompress(sourceFile, readerPath, checksum);
-            
-            LocalFileMeta fileMeta = reader.getFileMeta(snapshotArchive);
-            
-            if (fileMeta.getFileMeta().containsKey(checkSumKey)) {
-                if (!Objects.equals(Long.toHexString(checksum.getValue()), fileMeta.get(checkSumKey))) {
-                    throw new IllegalArgumentException("Snapshot checksum failed");
+            if (DerbyChunkedSnapshot.isChunkedSnapshot(reader)) {
+                final String outputPath = Paths.get(readerPath, snapshotDir).toString();
+                DiskUtils.deleteDirectory(outputPath);
+                DerbyChunkedSnapshot.load(reader, outputPath);
+            } else {
+                final Checksum checksum = new CRC64();
+                DiskUtils.decompress(sourceFile, readerPath, checksum);
+                
+                LocalFileMeta fileMeta = reader.getFileMeta(snapshotArchive);
+                
+                if (fileMeta.getFileMeta().containsKey(checkSumKey)) {
+                    if (!Objects.equals(Long.toHexString(checksum.getValue()), fileMeta.get(checkSumKey))) {
+                        throw new IllegalArgumentException("Snapshot checksum failed");
+                    }
                 }
             }
             
@@ -156,6 +178,42 @@ public class DerbySnapshotOperation implements SnapshotOperation {
         }
     }
     
+    /**
+     * Only the derby backup holds the write lock, splitting and compressing the backup run without blocking apply
+     * because the backup is not changed any more.
+     */
+    private void doChunkedSnapshotSave(Writer writer, BiConsumer<Boolean, Throwable> callFinally) {
+        TimerContext.start(DERBY_SNAPSHOT_SAVE);
+        final String writePath = writer.getPath();
+        final String parentPath = Paths.get(writePath, snapshotDir).toString();
+        try {
+            DiskUtils.deleteDirectory(parentPath);
+            DiskUtils.forceMkdir(parentPath);
+            
+            final Lock lock = writeLock;
+            lock.lock();
+            try {
+                doDerbyBackup(parentPath);
+            } finally {
+                lock.unlock();
+            }
+            
+            final Map<String, LocalFileMeta> chunks = chunkedSnapshot.save(parentPath, writePath);
+            boolean result = true;
+            for (Map.Entry<String, LocalFileMeta> entry : chunks.entrySet()) {
+                result &= writer.addFile(entry.getKey(), entry.getValue());
+            }
+            callFinally.accept(result, null);
+        } catch (Throwable t) {
+            LOGGER.error("Fail to save chunked snapshot, path={}, file list={}, {}.", writePath, writer.listFiles(),
+                    t);
+            callFinally.accept(false, t);
+        } finally {
+            DiskUtils.deleteQuietly(new File(parentPath));
+            TimerContext.end(DERBY_SNAPSHOT_SAVE, LOGGER);
+        }
+    }
+    
     private void doDerbyBackup(String backupDirectory) throws Exception {
         DataSourceService sourceService = DynamicDataSource.getInstance().getDataSource();
         DataSource dataSource = sourceService.getJdbcTemplate().getDataSource();
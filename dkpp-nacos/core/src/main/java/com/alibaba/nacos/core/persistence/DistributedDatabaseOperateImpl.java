@@ -36,6 +36,8 @@ import com.alibaba.nacos.consistency.exception.ConsistencyException;
 import com.alibaba.nacos.consistency.snapshot.SnapshotOperation;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.core.distributed.ProtocolManager;
+import com.alibaba.nacos.core.distributed.raft.RaftSysConstants;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.utils.ClassUtils;
 import com.alibaba.nacos.persistence.configuration.condition.ConditionDistributedEmbedStorage;
 import com.alibaba.nacos.persistence.constants.PersistenceConstant;
@@ -46,13 +48,16 @@ import com.alibaba.nacos.persistence.model.event.DerbyLoadEvent;
 import com.alibaba.nacos.persistence.model.event.RaftDbErrorEvent;
 import com.alibaba.nacos.persistence.repository.RowMapperManager;
 import com.alibaba.nacos.persistence.repository.embedded.EmbeddedStorageContextHolder;
+import com.alibaba.nacos.persistence.repository.embedded.ReadConsistency;
 import com.alibaba.nacos.persistence.repository.embedded.hook.EmbeddedApplyHook;
 import com.alibaba.nacos.persistence.repository.embedded.hook.EmbeddedApplyHookHolder;
 import com.alibaba.nacos.persistence.repository.embedded.operate.BaseDatabaseOperate;
+import com.alibaba.nacos.persistence.repository.embedded.sql.ModifyBatch;
 import com.alibaba.nacos.persistence.repository.embedded.sql.ModifyRequest;
 import com.alibaba.nacos.persistence.repository.embedded.sql.QueryType;
 import com.alibaba.nacos.persistence.repository.embedded.sql.SelectRequest;
 import com.alibaba.nacos.persistence.utils.PersistenceExecutor;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.DiskUtils;
 import com.google.protobuf.ByteString;
 import org.slf4j.Logger;
@@ -69,10 +74,13 @@ import org.springframework.transaction.support.TransactionTemplate;
 import java.io.File;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -144,6 +152,16 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
      */
     private static final String DATA_IMPORT_KEY = "00--0-data_import-0--00";
     
+    private static final String ELECTION_TIMEOUT_PROPERTY =
+            RaftSysConstants.RAFT_CONFIG_PREFIX + ".data." + RaftSysConstants.RAFT_ELECTION_TIMEOUT_MS;
+    
+    /**
+     * The ratio of leader lease to election timeout, same as the default of JRaft lease read.
+     */
+    private static final double LEADER_LEASE_RATIO = 0.9D;
+    
+    private static final long WRITE_TIMEOUT_MILLIS = 10_000L;
+    
     private final ServerMemberManager memberManager;
     
     private CPProtocol protocol;
@@ -162,10 +180,26 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
     
     private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
     
+    private final long leaderLeaseNanos;
+    
+    /**
+     * The deadline of leader lease in {@link System#nanoTime()}, renewed by the reads and writes which are confirmed
+     * by quorum while current node is the leader.
+     */
+    private final AtomicLong leaderLeaseDeadline = new AtomicLong(System.nanoTime());
+    
+    /**
+     * Merge concurrent writes into one raft log, {@code null} if group commit is disabled.
+     */
+    private GroupCommitter groupCommitter;
+    
     public DistributedDatabaseOperateImpl(ServerMemberManager memberManager, ProtocolManager protocolManager)
             throws Exception {
         this.memberManager = memberManager;
         this.protocol = protocolManager.getCpProtocol();
+        int electionTimeout = Math.max(EnvUtil.getProperty(ELECTION_TIMEOUT_PROPERTY, Integer.class,
+                RaftSysConstants.DEFAULT_ELECTION_TIMEOUT), RaftSysConstants.DEFAULT_ELECTION_TIMEOUT);
+        this.leaderLeaseNanos = TimeUnit.MILLISECONDS.toNanos((long) (electionTimeout * LEADER_LEASE_RATIO));
         init();
     }
     
@@ -197,6 +231,15 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             }
         });
         
+        if (EnvUtil.getProperty(PersistenceConstant.EMBEDDED_GROUP_COMMIT_ENABLED, Boolean.class, false)) {
+            this.groupCommitter = new GroupCommitter(group(), serializer, request -> protocol.writeAsync(request),
+                    EnvUtil.getProperty(PersistenceConstant.EMBEDDED_GROUP_COMMIT_MAX_COUNT, Integer.class,
+                            PersistenceConstant.DEFAULT_EMBEDDED_GROUP_COMMIT_MAX_COUNT),
+                    EnvUtil.getProperty(PersistenceConstant.EMBEDDED_GROUP_COMMIT_MAX_BYTES, Integer.class,
+                            PersistenceConstant.DEFAULT_EMBEDDED_GROUP_COMMIT_MAX_BYTES),
+                    EnvUtil.getProperty(PersistenceConstant.EMBEDDED_GROUP_COMMIT_WINDOW_MS, Long.class, 0L));
+        }
+        
         this.protocol.addRequestProcessors(Collections.singletonList(this));
         LOGGER.info("use DistributedTransactionServicesImpl");
     }
@@ -211,6 +254,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LOGGER, "queryOne info : sql : {}", sql);
             
+            final ReadConsistency consistency = EmbeddedStorageContextHolder.getReadConsistency();
+            if (canReadLocally(consistency)) {
+                return readLocally(consistency, () -> queryOne(jdbcTemplate, sql, cls));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_NO_ARGS).sql(sql)
                             .className(cls.getCanonicalName()).build());
@@ -235,6 +283,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LOGGER, "queryOne info : sql : {}, args : {}", sql, args);
             
+            final ReadConsistency consistency = EmbeddedStorageContextHolder.getReadConsistency();
+            if (canReadLocally(consistency)) {
+                return readLocally(consistency, () -> queryOne(jdbcTemplate, sql, args, cls));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(cls.getCanonicalName()).build());
@@ -259,6 +312,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LOGGER, "queryOne info : sql : {}, args : {}", sql, args);
             
+            final ReadConsistency consistency = EmbeddedStorageContextHolder.getReadConsistency();
+            if (canReadLocally(consistency)) {
+                return readLocally(consistency, () -> queryOne(jdbcTemplate, sql, args, mapper));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(mapper.getClass().getCanonicalName()).build());
@@ -284,6 +342,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LOGGER, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final ReadConsistency consistency = EmbeddedStorageContextHolder.getReadConsistency();
+            if (canReadLocally(consistency)) {
+                return readLocally(consistency, () -> queryMany(jdbcTemplate, sql, args, mapper));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(mapper.getClass().getCanonicalName()).build());
@@ -308,6 +371,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LOGGER, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final ReadConsistency consistency = EmbeddedStorageContextHolder.getReadConsistency();
+            if (canReadLocally(consistency)) {
+                return readLocally(consistency, () -> queryMany(jdbcTemplate, sql, args, rClass));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_NO_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(rClass.getCanonicalName()).build());
@@ -332,6 +400,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LOGGER, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final ReadConsistency consistency = EmbeddedStorageContextHolder.getReadConsistency();
+            if (canReadLocally(consistency)) {
+                return readLocally(consistency, () -> queryMany(jdbcTemplate, sql, args));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_WITH_LIST_WITH_ARGS).sql(sql).args(args)
                             .build());
@@ -360,10 +433,67 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
      * @throws Exception Exception
      */
     private Response innerRead(ReadRequest request, boolean blockRead) throws Exception {
-        if (blockRead) {
-            return (Response) protocol.aGetData(request).join();
+        final long startNanos = System.nanoTime();
+        Response response = blockRead ? (Response) protocol.aGetData(request).join() : protocol.getData(request);
+        recordReadLatency(ReadConsistency.LINEARIZABLE, startNanos);
+        if (response.getSuccess()) {
+            renewLeaderLease(startNanos);
         }
-        return protocol.getData(request);
+        return response;
+    }
+    
+    /**
+     * Whether the query with the read consistency can be executed against local storage directly.
+     *
+     * @param consistency read consistency of query
+     * @return {@code true} if the query can skip raft read
+     */
+    private boolean canReadLocally(ReadConsistency consistency) {
+        switch (consistency) {
+            case FOLLOWER:
+                return true;
+            case LEASE:
+                return System.nanoTime() - leaderLeaseDeadline.get() < 0 && protocol.isLeader(group());
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Execute query against local storage directly, the result is returned without serialization.
+     *
+     * @param consistency read consistency of query
+     * @param query       query against {@link #jdbcTemplate}
+     * @return query result
+     */
+    private <R> R readLocally(ReadConsistency consistency, Supplier<R> query) {
+        final long startNanos = System.nanoTime();
+        readLock.lock();
+        try {
+            return query.get();
+        } finally {
+            readLock.unlock();
+            recordReadLatency(consistency, startNanos);
+        }
+    }
+    
+    private void recordReadLatency(ReadConsistency consistency, long startNanos) {
+        MetricsMonitor.getRaftReadLatencyTimer(consistency.name())
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Renew leader lease after a read or write issued at {@code confirmedNanos} is confirmed by quorum. The leadership
+     * is confirmed not earlier than the request issued, so the lease starts from it.
+     *
+     * @param confirmedNanos {@link System#nanoTime()} when the read or write issued
+     */
+    private void renewLeaderLease(long confirmedNanos) {
+        if (!protocol.isLeader(group())) {
+            return;
+        }
+        final long deadline = confirmedNanos + leaderLeaseNanos;
+        leaderLeaseDeadline.accumulateAndGet(deadline, (current, update) -> update - current > 0 ? update : current);
     }
     
     @Override
@@ -417,6 +547,7 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             
             // {timestamp}-{group}-{ip:port}-{signature}
             
+            final long startNanos = System.nanoTime();
             final String key =
                     System.currentTimeMillis() + "-" + group() + "-" + memberManager.getSelf().getAddress() + "-"
                             + MD5Utils.md5Hex(sqlContext.toString(), PersistenceConstant.DEFAULT_ENCODE);
@@ -425,14 +556,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
                     .putAllExtendInfo(EmbeddedStorageContextHolder.getCurrentExtendInfo())
                     .setType(sqlContext.getClass().getCanonicalName()).build();
             if (Objects.isNull(consumer)) {
-                Response response = this.protocol.write(request);
+                Response response = Objects.isNull(groupCommitter) ? this.protocol.write(request)
+                        : groupCommitter.submit(request).get(WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
                 if (response.getSuccess()) {
+                    renewLeaderLease(startNanos);
                     return true;
                 }
                 LOGGER.error("execute sql modify operation failed : {}", response.getErrMsg());
                 return false;
             } else {
-                this.protocol.writeAsync(request).whenComplete((BiConsumer<Response, Throwable>) (response, ex) -> {
+                CompletableFuture<Response> future = Objects.isNull(groupCommitter) ? this.protocol.writeAsync(request)
+                        : groupCommitter.submit(request);
+                future.whenComplete((BiConsumer<Response, Throwable>) (response, ex) -> {
+                    if (Objects.isNull(ex) && response.getSuccess()) {
+                        renewLeaderLease(startNanos);
+                    }
                     String errMsg = Objects.isNull(ex) ? response.getErrMsg() : ExceptionUtil.getCause(ex).getMessage();
                     consumer.accept(response.getSuccess(),
                             StringUtils.isBlank(errMsg) ? null : new NJdbcException(errMsg));
@@ -508,6 +646,9 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         final Lock lock = readLock;
         lock.lock();
         try {
+            if (log.containsExtendInfo(GroupCommitter.GROUP_COMMIT_KEY)) {
+                return onApplyGroup(log);
+            }
             List<ModifyRequest> sqlContext = serializer.deserialize(byteString.toByteArray(), List.class);
             boolean isOk = false;
             if (log.containsExtendInfo(DATA_IMPORT_KEY)) {
@@ -541,6 +682,33 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    /**
+     * Apply the writes merged by {@link GroupCommitter} in one transaction, the result of each write is responded as
+     * a list of {@link Boolean}.
+     */
+    private Response onApplyGroup(WriteRequest log) {
+        List<ModifyBatch> batches = serializer.deserialize(log.getData().toByteArray(), List.class);
+        List<List<ModifyRequest>> groups = new ArrayList<>(batches.size());
+        for (ModifyBatch each : batches) {
+            List<ModifyRequest> sqlContext = serializer.deserialize(each.getData(), List.class);
+            sqlContext.sort(Comparator.comparingInt(ModifyRequest::getExecuteNo));
+            groups.add(sqlContext);
+        }
+        List<Boolean> results = groupUpdate(transactionTemplate, jdbcTemplate, groups);
+        PersistenceExecutor.executeEmbeddedDump(() -> {
+            for (ModifyBatch batch : batches) {
+                WriteRequest each = WriteRequest.newBuilder().setGroup(log.getGroup()).setKey(batch.getKey())
+                        .setType(batch.getType()).setData(ByteString.copyFrom(batch.getData()))
+                        .putAllExtendInfo(batch.getExtendInfo()).build();
+                for (EmbeddedApplyHook hook : EmbeddedApplyHookHolder.getInstance().getAllHooks()) {
+                    hook.afterApply(each);
+                }
+            }
+        });
+        return Response.newBuilder().setSuccess(true)
+                .setData(ByteString.copyFrom(serializer.serialize(new ArrayList<>(results)))).build();
+    }
+    
     @Override
     public void onError(Throwable throwable) {
         // Trigger reversion strategy
@@ -0,0 +1,184 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.persistence;
+
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.persistence.repository.embedded.sql.ModifyBatch;
+import com.alibaba.nacos.persistence.utils.PersistenceExecutor;
+import com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Group commit of embedded storage writes.
+ *
+ * <p>At most one raft log is committing at the same time, the writes submitted during committing are merged into one
+ * raft log and committed after the previous one finished. Results of merged writes are responded separately, a write
+ * is committed as is if no other write to merge with.
+ *
+ * @author Nacos
+ */
+class GroupCommitter {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitter.class);
+    
+    /**
+     * The extend key of merged raft log, the value is count of merged writes.
+     */
+    static final String GROUP_COMMIT_KEY = "00--0-group_commit-0--00";
+    
+    private final String group;
+    
+    private final Serializer serializer;
+    
+    private final Function<WriteRequest, CompletableFuture<Response>> committer;
+    
+    private final int maxCount;
+    
+    private final int maxBytes;
+    
+    private final long windowMillis;
+    
+    private final Queue<PendingWrite> pendingWrites = new ArrayDeque<>();
+    
+    /**
+     * Whether a raft log is committing or waiting for window, guarded by {@code this}.
+     */
+    private boolean committing;
+    
+    GroupCommitter(String group, Serializer serializer, Function<WriteRequest, CompletableFuture<Response>> committer,
+            int maxCount, int maxBytes, long windowMillis) {
+        this.group = group;
+        this.serializer = serializer;
+        this.committer = committer;
+        this.maxCount = Math.max(1, maxCount);
+        this.maxBytes = maxBytes;
+        this.windowMillis = windowMillis;
+    }
+    
+    /**
+     * Submit a write to group commit.
+     *
+     * @param request write request
+     * @return future of the response of this write
+     */
+    CompletableFuture<Response> submit(WriteRequest request) {
+        final PendingWrite pendingWrite = new PendingWrite(request);
+        final boolean commitNow;
+        synchronized (this) {
+            pendingWrites.add(pendingWrite);
+            commitNow = !committing;
+            committing = true;
+        }
+        if (commitNow) {
+            if (windowMillis > 0) {
+                PersistenceExecutor.schedule(this::commitNext, windowMillis, TimeUnit.MILLISECONDS);
+            } else {
+                commitNext();
+            }
+        }
+        return pendingWrite.future;
+    }
+    
+    private void commitNext() {
+        final List<PendingWrite> writes = new ArrayList<>();
+        synchronized (this) {
+            int bytes = 0;
+            while (!pendingWrites.isEmpty() && writes.size() < maxCount) {
+                int size = pendingWrites.peek().request.getData().size();
+                if (!writes.isEmpty() && bytes + size > maxBytes) {
+                    break;
+                }
+                bytes += size;
+                writes.add(pendingWrites.poll());
+            }
+            if (writes.isEmpty()) {
+                committing = false;
+                return;
+            }
+        }
+        CompletableFuture<Response> future;
+        try {
+            future = committer.apply(writes.size() == 1 ? writes.get(0).request : buildGroupRequest(writes));
+        } catch (Throwable e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((response, throwable) -> {
+            try {
+                complete(writes, response, throwable);
+            } finally {
+                commitNext();
+            }
+        });
+    }
+    
+    private WriteRequest buildGroupRequest(List<PendingWrite> writes) {
+        final List<ModifyBatch> batches = new ArrayList<>(writes.size());
+        for (PendingWrite each : writes) {
+            batches.add(new ModifyBatch(each.request.getKey(), each.request.getType(),
+                    each.request.getData().toByteArray(), new HashMap<>(each.request.getExtendInfoMap())));
+        }
+        return WriteRequest.newBuilder().setGroup(group).setKey(writes.get(0).request.getKey() + "-" + writes.size())
+                .setData(ByteString.copyFrom(serializer.serialize(batches)))
+                .putExtendInfo(GROUP_COMMIT_KEY, String.valueOf(writes.size()))
+                .setType(ModifyBatch.class.getCanonicalName()).build();
+    }
+    
+    private void complete(List<PendingWrite> writes, Response response, Throwable throwable) {
+        if (null != throwable) {
+            writes.forEach(each -> each.future.completeExceptionally(throwable));
+            return;
+        }
+        if (writes.size() == 1 || !response.getSuccess()) {
+            writes.forEach(each -> each.future.complete(response));
+            return;
+        }
+        try {
+            List<Boolean> results = serializer.deserialize(response.getData().toByteArray(), List.class);
+            for (int i = 0; i < writes.size(); i++) {
+                boolean success = i < results.size() && Boolean.TRUE.equals(results.get(i));
+                writes.get(i).future.complete(Response.newBuilder().setSuccess(success).build());
+            }
+        } catch (Throwable e) {
+            LOGGER.error("Parse response of group commit failed, {}", e.toString());
+            writes.forEach(each -> each.future.completeExceptionally(e));
+        }
+    }
+    
+    private static class PendingWrite {
+        
+        private final WriteRequest request;
+        
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+        
+        private PendingWrite(WriteRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.alibaba.nacos.core.storage;
 
 import com.alibaba.nacos.core.storage.kv.FileKvStorage;
 import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
 import com.alibaba.nacos.core.storage.kv.MemoryKvStorage;
 
 /**
@@ -43,6 +44,8 @@ public final class StorageFactory {
                 return new FileKvStorage(baseDir);
             case Memory:
                 return new MemoryKvStorage();
+            case Log:
+                return new LogKvStorage(baseDir);
             default:
                 throw new IllegalArgumentException("this kv type : [" + type.name() + "] not support");
         }
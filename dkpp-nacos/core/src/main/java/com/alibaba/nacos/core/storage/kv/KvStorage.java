@@ -43,6 +43,11 @@ public interface KvStorage {
          * RocksDB storage.
          */
         RocksDB,
+    
+        /**
+         * Local append-only log storage.
+         */
+        Log,
     }
     
     
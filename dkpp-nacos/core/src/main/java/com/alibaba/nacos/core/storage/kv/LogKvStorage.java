@@ -0,0 +1,718 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.storage.kv;
+
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.core.exception.ErrorCode;
+import com.alibaba.nacos.core.exception.KvStorageException;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Kv storage based on append-only log segments and an in-memory index.
+ *
+ * <p>Puts and deletes are appended as records to the active segment, a batch is written by one write call, and the
+ * index keeps the position of the latest value of each key. The active segment is rolled when it reaches the max
+ * size, and sealed segments are compacted into one segment in background when most of them is garbage.
+ *
+ * <p>Sealed segments are never modified in place, so snapshot only rolls the active segment and hard-links the sealed
+ * segments into backup path. Files written by {@link FileKvStorage}, one file per key, are migrated into the log when
+ * opening storage or loading snapshot. Same as {@link FileKvStorage}, writes are not forced to disk one by one.
+ *
+ * @author Nacos
+ */
+public class LogKvStorage implements KvStorage {
+    
+    private static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+    
+    private static final long DEFAULT_MIN_COMPACT_GARBAGE = 16L * 1024 * 1024;
+    
+    private static final double DEFAULT_COMPACT_GARBAGE_RATIO = 0.5D;
+    
+    private static final String SEGMENT_SUFFIX = ".log";
+    
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private static final String COMPACTED_SUFFIX = ".compacted";
+    
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("(\\d{20})\\.log(\\.tmp|\\.compacted)?");
+    
+    /**
+     * Record header, crc32 (4) + type (1) + key length (4) + value length (4).
+     */
+    private static final int HEADER_LENGTH = 13;
+    
+    private static final byte TYPE_PUT = 1;
+    
+    private static final byte TYPE_DELETE = 2;
+    
+    private final String baseDir;
+    
+    private final long maxSegmentSize;
+    
+    private final long minCompactGarbage;
+    
+    private final double compactGarbageRatio;
+    
+    private final Map<ByteBuffer, ValuePointer> index = new ConcurrentHashMap<>();
+    
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    
+    /**
+     * Read lock for reading and appending, write lock for replacing segments.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+    
+    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    
+    private final ReentrantLock appendLock = new ReentrantLock();
+    
+    private final ReentrantLock compactLock = new ReentrantLock();
+    
+    private final AtomicBoolean compactScheduled = new AtomicBoolean(false);
+    
+    private final ExecutorService compactExecutor;
+    
+    private volatile Segment activeSegment;
+    
+    /**
+     * Changed when loading snapshot, the compaction started before is given up.
+     */
+    private long generation;
+    
+    public LogKvStorage(String baseDir) throws KvStorageException {
+        this(baseDir, DEFAULT_MAX_SEGMENT_SIZE, DEFAULT_MIN_COMPACT_GARBAGE, DEFAULT_COMPACT_GARBAGE_RATIO);
+    }
+    
+    public LogKvStorage(String baseDir, long maxSegmentSize, long minCompactGarbage, double compactGarbageRatio)
+            throws KvStorageException {
+        this.baseDir = baseDir;
+        this.maxSegmentSize = maxSegmentSize;
+        this.minCompactGarbage = minCompactGarbage;
+        this.compactGarbageRatio = compactGarbageRatio;
+        this.compactExecutor = ExecutorFactory
+                .newSingleExecutorService(new NameThreadFactory("com.alibaba.nacos.core.storage.kv.compactor"));
+        try {
+            DiskUtils.forceMkdir(baseDir);
+            open();
+        } catch (IOException e) {
+            compactExecutor.shutdown();
+            throw new KvStorageException(ErrorCode.KVStorageCreateError, e);
+        }
+    }
+    
+    @Override
+    public byte[] get(byte[] key) throws KvStorageException {
+        readLock.lock();
+        try {
+            ValuePointer pointer = index.get(ByteBuffer.wrap(key));
+            return null == pointer ? null : pointer.read();
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageReadError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public Map<byte[], byte[]> batchGet(List<byte[]> keys) throws KvStorageException {
+        Map<byte[], byte[]> result = new HashMap<>(keys.size());
+        for (byte[] key : keys) {
+            byte[] val = get(key);
+            if (val != null) {
+                result.put(key, val);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public void put(byte[] key, byte[] value) throws KvStorageException {
+        append(Collections.singletonList(key), Collections.singletonList(value), ErrorCode.KVStorageWriteError);
+    }
+    
+    @Override
+    public void batchPut(List<byte[]> keys, List<byte[]> values) throws KvStorageException {
+        if (keys.size() != values.size()) {
+            throw new KvStorageException(ErrorCode.KVStorageBatchWriteError,
+                    "key's size must be equal to value's size");
+        }
+        append(keys, values, ErrorCode.KVStorageBatchWriteError);
+    }
+    
+    @Override
+    public void delete(byte[] key) throws KvStorageException {
+        append(Collections.singletonList(key), null, ErrorCode.KVStorageDeleteError);
+    }
+    
+    @Override
+    public void batchDelete(List<byte[]> keys) throws KvStorageException {
+        append(keys, null, ErrorCode.KVStorageDeleteError);
+    }
+    
+    @Override
+    public void doSnapshot(String backupPath) throws KvStorageException {
+        writeLock.lock();
+        try {
+            if (activeSegment.size > 0) {
+                roll();
+            }
+            DiskUtils.forceMkdir(backupPath);
+            for (Segment each : segments.headMap(activeSegment.id).values()) {
+                linkOrCopy(each.file, new File(backupPath, each.file.getName()));
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public void snapshotLoad(String path) throws KvStorageException {
+        writeLock.lock();
+        try {
+            File srcDir = new File(path);
+            // If snapshot path is non-exist, means snapshot is empty
+            if (!srcDir.exists()) {
+                return;
+            }
+            generation++;
+            closeSegments();
+            DiskUtils.deleteDirThenMkdir(baseDir);
+            File[] files = srcDir.listFiles();
+            if (null != files) {
+                for (File each : files) {
+                    if (each.isFile()) {
+                        linkOrCopy(each, new File(baseDir, each.getName()));
+                    }
+                }
+            }
+            open();
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotLoadError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public List<byte[]> allKeys() throws KvStorageException {
+        readLock.lock();
+        try {
+            List<byte[]> result = new ArrayList<>(index.size());
+            for (ByteBuffer each : index.keySet()) {
+                result.add(each.array().clone());
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        compactExecutor.shutdown();
+        writeLock.lock();
+        try {
+            closeSegments();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Rewrite live records of all sealed segments into one segment and remove the sealed segments.
+     *
+     * <p>Records are copied without blocking reads and writes, only replacing segments holds the write lock.
+     *
+     * @throws KvStorageException exception during compaction
+     */
+    public void compact() throws KvStorageException {
+        compactLock.lock();
+        try {
+            doCompact();
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageWriteError, "Compact log segments failed", e);
+        } finally {
+            compactLock.unlock();
+        }
+    }
+    
+    private void append(List<byte[]> keys, List<byte[]> values, ErrorCode errorCode) throws KvStorageException {
+        readLock.lock();
+        try {
+            appendLock.lock();
+            try {
+                doAppend(keys, values);
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(errorCode, e);
+        } finally {
+            readLock.unlock();
+        }
+        compactIfNecessary();
+    }
+    
+    /**
+     * Append records of keys in one write, {@code values} is {@code null} means deleting keys.
+     */
+    private void doAppend(List<byte[]> keys, List<byte[]> values) throws IOException {
+        final boolean delete = null == values;
+        List<byte[]> appendKeys = keys;
+        if (delete) {
+            appendKeys = new ArrayList<>(keys.size());
+            for (byte[] each : keys) {
+                if (index.containsKey(ByteBuffer.wrap(each))) {
+                    appendKeys.add(each);
+                }
+            }
+        }
+        if (appendKeys.isEmpty()) {
+            return;
+        }
+        int totalLength = 0;
+        for (int i = 0; i < appendKeys.size(); i++) {
+            totalLength += HEADER_LENGTH + appendKeys.get(i).length + (delete ? 0 : values.get(i).length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(totalLength);
+        for (int i = 0; i < appendKeys.size(); i++) {
+            writeRecord(buffer, delete ? TYPE_DELETE : TYPE_PUT, appendKeys.get(i), delete ? null : values.get(i));
+        }
+        buffer.flip();
+        Segment segment = activeSegment;
+        long position = segment.append(buffer);
+        for (int i = 0; i < appendKeys.size(); i++) {
+            byte[] key = appendKeys.get(i);
+            if (delete) {
+                int recordLength = HEADER_LENGTH + key.length;
+                release(index.remove(ByteBuffer.wrap(key)));
+                segment.garbage.addAndGet(recordLength);
+                position += recordLength;
+            } else {
+                int valueLength = values.get(i).length;
+                int recordLength = HEADER_LENGTH + key.length + valueLength;
+                ValuePointer pointer = new ValuePointer(segment, position + HEADER_LENGTH + key.length, valueLength,
+                        recordLength);
+                release(index.put(ByteBuffer.wrap(key.clone()), pointer));
+                position += recordLength;
+            }
+        }
+        if (segment.size >= maxSegmentSize) {
+            roll();
+        }
+    }
+    
+    private static void writeRecord(ByteBuffer buffer, byte type, byte[] key, byte[] value) {
+        int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.put(type).putInt(key.length).putInt(null == value ? 0 : value.length).put(key);
+        if (null != value) {
+            buffer.put(value);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer.array(), start + 4, buffer.position() - start - 4);
+        buffer.putInt(start, (int) crc32.getValue());
+    }
+    
+    private static void release(ValuePointer pointer) {
+        if (null != pointer) {
+            pointer.segment.garbage.addAndGet(pointer.recordLength);
+        }
+    }
+    
+    /**
+     * Seal the active segment and start a new one, must be called within append lock or write lock.
+     */
+    private void roll() throws IOException {
+        Segment current = activeSegment;
+        current.channel.force(false);
+        activeSegment = createSegment(current.id + 1);
+    }
+    
+    private Segment createSegment(long id) throws IOException {
+        Segment segment = new Segment(id, segmentFile(id));
+        segments.put(id, segment);
+        return segment;
+    }
+    
+    private File segmentFile(long id) {
+        return new File(baseDir, String.format("%020d", id) + SEGMENT_SUFFIX);
+    }
+    
+    /**
+     * Open segments in base dir and rebuild index, the writes always go to a new segment after opened.
+     */
+    private void open() throws IOException {
+        index.clear();
+        segments.clear();
+        TreeMap<Long, File> segmentFiles = new TreeMap<>();
+        List<File> legacyFiles = new ArrayList<>();
+        File[] files = new File(baseDir).listFiles();
+        long compactedId = -1L;
+        File compactedFile = null;
+        if (null != files) {
+            for (File each : files) {
+                if (!each.isFile()) {
+                    continue;
+                }
+                Matcher matcher = SEGMENT_PATTERN.matcher(each.getName());
+                if (!matcher.matches()) {
+                    legacyFiles.add(each);
+                } else if (null == matcher.group(2)) {
+                    segmentFiles.put(Long.parseLong(matcher.group(1)), each);
+                } else if (COMPACTED_SUFFIX.equals(matcher.group(2))) {
+                    compactedId = Long.parseLong(matcher.group(1));
+                    compactedFile = each;
+                } else {
+                    Files.deleteIfExists(each.toPath());
+                }
+            }
+        }
+        if (null != compactedFile) {
+            // compaction committed but not finished, replace the segments it covers.
+            for (File each : segmentFiles.headMap(compactedId, true).values()) {
+                Files.deleteIfExists(each.toPath());
+            }
+            segmentFiles.headMap(compactedId, true).clear();
+            File target = segmentFile(compactedId);
+            Files.move(compactedFile.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            segmentFiles.put(compactedId, target);
+        }
+        for (Map.Entry<Long, File> entry : segmentFiles.entrySet()) {
+            Segment segment = new Segment(entry.getKey(), entry.getValue());
+            replay(segment);
+            if (segment.size > 0) {
+                segments.put(segment.id, segment);
+            } else {
+                segment.close();
+                Files.deleteIfExists(segment.file.toPath());
+            }
+        }
+        activeSegment = createSegment(segments.isEmpty() ? 1L : segments.lastKey() + 1);
+        if (!legacyFiles.isEmpty()) {
+            migrate(legacyFiles);
+        }
+    }
+    
+    private void replay(Segment segment) throws IOException {
+        long position = 0L;
+        final long size = segment.size;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file)))) {
+            while (position + HEADER_LENGTH <= size) {
+                int crc = in.readInt();
+                byte type = in.readByte();
+                int keyLength = in.readInt();
+                int valueLength = in.readInt();
+                if ((type != TYPE_PUT && type != TYPE_DELETE) || keyLength < 0 || valueLength < 0
+                        || position + HEADER_LENGTH + keyLength + valueLength > size) {
+                    break;
+                }
+                byte[] key = new byte[keyLength];
+                in.readFully(key);
+                byte[] value = new byte[valueLength];
+                in.readFully(value);
+                CRC32 crc32 = new CRC32();
+                crc32.update(ByteBuffer.allocate(HEADER_LENGTH - 4).put(type).putInt(keyLength).putInt(valueLength)
+                        .array());
+                crc32.update(key);
+                crc32.update(value);
+                if ((int) crc32.getValue() != crc) {
+                    break;
+                }
+                int recordLength = HEADER_LENGTH + keyLength + valueLength;
+                if (type == TYPE_PUT) {
+                    release(index.put(ByteBuffer.wrap(key),
+                            new ValuePointer(segment, position + HEADER_LENGTH + keyLength, valueLength,
+                                    recordLength)));
+                } else {
+                    release(index.remove(ByteBuffer.wrap(key)));
+                    segment.garbage.addAndGet(recordLength);
+                }
+                position += recordLength;
+            }
+        }
+        if (position < size) {
+            Loggers.CORE.warn("[LogKvStorage] tail of segment {} is broken, truncate it from {} to {}", segment.file,
+                    size, position);
+            segment.channel.truncate(position);
+            segment.size = position;
+        }
+    }
+    
+    private void migrate(List<File> legacyFiles) throws IOException {
+        List<byte[]> keys = new ArrayList<>(legacyFiles.size());
+        List<byte[]> values = new ArrayList<>(legacyFiles.size());
+        for (File each : legacyFiles) {
+            keys.add(each.getName().getBytes());
+            values.add(Files.readAllBytes(each.toPath()));
+        }
+        doAppend(keys, values);
+        activeSegment.channel.force(false);
+        for (File each : legacyFiles) {
+            Files.deleteIfExists(each.toPath());
+        }
+        Loggers.CORE.info("[LogKvStorage] migrated {} key files into log segments of {}", legacyFiles.size(), baseDir);
+    }
+    
+    private void compactIfNecessary() {
+        if (!needCompact() || !compactScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactExecutor.execute(() -> {
+                try {
+                    compact();
+                } catch (Throwable e) {
+                    Loggers.CORE.error("[LogKvStorage] compact segments of {} failed", baseDir, e);
+                } finally {
+                    compactScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            compactScheduled.set(false);
+        }
+    }
+    
+    private boolean needCompact() {
+        long garbage = 0L;
+        long size = 0L;
+        for (Segment each : segments.headMap(activeSegment.id).values()) {
+            garbage += each.garbage.get();
+            size += each.size;
+        }
+        return garbage > 0 && garbage >= minCompactGarbage && garbage >= size * compactGarbageRatio;
+    }
+    
+    private void doCompact() throws IOException {
+        final long startGeneration;
+        final List<Segment> targets;
+        readLock.lock();
+        try {
+            startGeneration = generation;
+            targets = new ArrayList<>(segments.headMap(activeSegment.id).values());
+        } finally {
+            readLock.unlock();
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+        Set<Segment> targetSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        targetSet.addAll(targets);
+        final long targetId = targets.get(targets.size() - 1).id;
+        final File tempFile = new File(baseDir, segmentFile(targetId).getName() + TEMP_SUFFIX);
+        List<Relocation> relocations = new ArrayList<>();
+        try (FileOutputStream fileOutput = new FileOutputStream(tempFile)) {
+            OutputStream output = new BufferedOutputStream(fileOutput);
+            long position = 0L;
+            for (Map.Entry<ByteBuffer, ValuePointer> entry : index.entrySet()) {
+                ValuePointer origin = entry.getValue();
+                if (!targetSet.contains(origin.segment)) {
+                    continue;
+                }
+                byte[] key = entry.getKey().array();
+                byte[] value = origin.read();
+                ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + key.length + value.length);
+                writeRecord(record, TYPE_PUT, key, value);
+                output.write(record.array());
+                relocations.add(new Relocation(entry.getKey(), origin, position + HEADER_LENGTH + key.length));
+                position += record.capacity();
+            }
+            output.flush();
+            fileOutput.getChannel().force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile.toPath());
+            throw e;
+        }
+        writeLock.lock();
+        try {
+            if (startGeneration != generation) {
+                Files.deleteIfExists(tempFile.toPath());
+                return;
+            }
+            File compactedFile = new File(baseDir, segmentFile(targetId).getName() + COMPACTED_SUFFIX);
+            Files.move(tempFile.toPath(), compactedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            for (Segment each : targets) {
+                segments.remove(each.id);
+                each.close();
+                Files.deleteIfExists(each.file.toPath());
+            }
+            Files.move(compactedFile.toPath(), segmentFile(targetId).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            Segment compacted = new Segment(targetId, segmentFile(targetId));
+            segments.put(targetId, compacted);
+            for (Relocation each : relocations) {
+                ValuePointer moved = new ValuePointer(compacted, each.valueOffset, each.origin.valueLength,
+                        each.origin.recordLength);
+                // the key is changed during copying, the copied record is garbage.
+                if (!index.replace(each.key, each.origin, moved)) {
+                    compacted.garbage.addAndGet(each.origin.recordLength);
+                }
+            }
+            Loggers.CORE.info("[LogKvStorage] compacted {} segments of {} into {}, live records: {}", targets.size(),
+                    baseDir, compacted.file.getName(), relocations.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void closeSegments() {
+        for (Segment each : segments.values()) {
+            each.close();
+        }
+        segments.clear();
+        index.clear();
+    }
+    
+    private static void linkOrCopy(File source, File target) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        try {
+            Files.createLink(target.toPath(), source.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static final class Segment {
+        
+        private final long id;
+        
+        private final File file;
+        
+        private final FileChannel channel;
+        
+        private final AtomicLong garbage = new AtomicLong();
+        
+        private volatile long size;
+        
+        private Segment(long id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel
+                    .open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+        
+        /**
+         * Append buffer to the end of segment, must be called within append lock.
+         *
+         * @return start position of buffer in segment
+         */
+        private long append(ByteBuffer buffer) throws IOException {
+            final long start = size;
+            long position = start;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            size = position;
+            return start;
+        }
+        
+        private byte[] read(long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of segment " + file);
+                }
+            }
+            return buffer.array();
+        }
+        
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                Loggers.CORE.warn("[LogKvStorage] close segment {} failed", file, e);
+            }
+        }
+    }
+    
+    private static final class ValuePointer {
+        
+        private final Segment segment;
+        
+        private final long valueOffset;
+        
+        private final int valueLength;
+        
+        private final int recordLength;
+        
+        private ValuePointer(Segment segment, long valueOffset, int valueLength, int recordLength) {
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.recordLength = recordLength;
+        }
+        
+        private byte[] read() throws IOException {
+            return segment.read(valueOffset, valueLength);
+        }
+    }
+    
+    private static final class Relocation {
+        
+        private final ByteBuffer key;
+        
+        private final ValuePointer origin;
+        
+        private final long valueOffset;
+        
+        private Relocation(ByteBuffer key, ValuePointer origin, long valueOffset) {
+            this.key = key;
+            this.origin = origin;
+            this.valueOffset = valueOffset;
+        }
+    }
+}
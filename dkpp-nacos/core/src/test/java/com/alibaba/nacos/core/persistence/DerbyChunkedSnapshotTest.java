@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.persistence;
+
+import com.alibaba.nacos.consistency.snapshot.LocalFileMeta;
+import com.alibaba.nacos.consistency.snapshot.Reader;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class DerbyChunkedSnapshotTest {
+    
+    private Path baseDir;
+    
+    private Path sourceDir;
+    
+    private DerbyChunkedSnapshot chunkedSnapshot;
+    
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("derby_chunked_snapshot");
+        sourceDir = baseDir.resolve("source");
+        Files.createDirectories(sourceDir.resolve("derby-data/seg0"));
+        Files.write(sourceDir.resolve("derby-data/service.properties"), "test".getBytes(StandardCharsets.UTF_8));
+        Files.write(sourceDir.resolve("derby-data/seg0/c10.dat"), newData(10, (byte) 1));
+        Files.write(sourceDir.resolve("derby-data/seg0/c20.dat"), new byte[0]);
+        chunkedSnapshot = new DerbyChunkedSnapshot(baseDir.resolve("cache").toString(), 4);
+    }
+    
+    @After
+    public void tearDown() {
+        DiskUtils.deleteQuietly(baseDir.toFile());
+    }
+    
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        Path snapshotDir = baseDir.resolve("snapshot");
+        Map<String, LocalFileMeta> chunks = chunkedSnapshot.save(sourceDir.toString(), snapshotDir.toString());
+        // 1 chunk for service.properties, 3 chunks for c10.dat and 1 empty chunk for c20.dat
+        Assert.assertEquals(5, chunks.size());
+        for (String each : chunks.keySet()) {
+            Assert.assertTrue(Files.exists(snapshotDir.resolve(each)));
+        }
+        Reader reader = new Reader(snapshotDir.toString(), chunks);
+        Assert.assertTrue(DerbyChunkedSnapshot.isChunkedSnapshot(reader));
+        Path outputDir = baseDir.resolve("output");
+        DerbyChunkedSnapshot.load(reader, outputDir.toString());
+        assertSameFile("derby-data/service.properties", outputDir);
+        assertSameFile("derby-data/seg0/c10.dat", outputDir);
+        assertSameFile("derby-data/seg0/c20.dat", outputDir);
+    }
+    
+    @Test
+    public void testSaveChangedChunks() throws Exception {
+        Map<String, LocalFileMeta> first = chunkedSnapshot.save(sourceDir.toString(),
+                baseDir.resolve("snapshot1").toString());
+        byte[] changed = newData(10, (byte) 1);
+        changed[5] = 0;
+        Files.write(sourceDir.resolve("derby-data/seg0/c10.dat"), changed);
+        Map<String, LocalFileMeta> second = chunkedSnapshot.save(sourceDir.toString(),
+                baseDir.resolve("snapshot2").toString());
+        Assert.assertEquals(first.keySet(), second.keySet());
+        for (String each : first.keySet()) {
+            boolean sameChecksum = first.get(each).get("checkSum").equals(second.get(each).get("checkSum"));
+            Assert.assertEquals(each, !each.endsWith("c10.dat.1"), sameChecksum);
+        }
+        Path outputDir = baseDir.resolve("output");
+        DerbyChunkedSnapshot.load(new Reader(baseDir.resolve("snapshot2").toString(), second), outputDir.toString());
+        assertSameFile("derby-data/seg0/c10.dat", outputDir);
+    }
+    
+    @Test
+    public void testLegacySnapshotIsNotChunked() {
+        Reader reader = new Reader(baseDir.toString(), Collections.singletonMap("derby_data.zip",
+                new LocalFileMeta().append("checkSum", "1")));
+        Assert.assertFalse(DerbyChunkedSnapshot.isChunkedSnapshot(reader));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadWithWrongChecksum() throws Exception {
+        Path snapshotDir = baseDir.resolve("snapshot");
+        Map<String, LocalFileMeta> chunks = chunkedSnapshot.save(sourceDir.toString(), snapshotDir.toString());
+        chunks.values().iterator().next().append("checkSum", "0");
+        DerbyChunkedSnapshot.load(new Reader(snapshotDir.toString(), chunks), baseDir.resolve("output").toString());
+    }
+    
+    private void assertSameFile(String relativePath, Path outputDir) throws Exception {
+        File expected = sourceDir.resolve(relativePath).toFile();
+        File actual = outputDir.resolve(relativePath).toFile();
+        Assert.assertTrue(Arrays.equals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(actual.toPath())));
+    }
+    
+    private static byte[] newData(int length, byte value) {
+        byte[] result = new byte[length];
+        Arrays.fill(result, value);
+        return result;
+    }
+}
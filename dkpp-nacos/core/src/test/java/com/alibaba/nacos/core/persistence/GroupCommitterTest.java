@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.persistence;
+
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.persistence.repository.embedded.sql.ModifyBatch;
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class GroupCommitterTest {
+    
+    private final Serializer serializer = SerializeFactory.getDefault();
+    
+    private final List<WriteRequest> committedRequests = new ArrayList<>();
+    
+    private final List<CompletableFuture<Response>> committedFutures = new ArrayList<>();
+    
+    private GroupCommitter groupCommitter;
+    
+    @Before
+    public void setUp() {
+        groupCommitter = new GroupCommitter("test", serializer, request -> {
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            committedRequests.add(request);
+            committedFutures.add(future);
+            return future;
+        }, 2, 1024, 0L);
+    }
+    
+    @Test
+    public void testCommitAloneWhenIdle() throws Exception {
+        WriteRequest request = newRequest("1");
+        CompletableFuture<Response> future = groupCommitter.submit(request);
+        Assert.assertEquals(1, committedRequests.size());
+        Assert.assertSame(request, committedRequests.get(0));
+        committedFutures.get(0).complete(Response.newBuilder().setSuccess(true).build());
+        Assert.assertTrue(future.get().getSuccess());
+    }
+    
+    @Test
+    public void testMergeWritesDuringCommitting() throws Exception {
+        CompletableFuture<Response> future1 = groupCommitter.submit(newRequest("1"));
+        CompletableFuture<Response> future2 = groupCommitter.submit(newRequest("2"));
+        CompletableFuture<Response> future3 = groupCommitter.submit(newRequest("3"));
+        CompletableFuture<Response> future4 = groupCommitter.submit(newRequest("4"));
+        Assert.assertEquals(1, committedRequests.size());
+        committedFutures.get(0).complete(Response.newBuilder().setSuccess(true).build());
+        Assert.assertTrue(future1.get().getSuccess());
+        // max count is 2, so write 2 and 3 are merged, and write 4 waits for next commit.
+        Assert.assertEquals(2, committedRequests.size());
+        WriteRequest groupRequest = committedRequests.get(1);
+        Assert.assertEquals("2", groupRequest.getExtendInfoMap().get(GroupCommitter.GROUP_COMMIT_KEY));
+        List<ModifyBatch> batches = serializer.deserialize(groupRequest.getData().toByteArray(), List.class);
+        Assert.assertEquals(2, batches.size());
+        Assert.assertEquals("2", batches.get(0).getKey());
+        Assert.assertEquals("v2", batches.get(0).getExtendInfo().get("k"));
+        Assert.assertEquals("3", batches.get(1).getKey());
+        ByteString results = ByteString
+                .copyFrom(serializer.serialize(new ArrayList<>(Arrays.asList(Boolean.TRUE, Boolean.FALSE))));
+        committedFutures.get(1).complete(Response.newBuilder().setSuccess(true).setData(results).build());
+        Assert.assertTrue(future2.get().getSuccess());
+        Assert.assertFalse(future3.get().getSuccess());
+        Assert.assertEquals(3, committedRequests.size());
+        Assert.assertFalse(future4.isDone());
+    }
+    
+    @Test
+    public void testGroupCommitFailed() throws Exception {
+        groupCommitter.submit(newRequest("1"));
+        CompletableFuture<Response> future2 = groupCommitter.submit(newRequest("2"));
+        CompletableFuture<Response> future3 = groupCommitter.submit(newRequest("3"));
+        committedFutures.get(0).complete(Response.newBuilder().setSuccess(true).build());
+        committedFutures.get(1).completeExceptionally(new IllegalStateException("test"));
+        assertFailed(future2);
+        assertFailed(future3);
+        CompletableFuture<Response> future4 = groupCommitter.submit(newRequest("4"));
+        Assert.assertEquals(3, committedRequests.size());
+        committedFutures.get(2).complete(Response.newBuilder().setSuccess(true).build());
+        Assert.assertTrue(future4.get().getSuccess());
+    }
+    
+    private void assertFailed(CompletableFuture<Response> future) throws InterruptedException {
+        try {
+            future.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+    
+    private WriteRequest newRequest(String key) {
+        return WriteRequest.newBuilder().setGroup("test").setKey(key).putExtendInfo("k", "v" + key)
+                .setData(ByteString.copyFromUtf8("data" + key)).build();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.storage;
+
+import com.alibaba.nacos.core.exception.KvStorageException;
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * {@link LogKvStorage} unit tests.
+ *
+ * @author Nacos
+ */
+public class LogKvStorageTest {
+    
+    private String baseDir;
+    
+    private String snapshotDir;
+    
+    private LogKvStorage kvStorage;
+    
+    @Before
+    public void setUp() throws Exception {
+        String root = System.getProperty("java.io.tmpdir") + File.separator + "nacos_log_kv_storage_test";
+        FileUtils.deleteDirectory(new File(root));
+        baseDir = root + File.separator + "data";
+        snapshotDir = root + File.separator + "snapshot";
+        kvStorage = new LogKvStorage(baseDir, 1024, 1, 0.3D);
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        kvStorage.shutdown();
+        FileUtils.deleteDirectory(new File(baseDir).getParentFile());
+    }
+    
+    @Test
+    public void testCreateByFactory() throws Exception {
+        KvStorage storage = StorageFactory.createKvStorage(KvStorage.KvType.Log, null, snapshotDir);
+        Assert.assertTrue(storage instanceof LogKvStorage);
+        storage.shutdown();
+    }
+    
+    @Test
+    public void testPutGetAndDelete() throws KvStorageException {
+        kvStorage.put(bytes("key1"), bytes("value1"));
+        kvStorage.batchPut(Arrays.asList(bytes("key2"), bytes("key3")), Arrays.asList(bytes("value2"), bytes("")));
+        Assert.assertEquals("value1", string(kvStorage.get(bytes("key1"))));
+        Assert.assertEquals("", string(kvStorage.get(bytes("key3"))));
+        Map<byte[], byte[]> values = kvStorage.batchGet(Arrays.asList(bytes("key1"), bytes("key2"), bytes("key4")));
+        Assert.assertEquals(2, values.size());
+        
+        kvStorage.batchDelete(Arrays.asList(bytes("key2"), bytes("key4")));
+        kvStorage.delete(bytes("key3"));
+        Assert.assertNull(kvStorage.get(bytes("key2")));
+        Assert.assertNull(kvStorage.get(bytes("key3")));
+        Assert.assertEquals(1, kvStorage.allKeys().size());
+    }
+    
+    @Test(expected = KvStorageException.class)
+    public void testBatchPutWithDifferentSize() throws KvStorageException {
+        kvStorage.batchPut(Arrays.asList(bytes("key1"), bytes("key2")), Arrays.asList(bytes("value1")));
+    }
+    
+    @Test
+    public void testReopen() throws KvStorageException {
+        for (int i = 0; i < 200; i++) {
+            kvStorage.put(bytes("key" + i % 10), bytes("value" + i));
+        }
+        kvStorage.delete(bytes("key0"));
+        kvStorage.shutdown();
+        kvStorage = new LogKvStorage(baseDir, 1024, 1, 0.3D);
+        Assert.assertEquals(9, kvStorage.allKeys().size());
+        Assert.assertNull(kvStorage.get(bytes("key0")));
+        Assert.assertEquals("value199", string(kvStorage.get(bytes("key9"))));
+    }
+    
+    @Test
+    public void testCompact() throws KvStorageException {
+        for (int i = 0; i < 500; i++) {
+            kvStorage.put(bytes("key" + i % 10), bytes("value" + i));
+        }
+        kvStorage.compact();
+        File[] segments = new File(baseDir).listFiles();
+        Assert.assertNotNull(segments);
+        Assert.assertTrue(segments.length <= 3);
+        for (int i = 490; i < 500; i++) {
+            Assert.assertEquals("value" + i, string(kvStorage.get(bytes("key" + i % 10))));
+        }
+    }
+    
+    @Test
+    public void testSnapshot() throws KvStorageException {
+        kvStorage.put(bytes("key1"), bytes("value1"));
+        kvStorage.put(bytes("key2"), bytes("value2"));
+        kvStorage.doSnapshot(snapshotDir);
+        kvStorage.put(bytes("key1"), bytes("changed"));
+        kvStorage.delete(bytes("key2"));
+        kvStorage.put(bytes("key3"), bytes("value3"));
+        
+        kvStorage.snapshotLoad(snapshotDir);
+        Assert.assertEquals("value1", string(kvStorage.get(bytes("key1"))));
+        Assert.assertEquals("value2", string(kvStorage.get(bytes("key2"))));
+        Assert.assertNull(kvStorage.get(bytes("key3")));
+    }
+    
+    @Test
+    public void testMigrateKeyFiles() throws Exception {
+        kvStorage.shutdown();
+        FileUtils.writeByteArrayToFile(new File(baseDir, "legacyKey"), bytes("legacyValue"));
+        kvStorage = new LogKvStorage(baseDir);
+        Assert.assertEquals("legacyValue", string(kvStorage.get(bytes("legacyKey"))));
+        Assert.assertFalse(new File(baseDir, "legacyKey").exists());
+    }
+    
+    @Test
+    public void testTruncateBrokenTail() throws Exception {
+        kvStorage.put(bytes("key1"), bytes("value1"));
+        kvStorage.shutdown();
+        File[] segments = new File(baseDir).listFiles();
+        Assert.assertNotNull(segments);
+        File lastSegment = Arrays.stream(segments).max(Comparator.comparing(File::getName)).get();
+        try (FileOutputStream outputStream = new FileOutputStream(lastSegment, true)) {
+            outputStream.write(new byte[] {1, 2, 3, 4, 5, 6, 7});
+        }
+        kvStorage = new LogKvStorage(baseDir);
+        Assert.assertEquals("value1", string(kvStorage.get(bytes("key1"))));
+        kvStorage.put(bytes("key2"), bytes("value2"));
+        Assert.assertEquals("value2", string(kvStorage.get(bytes("key2"))));
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String string(byte[] value) {
+        return null == value ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Add the indexes of config_info used by paging configs by id to an existing MySQL database, new databases
+-- created by mysql-schema.sql have them already. The embedded Derby database creates them when starting.
+ALTER TABLE `config_info`
+ADD INDEX `idx_configinfo_tenant_id` (`tenant_id`,`id`),
+ADD INDEX `idx_configinfo_tenant_group_id` (`tenant_id`,`group_id`,`id`),
+ADD INDEX `idx_configinfo_tenant_app_id` (`tenant_id`,`app_name`,`id`);
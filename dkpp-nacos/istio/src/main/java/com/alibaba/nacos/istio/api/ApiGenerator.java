@@ -17,6 +17,7 @@
 package com.alibaba.nacos.istio.api;
 
 import com.alibaba.nacos.istio.common.ResourceSnapshot;
+import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
 
 import java.util.List;
 
@@ -34,4 +35,12 @@ public interface ApiGenerator<T> {
      * @return data
      */
     List<T> generate(ResourceSnapshot resourceSnapshot);
+
+    /**
+     * Generate data of the specified service entries, used to push changed resources only.
+     *
+     * @param serviceEntries service entries
+     * @return data, in the same order of service entries
+     */
+    List<T> generate(List<ServiceEntryWrapper> serviceEntries);
 }
@@ -16,13 +16,16 @@
 
 package com.alibaba.nacos.istio.common;
 
+import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.istio.misc.IstioConfig;
 import com.alibaba.nacos.istio.model.IstioService;
 import com.alibaba.nacos.istio.util.IstioExecutor;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author special.fy
@@ -43,6 +46,7 @@ public class NacosResourceManager {
     }
 
     public void start() {
+        NotifyCenter.registerSubscriber(serviceInfoResourceWatcher, NamingEventPublisherFactory.getInstance());
         IstioExecutor.registerNacosResourceWatcher(serviceInfoResourceWatcher, istioConfig.getMcpPushInterval() * 2L,
                 istioConfig.getMcpPushInterval());
     }
@@ -68,9 +72,26 @@ public class NacosResourceManager {
         resourceSnapshot.initResourceSnapshot(this);
     }
 
+    public IstioService getService(String serviceName) {
+        return serviceInfoResourceWatcher.getService(serviceName);
+    }
+
+    /**
+     * Create new resource snapshot, only the services changed since previous snapshot are rebuilt if previous snapshot
+     * is completed.
+     *
+     * @return new resource snapshot
+     */
     public ResourceSnapshot createResourceSnapshot() {
-        ResourceSnapshot resourceSnapshot = new ResourceSnapshot();
-        resourceSnapshot.initResourceSnapshot(this);
+        Set<String> changedServiceNames = serviceInfoResourceWatcher.drainChangedServiceNames();
+        ResourceSnapshot previous = getResourceSnapshot();
+        ResourceSnapshot resourceSnapshot;
+        if (previous.isCompleted()) {
+            resourceSnapshot = ResourceSnapshot.incrementalSnapshot(previous, this, changedServiceNames);
+        } else {
+            resourceSnapshot = new ResourceSnapshot();
+            resourceSnapshot.initResourceSnapshot(this);
+        }
         setResourceSnapshot(resourceSnapshot);
         return resourceSnapshot;
     }
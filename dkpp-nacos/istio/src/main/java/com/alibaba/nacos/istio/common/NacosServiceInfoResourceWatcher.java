@@ -17,35 +17,78 @@
 package com.alibaba.nacos.istio.common;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.istio.misc.IstioConfig;
 import com.alibaba.nacos.istio.model.IstioService;
 import com.alibaba.nacos.istio.util.IstioCrdUtil;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Watch the services of nacos and build istio services.
+ *
+ * <p>Services changed are collected from the naming service events, and only the changed services are rebuilt when
+ * the watcher runs. All services are still checked in interval of full sync, to make up the missed events.
+ *
  * @author special.fy
  */
 @org.springframework.stereotype.Service
-public class NacosServiceInfoResourceWatcher implements Runnable {
+public class NacosServiceInfoResourceWatcher extends SmartSubscriber implements Runnable {
 
     private final Map<String, IstioService> serviceInfoMap = new ConcurrentHashMap<>(16);
 
+    /**
+     * Services changed since last run, reported by naming service events.
+     */
+    private final Set<Service> dirtyServices = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Names of istio services changed or removed since last resource snapshot.
+     */
+    private final Set<String> changedServiceNames = ConcurrentHashMap.newKeySet();
+
+    private long lastFullSyncTime;
+
     @Autowired
     private ServiceStorage serviceStorage;
 
     @Autowired
     private EventProcessor eventProcessor;
 
+    @Autowired
+    private IstioConfig istioConfig;
+
     @Override
     public void run() {
+        boolean changed;
+        long now = System.currentTimeMillis();
+        if (now - lastFullSyncTime >= istioConfig.getFullSyncInterval()) {
+            lastFullSyncTime = now;
+            dirtyServices.clear();
+            changed = fullSync();
+        } else {
+            changed = incrementalSync();
+        }
+
+        if (changed) {
+            eventProcessor.notify(Event.SERVICE_UPDATE_EVENT);
+        }
+    }
+
+    private boolean fullSync() {
         boolean changed = false;
 
         // Query all services to see if any of them have changes.
@@ -58,28 +101,8 @@ public class NacosServiceInfoResourceWatcher implements Runnable {
             }
 
             for (Service service : services) {
-                String serviceName = IstioCrdUtil.buildServiceNameForServiceEntry(service);
-                allServices.add(serviceName);
-
-                IstioService old = serviceInfoMap.get(serviceName);
-                // Service not changed
-                if (old != null && old.getRevision().equals(service.getRevision())) {
-                    continue;
-                }
-
-                // Update the resource
-                changed = true;
-                ServiceInfo serviceInfo = serviceStorage.getPushData(service);
-                if (!serviceInfo.isValid()) {
-                    serviceInfoMap.remove(serviceName);
-                    continue;
-                }
-
-                if (old != null) {
-                    serviceInfoMap.put(serviceName, new IstioService(service, serviceInfo, old));
-                } else {
-                    serviceInfoMap.put(serviceName, new IstioService(service, serviceInfo));
-                }
+                allServices.add(IstioCrdUtil.buildServiceNameForServiceEntry(service));
+                changed |= syncService(service);
             }
         }
 
@@ -87,15 +110,95 @@ public class NacosServiceInfoResourceWatcher implements Runnable {
             if (!allServices.contains(key)) {
                 changed = true;
                 serviceInfoMap.remove(key);
+                changedServiceNames.add(key);
             }
         }
+        return changed;
+    }
 
-        if (changed) {
-            eventProcessor.notify(Event.SERVICE_UPDATE_EVENT);
+    private boolean incrementalSync() {
+        boolean changed = false;
+        for (Service each : dirtyServices) {
+            dirtyServices.remove(each);
+            Optional<Service> service = ServiceManager.getInstance().getSingletonIfExist(each);
+            if (service.isPresent()) {
+                changed |= syncService(service.get());
+                continue;
+            }
+            String serviceName = IstioCrdUtil.buildServiceNameForServiceEntry(each);
+            if (null != serviceInfoMap.remove(serviceName)) {
+                changed = true;
+                changedServiceNames.add(serviceName);
+            }
+        }
+        return changed;
+    }
+
+    private boolean syncService(Service service) {
+        String serviceName = IstioCrdUtil.buildServiceNameForServiceEntry(service);
+        IstioService old = serviceInfoMap.get(serviceName);
+        // Service not changed
+        if (old != null && old.getRevision().equals(service.getRevision())) {
+            return false;
+        }
+
+        // Update the resource
+        changedServiceNames.add(serviceName);
+        ServiceInfo serviceInfo = serviceStorage.getPushData(service);
+        if (!serviceInfo.isValid()) {
+            serviceInfoMap.remove(serviceName);
+            return true;
         }
+
+        if (old != null) {
+            serviceInfoMap.put(serviceName, new IstioService(service, serviceInfo, old));
+        } else {
+            serviceInfoMap.put(serviceName, new IstioService(service, serviceInfo));
+        }
+        return true;
     }
 
     public Map<String, IstioService> snapshot() {
         return new HashMap<>(serviceInfoMap);
     }
+
+    public IstioService getService(String serviceName) {
+        return serviceInfoMap.get(serviceName);
+    }
+
+    /**
+     * Take out the names of istio services changed or removed since last call.
+     *
+     * @return names of changed istio services
+     */
+    public Set<String> drainChangedServiceNames() {
+        Set<String> result = new HashSet<>();
+        for (String each : changedServiceNames) {
+            changedServiceNames.remove(each);
+            result.add(each);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Class<? extends com.alibaba.nacos.common.notify.Event>> subscribeTypes() {
+        List<Class<? extends com.alibaba.nacos.common.notify.Event>> result = new LinkedList<>();
+        result.add(ServiceEvent.ServiceChangedEvent.class);
+        result.add(MetadataEvent.ServiceMetadataEvent.class);
+        return result;
+    }
+
+    @Override
+    public void onEvent(com.alibaba.nacos.common.notify.Event event) {
+        if (event instanceof ServiceEvent) {
+            dirtyServices.add(((ServiceEvent) event).getService());
+        } else if (event instanceof MetadataEvent.ServiceMetadataEvent) {
+            dirtyServices.add(((MetadataEvent.ServiceMetadataEvent) event).getService());
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
 }
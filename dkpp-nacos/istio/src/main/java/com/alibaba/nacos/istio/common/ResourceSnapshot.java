@@ -22,18 +22,25 @@ import com.alibaba.nacos.istio.util.IstioCrdUtil;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Snapshot of istio resources.
+ *
+ * <p>Service entries are kept by service name, so a new snapshot can be created from the previous one by only
+ * rebuilding the changed services.
+ *
  * @author special.fy
  */
 public class ResourceSnapshot {
     private static AtomicLong versionSuffix = new AtomicLong(0);
 
-    private final List<ServiceEntryWrapper> serviceEntries;
+    private final Map<String, ServiceEntryWrapper> serviceEntries;
 
     private boolean isCompleted;
 
@@ -41,7 +48,7 @@ public class ResourceSnapshot {
 
     public ResourceSnapshot() {
         isCompleted = false;
-        serviceEntries = new ArrayList<>();
+        serviceEntries = new HashMap<>(16);
     }
 
     public synchronized void initResourceSnapshot(NacosResourceManager manager) {
@@ -56,6 +63,34 @@ public class ResourceSnapshot {
         isCompleted = true;
     }
 
+    /**
+     * Create a new snapshot from previous one, only the changed services are rebuilt.
+     *
+     * @param previous            previous completed snapshot
+     * @param manager             resource manager
+     * @param changedServiceNames names of services changed or removed since previous snapshot
+     * @return new snapshot
+     */
+    public static ResourceSnapshot incrementalSnapshot(ResourceSnapshot previous, NacosResourceManager manager,
+            Collection<String> changedServiceNames) {
+        ResourceSnapshot result = new ResourceSnapshot();
+        result.serviceEntries.putAll(previous.serviceEntries);
+        String domainSuffix = manager.getIstioConfig().getDomainSuffix();
+        for (String serviceName : changedServiceNames) {
+            IstioService istioService = manager.getService(serviceName);
+            ServiceEntryWrapper serviceEntryWrapper = null == istioService ? null
+                    : IstioCrdUtil.buildServiceEntry(serviceName, domainSuffix, istioService);
+            if (serviceEntryWrapper != null) {
+                result.serviceEntries.put(serviceName, serviceEntryWrapper);
+            } else {
+                result.serviceEntries.remove(serviceName);
+            }
+        }
+        result.generateVersion();
+        result.isCompleted = true;
+        return result;
+    }
+
     private void generateVersion() {
         String time = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX").format(new Date());
         version = time + "/" + versionSuffix.getAndIncrement();
@@ -66,14 +101,32 @@ public class ResourceSnapshot {
        for (String serviceName : serviceInfoMap.keySet()) {
            ServiceEntryWrapper serviceEntryWrapper = IstioCrdUtil.buildServiceEntry(serviceName, manager.getIstioConfig().getDomainSuffix(), serviceInfoMap.get(serviceName));
            if (serviceEntryWrapper != null) {
-               serviceEntries.add(serviceEntryWrapper);
+               serviceEntries.put(serviceName, serviceEntryWrapper);
            }
        }
 
     }
 
+    /**
+     * Find out the service entries which are different from the pushed versions.
+     *
+     * @param pushedVersions versions of service entries pushed, keyed by resource name
+     * @param changed        service entries added or changed
+     * @param removed        names of service entries removed
+     */
+    public void diff(Map<String, String> pushedVersions, List<ServiceEntryWrapper> changed, List<String> removed) {
+        Map<String, String> remainVersions = new HashMap<>(pushedVersions);
+        for (ServiceEntryWrapper each : serviceEntries.values()) {
+            String pushedVersion = remainVersions.remove(each.getName());
+            if (!each.getVersion().equals(pushedVersion)) {
+                changed.add(each);
+            }
+        }
+        removed.addAll(remainVersions.keySet());
+    }
+
     public List<ServiceEntryWrapper> getServiceEntries() {
-        return serviceEntries;
+        return new ArrayList<>(serviceEntries.values());
     }
 
     public boolean isCompleted() {
@@ -16,6 +16,10 @@
 
 package com.alibaba.nacos.istio.common;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author special.fy
  */
@@ -31,6 +35,18 @@ public class WatchedStatus {
 
     private String ackedNonce;
 
+    private boolean incremental;
+
+    /**
+     * Versions of resources acked by connection keyed by resource name, only maintained for incremental push.
+     */
+    private final Map<String, String> resourceVersions = new HashMap<>(16);
+
+    /**
+     * Versions of resources pushed but not acked yet keyed by nonce, the version of removed resource is null.
+     */
+    private final Map<String, Map<String, String>> pendingResourceVersions = new LinkedHashMap<>(4);
+
     public String getType() {
         return type;
     }
@@ -70,4 +86,77 @@ public class WatchedStatus {
     public void setAckedNonce(String ackedNonce) {
         this.ackedNonce = ackedNonce;
     }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public Map<String, String> getResourceVersions() {
+        return resourceVersions;
+    }
+
+    /**
+     * Record the versions of resources pushed with nonce, which are committed only when the nonce is acked.
+     *
+     * @param nonce    nonce of response
+     * @param versions versions of resources keyed by resource name, null version means removed
+     */
+    public void addPendingResourceVersions(String nonce, Map<String, String> versions) {
+        pendingResourceVersions.put(nonce, versions);
+    }
+
+    /**
+     * Commit the versions pushed with nonce after connection acked it.
+     *
+     * @param nonce acked nonce
+     * @return false if the nonce is unknown
+     */
+    public boolean ackResourceVersions(String nonce) {
+        Map<String, String> versions = pendingResourceVersions.remove(nonce);
+        if (versions == null) {
+            return false;
+        }
+        applyVersions(resourceVersions, versions);
+        return true;
+    }
+
+    /**
+     * Drop the versions pushed with nonce after connection rejected it, so the resources are pushed again.
+     *
+     * @param nonce rejected nonce
+     * @return false if the nonce is unknown
+     */
+    public boolean nackResourceVersions(String nonce) {
+        return pendingResourceVersions.remove(nonce) != null;
+    }
+
+    /**
+     * Get the versions of resources known by connection, including the acked ones and the ones pushed but not acked.
+     *
+     * @return versions of resources keyed by resource name
+     */
+    public Map<String, String> getKnownResourceVersions() {
+        if (pendingResourceVersions.isEmpty()) {
+            return resourceVersions;
+        }
+        Map<String, String> result = new HashMap<>(resourceVersions);
+        for (Map<String, String> each : pendingResourceVersions.values()) {
+            applyVersions(result, each);
+        }
+        return result;
+    }
+
+    private static void applyVersions(Map<String, String> target, Map<String, String> versions) {
+        for (Map.Entry<String, String> entry : versions.entrySet()) {
+            if (entry.getValue() == null) {
+                target.remove(entry.getKey());
+            } else {
+                target.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
@@ -18,6 +18,7 @@ package com.alibaba.nacos.istio.mcp;
 
 import com.alibaba.nacos.istio.api.ApiGenerator;
 import com.alibaba.nacos.istio.common.ResourceSnapshot;
+import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
 import istio.mcp.v1alpha1.ResourceOuterClass.Resource;
 
 import java.util.ArrayList;
@@ -45,4 +46,9 @@ public class EmptyMcpGenerator implements ApiGenerator<Resource> {
     public List<Resource> generate(ResourceSnapshot resourceSnapshot) {
         return new ArrayList<>();
     }
+
+    @Override
+    public List<Resource> generate(List<ServiceEntryWrapper> serviceEntries) {
+        return new ArrayList<>();
+    }
 }
@@ -21,6 +21,10 @@ import com.alibaba.nacos.istio.common.WatchedStatus;
 import com.alibaba.nacos.istio.misc.Loggers;
 import io.grpc.stub.StreamObserver;
 import istio.mcp.v1alpha1.Mcp;
+import istio.mcp.v1alpha1.ResourceOuterClass.Resource;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author special.fy
@@ -42,6 +46,18 @@ public class McpConnection extends AbstractConnection<Mcp.Resources> {
         // Update watched status
         watchedStatus.setLatestVersion(response.getSystemVersionInfo());
         watchedStatus.setLatestNonce(response.getNonce());
+        if (response.getIncremental()) {
+            // Versions are committed when the sink acks the nonce.
+            Map<String, String> versions = new HashMap<>(
+                    response.getResourcesCount() + response.getRemovedResourcesCount());
+            for (String each : response.getRemovedResourcesList()) {
+                versions.put(each, null);
+            }
+            for (Resource each : response.getResourcesList()) {
+                versions.put(each.getMetadata().getName(), each.getMetadata().getVersion());
+            }
+            watchedStatus.addPendingResourceVersions(response.getNonce(), versions);
+        }
 
         Loggers.MAIN.info("mcp: push, type: {}, connection-id {}, version {}, nonce {}, resource size {}.",
                 watchedStatus.getType(),
@@ -24,6 +24,7 @@ import com.alibaba.nacos.istio.common.NacosResourceManager;
 import com.alibaba.nacos.istio.common.ResourceSnapshot;
 import com.alibaba.nacos.istio.common.WatchedStatus;
 import com.alibaba.nacos.istio.misc.Loggers;
+import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
 import com.alibaba.nacos.istio.util.NonceGenerator;
 import io.grpc.stub.StreamObserver;
 import istio.mcp.v1alpha1.Mcp;
@@ -32,6 +33,7 @@ import istio.mcp.v1alpha1.ResourceSourceGrpc;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -106,45 +108,70 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
             return;
         }
 
-        Mcp.Resources response = buildMcpResourcesResponse(requestResources.getCollection(), resourceManager.getResourceSnapshot());
-        connection.push(response, connection.getWatchedStatusByType(requestResources.getCollection()));
+        String type = requestResources.getCollection();
+        synchronized (connection) {
+            WatchedStatus watchedStatus = connection.getWatchedStatusByType(type);
+            ResourceSnapshot resourceSnapshot = resourceManager.getResourceSnapshot();
+            Mcp.Resources response = watchedStatus.isIncremental()
+                    ? buildIncrementalMcpResourcesResponse(type, resourceSnapshot, watchedStatus)
+                    : buildMcpResourcesResponse(type, resourceSnapshot);
+            connection.push(response, watchedStatus);
+        }
     }
 
     private boolean shouldPush(Mcp.RequestResources requestResources, AbstractConnection<Mcp.Resources> connection) {
         String type = requestResources.getCollection();
         String connectionId = connection.getConnectionId();
 
+        WatchedStatus watchedStatus = connection.getWatchedStatusByType(type);
+        String nonce = requestResources.getResponseNonce();
         if (requestResources.getErrorDetail().getCode() != 0) {
-            Loggers.MAIN.error("mcp: ACK error, connection-id: {}, code: {}, message: {}",
+            Loggers.MAIN.error("mcp: ACK error, connection-id: {}, nonce: {}, code: {}, message: {}",
                     connectionId,
+                    nonce,
                     requestResources.getErrorDetail().getCode(),
                     requestResources.getErrorDetail().getMessage());
+            if (watchedStatus != null && watchedStatus.isIncremental()) {
+                // The rejected resources are pushed again on next diff.
+                synchronized (connection) {
+                    watchedStatus.nackResourceVersions(nonce);
+                }
+            }
             return false;
         }
 
-        WatchedStatus watchedStatus;
-        if (requestResources.getResponseNonce().isEmpty()) {
+        if (nonce.isEmpty()) {
             Loggers.MAIN.info("mcp: init request, type {}, connection-id {}, is incremental {}",
                     type, connectionId, requestResources.getIncremental());
 
             watchedStatus = new WatchedStatus();
             watchedStatus.setType(type);
+            watchedStatus.setIncremental(requestResources.getIncremental());
             connection.addWatchedResource(type, watchedStatus);
 
             return true;
         }
 
-        watchedStatus = connection.getWatchedStatusByType(type);
         if (watchedStatus == null) {
             Loggers.MAIN.info("mcp: reconnect, type {}, connection-id {}, is incremental {}",
                     type, connectionId, requestResources.getIncremental());
             watchedStatus = new WatchedStatus();
             watchedStatus.setType(type);
+            watchedStatus.setIncremental(requestResources.getIncremental());
             connection.addWatchedResource(type, watchedStatus);
             return true;
         }
 
-        if (!watchedStatus.getLatestNonce().equals(requestResources.getResponseNonce())) {
+        if (watchedStatus.isIncremental()) {
+            // The versions pushed with the nonce are known by sink now.
+            synchronized (connection) {
+                if (!watchedStatus.ackResourceVersions(nonce)) {
+                    Loggers.MAIN.warn("mcp: request dis match, type {}, connection-id {}, nonce {}", type,
+                            connectionId, nonce);
+                    return false;
+                }
+            }
+        } else if (!watchedStatus.getLatestNonce().equals(nonce)) {
             Loggers.MAIN.warn("mcp: request dis match, type {}, connection-id {}", type, connectionId);
             return false;
         }
@@ -165,11 +192,26 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
 
                 Loggers.MAIN.info("xds: event {} trigger push.", event.getType());
 
-                Mcp.Resources serviceEntryMcpResponse = buildMcpResourcesResponse(SERVICE_ENTRY_COLLECTION, resourceSnapshot);
+                Mcp.Resources serviceEntryMcpResponse = null;
 
                 for (AbstractConnection<Mcp.Resources> connection : connections.values()) {
-                    WatchedStatus watchedStatus = connection.getWatchedStatusByType(SERVICE_ENTRY_COLLECTION);
-                    if (watchedStatus != null) {
+                    synchronized (connection) {
+                        WatchedStatus watchedStatus = connection.getWatchedStatusByType(SERVICE_ENTRY_COLLECTION);
+                        if (watchedStatus == null) {
+                            continue;
+                        }
+                        if (watchedStatus.isIncremental()) {
+                            // Only changed service entries are pushed to incremental sink.
+                            Mcp.Resources response = buildIncrementalMcpResourcesResponse(SERVICE_ENTRY_COLLECTION,
+                                    resourceSnapshot, watchedStatus);
+                            if (response.getResourcesCount() != 0 || response.getRemovedResourcesCount() != 0) {
+                                connection.push(response, watchedStatus);
+                            }
+                            continue;
+                        }
+                        if (serviceEntryMcpResponse == null) {
+                            serviceEntryMcpResponse = buildMcpResourcesResponse(SERVICE_ENTRY_COLLECTION, resourceSnapshot);
+                        }
                         connection.push(serviceEntryMcpResponse, watchedStatus);
                     }
                 }
@@ -179,6 +221,28 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
         }
     }
 
+    private Mcp.Resources buildIncrementalMcpResourcesResponse(String type, ResourceSnapshot resourceSnapshot,
+            WatchedStatus watchedStatus) {
+        List<ServiceEntryWrapper> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        if (SERVICE_ENTRY_COLLECTION.equals(type)) {
+            resourceSnapshot.diff(watchedStatus.getKnownResourceVersions(), changed, removed);
+        }
+
+        @SuppressWarnings("unchecked")
+        ApiGenerator<Resource> serviceEntryGenerator = (ApiGenerator<Resource>) apiGeneratorFactory.getApiGenerator(type);
+        List<Resource> rawResources = serviceEntryGenerator.generate(changed);
+
+        String nonce = NonceGenerator.generateNonce();
+        return Mcp.Resources.newBuilder()
+                .setCollection(type)
+                .setIncremental(true)
+                .addAllResources(rawResources)
+                .addAllRemovedResources(removed)
+                .setSystemVersionInfo(resourceSnapshot.getVersion())
+                .setNonce(nonce).build();
+    }
+
     private Mcp.Resources buildMcpResourcesResponse(String type, ResourceSnapshot resourceSnapshot) {
         @SuppressWarnings("unchecked")
         ApiGenerator<Resource> serviceEntryGenerator = (ApiGenerator<Resource>) apiGeneratorFactory.getApiGenerator(type);
@@ -36,6 +36,8 @@ public class IstioConfig {
     private int mcpPushInterval;
     @Value("${nacos.istio.domain.suffix:nacos}")
     private String domainSuffix;
+    @Value("${nacos.istio.full.sync.interval:60000}")
+    private int fullSyncInterval = 60000;
 
     public boolean isServerEnabled() {
         return serverEnabled;
@@ -52,5 +54,9 @@ public class IstioConfig {
     public int getMcpPushInterval() {
         return mcpPushInterval;
     }
+
+    public int getFullSyncInterval() {
+        return fullSyncInterval;
+    }
     
 }
@@ -16,10 +16,16 @@
 
 package com.alibaba.nacos.istio.model;
 
+import com.google.protobuf.Any;
 import istio.mcp.v1alpha1.MetadataOuterClass.Metadata;
+import istio.mcp.v1alpha1.ResourceOuterClass.Resource;
 import istio.networking.v1alpha3.ServiceEntryOuterClass.ServiceEntry;
 
+import static com.alibaba.nacos.istio.api.ApiConstants.SERVICE_ENTRY_PROTO;
+
 /**
+ * Service entry with its metadata, the resources generated from it are cached because service entry is immutable.
+ *
  * @author special.fy
  */
 public class ServiceEntryWrapper {
@@ -28,6 +34,8 @@ public class ServiceEntryWrapper {
 
     private ServiceEntry serviceEntry;
 
+    private volatile Resource mcpResource;
+
     public ServiceEntryWrapper(Metadata metadata, ServiceEntry serviceEntry) {
         this.metadata = metadata;
         this.serviceEntry = serviceEntry;
@@ -40,4 +48,27 @@ public class ServiceEntryWrapper {
     public ServiceEntry getServiceEntry() {
         return serviceEntry;
     }
+
+    public String getName() {
+        return metadata.getName();
+    }
+
+    public String getVersion() {
+        return metadata.getVersion();
+    }
+
+    /**
+     * Get mcp resource of the service entry.
+     *
+     * @return mcp resource
+     */
+    public Resource getMcpResource() {
+        Resource result = mcpResource;
+        if (result == null) {
+            Any any = Any.newBuilder().setValue(serviceEntry.toByteString()).setTypeUrl(SERVICE_ENTRY_PROTO).build();
+            result = Resource.newBuilder().setBody(any).setMetadata(metadata).build();
+            mcpResource = result;
+        }
+        return result;
+    }
 }
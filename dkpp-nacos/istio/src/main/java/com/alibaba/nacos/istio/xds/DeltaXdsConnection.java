@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.xds;
+
+import com.alibaba.nacos.istio.common.AbstractConnection;
+import com.alibaba.nacos.istio.common.WatchedStatus;
+import com.alibaba.nacos.istio.misc.Loggers;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
+import io.grpc.stub.StreamObserver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection of incremental xds, which records the versions of resources pushed to it.
+ *
+ * @author Nacos
+ */
+public class DeltaXdsConnection extends AbstractConnection<DeltaDiscoveryResponse> {
+
+    public DeltaXdsConnection(StreamObserver<DeltaDiscoveryResponse> streamObserver) {
+        super(streamObserver);
+    }
+
+    @Override
+    public synchronized void push(DeltaDiscoveryResponse response, WatchedStatus watchedStatus) {
+        if (Loggers.MAIN.isDebugEnabled()) {
+            Loggers.MAIN.debug("deltaDiscoveryResponse: {}", response.toString());
+        }
+
+        this.streamObserver.onNext(response);
+
+        // Update watched status
+        watchedStatus.setLatestVersion(response.getSystemVersionInfo());
+        watchedStatus.setLatestNonce(response.getNonce());
+        // Versions are committed when the client acks the nonce.
+        Map<String, String> versions = new HashMap<>(
+                response.getResourcesCount() + response.getRemovedResourcesCount());
+        for (String each : response.getRemovedResourcesList()) {
+            versions.put(each, null);
+        }
+        for (Resource each : response.getResourcesList()) {
+            versions.put(each.getName(), each.getVersion());
+        }
+        watchedStatus.addPendingResourceVersions(response.getNonce(), versions);
+
+        Loggers.MAIN.info("delta xds: push, type: {}, connection-id {}, version {}, nonce {}, resource size {}, "
+                        + "removed size {}.",
+                watchedStatus.getType(),
+                getConnectionId(),
+                response.getSystemVersionInfo(),
+                response.getNonce(),
+                response.getResourcesCount(),
+                response.getRemovedResourcesCount());
+    }
+}
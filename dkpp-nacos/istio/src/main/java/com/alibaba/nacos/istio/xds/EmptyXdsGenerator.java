@@ -18,6 +18,7 @@ package com.alibaba.nacos.istio.xds;
 
 import com.alibaba.nacos.istio.api.ApiGenerator;
 import com.alibaba.nacos.istio.common.ResourceSnapshot;
+import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
 import com.google.protobuf.Any;
 
 import java.util.ArrayList;
@@ -45,4 +46,9 @@ public class EmptyXdsGenerator implements ApiGenerator<Any> {
     public List<Any> generate(ResourceSnapshot resourceSnapshot) {
         return new ArrayList<>();
     }
+
+    @Override
+    public List<Any> generate(List<ServiceEntryWrapper> serviceEntries) {
+        return new ArrayList<>();
+    }
 }
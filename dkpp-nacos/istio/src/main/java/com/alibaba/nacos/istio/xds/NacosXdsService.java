@@ -20,15 +20,20 @@ import com.alibaba.nacos.istio.api.ApiGenerator;
 import com.alibaba.nacos.istio.api.ApiGeneratorFactory;
 import com.alibaba.nacos.istio.common.*;
 import com.alibaba.nacos.istio.misc.Loggers;
+import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
 import com.alibaba.nacos.istio.util.NonceGenerator;
 import com.google.protobuf.Any;
 import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
 import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
 import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
 import io.grpc.stub.StreamObserver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,8 +49,10 @@ public class NacosXdsService extends AggregatedDiscoveryServiceGrpc.AggregatedDi
 
     private final Map<String, AbstractConnection<DiscoveryResponse>> connections = new ConcurrentHashMap<>(16);
 
+    private final Map<String, AbstractConnection<DeltaDiscoveryResponse>> deltaConnections = new ConcurrentHashMap<>(16);
+
     public boolean hasClientConnection() {
-        return connections.size() != 0;
+        return connections.size() != 0 || deltaConnections.size() != 0;
     }
 
     @Autowired
@@ -96,6 +103,46 @@ public class NacosXdsService extends AggregatedDiscoveryServiceGrpc.AggregatedDi
         };
     }
 
+    @Override
+    public StreamObserver<DeltaDiscoveryRequest> deltaAggregatedResources(StreamObserver<DeltaDiscoveryResponse> responseObserver) {
+        // Init snapshot of nacos service info.
+        resourceManager.initResourceSnapshot();
+        AbstractConnection<DeltaDiscoveryResponse> newConnection = new DeltaXdsConnection(responseObserver);
+
+        return new StreamObserver<DeltaDiscoveryRequest>() {
+            private boolean initRequest = true;
+
+            @Override
+            public void onNext(DeltaDiscoveryRequest deltaDiscoveryRequest) {
+                // init connection
+                if (initRequest) {
+                    newConnection.setConnectionId(deltaDiscoveryRequest.getNode().getId());
+                    deltaConnections.put(newConnection.getConnectionId(), newConnection);
+                    initRequest = false;
+                }
+
+                processDelta(deltaDiscoveryRequest, newConnection);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Loggers.MAIN.error("delta xds: {} stream error.", newConnection.getConnectionId(), throwable);
+                clear();
+            }
+
+            @Override
+            public void onCompleted() {
+                Loggers.MAIN.info("delta xds: {} stream close.", newConnection.getConnectionId());
+                responseObserver.onCompleted();
+                clear();
+            }
+
+            private void clear() {
+                deltaConnections.remove(newConnection.getConnectionId());
+            }
+        };
+    }
+
     public void process(DiscoveryRequest discoveryRequest, AbstractConnection<DiscoveryResponse> connection) {
         if (!shouldPush(discoveryRequest, connection)) {
             return;
@@ -161,26 +208,109 @@ public class NacosXdsService extends AggregatedDiscoveryServiceGrpc.AggregatedDi
         return false;
     }
 
+    /**
+     * Process delta discovery request, only the resources changed from the versions known by connection are pushed.
+     *
+     * @param deltaDiscoveryRequest delta discovery request
+     * @param connection            connection
+     */
+    public void processDelta(DeltaDiscoveryRequest deltaDiscoveryRequest, AbstractConnection<DeltaDiscoveryResponse> connection) {
+        if (!shouldPushDelta(deltaDiscoveryRequest, connection)) {
+            return;
+        }
+
+        String type = deltaDiscoveryRequest.getTypeUrl();
+        synchronized (connection) {
+            WatchedStatus watchedStatus = connection.getWatchedStatusByType(type);
+            connection.push(buildDeltaDiscoveryResponse(type, resourceManager.getResourceSnapshot(), watchedStatus),
+                    watchedStatus);
+        }
+    }
+
+    private boolean shouldPushDelta(DeltaDiscoveryRequest deltaDiscoveryRequest, AbstractConnection<DeltaDiscoveryResponse> connection) {
+        String type = deltaDiscoveryRequest.getTypeUrl();
+        String connectionId = connection.getConnectionId();
+
+        // Suitable for bug of istio
+        // See https://github.com/istio/istio/pull/34633
+        if (type.equals(MESH_CONFIG_PROTO_PACKAGE)) {
+            Loggers.MAIN.info("delta xds: type {} should be ignored.", type);
+            return false;
+        }
+
+        WatchedStatus watchedStatus = connection.getWatchedStatusByType(type);
+        String nonce = deltaDiscoveryRequest.getResponseNonce();
+        if (deltaDiscoveryRequest.getErrorDetail().getCode() != 0) {
+            Loggers.MAIN.error("delta xds: ACK error, connection-id: {}, nonce: {}, code: {}, message: {}",
+                    connectionId,
+                    nonce,
+                    deltaDiscoveryRequest.getErrorDetail().getCode(),
+                    deltaDiscoveryRequest.getErrorDetail().getMessage());
+            if (watchedStatus != null) {
+                // The rejected resources are pushed again on next diff.
+                synchronized (connection) {
+                    watchedStatus.nackResourceVersions(nonce);
+                }
+            }
+            return false;
+        }
+
+        if (deltaDiscoveryRequest.getResponseNonce().isEmpty() || watchedStatus == null) {
+            Loggers.MAIN.info("delta xds: init request, type {}, connection-id {}, initial resource size {}",
+                    type, connectionId, deltaDiscoveryRequest.getInitialResourceVersionsCount());
+            watchedStatus = new WatchedStatus();
+            watchedStatus.setType(type);
+            watchedStatus.setIncremental(true);
+            // Resources which client already has after reconnecting, only the differences should be pushed.
+            watchedStatus.getResourceVersions().putAll(deltaDiscoveryRequest.getInitialResourceVersionsMap());
+            synchronized (connection) {
+                connection.addWatchedResource(type, watchedStatus);
+            }
+
+            return true;
+        }
+
+        // This request is ack, the versions pushed with the nonce are known by client now.
+        synchronized (connection) {
+            if (!watchedStatus.ackResourceVersions(nonce)) {
+                Loggers.MAIN.warn("delta xds: request dis match, type {}, connection-id {}, nonce {}", type,
+                        connectionId, nonce);
+                return false;
+            }
+            watchedStatus.setAckedVersion(watchedStatus.getLatestVersion());
+            watchedStatus.setAckedNonce(nonce);
+        }
+        Loggers.MAIN.info("delta xds: ack, type {}, connection-id {}, nonce {}", type, connectionId, nonce);
+        return false;
+    }
+
     public void handleEvent(ResourceSnapshot resourceSnapshot, Event event) {
         switch (event.getType()) {
             case Service:
-                if (connections.size() == 0) {
+                if (!hasClientConnection()) {
                     return;
                 }
 
                 Loggers.MAIN.info("xds: event {} trigger push.", event.getType());
 
-                // Service Entry via MCP
-                DiscoveryResponse serviceEntryResponse = buildDiscoveryResponse(SERVICE_ENTRY_PROTO_PACKAGE, resourceSnapshot);
-                // TODO CDS, EDS
-
-                for (AbstractConnection<DiscoveryResponse> connection : connections.values()) {
+                if (connections.size() != 0) {
                     // Service Entry via MCP
-                    WatchedStatus watchedStatus = connection.getWatchedStatusByType(SERVICE_ENTRY_PROTO_PACKAGE);
-                    if (watchedStatus != null) {
-                        connection.push(serviceEntryResponse, watchedStatus);
-                    }
+                    DiscoveryResponse serviceEntryResponse = buildDiscoveryResponse(SERVICE_ENTRY_PROTO_PACKAGE, resourceSnapshot);
                     // TODO CDS, EDS
+
+                    for (AbstractConnection<DiscoveryResponse> connection : connections.values()) {
+                        // Service Entry via MCP
+                        WatchedStatus watchedStatus = connection.getWatchedStatusByType(SERVICE_ENTRY_PROTO_PACKAGE);
+                        if (watchedStatus != null) {
+                            connection.push(serviceEntryResponse, watchedStatus);
+                        }
+                        // TODO CDS, EDS
+                    }
+                }
+
+                // Only changed Service Entries are pushed to delta connections.
+                for (AbstractConnection<DeltaDiscoveryResponse> connection : deltaConnections.values()) {
+                    pushDelta(connection, SERVICE_ENTRY_PROTO_PACKAGE, resourceSnapshot);
                 }
                 break;
             case Endpoint:
@@ -191,6 +321,47 @@ public class NacosXdsService extends AggregatedDiscoveryServiceGrpc.AggregatedDi
         }
     }
 
+    private void pushDelta(AbstractConnection<DeltaDiscoveryResponse> connection, String type, ResourceSnapshot resourceSnapshot) {
+        synchronized (connection) {
+            WatchedStatus watchedStatus = connection.getWatchedStatusByType(type);
+            if (watchedStatus == null) {
+                return;
+            }
+            DeltaDiscoveryResponse response = buildDeltaDiscoveryResponse(type, resourceSnapshot, watchedStatus);
+            // Nothing changed for this connection.
+            if (response.getResourcesCount() == 0 && response.getRemovedResourcesCount() == 0) {
+                return;
+            }
+            connection.push(response, watchedStatus);
+        }
+    }
+
+    private DeltaDiscoveryResponse buildDeltaDiscoveryResponse(String type, ResourceSnapshot resourceSnapshot, WatchedStatus watchedStatus) {
+        List<ServiceEntryWrapper> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        if (SERVICE_ENTRY_PROTO_PACKAGE.equals(type)) {
+            resourceSnapshot.diff(watchedStatus.getKnownResourceVersions(), changed, removed);
+        }
+
+        @SuppressWarnings("unchecked")
+        ApiGenerator<Any> generator = (ApiGenerator<Any>) apiGeneratorFactory.getApiGenerator(type);
+        List<Any> rawResources = generator.generate(changed);
+
+        DeltaDiscoveryResponse.Builder builder = DeltaDiscoveryResponse.newBuilder()
+                .setTypeUrl(type)
+                .addAllRemovedResources(removed)
+                .setSystemVersionInfo(resourceSnapshot.getVersion())
+                .setNonce(NonceGenerator.generateNonce());
+        for (int i = 0; i < rawResources.size(); i++) {
+            ServiceEntryWrapper serviceEntryWrapper = changed.get(i);
+            builder.addResources(Resource.newBuilder()
+                    .setName(serviceEntryWrapper.getName())
+                    .setVersion(serviceEntryWrapper.getVersion())
+                    .setResource(rawResources.get(i)).build());
+        }
+        return builder.build();
+    }
+
     private DiscoveryResponse buildDiscoveryResponse(String type, ResourceSnapshot resourceSnapshot) {
         @SuppressWarnings("unchecked")
         ApiGenerator<Any> serviceEntryGenerator = (ApiGenerator<Any>) apiGeneratorFactory.getApiGenerator(type);
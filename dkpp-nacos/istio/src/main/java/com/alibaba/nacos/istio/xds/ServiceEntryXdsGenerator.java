@@ -20,14 +20,12 @@ import com.alibaba.nacos.istio.api.ApiGenerator;
 import com.alibaba.nacos.istio.common.ResourceSnapshot;
 import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
 import com.google.protobuf.Any;
-import istio.mcp.v1alpha1.MetadataOuterClass.Metadata;
 import istio.mcp.v1alpha1.ResourceOuterClass.Resource;
-import istio.networking.v1alpha3.ServiceEntryOuterClass.ServiceEntry;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.alibaba.nacos.istio.api.ApiConstants.*;
+import static com.alibaba.nacos.istio.api.ApiConstants.MCP_RESOURCE_PROTO;
 
 /**
  * @author special.fy
@@ -49,20 +47,14 @@ public final class ServiceEntryXdsGenerator implements ApiGenerator<Any> {
 
     @Override
     public List<Any> generate(ResourceSnapshot resourceSnapshot) {
-        List<Resource> resources = new ArrayList<>();
+        return generate(resourceSnapshot.getServiceEntries());
+    }
 
-        List<ServiceEntryWrapper> serviceEntries = resourceSnapshot.getServiceEntries();
+    @Override
+    public List<Any> generate(List<ServiceEntryWrapper> serviceEntries) {
+        List<Any> result = new ArrayList<>(serviceEntries.size());
         for (ServiceEntryWrapper serviceEntryWrapper : serviceEntries) {
-            Metadata metadata = serviceEntryWrapper.getMetadata();
-            ServiceEntry serviceEntry = serviceEntryWrapper.getServiceEntry();
-
-            Any any = Any.newBuilder().setValue(serviceEntry.toByteString()).setTypeUrl(SERVICE_ENTRY_PROTO).build();
-
-            resources.add(Resource.newBuilder().setBody(any).setMetadata(metadata).build());
-        }
-
-        List<Any> result = new ArrayList<>();
-        for (Resource resource : resources) {
+            Resource resource = serviceEntryWrapper.getMcpResource();
             result.add(Any.newBuilder().setValue(resource.toByteString()).setTypeUrl(MCP_RESOURCE_PROTO).build());
         }
 
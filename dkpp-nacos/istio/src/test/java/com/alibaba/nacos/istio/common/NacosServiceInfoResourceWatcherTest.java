@@ -0,0 +1,153 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.common;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.istio.misc.IstioConfig;
+import com.alibaba.nacos.istio.util.IstioCrdUtil;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class NacosServiceInfoResourceWatcherTest {
+
+    private static final String NAMESPACE = "istio-watcher-test";
+
+    @Mock
+    private ServiceStorage serviceStorage;
+
+    @Mock
+    private EventProcessor eventProcessor;
+
+    @Mock
+    private IstioConfig istioConfig;
+
+    @InjectMocks
+    private NacosServiceInfoResourceWatcher watcher;
+
+    private Service order;
+
+    private Service user;
+
+    @Before
+    public void setUp() {
+        order = ServiceManager.getInstance().getSingleton(Service.newService(NAMESPACE, "DEFAULT_GROUP", "order"));
+        user = ServiceManager.getInstance().getSingleton(Service.newService(NAMESPACE, "DEFAULT_GROUP", "user"));
+        when(istioConfig.getFullSyncInterval()).thenReturn(Integer.MAX_VALUE);
+        when(serviceStorage.getPushData(any())).thenAnswer(invocation -> {
+            Service service = invocation.getArgument(0);
+            ServiceInfo result = new ServiceInfo();
+            result.setName(service.getName());
+            result.setGroupName(service.getGroup());
+            Instance instance = new Instance();
+            instance.setIp("127.0.0.1");
+            instance.setPort(8080);
+            result.setHosts(Collections.singletonList(instance));
+            return result;
+        });
+        // The first run is full sync.
+        watcher.run();
+    }
+
+    @After
+    public void tearDown() {
+        ServiceManager.getInstance().removeSingleton(order);
+        ServiceManager.getInstance().removeSingleton(user);
+    }
+
+    @Test
+    public void testFullSync() {
+        Assert.assertEquals(new HashSet<>(Arrays.asList(name(order), name(user))),
+                watcher.drainChangedServiceNames());
+        Assert.assertNotNull(watcher.getService(name(order)));
+        Assert.assertNotNull(watcher.getService(name(user)));
+        verify(eventProcessor).notify(Event.SERVICE_UPDATE_EVENT);
+        Assert.assertTrue(watcher.drainChangedServiceNames().isEmpty());
+    }
+
+    @Test
+    public void testIncrementalSyncChangedService() {
+        watcher.drainChangedServiceNames();
+        watcher.onEvent(new ServiceEvent.ServiceChangedEvent(order, true));
+        watcher.run();
+
+        // Only the changed service is rebuilt.
+        Assert.assertEquals(Collections.singleton(name(order)), watcher.drainChangedServiceNames());
+        Assert.assertEquals(order.getRevision(), watcher.getService(name(order)).getRevision().longValue());
+        verify(serviceStorage, times(2)).getPushData(order);
+        verify(serviceStorage, times(1)).getPushData(user);
+        verify(eventProcessor, times(2)).notify(Event.SERVICE_UPDATE_EVENT);
+    }
+
+    @Test
+    public void testIncrementalSyncRemovedService() {
+        watcher.drainChangedServiceNames();
+        ServiceManager.getInstance().removeSingleton(user);
+        watcher.onEvent(new MetadataEvent.ServiceMetadataEvent(user, true));
+        watcher.run();
+
+        Assert.assertEquals(Collections.singleton(name(user)), watcher.drainChangedServiceNames());
+        Assert.assertNull(watcher.getService(name(user)));
+        Assert.assertNotNull(watcher.getService(name(order)));
+        verify(serviceStorage, times(1)).getPushData(order);
+    }
+
+    @Test
+    public void testIncrementalSyncWithoutEvent() {
+        watcher.drainChangedServiceNames();
+        watcher.run();
+        Assert.assertTrue(watcher.drainChangedServiceNames().isEmpty());
+        verify(serviceStorage, times(1)).getPushData(order);
+        verify(eventProcessor, times(1)).notify(Event.SERVICE_UPDATE_EVENT);
+    }
+
+    @Test
+    public void testIncrementalSyncUnchangedRevision() {
+        watcher.drainChangedServiceNames();
+        // Event without revision change, nothing is rebuilt.
+        watcher.onEvent(new ServiceEvent.ServiceChangedEvent(order));
+        watcher.run();
+        Assert.assertTrue(watcher.drainChangedServiceNames().isEmpty());
+        verify(serviceStorage, times(1)).getPushData(order);
+        verify(eventProcessor, times(1)).notify(Event.SERVICE_UPDATE_EVENT);
+    }
+
+    private static String name(Service service) {
+        return IstioCrdUtil.buildServiceNameForServiceEntry(service);
+    }
+}
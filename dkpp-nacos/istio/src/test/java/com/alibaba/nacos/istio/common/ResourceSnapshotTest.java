@@ -0,0 +1,143 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.common;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.istio.misc.IstioConfig;
+import com.alibaba.nacos.istio.model.IstioService;
+import com.alibaba.nacos.istio.model.ServiceEntryWrapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ResourceSnapshotTest {
+
+    @Mock
+    private NacosResourceManager manager;
+
+    @Mock
+    private IstioConfig istioConfig;
+
+    @Before
+    public void setUp() {
+        when(manager.getIstioConfig()).thenReturn(istioConfig);
+        when(istioConfig.getDomainSuffix()).thenReturn("nacos");
+    }
+
+    @Test
+    public void testIncrementalSnapshot() {
+        IstioService order = istioService(1L);
+        IstioService user = istioService(1L);
+        when(manager.getService("order")).thenReturn(order);
+        when(manager.getService("user")).thenReturn(user);
+        ResourceSnapshot first = ResourceSnapshot.incrementalSnapshot(new ResourceSnapshot(), manager,
+                Arrays.asList("order", "user"));
+        Assert.assertTrue(first.isCompleted());
+        Assert.assertEquals(2, first.getServiceEntries().size());
+
+        IstioService newUser = istioService(2L);
+        when(manager.getService("order")).thenReturn(null);
+        when(manager.getService("user")).thenReturn(newUser);
+        ResourceSnapshot second = ResourceSnapshot.incrementalSnapshot(first, manager, Arrays.asList("order", "user"));
+        Assert.assertNotEquals(first.getVersion(), second.getVersion());
+        List<ServiceEntryWrapper> serviceEntries = second.getServiceEntries();
+        Assert.assertEquals(1, serviceEntries.size());
+        Assert.assertEquals("public/user", serviceEntries.get(0).getName());
+        Assert.assertEquals("2", serviceEntries.get(0).getVersion());
+        // previous snapshot is not changed.
+        Assert.assertEquals(2, first.getServiceEntries().size());
+    }
+
+    @Test
+    public void testIncrementalSnapshotKeepUnchanged() {
+        IstioService order = istioService(1L);
+        when(manager.getService("order")).thenReturn(order);
+        ResourceSnapshot first = ResourceSnapshot.incrementalSnapshot(new ResourceSnapshot(), manager,
+                Collections.singletonList("order"));
+        ResourceSnapshot second = ResourceSnapshot.incrementalSnapshot(first, manager, Collections.emptyList());
+        Assert.assertSame(first.getServiceEntries().get(0), second.getServiceEntries().get(0));
+    }
+
+    @Test
+    public void testDiff() {
+        IstioService order = istioService(1L);
+        IstioService user = istioService(2L);
+        IstioService pay = istioService(1L);
+        when(manager.getService("order")).thenReturn(order);
+        when(manager.getService("user")).thenReturn(user);
+        when(manager.getService("pay")).thenReturn(pay);
+        ResourceSnapshot snapshot = ResourceSnapshot.incrementalSnapshot(new ResourceSnapshot(), manager,
+                Arrays.asList("order", "user", "pay"));
+
+        Map<String, String> pushedVersions = new HashMap<>();
+        pushedVersions.put("public/order", "1");
+        pushedVersions.put("public/user", "1");
+        pushedVersions.put("public/stock", "1");
+        List<ServiceEntryWrapper> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        snapshot.diff(pushedVersions, changed, removed);
+
+        List<String> changedNames = new ArrayList<>();
+        for (ServiceEntryWrapper each : changed) {
+            changedNames.add(each.getName());
+        }
+        Collections.sort(changedNames);
+        Assert.assertEquals(Arrays.asList("public/pay", "public/user"), changedNames);
+        Assert.assertEquals(Collections.singletonList("public/stock"), removed);
+        Assert.assertEquals(3, pushedVersions.size());
+    }
+
+    @Test
+    public void testDiffNothingChanged() {
+        IstioService order = istioService(1L);
+        when(manager.getService("order")).thenReturn(order);
+        ResourceSnapshot snapshot = ResourceSnapshot.incrementalSnapshot(new ResourceSnapshot(), manager,
+                Collections.singletonList("order"));
+        List<ServiceEntryWrapper> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        snapshot.diff(Collections.singletonMap("public/order", "1"), changed, removed);
+        Assert.assertTrue(changed.isEmpty());
+        Assert.assertTrue(removed.isEmpty());
+    }
+
+    private static IstioService istioService(long revision) {
+        Instance instance = new Instance();
+        instance.setIp("127.0.0.1");
+        instance.setPort(8080);
+        IstioService result = mock(IstioService.class);
+        when(result.getHosts()).thenReturn(Collections.singletonList(instance));
+        when(result.getNamespace()).thenReturn("public");
+        when(result.getRevision()).thenReturn(revision);
+        when(result.getCreateTimeStamp()).thenReturn(new Date(1000L));
+        return result;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class WatchedStatusTest {
+
+    @Test
+    public void testAckResourceVersions() {
+        WatchedStatus watchedStatus = new WatchedStatus();
+        watchedStatus.getResourceVersions().put("removed", "1");
+        Map<String, String> versions = new HashMap<>();
+        versions.put("changed", "2");
+        versions.put("removed", null);
+        watchedStatus.addPendingResourceVersions("nonce", versions);
+
+        Assert.assertEquals("1", watchedStatus.getResourceVersions().get("removed"));
+        Map<String, String> known = watchedStatus.getKnownResourceVersions();
+        Assert.assertEquals(1, known.size());
+        Assert.assertEquals("2", known.get("changed"));
+
+        Assert.assertFalse(watchedStatus.ackResourceVersions("other"));
+        Assert.assertTrue(watchedStatus.ackResourceVersions("nonce"));
+        Assert.assertEquals(known, watchedStatus.getResourceVersions());
+        Assert.assertFalse(watchedStatus.ackResourceVersions("nonce"));
+    }
+
+    @Test
+    public void testNackResourceVersions() {
+        WatchedStatus watchedStatus = new WatchedStatus();
+        watchedStatus.getResourceVersions().put("service", "1");
+        watchedStatus.addPendingResourceVersions("nonce1", singleton("service", "2"));
+        watchedStatus.addPendingResourceVersions("nonce2", singleton("other", "1"));
+        Assert.assertEquals("2", watchedStatus.getKnownResourceVersions().get("service"));
+
+        Assert.assertTrue(watchedStatus.nackResourceVersions("nonce1"));
+        Assert.assertFalse(watchedStatus.nackResourceVersions("nonce1"));
+        Map<String, String> known = watchedStatus.getKnownResourceVersions();
+        Assert.assertEquals("1", known.get("service"));
+        Assert.assertEquals("1", known.get("other"));
+
+        Assert.assertTrue(watchedStatus.ackResourceVersions("nonce2"));
+        Assert.assertEquals(known, watchedStatus.getResourceVersions());
+    }
+
+    private static Map<String, String> singleton(String name, String version) {
+        Map<String, String> result = new HashMap<>();
+        result.put(name, version);
+        return result;
+    }
+}
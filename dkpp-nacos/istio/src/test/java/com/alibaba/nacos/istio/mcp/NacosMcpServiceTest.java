@@ -0,0 +1,184 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.mcp;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.istio.api.ApiGeneratorFactory;
+import com.alibaba.nacos.istio.common.Event;
+import com.alibaba.nacos.istio.common.NacosResourceManager;
+import com.alibaba.nacos.istio.common.ResourceSnapshot;
+import com.alibaba.nacos.istio.misc.IstioConfig;
+import com.alibaba.nacos.istio.model.IstioService;
+import com.google.rpc.Status;
+import io.grpc.stub.StreamObserver;
+import istio.mcp.v1alpha1.Mcp;
+import istio.mcp.v1alpha1.ResourceOuterClass.Resource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static com.alibaba.nacos.istio.api.ApiConstants.SERVICE_ENTRY_COLLECTION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class NacosMcpServiceTest {
+
+    @Mock
+    private NacosResourceManager resourceManager;
+
+    @Mock
+    private IstioConfig istioConfig;
+
+    @Mock
+    private StreamObserver<Mcp.Resources> responseObserver;
+
+    private NacosMcpService mcpService;
+
+    private StreamObserver<Mcp.RequestResources> stream;
+
+    private ResourceSnapshot snapshot;
+
+    @Before
+    public void setUp() {
+        when(resourceManager.getIstioConfig()).thenReturn(istioConfig);
+        when(istioConfig.getDomainSuffix()).thenReturn("nacos");
+        IstioService order = istioService(1L);
+        IstioService user = istioService(2L);
+        when(resourceManager.getService("order")).thenReturn(order);
+        when(resourceManager.getService("user")).thenReturn(user);
+        snapshot = ResourceSnapshot.incrementalSnapshot(new ResourceSnapshot(), resourceManager,
+                Arrays.asList("order", "user"));
+        when(resourceManager.getResourceSnapshot()).thenReturn(snapshot);
+
+        mcpService = new NacosMcpService();
+        mcpService.apiGeneratorFactory = new ApiGeneratorFactory();
+        mcpService.resourceManager = resourceManager;
+        stream = mcpService.establishResourceStream(responseObserver);
+    }
+
+    @Test
+    public void testIncrementalPush() {
+        stream.onNext(initRequest(true).build());
+        Mcp.Resources response = lastResponse(1);
+        Assert.assertTrue(response.getIncremental());
+        Assert.assertEquals(Arrays.asList("public/order", "public/user"), resourceNames(response));
+        stream.onNext(ackRequest(response.getNonce()).build());
+
+        // Nothing changed after ack, so nothing is pushed.
+        mcpService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        verify(responseObserver, times(1)).onNext(any());
+
+        // Only the changed and removed services are pushed.
+        IstioService user = istioService(3L);
+        when(resourceManager.getService("order")).thenReturn(null);
+        when(resourceManager.getService("user")).thenReturn(user);
+        ResourceSnapshot newSnapshot = ResourceSnapshot.incrementalSnapshot(snapshot, resourceManager,
+                Arrays.asList("order", "user"));
+        mcpService.handleEvent(newSnapshot, Event.SERVICE_UPDATE_EVENT);
+        Mcp.Resources changed = lastResponse(2);
+        Assert.assertEquals(Collections.singletonList("public/user"), resourceNames(changed));
+        Assert.assertEquals(Collections.singletonList("public/order"), changed.getRemovedResourcesList());
+    }
+
+    @Test
+    public void testIncrementalNack() {
+        stream.onNext(initRequest(true).build());
+        Mcp.Resources response = lastResponse(1);
+
+        // Pushed but not acked resources are not pushed again.
+        mcpService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        verify(responseObserver, times(1)).onNext(any());
+
+        stream.onNext(ackRequest(response.getNonce())
+                .setErrorDetail(Status.newBuilder().setCode(13).setMessage("rejected").build()).build());
+        mcpService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        Mcp.Resources resent = lastResponse(2);
+        Assert.assertEquals(Arrays.asList("public/order", "public/user"), resourceNames(resent));
+    }
+
+    @Test
+    public void testIncrementalStaleNonce() {
+        stream.onNext(initRequest(true).build());
+        lastResponse(1);
+
+        stream.onNext(ackRequest("stale-nonce").build());
+        mcpService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        verify(responseObserver, times(1)).onNext(any());
+    }
+
+    @Test
+    public void testFullPush() {
+        stream.onNext(initRequest(false).build());
+        Mcp.Resources response = lastResponse(1);
+        Assert.assertFalse(response.getIncremental());
+        stream.onNext(ackRequest(response.getNonce()).setIncremental(false).build());
+
+        // Sink not asking for incremental receives all resources on every event.
+        mcpService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        Assert.assertEquals(Arrays.asList("public/order", "public/user"), resourceNames(lastResponse(2)));
+    }
+
+    private Mcp.RequestResources.Builder initRequest(boolean incremental) {
+        return Mcp.RequestResources.newBuilder().setSinkNode(Mcp.SinkNode.newBuilder().setId("sink").build())
+                .setCollection(SERVICE_ENTRY_COLLECTION).setIncremental(incremental);
+    }
+
+    private Mcp.RequestResources.Builder ackRequest(String nonce) {
+        return initRequest(true).setResponseNonce(nonce);
+    }
+
+    private Mcp.Resources lastResponse(int times) {
+        ArgumentCaptor<Mcp.Resources> captor = ArgumentCaptor.forClass(Mcp.Resources.class);
+        verify(responseObserver, times(times)).onNext(captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<String> resourceNames(Mcp.Resources response) {
+        List<String> result = new ArrayList<>();
+        for (Resource each : response.getResourcesList()) {
+            result.add(each.getMetadata().getName());
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static IstioService istioService(long revision) {
+        Instance instance = new Instance();
+        instance.setIp("127.0.0.1");
+        instance.setPort(8080);
+        IstioService result = mock(IstioService.class);
+        when(result.getHosts()).thenReturn(Collections.singletonList(instance));
+        when(result.getNamespace()).thenReturn("public");
+        when(result.getRevision()).thenReturn(revision);
+        when(result.getCreateTimeStamp()).thenReturn(new Date(1000L));
+        return result;
+    }
+}
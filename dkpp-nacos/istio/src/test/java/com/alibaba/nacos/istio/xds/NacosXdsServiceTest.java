@@ -0,0 +1,198 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.xds;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.istio.api.ApiGeneratorFactory;
+import com.alibaba.nacos.istio.common.Event;
+import com.alibaba.nacos.istio.common.NacosResourceManager;
+import com.alibaba.nacos.istio.common.ResourceSnapshot;
+import com.alibaba.nacos.istio.misc.IstioConfig;
+import com.alibaba.nacos.istio.model.IstioService;
+import com.google.rpc.Status;
+import io.envoyproxy.envoy.config.core.v3.Node;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
+import io.grpc.stub.StreamObserver;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static com.alibaba.nacos.istio.api.ApiConstants.SERVICE_ENTRY_PROTO_PACKAGE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class NacosXdsServiceTest {
+
+    @Mock
+    private NacosResourceManager resourceManager;
+
+    @Mock
+    private IstioConfig istioConfig;
+
+    @Mock
+    private StreamObserver<DeltaDiscoveryResponse> responseObserver;
+
+    private NacosXdsService xdsService;
+
+    private StreamObserver<DeltaDiscoveryRequest> stream;
+
+    private ResourceSnapshot snapshot;
+
+    @Before
+    public void setUp() {
+        when(resourceManager.getIstioConfig()).thenReturn(istioConfig);
+        when(istioConfig.getDomainSuffix()).thenReturn("nacos");
+        IstioService order = istioService(1L);
+        IstioService user = istioService(2L);
+        when(resourceManager.getService("order")).thenReturn(order);
+        when(resourceManager.getService("user")).thenReturn(user);
+        snapshot = ResourceSnapshot.incrementalSnapshot(new ResourceSnapshot(), resourceManager,
+                Arrays.asList("order", "user"));
+        when(resourceManager.getResourceSnapshot()).thenReturn(snapshot);
+
+        xdsService = new NacosXdsService();
+        xdsService.apiGeneratorFactory = new ApiGeneratorFactory();
+        xdsService.resourceManager = resourceManager;
+        stream = xdsService.deltaAggregatedResources(responseObserver);
+    }
+
+    @Test
+    public void testProcessDeltaInitialResourceVersions() {
+        DeltaDiscoveryRequest request = initRequest().putInitialResourceVersions("public/order", "1")
+                .putInitialResourceVersions("public/stock", "1").build();
+        stream.onNext(request);
+
+        DeltaDiscoveryResponse response = lastResponse(1);
+        Assert.assertEquals(Collections.singletonList("public/user"), resourceNames(response));
+        Assert.assertEquals(Collections.singletonList("public/stock"), response.getRemovedResourcesList());
+    }
+
+    @Test
+    public void testProcessDeltaAck() {
+        stream.onNext(initRequest().build());
+        DeltaDiscoveryResponse response = lastResponse(1);
+        Assert.assertEquals(Arrays.asList("public/order", "public/user"), resourceNames(response));
+        stream.onNext(ackRequest(response.getNonce()).build());
+
+        // Nothing changed after ack, so nothing is pushed.
+        xdsService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        verify(responseObserver, times(1)).onNext(any());
+
+        // Only the changed service is pushed.
+        IstioService user = istioService(3L);
+        when(resourceManager.getService("user")).thenReturn(user);
+        ResourceSnapshot newSnapshot = ResourceSnapshot.incrementalSnapshot(snapshot, resourceManager,
+                Collections.singletonList("user"));
+        xdsService.handleEvent(newSnapshot, Event.SERVICE_UPDATE_EVENT);
+        DeltaDiscoveryResponse changed = lastResponse(2);
+        Assert.assertEquals(Collections.singletonList("public/user"), resourceNames(changed));
+        Assert.assertEquals("3", changed.getResources(0).getVersion());
+    }
+
+    @Test
+    public void testProcessDeltaNack() {
+        stream.onNext(initRequest().build());
+        DeltaDiscoveryResponse response = lastResponse(1);
+
+        // Pushed but not acked resources are not pushed again.
+        xdsService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        verify(responseObserver, times(1)).onNext(any());
+
+        stream.onNext(nackRequest(response.getNonce()));
+        // The NACK itself triggers no push.
+        verify(responseObserver, times(1)).onNext(any());
+
+        // The rejected resources are pushed again by next diff.
+        xdsService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        DeltaDiscoveryResponse resent = lastResponse(2);
+        Assert.assertEquals(Arrays.asList("public/order", "public/user"), resourceNames(resent));
+        Assert.assertNotEquals(response.getNonce(), resent.getNonce());
+    }
+
+    @Test
+    public void testProcessDeltaStaleNonce() {
+        stream.onNext(initRequest().build());
+        DeltaDiscoveryResponse response = lastResponse(1);
+
+        stream.onNext(ackRequest("stale-nonce").build());
+        stream.onNext(nackRequest("stale-nonce"));
+        xdsService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        verify(responseObserver, times(1)).onNext(any());
+
+        // The versions pushed with the real nonce are still pending, and dropped by its NACK.
+        stream.onNext(nackRequest(response.getNonce()));
+        xdsService.handleEvent(snapshot, Event.SERVICE_UPDATE_EVENT);
+        Assert.assertEquals(Arrays.asList("public/order", "public/user"), resourceNames(lastResponse(2)));
+    }
+
+    private DeltaDiscoveryRequest.Builder initRequest() {
+        return DeltaDiscoveryRequest.newBuilder().setNode(Node.newBuilder().setId("node").build())
+                .setTypeUrl(SERVICE_ENTRY_PROTO_PACKAGE);
+    }
+
+    private DeltaDiscoveryRequest.Builder ackRequest(String nonce) {
+        return initRequest().setResponseNonce(nonce);
+    }
+
+    private DeltaDiscoveryRequest nackRequest(String nonce) {
+        return ackRequest(nonce).setErrorDetail(Status.newBuilder().setCode(13).setMessage("rejected").build())
+                .build();
+    }
+
+    private DeltaDiscoveryResponse lastResponse(int times) {
+        ArgumentCaptor<DeltaDiscoveryResponse> captor = ArgumentCaptor.forClass(DeltaDiscoveryResponse.class);
+        verify(responseObserver, times(times)).onNext(captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<String> resourceNames(DeltaDiscoveryResponse response) {
+        List<String> result = new ArrayList<>();
+        for (Resource each : response.getResourcesList()) {
+            result.add(each.getName());
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static IstioService istioService(long revision) {
+        Instance instance = new Instance();
+        instance.setIp("127.0.0.1");
+        instance.setPort(8080);
+        IstioService result = mock(IstioService.class);
+        when(result.getHosts()).thenReturn(Collections.singletonList(instance));
+        when(result.getNamespace()).thenReturn("public");
+        when(result.getRevision()).thenReturn(revision);
+        when(result.getCreateTimeStamp()).thenReturn(new Date(1000L));
+        return result;
+    }
+}
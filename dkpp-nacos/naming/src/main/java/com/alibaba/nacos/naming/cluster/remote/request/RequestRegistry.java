@@ -35,6 +35,7 @@ public class RequestRegistry {
         HashSet<Class<? extends Payload>> payloads = new HashSet<>();
         payloads.add(AbstractClusterRequest.class);
         payloads.add(DistroDataRequest.class);
+        payloads.add(DistroDataBatchRequest.class);
         return payloads;
     }
     
@@ -33,6 +33,7 @@ public class ResponseRegistry {
     private static Set<Class<? extends Payload>> getPayload() {
         HashSet<Class<? extends Payload>> payloads = new HashSet<>();
         payloads.add(DistroDataResponse.class);
+        payloads.add(DistroDataBatchResponse.class);
         return payloads;
     }
     
@@ -19,7 +19,12 @@ package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.MemberChangeListener;
+import com.alibaba.nacos.core.cluster.MembersChangeEvent;
+import com.alibaba.nacos.core.distributed.distro.DistroConfig;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
@@ -30,6 +35,7 @@ import com.alibaba.nacos.naming.constants.ClientConstants;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncData;
+import com.alibaba.nacos.naming.core.v2.client.ClientSyncDelta;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncDatumSnapshot;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
@@ -45,10 +51,18 @@ import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.apache.commons.collections.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Distro processor for v2.
@@ -59,16 +73,32 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
     
     public static final String TYPE = "Nacos:Naming:v2:ClientData";
     
+    public static final String DELTA_TYPE = "Nacos:Naming:v2:ClientDataDelta";
+    
     private final ClientManager clientManager;
     
     private final DistroProtocol distroProtocol;
     
     private volatile boolean isFinishInitial;
     
+    /**
+     * Client data which has been synced to each target server, as the base of next delta sync.
+     */
+    private final Map<String, SyncedClientState> syncedClientData = new ConcurrentHashMap<>();
+    
+    private final MemberChangeListener memberChangeListener = new MemberChangeListener() {
+        
+        @Override
+        public void onEvent(MembersChangeEvent event) {
+            removeSyncedStateOfLeftMembers(event.getMembers());
+        }
+    };
+    
     public DistroClientDataProcessor(ClientManager clientManager, DistroProtocol distroProtocol) {
         this.clientManager = clientManager;
         this.distroProtocol = distroProtocol;
         NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+        NotifyCenter.registerSubscriber(memberChangeListener);
     }
     
     @Override
@@ -108,6 +138,8 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
             return;
         }
         DistroKey distroKey = new DistroKey(client.getClientId(), TYPE);
+        // Target server has different data with base of delta, full data should be synced.
+        resetSyncedState(new DistroKey(client.getClientId(), TYPE, event.getTargetServer()));
         // Verify failed data should be sync directly.
         distroProtocol.syncToTarget(distroKey, DataOperation.ADD, event.getTargetServer(), 0L);
     }
@@ -118,6 +150,7 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
             return;
         }
         if (event instanceof ClientEvent.ClientDisconnectEvent) {
+            syncedClientData.remove(client.getClientId());
             DistroKey distroKey = new DistroKey(client.getClientId(), TYPE);
             distroProtocol.sync(distroKey, DataOperation.DELETE);
         } else if (event instanceof ClientEvent.ClientChangedEvent) {
@@ -196,6 +229,67 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         client.setRevision(clientSyncData.getAttributes().<Integer>getClientAttribute(ClientConstants.REVISION, 0));
     }
     
+    /**
+     * Process delta data of client.
+     *
+     * <p>Delta can only be applied on the same revision which it based on, otherwise the delta will be rejected and the
+     * source server will sync full data of client by retry.
+     *
+     * @param distroData distro data with {@link ClientSyncDelta} content
+     * @return {@code true} if delta applied, otherwise {@code false}
+     */
+    public boolean processDelta(DistroData distroData) {
+        ClientSyncDelta delta = ApplicationUtils.getBean(Serializer.class)
+                .deserialize(distroData.getContent(), ClientSyncDelta.class);
+        Client client = clientManager.getClient(delta.getClientId());
+        if (null == client || client.getRevision() != delta.getBaseRevision()) {
+            Loggers.DISTRO.info("[Client-Delta] Reject distro client delta {}, base revision={}, local revision={}",
+                    delta.getClientId(), delta.getBaseRevision(), null == client ? null : client.getRevision());
+            return false;
+        }
+        BatchInstanceData batchInstanceData = delta.getBatchInstanceData();
+        boolean hasBatch = null != batchInstanceData && CollectionUtils.isNotEmpty(batchInstanceData.getNamespaces());
+        Loggers.DISTRO.info("[Client-Delta] Received distro client delta {}, revision={}, changed={}, removed={}",
+                delta.getClientId(), delta.getRevision(),
+                delta.getNamespaces().size() + (hasBatch ? batchInstanceData.getNamespaces().size() : 0),
+                delta.getRemovedNamespaces().size());
+        applyDeltaChanged(client, delta.getNamespaces(), delta.getGroupNames(), delta.getServiceNames(),
+                delta.getInstancePublishInfos());
+        if (hasBatch) {
+            applyDeltaChanged(client, batchInstanceData.getNamespaces(), batchInstanceData.getGroupNames(),
+                    batchInstanceData.getServiceNames(), batchInstanceData.getBatchInstancePublishInfos());
+        }
+        for (int i = 0; i < delta.getRemovedNamespaces().size(); i++) {
+            Optional<Service> service = ServiceManager.getInstance()
+                    .getSingletonIfExist(delta.getRemovedNamespaces().get(i), delta.getRemovedGroupNames().get(i),
+                            delta.getRemovedServiceNames().get(i));
+            if (service.isPresent() && null != client.removeServiceInstance(service.get())) {
+                NotifyCenter.publishEvent(
+                        new ClientOperationEvent.ClientDeregisterServiceEvent(service.get(), client.getClientId()));
+            }
+        }
+        client.setRevision(delta.getRevision());
+        return true;
+    }
+    
+    private static void applyDeltaChanged(Client client, List<String> namespaces, List<String> groupNames,
+            List<String> serviceNames, List<? extends InstancePublishInfo> instances) {
+        for (int i = 0; i < instances.size(); i++) {
+            Service service = Service.newService(namespaces.get(i), groupNames.get(i), serviceNames.get(i));
+            Service singleton = ServiceManager.getInstance().getSingleton(service);
+            InstancePublishInfo instancePublishInfo = instances.get(i);
+            if (!instancePublishInfo.equals(client.getInstancePublishInfo(singleton))) {
+                client.addServiceInstance(singleton, instancePublishInfo);
+                NotifyCenter.publishEvent(
+                        new ClientOperationEvent.ClientRegisterServiceEvent(singleton, client.getClientId()));
+                if (!(instancePublishInfo instanceof BatchInstancePublishInfo)) {
+                    NotifyCenter.publishEvent(new MetadataEvent.InstanceMetadataEvent(singleton,
+                            instancePublishInfo.getMetadataId(), false));
+                }
+            }
+        }
+    }
+    
     private static void processBatchInstanceDistroData(Set<Service> syncedService, Client client,
             ClientSyncData clientSyncData) {
         BatchInstanceData batchInstanceData = clientSyncData.getBatchInstanceData();
@@ -250,24 +344,94 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         if (null == client) {
             return null;
         }
-        byte[] data = ApplicationUtils.getBean(Serializer.class).serialize(client.generateSyncData());
-        return new DistroData(distroKey, data);
+        Serializer serializer = ApplicationUtils.getBean(Serializer.class);
+        ClientSyncData clientSyncData = client.generateSyncData();
+        String targetServer = distroKey.getTargetServer();
+        if (!DistroConfig.getInstance().isSyncDeltaEnabled() || StringUtils.isBlank(targetServer)) {
+            return new DistroData(distroKey, serializer.serialize(clientSyncData));
+        }
+        SyncedClientData current = new SyncedClientData(clientSyncData);
+        SyncedClientData synced = syncedClientData
+                .computeIfAbsent(client.getClientId(), clientId -> new SyncedClientState())
+                .put(targetServer, current);
+        if (null == synced) {
+            return new DistroData(distroKey, serializer.serialize(clientSyncData));
+        }
+        ClientSyncDelta delta = synced.diff(client.getClientId(), current);
+        DistroKey deltaKey = new DistroKey(distroKey.getResourceKey(), DELTA_TYPE, targetServer);
+        return new DistroData(deltaKey, serializer.serialize(delta));
+    }
+    
+    /**
+     * Reset synced state of client to target server, so that full data will be synced to target server next time.
+     *
+     * @param distroKey distro key of client with target server
+     */
+    public void resetSyncedState(DistroKey distroKey) {
+        SyncedClientState syncedState = syncedClientData.get(distroKey.getResourceKey());
+        if (null != syncedState && null != distroKey.getTargetServer()) {
+            syncedState.remove(distroKey.getTargetServer());
+        }
+    }
+    
+    /**
+     * Remove synced state of target servers which are not members any more, full data will be synced if they rejoin.
+     *
+     * @param members current members
+     */
+    void removeSyncedStateOfLeftMembers(Collection<Member> members) {
+        Set<String> addresses = new HashSet<>();
+        for (Member each : members) {
+            addresses.add(each.getAddress());
+        }
+        for (Map.Entry<String, SyncedClientState> entry : syncedClientData.entrySet()) {
+            if (entry.getValue().retainTargets(addresses)) {
+                syncedClientData.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Get the count of distinct synced client data of client, for test.
+     *
+     * @param clientId client id
+     * @return count of distinct synced client data
+     */
+    int getSyncedDataCount(String clientId) {
+        SyncedClientState syncedState = syncedClientData.get(clientId);
+        return null == syncedState ? 0 : syncedState.distinctDataCount();
     }
     
     @Override
     public DistroData getDatumSnapshot() {
+        return getDatumSnapshot(null, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public DistroData getDatumSnapshot(String startKey, int maxCount) {
+        int limit = Math.max(1, maxCount);
+        List<String> clientIds = new ArrayList<>(clientManager.allClientId());
+        clientIds.sort(String::compareTo);
         List<ClientSyncData> datum = new LinkedList<>();
-        for (String each : clientManager.allClientId()) {
+        String nextKey = DataOperation.SNAPSHOT.name();
+        for (String each : clientIds) {
+            if (StringUtils.isNotEmpty(startKey) && each.compareTo(startKey) <= 0) {
+                continue;
+            }
             Client client = clientManager.getClient(each);
             if (null == client || !client.isEphemeral()) {
                 continue;
             }
+            if (datum.size() >= limit) {
+                nextKey = datum.get(datum.size() - 1).getClientId();
+                break;
+            }
             datum.add(client.generateSyncData());
         }
         ClientSyncDatumSnapshot snapshot = new ClientSyncDatumSnapshot();
         snapshot.setClientSyncDataList(datum);
         byte[] data = ApplicationUtils.getBean(Serializer.class).serialize(snapshot);
-        return new DistroData(new DistroKey(DataOperation.SNAPSHOT.name(), TYPE), data);
+        return new DistroData(new DistroKey(nextKey, TYPE), data);
     }
     
     @Override
@@ -293,4 +457,93 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         }
         return result;
     }
+    
+    /**
+     * Client data synced to each target server, the same data synced to several target servers is shared.
+     */
+    private static class SyncedClientState {
+        
+        private final Map<String, SyncedClientData> targets = new HashMap<>(4);
+        
+        private synchronized SyncedClientData put(String targetServer, SyncedClientData current) {
+            SyncedClientData shared = current;
+            for (SyncedClientData each : targets.values()) {
+                if (each.sameAs(current)) {
+                    shared = each;
+                    break;
+                }
+            }
+            return targets.put(targetServer, shared);
+        }
+        
+        private synchronized void remove(String targetServer) {
+            targets.remove(targetServer);
+        }
+        
+        /**
+         * Retain the targets in addresses.
+         *
+         * @return {@code true} if no target left
+         */
+        private synchronized boolean retainTargets(Set<String> addresses) {
+            targets.keySet().retainAll(addresses);
+            return targets.isEmpty();
+        }
+        
+        private synchronized int distinctDataCount() {
+            Set<SyncedClientData> result = Collections.newSetFromMap(new IdentityHashMap<>(4));
+            result.addAll(targets.values());
+            return result.size();
+        }
+    }
+    
+    /**
+     * Published instances of client which has been synced to target server.
+     */
+    private static class SyncedClientData {
+        
+        private final long revision;
+        
+        private final Map<Service, InstancePublishInfo> publishers = new HashMap<>();
+        
+        private SyncedClientData(ClientSyncData clientSyncData) {
+            this.revision = clientSyncData.getAttributes().<Number>getClientAttribute(ClientConstants.REVISION, 0L)
+                    .longValue();
+            addPublishers(clientSyncData.getNamespaces(), clientSyncData.getGroupNames(),
+                    clientSyncData.getServiceNames(), clientSyncData.getInstancePublishInfos());
+            BatchInstanceData batchInstanceData = clientSyncData.getBatchInstanceData();
+            if (null != batchInstanceData && CollectionUtils.isNotEmpty(batchInstanceData.getNamespaces())) {
+                addPublishers(batchInstanceData.getNamespaces(), batchInstanceData.getGroupNames(),
+                        batchInstanceData.getServiceNames(), batchInstanceData.getBatchInstancePublishInfos());
+            }
+        }
+        
+        private void addPublishers(List<String> namespaces, List<String> groupNames, List<String> serviceNames,
+                List<? extends InstancePublishInfo> instances) {
+            for (int i = 0; i < namespaces.size(); i++) {
+                publishers.put(Service.newService(namespaces.get(i), groupNames.get(i), serviceNames.get(i)),
+                        instances.get(i));
+            }
+        }
+        
+        private boolean sameAs(SyncedClientData other) {
+            return revision == other.revision && publishers.equals(other.publishers);
+        }
+        
+        private ClientSyncDelta diff(String clientId, SyncedClientData current) {
+            ClientSyncDelta result = new ClientSyncDelta(clientId, revision, current.revision);
+            for (Map.Entry<Service, InstancePublishInfo> entry : current.publishers.entrySet()) {
+                if (!entry.getValue().equals(publishers.get(entry.getKey()))) {
+                    Service service = entry.getKey();
+                    result.addChanged(service.getNamespace(), service.getGroup(), service.getName(), entry.getValue());
+                }
+            }
+            for (Service each : publishers.keySet()) {
+                if (!current.publishers.containsKey(each)) {
+                    result.addRemoved(each.getNamespace(), each.getGroup(), each.getName());
+                }
+            }
+            return result;
+        }
+    }
 }
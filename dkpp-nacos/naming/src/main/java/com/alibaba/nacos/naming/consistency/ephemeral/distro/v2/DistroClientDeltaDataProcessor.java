@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+
+/**
+ * Distro processor for delta data of v2 client, which is only used to receive sync data.
+ *
+ * @author Nacos
+ */
+public class DistroClientDeltaDataProcessor implements DistroDataProcessor {
+    
+    private final DistroClientDataProcessor clientDataProcessor;
+    
+    public DistroClientDeltaDataProcessor(DistroClientDataProcessor clientDataProcessor) {
+        this.clientDataProcessor = clientDataProcessor;
+    }
+    
+    @Override
+    public String processType() {
+        return DistroClientDataProcessor.DELTA_TYPE;
+    }
+    
+    @Override
+    public boolean processData(DistroData distroData) {
+        switch (distroData.getType()) {
+            case ADD:
+            case CHANGE:
+                return clientDataProcessor.processDelta(distroData);
+            default:
+                return false;
+        }
+    }
+    
+    @Override
+    public boolean processVerifyData(DistroData distroData, String sourceAddress) {
+        return clientDataProcessor.processVerifyData(distroData, sourceAddress);
+    }
+    
+    @Override
+    public boolean processSnapshot(DistroData distroData) {
+        return clientDataProcessor.processSnapshot(distroData);
+    }
+}
@@ -32,12 +32,24 @@ public class DistroClientTaskFailedHandler implements DistroFailedTaskHandler {
     
     private final DistroTaskEngineHolder distroTaskEngineHolder;
     
+    private final DistroClientDataProcessor dataProcessor;
+    
     public DistroClientTaskFailedHandler(DistroTaskEngineHolder distroTaskEngineHolder) {
+        this(distroTaskEngineHolder, null);
+    }
+    
+    public DistroClientTaskFailedHandler(DistroTaskEngineHolder distroTaskEngineHolder,
+            DistroClientDataProcessor dataProcessor) {
         this.distroTaskEngineHolder = distroTaskEngineHolder;
+        this.dataProcessor = dataProcessor;
     }
     
     @Override
     public void retry(DistroKey distroKey, DataOperation action) {
+        if (null != dataProcessor) {
+            // Target server might not have the base of delta, retry with full data.
+            dataProcessor.resetSyncedState(distroKey);
+        }
         DistroDelayTask retryTask = new DistroDelayTask(distroKey, action,
                 DistroConfig.getInstance().getSyncRetryDelayMillis());
         distroTaskEngineHolder.getDelayTaskExecuteEngine().addTask(distroKey, retryTask);
@@ -32,14 +32,24 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.exception.DistroException;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroDataBatchRequest;
 import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroDataBatchResponse;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.monitor.NamingTpsMonitor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Distro transport agent for v2.
@@ -52,6 +62,8 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
     
     private final ServerMemberManager memberManager;
     
+    private final Map<String, DistroSyncBatcher> syncBatchers = new ConcurrentHashMap<>();
+    
     public DistroClientTransportAgent(ClusterRpcClientProxy clusterRpcClientProxy,
             ServerMemberManager serverMemberManager) {
         this.clusterRpcClientProxy = clusterRpcClientProxy;
@@ -91,7 +103,6 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
             callback.onSuccess();
             return;
         }
-        DistroDataRequest request = new DistroDataRequest(data, data.getType());
         Member member = memberManager.find(targetServer);
         if (checkTargetServerStatusUnhealthy(member)) {
             Loggers.DISTRO
@@ -100,6 +111,16 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
             callback.onFailed(null);
             return;
         }
+        DistroSyncBatcher batcher = syncBatchers.computeIfAbsent(targetServer, DistroSyncBatcher::new);
+        if (DistroConfig.getInstance().getSyncBatchSize() <= 1 || batcher.batchUnsupported) {
+            asyncSyncData(member, data, callback);
+            return;
+        }
+        batcher.submit(new DistroSyncItem(data, callback));
+    }
+    
+    private void asyncSyncData(Member member, DistroData data, DistroCallback callback) {
+        DistroDataRequest request = new DistroDataRequest(data, data.getType());
         try {
             clusterRpcClientProxy.asyncRequest(member, request, new DistroRpcCallbackWrapper(callback, member));
         } catch (NacosException nacosException) {
@@ -184,6 +205,11 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
     
     @Override
     public DistroData getDatumSnapshot(String targetServer) {
+        return getDatumSnapshot(targetServer, "");
+    }
+    
+    @Override
+    public DistroData getDatumSnapshot(String targetServer, String startKey) {
         Member member = memberManager.find(targetServer);
         if (checkTargetServerStatusUnhealthy(member)) {
             throw new DistroException(
@@ -191,6 +217,8 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
         DistroDataRequest request = new DistroDataRequest();
         request.setDataOperation(DataOperation.SNAPSHOT);
+        // Server of old version ignores the start key and response full snapshot.
+        request.setDistroData(new DistroData(new DistroKey(startKey, DistroClientDataProcessor.TYPE), null));
         try {
             Response response = clusterRpcClientProxy
                     .sendRequest(member, request, DistroConfig.getInstance().getLoadDataTimeoutMillis());
@@ -256,6 +284,190 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    private static class DistroSyncItem {
+        
+        private final DistroData data;
+        
+        private final DistroCallback callback;
+        
+        private DistroSyncItem(DistroData data, DistroCallback callback) {
+            this.data = data;
+            this.callback = callback;
+        }
+    }
+    
+    /**
+     * Batcher of sync data to one target server.
+     *
+     * <p>Only one request is in flight for each target server, sync data submitted during the request are merged into
+     * one {@link DistroDataBatchRequest} when the request finished. So the batch size grows with the load without any
+     * waiting time.
+     */
+    private class DistroSyncBatcher {
+        
+        private final String targetServer;
+        
+        private final Queue<DistroSyncItem> queue = new ConcurrentLinkedQueue<>();
+        
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+        
+        private volatile boolean batchUnsupported;
+        
+        private DistroSyncBatcher(String targetServer) {
+            this.targetServer = targetServer;
+        }
+        
+        private void submit(DistroSyncItem item) {
+            queue.offer(item);
+            trySend();
+        }
+        
+        private void trySend() {
+            while (!queue.isEmpty() && inFlight.compareAndSet(false, true)) {
+                List<DistroSyncItem> batch = drain();
+                if (!batch.isEmpty()) {
+                    send(batch);
+                    return;
+                }
+                inFlight.set(false);
+            }
+        }
+        
+        private List<DistroSyncItem> drain() {
+            int batchSize = Math.max(1, DistroConfig.getInstance().getSyncBatchSize());
+            List<DistroSyncItem> result = new ArrayList<>(Math.min(batchSize, 16));
+            DistroSyncItem item;
+            while (result.size() < batchSize && null != (item = queue.poll())) {
+                result.add(item);
+            }
+            return result;
+        }
+        
+        private void finish() {
+            inFlight.set(false);
+            trySend();
+        }
+        
+        private void send(List<DistroSyncItem> batch) {
+            Member member = memberManager.find(targetServer);
+            if (checkTargetServerStatusUnhealthy(member)) {
+                Loggers.DISTRO.warn("[DISTRO] Cancel distro batch sync caused by target server {} unhealthy, size: {}",
+                        targetServer, batch.size());
+                failed(batch, null);
+                finish();
+                return;
+            }
+            if (1 == batch.size() || batchUnsupported) {
+                sendOneByOne(member, batch);
+                return;
+            }
+            List<DistroData> distroDataList = new ArrayList<>(batch.size());
+            for (DistroSyncItem each : batch) {
+                distroDataList.add(each.data);
+            }
+            try {
+                clusterRpcClientProxy.asyncRequest(member, new DistroDataBatchRequest(distroDataList),
+                        new DistroBatchRpcCallbackWrapper(this, batch, member));
+            } catch (NacosException nacosException) {
+                failed(batch, nacosException);
+                finish();
+            }
+        }
+        
+        private void sendOneByOne(Member member, List<DistroSyncItem> batch) {
+            AtomicInteger remain = new AtomicInteger(batch.size());
+            for (DistroSyncItem each : batch) {
+                asyncSyncData(member, each.data, new DistroCallback() {
+                    
+                    @Override
+                    public void onSuccess() {
+                        each.callback.onSuccess();
+                        finishOne();
+                    }
+                    
+                    @Override
+                    public void onFailed(Throwable throwable) {
+                        each.callback.onFailed(throwable);
+                        finishOne();
+                    }
+                    
+                    private void finishOne() {
+                        if (0 == remain.decrementAndGet()) {
+                            finish();
+                        }
+                    }
+                });
+            }
+        }
+        
+        private void failed(List<DistroSyncItem> batch, Throwable throwable) {
+            for (DistroSyncItem each : batch) {
+                each.callback.onFailed(throwable);
+            }
+        }
+    }
+    
+    private class DistroBatchRpcCallbackWrapper implements RequestCallBack<Response> {
+        
+        private final DistroSyncBatcher batcher;
+        
+        private final List<DistroSyncItem> batch;
+        
+        private final Member member;
+        
+        private DistroBatchRpcCallbackWrapper(DistroSyncBatcher batcher, List<DistroSyncItem> batch, Member member) {
+            this.batcher = batcher;
+            this.batch = batch;
+            this.member = member;
+        }
+        
+        @Override
+        public Executor getExecutor() {
+            return GlobalExecutor.getCallbackExecutor();
+        }
+        
+        @Override
+        public long getTimeout() {
+            return DistroConfig.getInstance().getSyncTimeoutMillis();
+        }
+        
+        @Override
+        public void onResponse(Response response) {
+            if (NacosException.NO_HANDLER == response.getErrorCode()) {
+                // Target server is old version which can't handle batch request, sync one by one.
+                Loggers.DISTRO.warn("[DISTRO] Target server {} can't handle batch sync request, sync one by one",
+                        batcher.targetServer);
+                batcher.batchUnsupported = true;
+                batcher.sendOneByOne(member, batch);
+                return;
+            }
+            try {
+                List<Boolean> results = response instanceof DistroDataBatchResponse && checkResponse(response)
+                        ? ((DistroDataBatchResponse) response).getResults() : null;
+                for (int i = 0; i < batch.size(); i++) {
+                    if (null != results && i < results.size() && Boolean.TRUE.equals(results.get(i))) {
+                        NamingTpsMonitor.distroSyncSuccess(member.getAddress(), member.getIp());
+                        batch.get(i).callback.onSuccess();
+                    } else {
+                        NamingTpsMonitor.distroSyncFail(member.getAddress(), member.getIp());
+                        batch.get(i).callback.onFailed(null);
+                    }
+                }
+            } finally {
+                batcher.finish();
+            }
+        }
+        
+        @Override
+        public void onException(Throwable e) {
+            try {
+                batcher.failed(batch, e);
+            } finally {
+                batcher.finish();
+            }
+        }
+    }
+    
     private class DistroVerifyCallbackWrapper implements RequestCallBack<Response> {
         
         private final String targetServer;
@@ -41,6 +41,7 @@ import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
 import com.alibaba.nacos.naming.pojo.Record;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.google.protobuf.ByteString;
 
 import java.lang.reflect.Type;
@@ -82,6 +83,11 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
         }
     }
     
+    /**
+     * Type of kv storage for persistent data, {@code File} by default, {@code Log} stores data in append-only log.
+     */
+    private static final String KV_STORAGE_TYPE = "nacos.naming.data.kvStorage.type";
+    
     protected final KvStorage kvStorage;
     
     protected final Serializer serializer;
@@ -112,7 +118,8 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
     protected final int priority = 10;
     
     public BasePersistentServiceProcessor() throws Exception {
-        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString());
+        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString(),
+                KvStorage.KvType.valueOf(EnvUtil.getProperty(KV_STORAGE_TYPE, KvStorage.KvType.File.name())));
         this.serializer = SerializeFactory.getSerializer("JSON");
         this.notifier = new PersistentNotifier(key -> {
             try {
@@ -44,8 +44,12 @@ public class NamingKvStorage extends MemoryKvStorage {
     private final KvStorage baseDirStorage;
     
     public NamingKvStorage(final String baseDir) throws Exception {
+        this(baseDir, KvStorage.KvType.File);
+    }
+    
+    public NamingKvStorage(final String baseDir, final KvStorage.KvType storageType) throws Exception {
         this.baseDir = baseDir;
-        this.baseDirStorage = StorageFactory.createKvStorage(KvStorage.KvType.File, LABEL, baseDir);
+        this.baseDirStorage = StorageFactory.createKvStorage(storageType, LABEL, baseDir);
     }
     
     @Override
@@ -98,10 +102,16 @@ public class NamingKvStorage extends MemoryKvStorage {
             throw new KvStorageException(ErrorCode.KVStorageBatchWriteError,
                     "key's size must be equal to value's size");
         }
-        int size = keys.size();
-        for (int i = 0; i < size; i++) {
-            put(keys.get(i), values.get(i));
+        try {
+            // batch put of actual storage writes all keys at once, such as one append of log storage.
+            KvStorage storage = getStorage();
+            storage.batchPut(keys, values);
+        } catch (Exception e) {
+            throw new KvStorageException(ErrorCode.KVStorageBatchWriteError.getCode(),
+                    "Batch put data failed, size: " + keys.size() + ", detail: " + e.getMessage(), e);
         }
+        // after actual storage put success, put them in memory, memory put should success all the time
+        super.batchPut(keys, values);
     }
     
     @Override
@@ -121,9 +131,16 @@ public class NamingKvStorage extends MemoryKvStorage {
     
     @Override
     public void batchDelete(List<byte[]> keys) throws KvStorageException {
-        for (byte[] each : keys) {
-            delete(each);
+        try {
+            KvStorage storage = getStorage();
+            if (null != storage) {
+                storage.batchDelete(keys);
+            }
+        } catch (Exception e) {
+            throw new KvStorageException(ErrorCode.KVStorageDeleteError.getCode(),
+                    "Batch delete data failed, size: " + keys.size() + ", detail: " + e.getMessage(), e);
         }
+        super.batchDelete(keys);
     }
     
     @Override
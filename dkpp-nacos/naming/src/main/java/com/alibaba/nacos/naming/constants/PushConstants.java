@@ -43,4 +43,19 @@ public class PushConstants {
     public static final String PUSH_TASK_RETRY_DELAY = "nacos.naming.push.pushTaskRetryDelay";
     
     public static final long DEFAULT_PUSH_TASK_RETRY_DELAY = 1000L;
+    
+    /**
+     * Whether push incremental service info to clients which support delta push.
+     */
+    public static final String DELTA_PUSH_ENABLED = "nacos.naming.push.delta.enabled";
+    
+    public static final boolean DEFAULT_DELTA_PUSH_ENABLED = true;
+    
+    /**
+     * Max count of history revisions kept for each service, subscribers whose acked revision is older should receive
+     * full push.
+     */
+    public static final String DELTA_PUSH_HISTORY_SIZE = "nacos.naming.push.delta.historySize";
+    
+    public static final int DEFAULT_DELTA_PUSH_HISTORY_SIZE = 16;
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.client;
+
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstanceData;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Client sync delta, only contains the changed and removed published services of client based on a synced revision.
+ *
+ * @author Nacos
+ */
+public class ClientSyncDelta implements Serializable {
+    
+    private static final long serialVersionUID = 3824175032785412954L;
+    
+    private String clientId;
+    
+    private long baseRevision;
+    
+    private long revision;
+    
+    private List<String> namespaces = new LinkedList<>();
+    
+    private List<String> groupNames = new LinkedList<>();
+    
+    private List<String> serviceNames = new LinkedList<>();
+    
+    private List<InstancePublishInfo> instancePublishInfos = new LinkedList<>();
+    
+    /**
+     * Changed batch instance publish infos, which are kept in typed field like {@link ClientSyncData}, so that they
+     * are not deserialized as {@link InstancePublishInfo}.
+     */
+    private BatchInstanceData batchInstanceData = new BatchInstanceData(new LinkedList<>(), new LinkedList<>(),
+            new LinkedList<>(), new LinkedList<>());
+    
+    private List<String> removedNamespaces = new LinkedList<>();
+    
+    private List<String> removedGroupNames = new LinkedList<>();
+    
+    private List<String> removedServiceNames = new LinkedList<>();
+    
+    public ClientSyncDelta() {
+    }
+    
+    public ClientSyncDelta(String clientId, long baseRevision, long revision) {
+        this.clientId = clientId;
+        this.baseRevision = baseRevision;
+        this.revision = revision;
+    }
+    
+    /**
+     * Add changed instance publish info of service.
+     *
+     * @param namespace           namespace of service
+     * @param groupName           group name of service
+     * @param serviceName         name of service
+     * @param instancePublishInfo new instance publish info
+     */
+    public void addChanged(String namespace, String groupName, String serviceName,
+            InstancePublishInfo instancePublishInfo) {
+        if (instancePublishInfo instanceof BatchInstancePublishInfo) {
+            batchInstanceData.getNamespaces().add(namespace);
+            batchInstanceData.getGroupNames().add(groupName);
+            batchInstanceData.getServiceNames().add(serviceName);
+            batchInstanceData.getBatchInstancePublishInfos().add((BatchInstancePublishInfo) instancePublishInfo);
+            return;
+        }
+        namespaces.add(namespace);
+        groupNames.add(groupName);
+        serviceNames.add(serviceName);
+        instancePublishInfos.add(instancePublishInfo);
+    }
+    
+    /**
+     * Add removed service.
+     *
+     * @param namespace   namespace of service
+     * @param groupName   group name of service
+     * @param serviceName name of service
+     */
+    public void addRemoved(String namespace, String groupName, String serviceName) {
+        removedNamespaces.add(namespace);
+        removedGroupNames.add(groupName);
+        removedServiceNames.add(serviceName);
+    }
+    
+    public String getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public List<String> getNamespaces() {
+        return namespaces;
+    }
+    
+    public void setNamespaces(List<String> namespaces) {
+        this.namespaces = namespaces;
+    }
+    
+    public List<String> getGroupNames() {
+        return groupNames;
+    }
+    
+    public void setGroupNames(List<String> groupNames) {
+        this.groupNames = groupNames;
+    }
+    
+    public List<String> getServiceNames() {
+        return serviceNames;
+    }
+    
+    public void setServiceNames(List<String> serviceNames) {
+        this.serviceNames = serviceNames;
+    }
+    
+    public List<InstancePublishInfo> getInstancePublishInfos() {
+        return instancePublishInfos;
+    }
+    
+    public void setInstancePublishInfos(List<InstancePublishInfo> instancePublishInfos) {
+        this.instancePublishInfos = instancePublishInfos;
+    }
+    
+    public BatchInstanceData getBatchInstanceData() {
+        return batchInstanceData;
+    }
+    
+    public void setBatchInstanceData(BatchInstanceData batchInstanceData) {
+        this.batchInstanceData = batchInstanceData;
+    }
+    
+    public List<String> getRemovedNamespaces() {
+        return removedNamespaces;
+    }
+    
+    public void setRemovedNamespaces(List<String> removedNamespaces) {
+        this.removedNamespaces = removedNamespaces;
+    }
+    
+    public List<String> getRemovedGroupNames() {
+        return removedGroupNames;
+    }
+    
+    public void setRemovedGroupNames(List<String> removedGroupNames) {
+        this.removedGroupNames = removedGroupNames;
+    }
+    
+    public List<String> getRemovedServiceNames() {
+        return removedServiceNames;
+    }
+    
+    public void setRemovedServiceNames(List<String> removedServiceNames) {
+        this.removedServiceNames = removedServiceNames;
+    }
+}
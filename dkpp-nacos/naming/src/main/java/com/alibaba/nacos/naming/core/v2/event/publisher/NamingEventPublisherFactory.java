@@ -16,9 +16,12 @@
 
 package com.alibaba.nacos.naming.core.v2.event.publisher;
 
+import com.alibaba.nacos.common.notify.BatchEventPublisher;
+import com.alibaba.nacos.common.notify.BatchEventPublisherFactory;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.EventPublisher;
 import com.alibaba.nacos.common.notify.EventPublisherFactory;
+import com.alibaba.nacos.common.notify.ShardedEventPublisher;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,16 +33,26 @@ import java.util.concurrent.ConcurrentHashMap;
  * Some naming event is in order, so these event need publish by sync(with same thread and same queue).
  * </p>
  *
+ * <p>
+ * With system property {@code nacos.naming.event.publisher.batch=true}, events are published by
+ * {@link BatchEventPublisher} which handles events in batch and keeps the order for subscribers not thread safe.
+ * </p>
+ *
  * @author xiweng.yy
  */
 public class NamingEventPublisherFactory implements EventPublisherFactory {
     
+    private static final String BATCH_PUBLISHER_PROPERTY = "nacos.naming.event.publisher.batch";
+    
     private static final NamingEventPublisherFactory INSTANCE = new NamingEventPublisherFactory();
     
-    private final Map<Class<? extends Event>, NamingEventPublisher> publisher;
+    private final Map<Class<? extends Event>, ShardedEventPublisher> publisher;
+    
+    private final boolean batchPublisher;
     
     private NamingEventPublisherFactory() {
         publisher = new ConcurrentHashMap<>();
+        batchPublisher = Boolean.getBoolean(BATCH_PUBLISHER_PROPERTY);
     }
     
     public static NamingEventPublisherFactory getInstance() {
@@ -52,6 +65,9 @@ public class NamingEventPublisherFactory implements EventPublisherFactory {
         Class<? extends Event> cachedEventType =
                 eventType.isMemberClass() ? (Class<? extends Event>) eventType.getEnclosingClass() : eventType;
         return publisher.computeIfAbsent(cachedEventType, eventClass -> {
+            if (batchPublisher) {
+                return BatchEventPublisherFactory.getInstance().newPublisher(eventClass, maxQueueSize);
+            }
             NamingEventPublisher result = new NamingEventPublisher();
             result.init(eventClass, maxQueueSize);
             return result;
@@ -60,8 +76,10 @@ public class NamingEventPublisherFactory implements EventPublisherFactory {
     
     public String getAllPublisherStatues() {
         StringBuilder result = new StringBuilder("Naming event publisher statues:\n");
-        for (NamingEventPublisher each : publisher.values()) {
-            result.append('\t').append(each.getStatus()).append('\n');
+        for (ShardedEventPublisher each : publisher.values()) {
+            String status = each instanceof BatchEventPublisher ? ((BatchEventPublisher) each).getStatus()
+                    : ((NamingEventPublisher) each).getStatus();
+            result.append('\t').append(status).append('\n');
         }
         return result.toString();
     }
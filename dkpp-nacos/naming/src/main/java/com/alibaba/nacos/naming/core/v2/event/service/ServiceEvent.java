@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.naming.core.v2.event.service;
 
+import com.alibaba.nacos.common.notify.CoalescableEvent;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 
@@ -40,8 +41,11 @@ public class ServiceEvent extends Event {
     
     /**
      * Service data changed event.
+     *
+     * <p>Handlers always push the latest data of the service, so the changed events of the same service can be
+     * coalesced.
      */
-    public static class ServiceChangedEvent extends ServiceEvent {
+    public static class ServiceChangedEvent extends ServiceEvent implements CoalescableEvent {
         
         private static final long serialVersionUID = 2123694271992630822L;
         
@@ -56,6 +60,11 @@ public class ServiceEvent extends Event {
                 service.incrementRevision();
             }
         }
+        
+        @Override
+        public Object coalesceKey() {
+            return getService();
+        }
     }
     
     /**
@@ -16,26 +16,56 @@
 
 package com.alibaba.nacos.naming.healthcheck;
 
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.engine.NacosTimingWheelDelayTaskExecuteEngine;
 import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
 import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
+import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Health check reactor.
  *
+ * <p>Health check tasks are scheduled by a timing wheel and executed by naming health executor when expired, so that
+ * scheduling large number of tasks won't grow the queue of scheduled executor. Delay of tasks is added with random
+ * jitter to spread checks with same interval.
+ *
  * @author nacos
  */
 @SuppressWarnings("PMD.ThreadPoolCreationRule")
 public class HealthCheckReactor {
     
-    private static Map<String, ScheduledFuture> futureMap = new ConcurrentHashMap<>();
+    private static final long BEAT_CHECK_INTERVAL = 5000L;
+    
+    private static final long TICK_MILLIS = 50L;
+    
+    /**
+     * Max ratio of random jitter to delay of health check task.
+     */
+    private static final double JITTER_RATIO = 0.1D;
+    
+    private static final NacosTimingWheelDelayTaskExecuteEngine CHECK_ENGINE = createCheckEngine();
+    
+    private static final Map<String, HealthCheckDelayTask> BEAT_CHECK_TASKS = new ConcurrentHashMap<>();
+    
+    private static NacosTimingWheelDelayTaskExecuteEngine createCheckEngine() {
+        NacosTimingWheelDelayTaskExecuteEngine result = new NacosTimingWheelDelayTaskExecuteEngine(
+                "com.alibaba.nacos.naming.health.wheel", 1024, Loggers.SRV_LOG, TICK_MILLIS);
+        result.setDefaultTaskProcessor(task -> {
+            ((HealthCheckDelayTask) task).dispatch();
+            return true;
+        });
+        return result;
+    }
     
     /**
      * Schedule health check task for v2.
@@ -45,20 +75,27 @@ public class HealthCheckReactor {
     public static void scheduleCheck(HealthCheckTaskV2 task) {
         task.setStartTime(System.currentTimeMillis());
         Runnable wrapperTask = new HealthCheckTaskInterceptWrapper(task);
-        GlobalExecutor.scheduleNamingHealth(wrapperTask, task.getCheckRtNormalized(), TimeUnit.MILLISECONDS);
+        long delay = withJitter(task.getCheckRtNormalized());
+        CHECK_ENGINE.addTask(task, new HealthCheckDelayTask(task, wrapperTask, delay, -1L));
     }
     
     /**
      * Schedule client beat check task with a delay.
      *
+     * <p>The first check is delayed randomly within the check interval, so that checks of clients are spread evenly.
+     *
      * @param task client beat check task
      */
     public static void scheduleCheck(BeatCheckTask task) {
         Runnable wrapperTask =
                 task instanceof NacosHealthCheckTask ? new HealthCheckTaskInterceptWrapper((NacosHealthCheckTask) task)
                         : task;
-        futureMap.computeIfAbsent(task.taskKey(),
-                k -> GlobalExecutor.scheduleNamingHealth(wrapperTask, 5000, 5000, TimeUnit.MILLISECONDS));
+        BEAT_CHECK_TASKS.computeIfAbsent(task.taskKey(), key -> {
+            long delay = ThreadLocalRandom.current().nextLong(BEAT_CHECK_INTERVAL);
+            HealthCheckDelayTask result = new HealthCheckDelayTask(key, wrapperTask, delay, BEAT_CHECK_INTERVAL);
+            CHECK_ENGINE.addTask(key, result);
+            return result;
+        });
     }
     
     /**
@@ -67,18 +104,22 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void cancelCheck(BeatCheckTask task) {
-        ScheduledFuture scheduledFuture = futureMap.get(task.taskKey());
-        if (scheduledFuture == null) {
-            return;
-        }
-        try {
-            scheduledFuture.cancel(true);
-            futureMap.remove(task.taskKey());
-        } catch (Exception e) {
-            Loggers.EVT_LOG.error("[CANCEL-CHECK] cancel failed!", e);
+        HealthCheckDelayTask delayTask = BEAT_CHECK_TASKS.remove(task.taskKey());
+        if (null != delayTask) {
+            delayTask.cancelled = true;
         }
     }
     
+    /**
+     * Schedule a one-shot task of health check, such as timeout of check.
+     *
+     * @param task  task
+     * @param delay delay in milliseconds
+     */
+    public static void scheduleOnce(Runnable task, long delay) {
+        CHECK_ENGINE.addTask(task, new HealthCheckDelayTask(task, task, delay, -1L));
+    }
+    
     /**
      * Schedule client beat check task without a delay.
      *
@@ -88,4 +129,74 @@ public class HealthCheckReactor {
     public static ScheduledFuture<?> scheduleNow(Runnable task) {
         return GlobalExecutor.scheduleNamingHealth(task, 0, TimeUnit.MILLISECONDS);
     }
+    
+    private static long withJitter(long delay) {
+        long jitter = (long) (delay * JITTER_RATIO);
+        if (jitter <= 0) {
+            return delay;
+        }
+        return delay + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+    }
+    
+    private static class HealthCheckDelayTask extends AbstractDelayTask implements Runnable {
+        
+        private final Object key;
+        
+        private final Runnable task;
+        
+        /**
+         * Period in milliseconds of repeated task, non-positive value means one-shot task.
+         */
+        private final long period;
+        
+        private volatile boolean cancelled;
+        
+        private HealthCheckDelayTask(Object key, Runnable task, long delay, long period) {
+            this.key = key;
+            this.task = task;
+            this.period = period;
+            setTaskInterval(delay);
+            setLastProcessTime(System.currentTimeMillis());
+        }
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            // Task rescheduled with same key replaces the old one.
+        }
+        
+        private void dispatch() {
+            if (cancelled) {
+                return;
+            }
+            MetricsMonitor.getHealthCheckPendingTaskCount().incrementAndGet();
+            try {
+                GlobalExecutor.executeNamingHealth(this);
+            } catch (RejectedExecutionException e) {
+                MetricsMonitor.getHealthCheckPendingTaskCount().decrementAndGet();
+                Loggers.SRV_LOG.warn("[HEALTH-CHECK] health check task {} rejected", key, e);
+            }
+        }
+        
+        @Override
+        public void run() {
+            MetricsMonitor.getHealthCheckPendingTaskCount().decrementAndGet();
+            MetricsMonitor.compareAndSetMaxHealthCheckDelay(
+                    System.currentTimeMillis() - getLastProcessTime() - getTaskInterval());
+            try {
+                if (!cancelled) {
+                    task.run();
+                }
+            } catch (Throwable e) {
+                Loggers.SRV_LOG.error("[HEALTH-CHECK] error while running health check task {}", key, e);
+            } finally {
+                if (period > 0 && !cancelled) {
+                    setLastProcessTime(System.currentTimeMillis());
+                    setTaskInterval(period);
+                    // The task may be cancelled and rescheduled with the same key after checked, don't replace the
+                    // rescheduled one in engine.
+                    CHECK_ENGINE.addTaskIfAbsent(key, this);
+                }
+            }
+        }
+    }
 }
@@ -126,6 +126,7 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         @Override
         public void onReceive(RestResult<String> result) {
             instance.setCheckRt(System.currentTimeMillis() - startTime);
+            MetricsMonitor.recordHealthCheckRt(TYPE, System.currentTimeMillis() - startTime);
             int httpCode = result.getCode();
             if (HttpURLConnection.HTTP_OK == httpCode) {
                 healthCheckCommon.checkOk(task, service, "http:" + httpCode);
@@ -149,6 +150,7 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         public void onError(Throwable throwable) {
             Throwable cause = throwable;
             instance.setCheckRt(System.currentTimeMillis() - startTime);
+            MetricsMonitor.recordHealthCheckRt(TYPE, System.currentTimeMillis() - startTime);
             int maxStackDepth = 50;
             for (int deepth = 0; deepth < maxStackDepth && cause != null; deepth++) {
                 if (HttpUtils.isTimeoutException(cause)) {
@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.naming.pojo.healthcheck.HealthCheckType;
 import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.HealthCheckReactor;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
@@ -31,6 +32,7 @@ import org.springframework.stereotype.Component;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
@@ -61,6 +63,8 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
     
     public static final int CONNECT_TIMEOUT_MS = 500;
     
+    private static final int SELECT_TIMEOUT_MS = CONNECT_TIMEOUT_MS / 2;
+    
     /**
      * this value has been carefully tuned, do not modify unless you're confident.
      */
@@ -108,7 +112,10 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
             return;
         }
         taskQueue.add(new Beat(task, service, metadata, instance));
+        MetricsMonitor.getHealthCheckPendingTaskCount().incrementAndGet();
         MetricsMonitor.getTcpHealthCheckMonitor().incrementAndGet();
+        // wake up the selector loop to connect new beat in time.
+        selector.wakeup();
     }
     
     @Override
@@ -118,14 +125,14 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
     
     private void processTask() throws Exception {
         Collection<Callable<Void>> tasks = new LinkedList<>();
-        do {
-            Beat beat = taskQueue.poll(CONNECT_TIMEOUT_MS / 2, TimeUnit.MILLISECONDS);
-            if (beat == null) {
-                return;
-            }
-            
+        Beat beat;
+        while (tasks.size() < NIO_THREAD_COUNT * 64 && null != (beat = taskQueue.poll())) {
             tasks.add(new TaskProcessor(beat));
-        } while (taskQueue.size() > 0 && tasks.size() < NIO_THREAD_COUNT * 64);
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        MetricsMonitor.getHealthCheckPendingTaskCount().addAndGet(-tasks.size());
         
         for (Future<?> f : GlobalExecutor.invokeAllTcpSuperSenseTask(tasks)) {
             f.get();
@@ -138,7 +145,8 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
             try {
                 processTask();
                 
-                int readyCount = selector.selectNow();
+                // channels are registered by processTask before select, so select can block until events or wakeup.
+                int readyCount = selector.select(SELECT_TIMEOUT_MS);
                 if (readyCount <= 0) {
                     continue;
                 }
@@ -147,7 +155,12 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
                 while (iter.hasNext()) {
                     SelectionKey key = iter.next();
                     iter.remove();
-                    
+                    try {
+                        // stop selecting the key until it is processed, otherwise select returns it again at once.
+                        key.interestOps(0);
+                    } catch (CancelledKeyException e) {
+                        continue;
+                    }
                     GlobalExecutor.executeTcpSuperSense(new PostProcessor(key));
                 }
             } catch (Throwable e) {
@@ -210,6 +223,23 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
                     key.channel().close();
                 } catch (Exception ignore) {
                 }
+            } finally {
+                rearm(channel);
+            }
+        }
+        
+        /**
+         * Select the key again to detect disconnection of the kept connection.
+         */
+        private void rearm(SocketChannel channel) {
+            try {
+                if (key.isValid()) {
+                    key.interestOps(channel.isConnected() ? SelectionKey.OP_READ
+                            : SelectionKey.OP_CONNECT | SelectionKey.OP_READ);
+                    selector.wakeup();
+                }
+            } catch (CancelledKeyException ignore) {
+                // closed by timeout task concurrently.
             }
         }
     }
@@ -270,6 +300,7 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
         }
         
         public void finishCheck(boolean success, boolean now, long rt, String msg) {
+            MetricsMonitor.recordHealthCheckRt(TYPE, System.currentTimeMillis() - startTime);
             if (success) {
                 healthCheckCommon.checkOk(task, service, msg);
             } else {
@@ -401,8 +432,7 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
                 
                 beat.setStartTime(System.currentTimeMillis());
                 
-                GlobalExecutor
-                        .scheduleTcpSuperSenseTask(new TimeOutTask(key), CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                HealthCheckReactor.scheduleOnce(new TimeOutTask(key), CONNECT_TIMEOUT_MS);
             } catch (Exception e) {
                 beat.finishCheck(false, false, switchDomain.getTcpHealthParams().getMax(),
                         "tcp:error:" + e.getMessage());
@@ -29,6 +29,7 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -49,6 +50,16 @@ public class MetricsMonitor {
     
     private final AtomicInteger tcpHealthCheck = new AtomicInteger();
     
+    /**
+     * count of health check tasks which are expired but not started yet.
+     */
+    private final AtomicInteger healthCheckPendingTaskCount = new AtomicInteger();
+    
+    /**
+     * max delay in milliseconds of health check tasks from expired to started.
+     */
+    private final AtomicLong maxHealthCheckDelay = new AtomicLong(-1);
+    
     private final AtomicInteger serviceCount = new AtomicInteger();
     
     private final AtomicInteger ipCount = new AtomicInteger();
@@ -75,6 +86,11 @@ public class MetricsMonitor {
     
     private final AtomicInteger serviceChangedEventQueueSize = new AtomicInteger();
     
+    /**
+     * max latency in milliseconds of service events from publishing to handling, only for batch event publisher.
+     */
+    private final AtomicLong serviceEventLatency = new AtomicLong();
+    
     private final AtomicInteger pushPendingTaskCount = new AtomicInteger();
     
     /**
@@ -146,6 +162,30 @@ public class MetricsMonitor {
         return INSTANCE.tcpHealthCheck;
     }
     
+    public static AtomicInteger getHealthCheckPendingTaskCount() {
+        return INSTANCE.healthCheckPendingTaskCount;
+    }
+    
+    public static AtomicLong getMaxHealthCheckDelay() {
+        return INSTANCE.maxHealthCheckDelay;
+    }
+    
+    public static void compareAndSetMaxHealthCheckDelay(long delay) {
+        INSTANCE.maxHealthCheckDelay.getAndUpdate((prev) -> Math.max(delay, prev));
+    }
+    
+    /**
+     * Record response time of health check.
+     *
+     * @param type health check type
+     * @param rt   response time in milliseconds
+     */
+    public static void recordHealthCheckRt(String type, long rt) {
+        NacosMeterRegistryCenter
+                .timer(METER_REGISTRY, "nacos_timer", "module", "naming", "name", "healthCheckRt", "type", type)
+                .record(rt, TimeUnit.MILLISECONDS);
+    }
+    
     public static AtomicInteger getDomCountMonitor() {
         return INSTANCE.serviceCount;
     }
@@ -194,6 +234,10 @@ public class MetricsMonitor {
         return INSTANCE.serviceChangedEventQueueSize;
     }
     
+    public static AtomicLong getServiceEventLatency() {
+        return INSTANCE.serviceEventLatency;
+    }
+    
     public static AtomicInteger getPushPendingTaskCount() {
         return INSTANCE.pushPendingTaskCount;
     }
@@ -305,6 +349,7 @@ public class MetricsMonitor {
         getHttpHealthCheckMonitor().set(0);
         getMysqlHealthCheckMonitor().set(0);
         getTcpHealthCheckMonitor().set(0);
+        getMaxHealthCheckDelay().set(-1);
     }
     
     /**
@@ -17,6 +17,8 @@
 package com.alibaba.nacos.naming.monitor.collector;
 
 import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.notify.BatchEventPublisher;
+import com.alibaba.nacos.common.notify.EventPublisher;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.monitor.MetricsMonitor;
@@ -45,8 +47,12 @@ public class ServiceEventQueueSizeMetricsCollector {
         executorService.scheduleWithFixedDelay(() -> {
             MetricsMonitor.getServiceSubscribedEventQueueSize().set(
                     (int) NotifyCenter.getPublisher(ServiceEvent.ServiceSubscribedEvent.class).currentEventSize());
-            MetricsMonitor.getServiceChangedEventQueueSize().set(
-                    (int) NotifyCenter.getPublisher(ServiceEvent.ServiceChangedEvent.class).currentEventSize());
+            EventPublisher serviceEventPublisher = NotifyCenter.getPublisher(ServiceEvent.ServiceChangedEvent.class);
+            MetricsMonitor.getServiceChangedEventQueueSize().set((int) serviceEventPublisher.currentEventSize());
+            if (serviceEventPublisher instanceof BatchEventPublisher) {
+                MetricsMonitor.getServiceEventLatency()
+                        .set(((BatchEventPublisher) serviceEventPublisher).getAndResetMaxLatencyMillis());
+            }
         }, DELAY_SECONDS, DELAY_SECONDS, TimeUnit.SECONDS);
     }
 }
@@ -128,6 +128,12 @@ public class NamingSubscriberServiceV2Impl extends SmartSubscriber implements Na
         }
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        // only add push delay task which is merged by delay task engine, no need to keep the order.
+        return true;
+    }
+    
     private Stream<Service> getServiceStream() {
         Collection<Service> services = indexesManager.getSubscribedService();
         return services.size() > PARALLEL_SIZE ? services.parallelStream() : services.stream();
@@ -37,6 +37,10 @@ public class PushConfig extends AbstractDynamicConfig {
     
     private long pushTaskRetryDelay = PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY;
     
+    private boolean deltaPushEnabled = PushConstants.DEFAULT_DELTA_PUSH_ENABLED;
+    
+    private int deltaPushHistorySize = PushConstants.DEFAULT_DELTA_PUSH_HISTORY_SIZE;
+    
     private PushConfig() {
         super(PUSH);
         resetConfig();
@@ -50,12 +54,17 @@ public class PushConfig extends AbstractDynamicConfig {
                 .getProperty(PushConstants.PUSH_TASK_TIMEOUT, Long.class, PushConstants.DEFAULT_PUSH_TASK_TIMEOUT);
         pushTaskRetryDelay = EnvUtil.getProperty(PushConstants.PUSH_TASK_RETRY_DELAY, Long.class,
                 PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY);
+        deltaPushEnabled = EnvUtil.getProperty(PushConstants.DELTA_PUSH_ENABLED, Boolean.class,
+                PushConstants.DEFAULT_DELTA_PUSH_ENABLED);
+        deltaPushHistorySize = EnvUtil.getProperty(PushConstants.DELTA_PUSH_HISTORY_SIZE, Integer.class,
+                PushConstants.DEFAULT_DELTA_PUSH_HISTORY_SIZE);
     }
     
     @Override
     protected String printConfig() {
         return "PushConfig{" + "pushTaskDelay=" + pushTaskDelay + ", pushTaskTimeout=" + pushTaskTimeout
-                + ", pushTaskRetryDelay=" + pushTaskRetryDelay + '}';
+                + ", pushTaskRetryDelay=" + pushTaskRetryDelay + ", deltaPushEnabled=" + deltaPushEnabled
+                + ", deltaPushHistorySize=" + deltaPushHistorySize + '}';
     }
     
     public static PushConfig getInstance() {
@@ -73,4 +82,12 @@ public class PushConfig extends AbstractDynamicConfig {
     public long getPushTaskRetryDelay() {
         return pushTaskRetryDelay;
     }
+    
+    public boolean isDeltaPushEnabled() {
+        return deltaPushEnabled;
+    }
+    
+    public int getDeltaPushHistorySize() {
+        return deltaPushHistorySize;
+    }
 }
@@ -18,28 +18,50 @@ package com.alibaba.nacos.naming.push.v2;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.selector.NoneSelector;
+import com.alibaba.nacos.naming.utils.ServiceUtil;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Nacos push data wrapper.
  *
+ * <p>One wrapper is shared by all subscribers of one push task, so the data processed for a subscriber, such as the
+ * instances selected by cluster, healthy and selector, is cached and reused by other subscribers with the same view.
+ *
  * @author xiweng.yy
  */
 public class PushDataWrapper {
     
+    private static final String SELECTED_CACHE_PREFIX = "selected#";
+    
+    private final Service service;
+    
     private final ServiceMetadata serviceMetadata;
     
     private final ServiceInfo originalData;
     
     private final Map<String, Object> processedDatum;
     
+    /**
+     * Revision of original data recorded for delta push, {@code 0} means not recorded.
+     */
+    private long revision;
+    
     public PushDataWrapper(ServiceMetadata serviceMetadata, ServiceInfo originalData) {
+        this(null, serviceMetadata, originalData);
+    }
+    
+    public PushDataWrapper(Service service, ServiceMetadata serviceMetadata, ServiceInfo originalData) {
+        this.service = service;
         this.serviceMetadata = serviceMetadata;
         this.originalData = originalData;
-        processedDatum = new HashMap<>(1);
+        processedDatum = new ConcurrentHashMap<>(4);
     }
     
     public ServiceInfo getOriginalData() {
@@ -50,6 +72,18 @@ public class PushDataWrapper {
         return serviceMetadata;
     }
     
+    public Service getService() {
+        return service;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
     public <T> Optional<T> getProcessedPushData(String key) {
         return Optional.ofNullable((T) processedDatum.get(key));
     }
@@ -57,4 +91,59 @@ public class PushDataWrapper {
     public void addProcessedPushData(String key, Object processedData) {
         processedDatum.put(key, processedData);
     }
+    
+    /**
+     * Get processed push data by key, compute and cache it if absent.
+     *
+     * <p>The function must not get or compute other processed push data of this wrapper, which is a recursive update
+     * of the backing concurrent map.
+     *
+     * @param key      key of processed push data
+     * @param function function to process push data
+     * @param <T>      type of processed push data
+     * @return processed push data
+     */
+    public <T> T computeProcessedPushDataIfAbsent(String key, Function<String, T> function) {
+        return (T) processedDatum.computeIfAbsent(key, function);
+    }
+    
+    /**
+     * Get the service info selected for subscriber with healthy protection.
+     *
+     * <p>The result only depends on cluster, healthy only, enable only and selector fingerprint of subscriber, so
+     * subscribers with the same view share one result, which should not be modified.
+     *
+     * @param subscriber  subscriber
+     * @param healthyOnly whether only select instance which healthy
+     * @param enableOnly  whether only select instance which enabled
+     * @return selected service info
+     */
+    public ServiceInfo getSelectedServiceInfo(Subscriber subscriber, boolean healthyOnly, boolean enableOnly) {
+        String key = SELECTED_CACHE_PREFIX + getViewKey(subscriber, healthyOnly, enableOnly);
+        return computeProcessedPushDataIfAbsent(key, k -> ServiceUtil
+                .selectInstancesWithHealthyProtection(originalData, serviceMetadata, healthyOnly, enableOnly,
+                        subscriber));
+    }
+    
+    /**
+     * Build the key of view for subscriber, subscribers with same key get same selected instances from this data.
+     *
+     * @param subscriber  subscriber
+     * @param healthyOnly whether only select instance which healthy
+     * @param enableOnly  whether only select instance which enabled
+     * @return view key
+     */
+    public String getViewKey(Subscriber subscriber, boolean healthyOnly, boolean enableOnly) {
+        return subscriber.getCluster() + "#" + healthyOnly + "#" + enableOnly + "#" + getSelectorFingerprint(
+                subscriber);
+    }
+    
+    private String getSelectorFingerprint(Subscriber subscriber) {
+        // the selected instances only depend on subscriber ip when a real selector is used.
+        if (null == serviceMetadata || null == serviceMetadata.getSelector()
+                || serviceMetadata.getSelector() instanceof NoneSelector) {
+            return "";
+        }
+        return serviceMetadata.getSelector().getType() + "@" + subscriber.getIp();
+    }
 }
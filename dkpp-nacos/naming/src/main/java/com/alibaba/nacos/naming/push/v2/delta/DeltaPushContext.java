@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+
+/**
+ * Push request prepared for subscriber which supports delta push, with the revision and fingerprint which should be
+ * acked after push succeed.
+ *
+ * @author Nacos
+ */
+public class DeltaPushContext {
+    
+    private final NotifySubscriberRequest request;
+    
+    private final long revision;
+    
+    private final int fingerprint;
+    
+    public DeltaPushContext(NotifySubscriberRequest request, long revision, int fingerprint) {
+        this.request = request;
+        this.revision = revision;
+        this.fingerprint = fingerprint;
+    }
+    
+    public NotifySubscriberRequest getRequest() {
+        return request;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public int getFingerprint() {
+        return fingerprint;
+    }
+}
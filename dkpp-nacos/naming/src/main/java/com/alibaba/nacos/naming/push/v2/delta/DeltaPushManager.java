@@ -0,0 +1,284 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.Loggers;
+import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
+import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
+import com.alibaba.nacos.naming.utils.ServiceUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Delta push manager, keeps versioned push data for services and the revisions acked by subscribers which support
+ * delta push.
+ *
+ * <p>A subscriber receives only added, changed and removed instances since its acked revision. It receives full push
+ * if it has not acked any revision, its acked revision has been evicted from history, or the instances computed for
+ * its acked revision are not the same as what it actually received. A failed push resets the acked revision, so the
+ * retry will be a full push. The history of a service is dropped once no client has acked it, or the service is
+ * removed.
+ *
+ * @author Nacos
+ */
+@Component
+public class DeltaPushManager extends SmartSubscriber {
+    
+    private static final String DELTA_CACHE_PREFIX = "delta#";
+    
+    private static final String FINGERPRINT_CACHE_PREFIX = "fingerprint#";
+    
+    private final ConnectionManager connectionManager;
+    
+    private final ConcurrentMap<Service, ServiceRevisionHistory> histories = new ConcurrentHashMap<>();
+    
+    public DeltaPushManager(ConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+    }
+    
+    /**
+     * Whether push data to the client by delta push.
+     *
+     * @param clientId client id
+     * @param data     push data
+     * @return {@code true} if delta push enabled and client declared the ability
+     */
+    public boolean isDeltaPushSupported(String clientId, PushDataWrapper data) {
+        if (!PushConfig.getInstance().isDeltaPushEnabled() || null == data.getService()) {
+            return false;
+        }
+        Connection connection = connectionManager.getConnection(clientId);
+        if (null == connection) {
+            return false;
+        }
+        Map<String, Boolean> abilityTable = connection.getAbilityTable();
+        return null != abilityTable && Boolean.TRUE
+                .equals(abilityTable.get(AbilityKey.SDK_CLIENT_SUPPORT_DELTA_PUSH.getName()));
+    }
+    
+    /**
+     * Prepare push request for subscriber, incremental if possible.
+     *
+     * @param clientId          client id
+     * @param subscriber        subscriber
+     * @param data              push data
+     * @param actualServiceInfo service info selected for subscriber
+     * @return push context
+     */
+    public DeltaPushContext preparePush(String clientId, Subscriber subscriber, PushDataWrapper data,
+            ServiceInfo actualServiceInfo) {
+        ServiceRevisionHistory history = histories
+                .computeIfAbsent(data.getService(), service -> new ServiceRevisionHistory());
+        if (0L == data.getRevision()) {
+            data.setRevision(history.record(data.getOriginalData(), data.getServiceMetadata(),
+                    PushConfig.getInstance().getDeltaPushHistorySize()));
+        }
+        long revision = data.getRevision();
+        String selectKey = data.getViewKey(subscriber, false, true);
+        ServiceRevisionHistory.AckedRevision acked = history.getAckedRevision(clientId);
+        if (null != acked) {
+            Optional<InstancesDelta> delta = getDelta(history, acked.getRevision(), selectKey, subscriber, data,
+                    actualServiceInfo);
+            if (delta.isPresent() && delta.get().getBaseFingerprint() == acked.getFingerprint() && isWorthDelta(
+                    delta.get(), actualServiceInfo)) {
+                NotifySubscriberRequest request = NotifySubscriberRequest
+                        .buildIncrementalNotifySubscriberRequest(copyWithHosts(actualServiceInfo, delta.get()),
+                                delta.get().getRemovedInstances(), acked.getRevision(), revision);
+                return new DeltaPushContext(request, revision, delta.get().getFingerprint());
+            }
+        }
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(actualServiceInfo);
+        request.setRevision(revision);
+        return new DeltaPushContext(request, revision, getFingerprint(selectKey, data, actualServiceInfo));
+    }
+    
+    /**
+     * Wrap push callback to record the acked revision when push succeed, and reset it when push failed.
+     *
+     * @param clientId client id
+     * @param service  service
+     * @param context  push context
+     * @param callBack original callback
+     * @return wrapped callback
+     */
+    public NamingPushCallback wrapCallback(String clientId, Service service, DeltaPushContext context,
+            NamingPushCallback callBack) {
+        return new AckRevisionCallback(clientId, service, histories.get(service), context, callBack);
+    }
+    
+    private Optional<InstancesDelta> getDelta(ServiceRevisionHistory history, long baseRevision, String selectKey,
+            Subscriber subscriber, PushDataWrapper data, ServiceInfo actualServiceInfo) {
+        String cacheKey = DELTA_CACHE_PREFIX + baseRevision + "#" + selectKey;
+        Optional<Optional<InstancesDelta>> cached = data.getProcessedPushData(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Optional<InstancesDelta> result = history.getRevision(baseRevision).map(base -> {
+            ServiceInfo baseServiceInfo = ServiceUtil
+                    .selectInstancesWithHealthyProtection(base.getServiceInfo(), base.getServiceMetadata(), false,
+                            true, subscriber);
+            return InstancesDelta.compute(baseServiceInfo.getHosts(), actualServiceInfo.getHosts());
+        });
+        data.addProcessedPushData(cacheKey, result);
+        return result;
+    }
+    
+    private int getFingerprint(String selectKey, PushDataWrapper data, ServiceInfo actualServiceInfo) {
+        String cacheKey = FINGERPRINT_CACHE_PREFIX + selectKey;
+        Optional<Integer> cached = data.getProcessedPushData(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        int result = InstancesDelta.fingerprint(actualServiceInfo.getHosts());
+        data.addProcessedPushData(cacheKey, result);
+        return result;
+    }
+    
+    private boolean isWorthDelta(InstancesDelta delta, ServiceInfo actualServiceInfo) {
+        int deltaSize = delta.getChangedInstances().size() + delta.getRemovedInstances().size();
+        return deltaSize < actualServiceInfo.getHosts().size() || delta.isEmpty();
+    }
+    
+    private ServiceInfo copyWithHosts(ServiceInfo serviceInfo, InstancesDelta delta) {
+        ServiceInfo result = new ServiceInfo();
+        result.setName(serviceInfo.getName());
+        result.setGroupName(serviceInfo.getGroupName());
+        result.setClusters(serviceInfo.getClusters());
+        result.setCacheMillis(serviceInfo.getCacheMillis());
+        result.setLastRefTime(serviceInfo.getLastRefTime());
+        result.setChecksum(serviceInfo.getChecksum());
+        result.setAllIPs(serviceInfo.isAllIPs());
+        result.setReachProtectionThreshold(serviceInfo.isReachProtectionThreshold());
+        result.setHosts(delta.getChangedInstances());
+        return result;
+    }
+    
+    private void ack(Service service, ServiceRevisionHistory history, String clientId, long revision,
+            int fingerprint) {
+        // history might be removed and recreated during pushing, whose revisions are not comparable.
+        boolean connected = null != connectionManager.getConnection(clientId);
+        histories.computeIfPresent(service, (key, current) -> {
+            if (current == history && connected) {
+                current.ack(clientId, revision, fingerprint);
+            } else {
+                current.removeAck(clientId);
+            }
+            return current.hasAckedClient() ? current : null;
+        });
+    }
+    
+    private void removeAck(Service service, String clientId) {
+        histories.computeIfPresent(service, (key, history) -> {
+            history.removeAck(clientId);
+            return history.hasAckedClient() ? history : null;
+        });
+    }
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ClientOperationEvent.ClientUnsubscribeServiceEvent.class);
+        result.add(ClientOperationEvent.ClientReleaseEvent.class);
+        result.add(MetadataEvent.ServiceMetadataEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ClientOperationEvent.ClientReleaseEvent) {
+            ClientOperationEvent.ClientReleaseEvent releaseEvent = (ClientOperationEvent.ClientReleaseEvent) event;
+            for (Service each : releaseEvent.getClient().getAllSubscribeService()) {
+                removeAck(each, releaseEvent.getClientId());
+            }
+        } else if (event instanceof ClientOperationEvent.ClientUnsubscribeServiceEvent) {
+            ClientOperationEvent operationEvent = (ClientOperationEvent) event;
+            removeAck(operationEvent.getService(), operationEvent.getClientId());
+        } else if (event instanceof MetadataEvent.ServiceMetadataEvent) {
+            MetadataEvent.ServiceMetadataEvent metadataEvent = (MetadataEvent.ServiceMetadataEvent) event;
+            if (metadataEvent.isExpired()) {
+                histories.remove(metadataEvent.getService());
+            }
+        }
+    }
+    
+    private class AckRevisionCallback implements NamingPushCallback {
+        
+        private final String clientId;
+        
+        private final Service service;
+        
+        private final ServiceRevisionHistory history;
+        
+        private final DeltaPushContext context;
+        
+        private final NamingPushCallback delegate;
+        
+        private AckRevisionCallback(String clientId, Service service, ServiceRevisionHistory history,
+                DeltaPushContext context, NamingPushCallback delegate) {
+            this.clientId = clientId;
+            this.service = service;
+            this.history = history;
+            this.context = context;
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void setActualServiceInfo(ServiceInfo serviceInfo) {
+            delegate.setActualServiceInfo(serviceInfo);
+        }
+        
+        @Override
+        public long getTimeout() {
+            return delegate.getTimeout();
+        }
+        
+        @Override
+        public void onSuccess() {
+            ack(service, history, clientId, context.getRevision(), context.getFingerprint());
+            delegate.onSuccess();
+        }
+        
+        @Override
+        public void onFail(Throwable e) {
+            Loggers.PUSH.warn("[DELTA-PUSH] push revision {} of {} to {} failed, reset acked revision.",
+                    context.getRevision(), service, clientId);
+            removeAck(service, clientId);
+            delegate.onFail(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.utils.NamingUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes between two instance lists actually pushed to subscriber.
+ *
+ * <p>Instances are identified by {@link NamingUtils#getInstanceKey(Instance)}, and compared by string form which
+ * contains all fields of instance. The fingerprint of instance list is order independent, which is used to check
+ * whether the instance list held by subscriber is the same as the one delta computed from.
+ *
+ * @author Nacos
+ */
+public class InstancesDelta {
+    
+    private final List<Instance> changedInstances;
+    
+    private final List<Instance> removedInstances;
+    
+    private final int baseFingerprint;
+    
+    private final int fingerprint;
+    
+    private InstancesDelta(List<Instance> changedInstances, List<Instance> removedInstances, int baseFingerprint,
+            int fingerprint) {
+        this.changedInstances = changedInstances;
+        this.removedInstances = removedInstances;
+        this.baseFingerprint = baseFingerprint;
+        this.fingerprint = fingerprint;
+    }
+    
+    /**
+     * Compute the changes from base instances to current instances.
+     *
+     * @param baseInstances    instances of base revision
+     * @param currentInstances instances of current revision
+     * @return delta
+     */
+    public static InstancesDelta compute(List<Instance> baseInstances, List<Instance> currentInstances) {
+        Map<String, String> baseStrings = new HashMap<>(baseInstances.size() * 4 / 3 + 1);
+        Map<String, Instance> removed = new HashMap<>(baseInstances.size() * 4 / 3 + 1);
+        int baseFingerprint = 0;
+        for (Instance each : baseInstances) {
+            String instanceString = each.toString();
+            baseFingerprint += instanceString.hashCode();
+            String key = NamingUtils.getInstanceKey(each);
+            baseStrings.put(key, instanceString);
+            removed.put(key, each);
+        }
+        List<Instance> changed = new ArrayList<>();
+        int fingerprint = 0;
+        for (Instance each : currentInstances) {
+            String instanceString = each.toString();
+            fingerprint += instanceString.hashCode();
+            String key = NamingUtils.getInstanceKey(each);
+            removed.remove(key);
+            if (!instanceString.equals(baseStrings.get(key))) {
+                changed.add(each);
+            }
+        }
+        List<Instance> removedInstances = removed.isEmpty() ? Collections.emptyList()
+                : new ArrayList<>(removed.size());
+        for (Instance each : removed.values()) {
+            removedInstances.add(keyOnly(each));
+        }
+        return new InstancesDelta(changed, removedInstances, baseFingerprint, fingerprint);
+    }
+    
+    /**
+     * Compute the fingerprint of instances.
+     *
+     * @param instances instances
+     * @return fingerprint
+     */
+    public static int fingerprint(List<Instance> instances) {
+        int result = 0;
+        for (Instance each : instances) {
+            result += each.toString().hashCode();
+        }
+        return result;
+    }
+    
+    private static Instance keyOnly(Instance instance) {
+        Instance result = new Instance();
+        result.setIp(instance.getIp());
+        result.setPort(instance.getPort());
+        result.setClusterName(instance.getClusterName());
+        return result;
+    }
+    
+    public List<Instance> getChangedInstances() {
+        return changedInstances;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public int getBaseFingerprint() {
+        return baseFingerprint;
+    }
+    
+    public int getFingerprint() {
+        return fingerprint;
+    }
+    
+    public boolean isEmpty() {
+        return changedInstances.isEmpty() && removedInstances.isEmpty();
+    }
+}
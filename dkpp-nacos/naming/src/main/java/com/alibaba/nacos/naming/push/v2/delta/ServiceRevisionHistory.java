@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent revisions of push data for one service, and the revisions acked by subscribers of the service.
+ *
+ * @author Nacos
+ */
+public class ServiceRevisionHistory {
+    
+    private final Deque<Revision> revisions = new ArrayDeque<>();
+    
+    private final Map<String, AckedRevision> ackedRevisions = new ConcurrentHashMap<>();
+    
+    private long latestRevision;
+    
+    /**
+     * Record push data as the latest revision. The latest revision will be reused if push data is not changed.
+     *
+     * @param serviceInfo     original push data
+     * @param serviceMetadata service metadata used to select instances for subscribers
+     * @param maxSize         max count of revisions kept
+     * @return revision of push data
+     */
+    public synchronized long record(ServiceInfo serviceInfo, ServiceMetadata serviceMetadata, int maxSize) {
+        Revision latest = revisions.peekLast();
+        if (null != latest && latest.isSameData(serviceInfo, serviceMetadata)) {
+            return latest.getRevision();
+        }
+        Revision revision = new Revision(++latestRevision, serviceInfo, serviceMetadata);
+        revisions.addLast(revision);
+        while (revisions.size() > Math.max(1, maxSize)) {
+            revisions.pollFirst();
+        }
+        return revision.getRevision();
+    }
+    
+    /**
+     * Get the push data of revision.
+     *
+     * @param revision revision
+     * @return push data of revision, empty if revision has been evicted
+     */
+    public synchronized Optional<Revision> getRevision(long revision) {
+        Iterator<Revision> iterator = revisions.descendingIterator();
+        while (iterator.hasNext()) {
+            Revision each = iterator.next();
+            if (each.getRevision() == revision) {
+                return Optional.of(each);
+            }
+            if (each.getRevision() < revision) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+    
+    public synchronized int size() {
+        return revisions.size();
+    }
+    
+    public AckedRevision getAckedRevision(String clientId) {
+        return ackedRevisions.get(clientId);
+    }
+    
+    public void ack(String clientId, long revision, int fingerprint) {
+        ackedRevisions.put(clientId, new AckedRevision(revision, fingerprint));
+    }
+    
+    public void removeAck(String clientId) {
+        ackedRevisions.remove(clientId);
+    }
+    
+    public boolean hasAckedClient() {
+        return !ackedRevisions.isEmpty();
+    }
+    
+    /**
+     * Push data of one revision.
+     */
+    public static class Revision {
+        
+        private final long revision;
+        
+        private final ServiceInfo serviceInfo;
+        
+        private final ServiceMetadata serviceMetadata;
+        
+        private Revision(long revision, ServiceInfo serviceInfo, ServiceMetadata serviceMetadata) {
+            this.revision = revision;
+            this.serviceInfo = serviceInfo;
+            this.serviceMetadata = serviceMetadata;
+        }
+        
+        public long getRevision() {
+            return revision;
+        }
+        
+        public ServiceInfo getServiceInfo() {
+            return serviceInfo;
+        }
+        
+        public ServiceMetadata getServiceMetadata() {
+            return serviceMetadata;
+        }
+        
+        private boolean isSameData(ServiceInfo serviceInfo, ServiceMetadata serviceMetadata) {
+            return Objects.equals(this.serviceMetadata, serviceMetadata) && Objects
+                    .equals(this.serviceInfo.getHosts(), serviceInfo.getHosts());
+        }
+    }
+    
+    /**
+     * Revision acked by subscriber, with the fingerprint of instances actually pushed to the subscriber.
+     */
+    public static class AckedRevision {
+        
+        private final long revision;
+        
+        private final int fingerprint;
+        
+        private AckedRevision(long revision, int fingerprint) {
+            this.revision = revision;
+            this.fingerprint = fingerprint;
+        }
+        
+        public long getRevision() {
+            return revision;
+        }
+        
+        public int getFingerprint() {
+            return fingerprint;
+        }
+    }
+}
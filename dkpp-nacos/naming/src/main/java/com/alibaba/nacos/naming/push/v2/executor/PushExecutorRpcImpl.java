@@ -22,8 +22,9 @@ import com.alibaba.nacos.core.remote.RpcPushService;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.delta.DeltaPushContext;
+import com.alibaba.nacos.naming.push.v2.delta.DeltaPushManager;
 import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
-import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
 /**
@@ -36,8 +37,11 @@ public class PushExecutorRpcImpl implements PushExecutor {
     
     private final RpcPushService pushService;
     
-    public PushExecutorRpcImpl(RpcPushService pushService) {
+    private final DeltaPushManager deltaPushManager;
+    
+    public PushExecutorRpcImpl(RpcPushService pushService, DeltaPushManager deltaPushManager) {
         this.pushService = pushService;
+        this.deltaPushManager = deltaPushManager;
     }
     
     @Override
@@ -51,13 +55,18 @@ public class PushExecutorRpcImpl implements PushExecutor {
             NamingPushCallback callBack) {
         ServiceInfo actualServiceInfo = getServiceInfo(data, subscriber);
         callBack.setActualServiceInfo(actualServiceInfo);
+        if (deltaPushManager.isDeltaPushSupported(clientId, data)) {
+            DeltaPushContext context = deltaPushManager.preparePush(clientId, subscriber, data, actualServiceInfo);
+            pushService.pushWithCallback(clientId, context.getRequest(),
+                    deltaPushManager.wrapCallback(clientId, data.getService(), context, callBack),
+                    GlobalExecutor.getCallbackExecutor());
+            return;
+        }
         pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildNotifySubscriberRequest(actualServiceInfo),
                 callBack, GlobalExecutor.getCallbackExecutor());
     }
     
     private ServiceInfo getServiceInfo(PushDataWrapper data, Subscriber subscriber) {
-        return ServiceUtil
-                .selectInstancesWithHealthyProtection(data.getOriginalData(), data.getServiceMetadata(), false, true,
-                        subscriber);
+        return data.getSelectedServiceInfo(subscriber, false, true);
     }
 }
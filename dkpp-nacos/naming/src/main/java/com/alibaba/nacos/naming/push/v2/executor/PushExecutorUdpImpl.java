@@ -34,6 +34,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class PushExecutorUdpImpl implements PushExecutor {
     
+    private static final String UDP_CACHE_PREFIX = "udp#";
+    
     private final UdpPushService pushService;
     
     public PushExecutorUdpImpl(UdpPushService pushService) {
@@ -43,7 +45,7 @@ public class PushExecutorUdpImpl implements PushExecutor {
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
         pushService.pushDataWithoutCallback(subscriber,
-                handleClusterData(replaceServiceInfoName(data, subscriber), subscriber));
+                getClusterData(data, replaceServiceInfoName(data, subscriber), subscriber));
     }
     
     @Override
@@ -51,7 +53,23 @@ public class PushExecutorUdpImpl implements PushExecutor {
             NamingPushCallback callBack) {
         ServiceInfo actualServiceInfo = replaceServiceInfoName(data, subscriber);
         callBack.setActualServiceInfo(actualServiceInfo);
-        pushService.pushDataWithCallback(subscriber, handleClusterData(actualServiceInfo, subscriber), callBack);
+        pushService.pushDataWithCallback(subscriber, getClusterData(data, actualServiceInfo, subscriber), callBack);
+    }
+    
+    /**
+     * Get the cluster filtered data for 1.x client, which is shared by subscribers with the same view.
+     *
+     * <p>The renamed service info is computed before, because the mapping function must not access the processed
+     * data of wrapper again.
+     *
+     * @param data        push data
+     * @param serviceInfo service info renamed for 1.x client
+     * @param subscriber  subscriber information
+     * @return cluster filtered data
+     */
+    private ServiceInfo getClusterData(PushDataWrapper data, ServiceInfo serviceInfo, Subscriber subscriber) {
+        return data.computeProcessedPushDataIfAbsent(UDP_CACHE_PREFIX + data.getViewKey(subscriber, false, true),
+                key -> handleClusterData(serviceInfo, subscriber));
     }
     
     /**
@@ -68,9 +86,7 @@ public class PushExecutorUdpImpl implements PushExecutor {
      * @return new service info for 1.x
      */
     private ServiceInfo replaceServiceInfoName(PushDataWrapper originalData, Subscriber subscriber) {
-        ServiceInfo serviceInfo = ServiceUtil
-                .selectInstancesWithHealthyProtection(originalData.getOriginalData(), originalData.getServiceMetadata(),
-                        false, true, subscriber);
+        ServiceInfo serviceInfo = originalData.getSelectedServiceInfo(subscriber, false, true);
         ServiceInfo result = new ServiceInfo();
         result.setName(NamingUtils.getGroupedName(serviceInfo.getName(), serviceInfo.getGroupName()));
         result.setClusters(serviceInfo.getClusters());
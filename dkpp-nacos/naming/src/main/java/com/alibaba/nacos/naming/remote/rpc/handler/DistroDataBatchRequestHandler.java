@@ -0,0 +1,73 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.remote.rpc.handler;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroDataBatchRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroDataBatchResponse;
+import com.alibaba.nacos.naming.misc.Loggers;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distro data batch request handler.
+ *
+ * @author Nacos
+ */
+@Component
+public class DistroDataBatchRequestHandler extends RequestHandler<DistroDataBatchRequest, DistroDataBatchResponse> {
+    
+    private final DistroProtocol distroProtocol;
+    
+    public DistroDataBatchRequestHandler(DistroProtocol distroProtocol) {
+        this.distroProtocol = distroProtocol;
+    }
+    
+    @Override
+    public DistroDataBatchResponse handle(DistroDataBatchRequest request, RequestMeta meta) throws NacosException {
+        List<Boolean> results = new ArrayList<>(request.getDistroDataList().size());
+        for (DistroData each : request.getDistroDataList()) {
+            results.add(handleSyncData(each));
+        }
+        DistroDataBatchResponse response = new DistroDataBatchResponse();
+        response.setResults(results);
+        return response;
+    }
+    
+    private boolean handleSyncData(DistroData distroData) {
+        try {
+            switch (distroData.getType()) {
+                case ADD:
+                case CHANGE:
+                case DELETE:
+                    return distroProtocol.onReceive(distroData);
+                default:
+                    return false;
+            }
+        } catch (Exception e) {
+            Loggers.DISTRO.error("[DISTRO-FAILED] distro handle batch data {} with exception", distroData.getDistroKey(),
+                    e);
+            return false;
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
                 case VERIFY:
                     return handleVerify(request.getDistroData(), meta);
                 case SNAPSHOT:
-                    return handleSnapshot();
+                    return handleSnapshot(request.getDistroData());
                 case ADD:
                 case CHANGE:
                 case DELETE:
@@ -77,10 +77,15 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
         return result;
     }
     
-    private DistroDataResponse handleSnapshot() {
+    private DistroDataResponse handleSnapshot(DistroData distroData) {
         DistroDataResponse result = new DistroDataResponse();
-        DistroData distroData = distroProtocol.onSnapshot(DistroClientDataProcessor.TYPE);
-        result.setDistroData(distroData);
+        if (null == distroData || null == distroData.getDistroKey()) {
+            result.setDistroData(distroProtocol.onSnapshot(DistroClientDataProcessor.TYPE));
+        } else {
+            // Request from node which loads snapshot by chunks, resource key is the start key of chunk.
+            String startKey = distroData.getDistroKey().getResourceKey();
+            result.setDistroData(distroProtocol.onSnapshot(DistroClientDataProcessor.TYPE, startKey));
+        }
         return result;
     }
     
@@ -18,15 +18,18 @@ package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
 
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.naming.cluster.transport.JacksonSerializer;
 import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.constants.ClientConstants;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.ClientAttributes;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncData;
+import com.alibaba.nacos.naming.core.v2.client.ClientSyncDelta;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncDatumSnapshot;
 import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
@@ -41,6 +44,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -61,6 +65,8 @@ public class DistroClientDataProcessorTest {
     
     private static final String MOCK_TARGET_SERVER = "2.2.2.2:8848";
     
+    private static final String ANOTHER_TARGET_SERVER = "3.3.3.3:8848";
+    
     private Client client;
     
     private DistroData distroData;
@@ -359,6 +365,124 @@ public class DistroClientDataProcessorTest {
         assertEquals(distroKey, actual.getDistroKey());
     }
     
+    @Test
+    public void testGetDistroDataWithDelta() {
+        DistroData actual = distroClientDataProcessor.getDistroData(distroKey);
+        assertEquals(DistroClientDataProcessor.TYPE, actual.getDistroKey().getResourceType());
+        Service service = Service.newService("ns", "group", "service");
+        client.addServiceInstance(service, new InstancePublishInfo("3.3.3.3", 1111));
+        actual = distroClientDataProcessor.getDistroData(distroKey);
+        assertEquals(DistroClientDataProcessor.DELTA_TYPE, actual.getDistroKey().getResourceType());
+        assertEquals(CLIENT_ID, actual.getDistroKey().getResourceKey());
+        assertEquals(MOCK_TARGET_SERVER, actual.getDistroKey().getTargetServer());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(serializer, times(2)).serialize(captor.capture());
+        ClientSyncDelta delta = (ClientSyncDelta) captor.getValue();
+        assertEquals(Collections.singletonList("service"), delta.getServiceNames());
+        assertTrue(delta.getRemovedServiceNames().isEmpty());
+    }
+    
+    @Test
+    public void testGetDistroDataAfterResetSyncedState() {
+        distroClientDataProcessor.getDistroData(distroKey);
+        distroClientDataProcessor.resetSyncedState(distroKey);
+        DistroData actual = distroClientDataProcessor.getDistroData(distroKey);
+        assertEquals(distroKey, actual.getDistroKey());
+    }
+    
+    @Test
+    public void testSyncedDataSharedBetweenTargets() {
+        DistroKey anotherKey = new DistroKey(CLIENT_ID, DistroClientDataProcessor.TYPE, ANOTHER_TARGET_SERVER);
+        distroClientDataProcessor.getDistroData(distroKey);
+        distroClientDataProcessor.getDistroData(anotherKey);
+        assertEquals(1, distroClientDataProcessor.getSyncedDataCount(CLIENT_ID));
+        client.addServiceInstance(Service.newService("ns", "group", "service"),
+                new InstancePublishInfo("3.3.3.3", 1111));
+        distroClientDataProcessor.getDistroData(distroKey);
+        assertEquals(2, distroClientDataProcessor.getSyncedDataCount(CLIENT_ID));
+        distroClientDataProcessor.getDistroData(anotherKey);
+        assertEquals(1, distroClientDataProcessor.getSyncedDataCount(CLIENT_ID));
+    }
+    
+    @Test
+    public void testRemoveSyncedStateOfLeftMembers() {
+        DistroKey anotherKey = new DistroKey(CLIENT_ID, DistroClientDataProcessor.TYPE, ANOTHER_TARGET_SERVER);
+        distroClientDataProcessor.getDistroData(distroKey);
+        distroClientDataProcessor.getDistroData(anotherKey);
+        Member member = Member.builder().ip("2.2.2.2").port(8848).build();
+        distroClientDataProcessor.removeSyncedStateOfLeftMembers(Collections.singletonList(member));
+        assertEquals(DistroClientDataProcessor.DELTA_TYPE,
+                distroClientDataProcessor.getDistroData(distroKey).getDistroKey().getResourceType());
+        // Synced state of the left member is dropped, so full data is synced if it rejoins.
+        assertEquals(DistroClientDataProcessor.TYPE,
+                distroClientDataProcessor.getDistroData(anotherKey).getDistroKey().getResourceType());
+        
+        distroClientDataProcessor.removeSyncedStateOfLeftMembers(Collections.emptyList());
+        assertEquals(0, distroClientDataProcessor.getSyncedDataCount(CLIENT_ID));
+    }
+    
+    @Test
+    public void testProcessDelta() {
+        ClientSyncDelta delta = new ClientSyncDelta(CLIENT_ID, 0L, 2L);
+        delta.addChanged("ns", "group", "service", new InstancePublishInfo("3.3.3.3", 1111));
+        when(serializer.deserialize(any(), eq(ClientSyncDelta.class))).thenReturn(delta);
+        assertTrue(distroClientDataProcessor.processDelta(distroData));
+        assertEquals(2L, client.getRevision());
+        assertEquals(1, client.getAllPublishedService().size());
+        delta = new ClientSyncDelta(CLIENT_ID, 2L, 3L);
+        delta.addRemoved("ns", "group", "service");
+        when(serializer.deserialize(any(), eq(ClientSyncDelta.class))).thenReturn(delta);
+        assertTrue(distroClientDataProcessor.processDelta(distroData));
+        assertEquals(3L, client.getRevision());
+        assertEquals(0, client.getAllPublishedService().size());
+    }
+    
+    @Test
+    public void testProcessDeltaWithBatchInstanceBySerializer() {
+        Serializer jacksonSerializer = new JacksonSerializer();
+        when(applicationContext.getBean(Serializer.class)).thenReturn(jacksonSerializer);
+        client.setRevision(1L);
+        distroClientDataProcessor.getDistroData(distroKey);
+        Service service = Service.newService("ns", "group", "batchService");
+        BatchInstancePublishInfo batchInstancePublishInfo = new BatchInstancePublishInfo();
+        batchInstancePublishInfo.setInstancePublishInfos(
+                Arrays.asList(new InstancePublishInfo("4.4.4.4", 1111), new InstancePublishInfo("5.5.5.5", 2222)));
+        client.addServiceInstance(service, batchInstancePublishInfo);
+        client.setRevision(2L);
+        DistroData deltaData = distroClientDataProcessor.getDistroData(distroKey);
+        assertEquals(DistroClientDataProcessor.DELTA_TYPE, deltaData.getDistroKey().getResourceType());
+        
+        Client replica = new ConnectionBasedClient(CLIENT_ID, true, 1L);
+        when(clientManager.getClient(CLIENT_ID)).thenReturn(replica);
+        assertTrue(distroClientDataProcessor.processDelta(deltaData));
+        assertEquals(2L, replica.getRevision());
+        InstancePublishInfo actual = replica.getInstancePublishInfo(ServiceManager.getInstance().getSingleton(service));
+        assertTrue(actual instanceof BatchInstancePublishInfo);
+        assertEquals(batchInstancePublishInfo, actual);
+    }
+    
+    @Test
+    public void testProcessDeltaWithDifferentBase() {
+        client.setRevision(1L);
+        ClientSyncDelta delta = new ClientSyncDelta(CLIENT_ID, 0L, 2L);
+        delta.addChanged("ns", "group", "service", new InstancePublishInfo("3.3.3.3", 1111));
+        when(serializer.deserialize(any(), eq(ClientSyncDelta.class))).thenReturn(delta);
+        assertFalse(distroClientDataProcessor.processDelta(distroData));
+        assertEquals(1L, client.getRevision());
+        assertEquals(0, client.getAllPublishedService().size());
+    }
+    
+    @Test
+    public void testGetDatumSnapshotByChunk() {
+        String otherClientId = "22222_2.2.2.2_3306";
+        when(clientManager.getClient(otherClientId)).thenReturn(new ConnectionBasedClient(otherClientId, true, 0L));
+        when(clientManager.allClientId()).thenReturn(Arrays.asList(otherClientId, CLIENT_ID));
+        DistroData actual = distroClientDataProcessor.getDatumSnapshot("", 1);
+        assertEquals(CLIENT_ID, actual.getDistroKey().getResourceKey());
+        actual = distroClientDataProcessor.getDatumSnapshot(CLIENT_ID, 1);
+        assertEquals(DataOperation.SNAPSHOT.name(), actual.getDistroKey().getResourceKey());
+    }
+    
     @Test
     public void testGetDatumSnapshot() {
         when(clientManager.allClientId()).thenReturn(Collections.singletonList(CLIENT_ID));
@@ -18,6 +18,8 @@ package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.response.ErrorResponse;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.core.cluster.Member;
@@ -28,6 +30,9 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.exception.DistroException;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroDataBatchRequest;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroDataBatchResponse;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
@@ -41,6 +46,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.env.MockEnvironment;
 
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +58,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -228,6 +239,65 @@ public class DistroClientTransportAgentTest {
         verify(distroCallback).onSuccess();
     }
     
+    @Test
+    public void testSyncDataWithCallbackInBatch() throws NacosException {
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        when(memberManager.find(member.getAddress())).thenReturn(member);
+        member.setState(NodeState.UP);
+        when(clusterRpcClientProxy.isRunning(member)).thenReturn(true);
+        List<Request> requests = new LinkedList<>();
+        List<RequestCallBack<Response>> callbacks = new LinkedList<>();
+        doAnswer(invocationOnMock -> {
+            requests.add(invocationOnMock.getArgument(1));
+            callbacks.add(invocationOnMock.getArgument(2));
+            return null;
+        }).when(clusterRpcClientProxy).asyncRequest(eq(member), any(), any());
+        for (int i = 0; i < 3; i++) {
+            transportAgent.syncData(new DistroData(), member.getAddress(), distroCallback);
+        }
+        // Only one request in flight, others are waiting for batch.
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0) instanceof DistroDataRequest);
+        callbacks.get(0).onResponse(response);
+        verify(distroCallback).onSuccess();
+        assertEquals(2, requests.size());
+        assertEquals(2, ((DistroDataBatchRequest) requests.get(1)).getDistroDataList().size());
+        DistroDataBatchResponse batchResponse = new DistroDataBatchResponse();
+        batchResponse.setResults(Arrays.asList(true, false));
+        callbacks.get(1).onResponse(batchResponse);
+        verify(distroCallback, times(2)).onSuccess();
+        verify(distroCallback).onFailed(null);
+    }
+    
+    @Test
+    public void testSyncDataWithCallbackInBatchNoHandler() throws NacosException {
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        when(memberManager.find(member.getAddress())).thenReturn(member);
+        member.setState(NodeState.UP);
+        when(clusterRpcClientProxy.isRunning(member)).thenReturn(true);
+        List<Request> requests = new LinkedList<>();
+        List<RequestCallBack<Response>> callbacks = new LinkedList<>();
+        doAnswer(invocationOnMock -> {
+            requests.add(invocationOnMock.getArgument(1));
+            callbacks.add(invocationOnMock.getArgument(2));
+            return null;
+        }).when(clusterRpcClientProxy).asyncRequest(eq(member), any(), any());
+        for (int i = 0; i < 3; i++) {
+            transportAgent.syncData(new DistroData(), member.getAddress(), distroCallback);
+        }
+        callbacks.get(0).onResponse(response);
+        callbacks.get(1).onResponse(ErrorResponse.build(NacosException.NO_HANDLER, "RequestHandler Not Found"));
+        // Old version target server, resend one by one.
+        assertEquals(4, requests.size());
+        assertTrue(requests.get(2) instanceof DistroDataRequest);
+        assertTrue(requests.get(3) instanceof DistroDataRequest);
+        callbacks.get(2).onResponse(response);
+        callbacks.get(3).onResponse(response);
+        verify(distroCallback, times(3)).onSuccess();
+        transportAgent.syncData(new DistroData(), member.getAddress(), distroCallback);
+        assertTrue(requests.get(4) instanceof DistroDataRequest);
+    }
+    
     @Test
     public void testSyncVerifyDataForMemberNonExist() throws NacosException {
         DistroData verifyData = new DistroData();
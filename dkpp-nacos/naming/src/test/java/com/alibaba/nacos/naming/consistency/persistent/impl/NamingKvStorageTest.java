@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.naming.consistency.persistent.impl;
 
+import com.alibaba.nacos.core.exception.ErrorCode;
 import com.alibaba.nacos.core.exception.KvStorageException;
 import com.alibaba.nacos.core.storage.kv.FileKvStorage;
 import com.alibaba.nacos.sys.utils.DiskUtils;
@@ -29,7 +30,12 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -75,6 +81,40 @@ public class NamingKvStorageTest extends TestCase {
         verify(baseDirStorageMock).put(key, value);
     }
     
+    @Test
+    public void testBatchPut() throws KvStorageException {
+        List<byte[]> keys = Collections.singletonList(key);
+        List<byte[]> values = Collections.singletonList("value_test".getBytes());
+        namingKvStorage.batchPut(keys, values);
+        verify(baseDirStorageMock).batchPut(keys, values);
+        verify(baseDirStorageMock, never()).put(any(), any());
+        // read from memory after batch put.
+        assertEquals("value_test", new String(namingKvStorage.get(key)));
+        verify(baseDirStorageMock, never()).get(key);
+    }
+    
+    @Test
+    public void testBatchPutFailed() throws KvStorageException {
+        List<byte[]> keys = Collections.singletonList(key);
+        List<byte[]> values = Collections.singletonList("value_test".getBytes());
+        doThrow(new KvStorageException(ErrorCode.KVStorageWriteError, "write fail")).when(baseDirStorageMock)
+                .batchPut(keys, values);
+        try {
+            namingKvStorage.batchPut(keys, values);
+            fail("batch put should fail");
+        } catch (KvStorageException ignored) {
+        }
+        assertNull(namingKvStorage.get(key));
+    }
+    
+    @Test
+    public void testBatchDelete() throws KvStorageException {
+        List<byte[]> keys = Collections.singletonList(key);
+        namingKvStorage.batchDelete(keys);
+        verify(baseDirStorageMock).batchDelete(keys);
+        verify(baseDirStorageMock, never()).delete(key);
+    }
+    
     @Test
     public void testDelete() throws KvStorageException {
         namingKvStorage.delete(key);
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck;
+
+import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HealthCheckReactorTest {
+    
+    @BeforeClass
+    public static void setUpClass() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @Test
+    public void testScheduleOnce() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        HealthCheckReactor.scheduleOnce(latch::countDown, 200L);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 200L);
+    }
+    
+    @Test
+    public void testScheduleAndCancelBeatCheck() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        BeatCheckTask task = new BeatCheckTask() {
+            
+            @Override
+            public String taskKey() {
+                return "testScheduleAndCancelBeatCheck";
+            }
+            
+            @Override
+            public void run() {
+                count.incrementAndGet();
+                latch.countDown();
+            }
+        };
+        HealthCheckReactor.scheduleCheck(task);
+        // Scheduled task with same key should be ignored.
+        HealthCheckReactor.scheduleCheck(task);
+        // First check is spread within the interval of beat check.
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        HealthCheckReactor.cancelCheck(task);
+        int checkedCount = count.get();
+        TimeUnit.MILLISECONDS.sleep(500L);
+        assertEquals(checkedCount, count.get());
+    }
+    
+    @Test
+    public void testCancelAndRescheduleDuringCheck() throws InterruptedException {
+        CountDownLatch rescheduledLatch = new CountDownLatch(2);
+        AtomicInteger count = new AtomicInteger();
+        BeatCheckTask task = new BeatCheckTask() {
+            
+            @Override
+            public String taskKey() {
+                return "testCancelAndRescheduleDuringCheck";
+            }
+            
+            @Override
+            public void run() {
+                if (count.incrementAndGet() == 1) {
+                    HealthCheckReactor.cancelCheck(this);
+                    HealthCheckReactor.scheduleCheck(this);
+                }
+                rescheduledLatch.countDown();
+            }
+        };
+        HealthCheckReactor.scheduleCheck(task);
+        try {
+            // The rescheduled task is still checked after the first check finished.
+            assertTrue(rescheduledLatch.await(15, TimeUnit.SECONDS));
+        } finally {
+            HealthCheckReactor.cancelCheck(task);
+        }
+    }
+}
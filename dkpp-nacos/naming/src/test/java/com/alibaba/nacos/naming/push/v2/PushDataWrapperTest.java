@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
+import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.UdpPushService;
+import com.alibaba.nacos.naming.push.v2.executor.PushExecutorUdpImpl;
+import com.alibaba.nacos.naming.selector.LabelSelector;
+import com.alibaba.nacos.naming.selector.SelectorManager;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PushDataWrapperTest {
+    
+    @Mock
+    private SelectorManager selectorManager;
+    
+    @Mock
+    private ConfigurableApplicationContext context;
+    
+    @Mock
+    private UdpPushService udpPushService;
+    
+    private ServiceMetadata serviceMetadata;
+    
+    private PushDataWrapper pushData;
+    
+    @Before
+    public void setUp() {
+        ApplicationUtils.injectContext(context);
+        when(context.getBean(SelectorManager.class)).thenReturn(selectorManager);
+        when(selectorManager.select(any(), any(), any()))
+                .then((Answer<List<Instance>>) invocationOnMock -> invocationOnMock.getArgument(2));
+        serviceMetadata = new ServiceMetadata();
+        ServiceInfo serviceInfo = new ServiceInfo("G@@S");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(buildInstance("1.0.0.1", "A"));
+        hosts.add(buildInstance("1.0.0.2", "B"));
+        serviceInfo.setHosts(hosts);
+        pushData = new PushDataWrapper(serviceMetadata, serviceInfo);
+    }
+    
+    @Test
+    public void testSelectedServiceInfoSharedBySameView() {
+        ServiceInfo first = pushData.getSelectedServiceInfo(buildSubscriber("2.0.0.1", ""), false, true);
+        ServiceInfo second = pushData.getSelectedServiceInfo(buildSubscriber("2.0.0.2", ""), false, true);
+        assertSame(first, second);
+        assertEquals(2, first.getHosts().size());
+        verify(selectorManager, times(1)).select(any(), any(), any());
+    }
+    
+    @Test
+    public void testSelectedServiceInfoSeparatedByCluster() {
+        ServiceInfo all = pushData.getSelectedServiceInfo(buildSubscriber("2.0.0.1", ""), false, true);
+        ServiceInfo clusterA = pushData.getSelectedServiceInfo(buildSubscriber("2.0.0.1", "A"), false, true);
+        assertNotSame(all, clusterA);
+        assertEquals(1, clusterA.getHosts().size());
+        assertNotSame(clusterA, pushData.getSelectedServiceInfo(buildSubscriber("2.0.0.1", "A"), true, true));
+    }
+    
+    @Test
+    public void testSelectedServiceInfoSeparatedBySelector() {
+        serviceMetadata.setSelector(new LabelSelector<>());
+        Subscriber subscriber = buildSubscriber("2.0.0.1", "");
+        Subscriber sameIpSubscriber = buildSubscriber("2.0.0.1", "");
+        Subscriber otherIpSubscriber = buildSubscriber("2.0.0.2", "");
+        assertNotEquals(pushData.getViewKey(subscriber, false, true),
+                pushData.getViewKey(otherIpSubscriber, false, true));
+        ServiceInfo first = pushData.getSelectedServiceInfo(subscriber, false, true);
+        assertSame(first, pushData.getSelectedServiceInfo(sameIpSubscriber, false, true));
+        assertNotSame(first, pushData.getSelectedServiceInfo(otherIpSubscriber, false, true));
+        verify(selectorManager, times(2)).select(any(), any(), any());
+    }
+    
+    @Test
+    public void testComputeProcessedPushDataIfAbsent() {
+        AtomicInteger count = new AtomicInteger();
+        assertEquals(1, (int) pushData.computeProcessedPushDataIfAbsent("key", key -> count.incrementAndGet()));
+        assertEquals(1, (int) pushData.computeProcessedPushDataIfAbsent("key", key -> count.incrementAndGet()));
+        assertEquals(1, (int) pushData.<Integer>getProcessedPushData("key").get());
+    }
+    
+    @Test
+    public void testUdpPushDataSharedBySameView() {
+        PushExecutorUdpImpl udpPushExecutor = new PushExecutorUdpImpl(udpPushService);
+        udpPushExecutor.doPush("client1", buildSubscriber("2.0.0.1", "A"), pushData);
+        udpPushExecutor.doPush("client2", buildSubscriber("2.0.0.2", "A"), pushData);
+        udpPushExecutor.doPush("client3", buildSubscriber("2.0.0.3", ""), pushData);
+        ArgumentCaptor<ServiceInfo> captor = ArgumentCaptor.forClass(ServiceInfo.class);
+        verify(udpPushService, times(3)).pushDataWithoutCallback(any(), captor.capture());
+        List<ServiceInfo> pushed = captor.getAllValues();
+        assertSame(pushed.get(0), pushed.get(1));
+        assertNotSame(pushed.get(0), pushed.get(2));
+        assertEquals("G@@S", pushed.get(0).getName());
+        assertEquals(1, pushed.get(0).getHosts().size());
+        assertEquals(2, pushed.get(2).getHosts().size());
+    }
+    
+    private Subscriber buildSubscriber(String ip, String cluster) {
+        return new Subscriber(ip + ":0", "", "", ip, "public", "G@@S", 0, cluster);
+    }
+    
+    private Instance buildInstance(String ip, String cluster) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8080);
+        result.setClusterName(cluster);
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DeltaPushManagerTest {
+    
+    private static final String CLIENT_ID = "clientId";
+    
+    private final Service service = Service.newService("N", "G", "S");
+    
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private Connection connection;
+    
+    @Mock
+    private NamingPushCallback pushCallback;
+    
+    private Subscriber subscriber;
+    
+    private DeltaPushManager deltaPushManager;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        when(connectionManager.getConnection(CLIENT_ID)).thenReturn(connection);
+        when(connection.getAbilityTable())
+                .thenReturn(Collections.singletonMap(AbilityKey.SDK_CLIENT_SUPPORT_DELTA_PUSH.getName(), true));
+        subscriber = new Subscriber("1.1.1.1:1", "agent", "app", "1.1.1.1", "N", "G@@S", 1);
+        deltaPushManager = new DeltaPushManager(connectionManager);
+    }
+    
+    @Test
+    public void testIsDeltaPushSupported() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2");
+        assertTrue(deltaPushManager.isDeltaPushSupported(CLIENT_ID, data));
+        assertFalse(deltaPushManager.isDeltaPushSupported("otherClient", data));
+        assertFalse(deltaPushManager.isDeltaPushSupported(CLIENT_ID, new PushDataWrapper(null, new ServiceInfo())));
+        when(connection.getAbilityTable()).thenReturn(null);
+        assertFalse(deltaPushManager.isDeltaPushSupported(CLIENT_ID, data));
+    }
+    
+    @Test
+    public void testFullPushBeforeAck() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2");
+        DeltaPushContext context = deltaPushManager.preparePush(CLIENT_ID, subscriber, data, data.getOriginalData());
+        assertFalse(context.getRequest().isIncremental());
+        assertEquals(1L, context.getRequest().getRevision());
+        assertEquals(2, context.getRequest().getServiceInfo().getHosts().size());
+    }
+    
+    @Test
+    public void testIncrementalPushAfterAck() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.3", "1.0.0.5");
+        pushAndAck(data);
+        
+        PushDataWrapper newData = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.4", "1.0.0.5");
+        newData.getOriginalData().getHosts().get(1).setWeight(2.0D);
+        DeltaPushContext context = deltaPushManager
+                .preparePush(CLIENT_ID, subscriber, newData, newData.getOriginalData());
+        NotifySubscriberRequest request = context.getRequest();
+        assertTrue(request.isIncremental());
+        assertEquals(1L, request.getBaseRevision());
+        assertEquals(2L, request.getRevision());
+        assertEquals(2, request.getServiceInfo().getHosts().size());
+        assertEquals("1.0.0.2", request.getServiceInfo().getHosts().get(0).getIp());
+        assertEquals("1.0.0.4", request.getServiceInfo().getHosts().get(1).getIp());
+        assertEquals(1, request.getRemovedInstances().size());
+        assertEquals("1.0.0.3", request.getRemovedInstances().get(0).getIp());
+    }
+    
+    @Test
+    public void testSameDataReuseRevision() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2");
+        pushAndAck(data);
+        PushDataWrapper sameData = buildPushData("1.0.0.1", "1.0.0.2");
+        DeltaPushContext context = deltaPushManager
+                .preparePush(CLIENT_ID, subscriber, sameData, sameData.getOriginalData());
+        assertEquals(1L, context.getRevision());
+        assertTrue(context.getRequest().isIncremental());
+        assertTrue(context.getRequest().getServiceInfo().getHosts().isEmpty());
+        assertTrue(context.getRequest().getRemovedInstances().isEmpty());
+    }
+    
+    @Test
+    public void testFullPushWhenFingerprintNotMatched() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.3");
+        ServiceInfo actual = new ServiceInfo("G@@S");
+        actual.setHosts(new ArrayList<>(data.getOriginalData().getHosts().subList(0, 1)));
+        DeltaPushContext context = deltaPushManager.preparePush(CLIENT_ID, subscriber, data, actual);
+        deltaPushManager.wrapCallback(CLIENT_ID, service, context, pushCallback).onSuccess();
+        
+        PushDataWrapper newData = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.4");
+        context = deltaPushManager.preparePush(CLIENT_ID, subscriber, newData, newData.getOriginalData());
+        assertFalse(context.getRequest().isIncremental());
+    }
+    
+    @Test
+    public void testFullPushAfterFailed() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.3");
+        pushAndAck(data);
+        PushDataWrapper newData = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.4");
+        DeltaPushContext context = deltaPushManager
+                .preparePush(CLIENT_ID, subscriber, newData, newData.getOriginalData());
+        assertTrue(context.getRequest().isIncremental());
+        RuntimeException exception = new RuntimeException("test");
+        deltaPushManager.wrapCallback(CLIENT_ID, service, context, pushCallback).onFail(exception);
+        verify(pushCallback).onFail(exception);
+        
+        PushDataWrapper retryData = buildPushData("1.0.0.1", "1.0.0.2", "1.0.0.4");
+        context = deltaPushManager.preparePush(CLIENT_ID, subscriber, retryData, retryData.getOriginalData());
+        assertFalse(context.getRequest().isIncremental());
+    }
+    
+    @Test
+    public void testRemoveHistoryAfterFailedWithoutAckedClient() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2");
+        DeltaPushContext context = deltaPushManager.preparePush(CLIENT_ID, subscriber, data, data.getOriginalData());
+        deltaPushManager.wrapCallback(CLIENT_ID, service, context, pushCallback).onFail(new RuntimeException());
+        
+        // history is removed, so revision starts again.
+        PushDataWrapper newData = buildPushData("1.0.0.1", "1.0.0.3");
+        context = deltaPushManager.preparePush(CLIENT_ID, subscriber, newData, newData.getOriginalData());
+        assertEquals(1L, context.getRevision());
+    }
+    
+    @Test
+    public void testRemoveHistoryAfterSucceedWithoutConnection() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2");
+        DeltaPushContext context = deltaPushManager.preparePush(CLIENT_ID, subscriber, data, data.getOriginalData());
+        when(connectionManager.getConnection(CLIENT_ID)).thenReturn(null);
+        deltaPushManager.wrapCallback(CLIENT_ID, service, context, pushCallback).onSuccess();
+        verify(pushCallback).onSuccess();
+        
+        when(connectionManager.getConnection(CLIENT_ID)).thenReturn(connection);
+        PushDataWrapper newData = buildPushData("1.0.0.1", "1.0.0.3");
+        context = deltaPushManager.preparePush(CLIENT_ID, subscriber, newData, newData.getOriginalData());
+        assertFalse(context.getRequest().isIncremental());
+        assertEquals(1L, context.getRevision());
+    }
+    
+    @Test
+    public void testRemoveHistoryWhenServiceRemoved() {
+        PushDataWrapper data = buildPushData("1.0.0.1", "1.0.0.2");
+        pushAndAck(data);
+        deltaPushManager.onEvent(new MetadataEvent.ServiceMetadataEvent(service, false));
+        PushDataWrapper newData = buildPushData("1.0.0.1", "1.0.0.3");
+        DeltaPushContext context = deltaPushManager
+                .preparePush(CLIENT_ID, subscriber, newData, newData.getOriginalData());
+        assertTrue(context.getRequest().isIncremental());
+        
+        deltaPushManager.onEvent(new MetadataEvent.ServiceMetadataEvent(service, true));
+        PushDataWrapper recreatedData = buildPushData("1.0.0.1", "1.0.0.3");
+        context = deltaPushManager.preparePush(CLIENT_ID, subscriber, recreatedData, recreatedData.getOriginalData());
+        assertFalse(context.getRequest().isIncremental());
+        assertEquals(1L, context.getRevision());
+    }
+    
+    private void pushAndAck(PushDataWrapper data) {
+        DeltaPushContext context = deltaPushManager.preparePush(CLIENT_ID, subscriber, data, data.getOriginalData());
+        deltaPushManager.wrapCallback(CLIENT_ID, service, context, pushCallback).onSuccess();
+        verify(pushCallback).onSuccess();
+    }
+    
+    private PushDataWrapper buildPushData(String... ips) {
+        ServiceInfo serviceInfo = new ServiceInfo("G@@S");
+        List<Instance> hosts = new ArrayList<>();
+        for (String each : ips) {
+            Instance instance = new Instance();
+            instance.setIp(each);
+            instance.setPort(8080);
+            instance.setClusterName("DEFAULT");
+            hosts.add(instance);
+        }
+        serviceInfo.setHosts(hosts);
+        return new PushDataWrapper(service, null, serviceInfo);
+    }
+}
@@ -52,4 +52,41 @@ public class PersistenceConstant {
     
     public static final String CONFIG_MODEL_RAFT_GROUP = "nacos_config";
     
+    /**
+     * Whether save raft snapshot of embedded storage as chunks, which only compresses and transfers changed chunks.
+     */
+    public static final String EMBEDDED_SNAPSHOT_INCREMENTAL = "nacos.persistence.embedded.snapshot.incremental";
+    
+    /**
+     * Size in bytes of each chunk of embedded storage raft snapshot.
+     */
+    public static final String EMBEDDED_SNAPSHOT_CHUNK_SIZE = "nacos.persistence.embedded.snapshot.chunkSize";
+    
+    public static final int DEFAULT_EMBEDDED_SNAPSHOT_CHUNK_SIZE = 4 * 1024 * 1024;
+    
+    /**
+     * Whether merge concurrent writes of embedded storage into one raft log.
+     */
+    public static final String EMBEDDED_GROUP_COMMIT_ENABLED = "nacos.persistence.embedded.groupCommit.enabled";
+    
+    /**
+     * Max count of writes merged into one raft log.
+     */
+    public static final String EMBEDDED_GROUP_COMMIT_MAX_COUNT = "nacos.persistence.embedded.groupCommit.maxCount";
+    
+    public static final int DEFAULT_EMBEDDED_GROUP_COMMIT_MAX_COUNT = 64;
+    
+    /**
+     * Max bytes of writes merged into one raft log, a single write larger than it is committed alone.
+     */
+    public static final String EMBEDDED_GROUP_COMMIT_MAX_BYTES = "nacos.persistence.embedded.groupCommit.maxBytes";
+    
+    public static final int DEFAULT_EMBEDDED_GROUP_COMMIT_MAX_BYTES = 1024 * 1024;
+    
+    /**
+     * Milliseconds to wait for more writes before committing when no group commit is in progress, 0 means commit
+     * immediately and only merge the writes which arrive during the previous group commit.
+     */
+    public static final String EMBEDDED_GROUP_COMMIT_WINDOW_MS = "nacos.persistence.embedded.groupCommit.windowMs";
+    
 }
@@ -50,6 +50,11 @@ public class Page<E> implements Serializable {
      */
     private List<E> pageItems = new ArrayList<>();
     
+    /**
+     * lastMaxId of keyset pagination, the max id of this page used to seek next page, null means no more page.
+     */
+    private Long lastMaxId;
+    
     public void setPageNumber(int pageNumber) {
         this.pageNumber = pageNumber;
     }
@@ -81,4 +86,12 @@ public class Page<E> implements Serializable {
     public List<E> getPageItems() {
         return pageItems;
     }
+    
+    public Long getLastMaxId() {
+        return lastMaxId;
+    }
+    
+    public void setLastMaxId(Long lastMaxId) {
+        this.lastMaxId = lastMaxId;
+    }
 }
@@ -20,6 +20,8 @@ import com.alibaba.nacos.persistence.model.Page;
 import com.alibaba.nacos.plugin.datasource.model.MapperResult;
 import org.springframework.jdbc.core.RowMapper;
 
+import java.util.function.Function;
+
 /**
  * Pagination Utils interface.
  *
@@ -46,5 +48,20 @@ public interface PaginationHelper<E> {
     Page<E> fetchPageLimit(final MapperResult countMapperResult, final MapperResult mapperResult, final int pageNo,
             final int pageSize, final RowMapper<E> rowMapper);
     
+    /**
+     * Fetch page by keyset pagination, the total count is not queried.
+     *
+     * <p>The fetch sql should seek rows by id greater than lastMaxId in order of id and limit {@code pageSize + 1}
+     * rows, the extra row is only used to know whether there is next page and not returned.
+     *
+     * @param mapperResult fetch sql and args
+     * @param pageSize     page size
+     * @param idExtractor  get id of item, the id of last item is the lastMaxId of next page
+     * @param rowMapper    {@link RowMapper}
+     * @return page with lastMaxId of next page, lastMaxId is null if no more page
+     */
+    Page<E> fetchPageByCursor(final MapperResult mapperResult, final int pageSize,
+            final Function<E, Long> idExtractor, final RowMapper<E> rowMapper);
+    
     void updateLimit(final String sql, final Object[] args);
 }
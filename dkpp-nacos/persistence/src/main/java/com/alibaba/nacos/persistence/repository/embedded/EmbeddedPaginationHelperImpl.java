@@ -23,6 +23,7 @@ import com.alibaba.nacos.plugin.datasource.model.MapperResult;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Pagination Utils For Apache Derby.
@@ -185,6 +186,27 @@ public class EmbeddedPaginationHelperImpl<E> implements PaginationHelper {
                 mapperResult.getSql(), mapperResult.getParamList().toArray(), pageNo, pageSize, rowMapper);
     }
     
+    @Override
+    public Page<E> fetchPageByCursor(final MapperResult mapperResult, final int pageSize, final Function idExtractor,
+            final RowMapper rowMapper) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be greater than zero");
+        }
+        final Page<E> page = new Page<>();
+        List<E> result = databaseOperate.queryMany(mapperResult.getSql(), mapperResult.getParamList().toArray(),
+                rowMapper);
+        // one more row than page size is fetched to know whether there is next page.
+        boolean hasMore = result.size() > pageSize;
+        for (int i = 0; i < result.size() && i < pageSize; i++) {
+            page.getPageItems().add(result.get(i));
+        }
+        if (hasMore) {
+            E last = page.getPageItems().get(pageSize - 1);
+            page.setLastMaxId((Long) idExtractor.apply(last));
+        }
+        return page;
+    }
+    
     @Override
     public void updateLimit(final String sql, final Object[] args) {
         EmbeddedStorageContextHolder.addSqlContext(sql, args);
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Embedded storae context holder.
@@ -34,6 +35,8 @@ public class EmbeddedStorageContextHolder {
     
     private static final ThreadLocal<Map<String, String>> EXTEND_INFO_CONTEXT = ThreadLocal.withInitial(HashMap::new);
     
+    private static final ThreadLocal<ReadConsistency> READ_CONSISTENCY_CONTEXT = new ThreadLocal<>();
+    
     /**
      * Add sql context.
      *
@@ -112,8 +115,42 @@ public class EmbeddedStorageContextHolder {
         return EXTEND_INFO_CONTEXT.get();
     }
     
+    /**
+     * Get read consistency of queries in current thread.
+     *
+     * @return read consistency, {@link ReadConsistency#LINEARIZABLE} if not set
+     */
+    public static ReadConsistency getReadConsistency() {
+        ReadConsistency consistency = READ_CONSISTENCY_CONTEXT.get();
+        return null == consistency ? ReadConsistency.LINEARIZABLE : consistency;
+    }
+    
+    /**
+     * Execute queries with the read consistency, the previous read consistency of current thread is restored after
+     * executed.
+     *
+     * @param consistency read consistency of queries
+     * @param query       queries to execute
+     * @param <T>         type of query result
+     * @return query result
+     */
+    public static <T> T readWithConsistency(ReadConsistency consistency, Supplier<T> query) {
+        ReadConsistency previous = READ_CONSISTENCY_CONTEXT.get();
+        READ_CONSISTENCY_CONTEXT.set(consistency);
+        try {
+            return query.get();
+        } finally {
+            if (null == previous) {
+                READ_CONSISTENCY_CONTEXT.remove();
+            } else {
+                READ_CONSISTENCY_CONTEXT.set(previous);
+            }
+        }
+    }
+    
     public static void cleanAllContext() {
         SQL_CONTEXT.remove();
         EXTEND_INFO_CONTEXT.remove();
+        READ_CONSISTENCY_CONTEXT.remove();
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded;
+
+/**
+ * Consistency level of a query against the embedded storage.
+ *
+ * @author Nacos
+ */
+public enum ReadConsistency {
+    
+    /**
+     * Read through raft read index, which always sees all writes committed before the query, default level.
+     */
+    LINEARIZABLE,
+    
+    /**
+     * Read the local storage directly if current node is the leader and the leadership is confirmed by quorum within
+     * the lease, otherwise fallback to {@link #LINEARIZABLE}. The lease is shorter than the election timeout so no
+     * other leader can be elected while it is held.
+     */
+    LEASE,
+    
+    /**
+     * Read the local storage directly on any node, the result may be stale for the data which has not been applied by
+     * current node. Only suitable for queries which can tolerate stale data, such as console listing.
+     */
+    FOLLOWER
+}
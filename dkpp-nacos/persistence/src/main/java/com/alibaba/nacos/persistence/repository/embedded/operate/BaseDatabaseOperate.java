@@ -32,6 +32,7 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.transaction.IllegalTransactionStateException;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -214,41 +215,7 @@ public interface BaseDatabaseOperate extends DatabaseOperate {
             List<ModifyRequest> contexts, BiConsumer<Boolean, Throwable> consumer) {
         boolean updateResult = Boolean.FALSE;
         try {
-            updateResult = transactionTemplate.execute(status -> {
-                String[] errSql = new String[] {null};
-                Object[][] args = new Object[][] {null};
-                try {
-                    contexts.forEach(pair -> {
-                        errSql[0] = pair.getSql();
-                        args[0] = pair.getArgs();
-                        boolean rollBackOnUpdateFail = pair.isRollBackOnUpdateFail();
-                        LoggerUtils.printIfDebugEnabled(LOGGER, "current sql : {}", errSql[0]);
-                        LoggerUtils.printIfDebugEnabled(LOGGER, "current args : {}", args[0]);
-                        int row = jdbcTemplate.update(pair.getSql(), pair.getArgs());
-                        if (rollBackOnUpdateFail && row < 1) {
-                            LoggerUtils.printIfDebugEnabled(LOGGER, "SQL update affected {} rows ", row);
-                            throw new IllegalTransactionStateException("Illegal transaction");
-                        }
-                    });
-                    if (consumer != null) {
-                        consumer.accept(Boolean.TRUE, null);
-                    }
-                    return Boolean.TRUE;
-                } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
-                    LOGGER.error("[db-error] sql : {}, args : {}, error : {}", errSql[0], args[0], e.toString());
-                    if (consumer != null) {
-                        consumer.accept(Boolean.FALSE, e);
-                    }
-                    return Boolean.FALSE;
-                } catch (CannotGetJdbcConnectionException e) {
-                    LOGGER.error("[db-error] sql : {}, args : {}, error : {}", errSql[0], args[0], e.toString());
-                    throw e;
-                } catch (DataAccessException e) {
-                    LOGGER.error("[db-error] DataAccessException sql : {}, args : {}, error : {}", errSql[0], args[0],
-                            ExceptionUtil.getAllExceptionMsg(e));
-                    throw e;
-                }
-            });
+            updateResult = transactionTemplate.execute(status -> executeUpdate(jdbcTemplate, contexts, consumer));
         } catch (IllegalTransactionStateException e) {
             LoggerUtils.printIfDebugEnabled(LOGGER, "Roll back transaction for {} ", e.getMessage());
             if (consumer != null) {
@@ -258,6 +225,81 @@ public interface BaseDatabaseOperate extends DatabaseOperate {
         return updateResult;
     }
     
+    /**
+     * execute update operations of several requests in one transaction. Each request is executed within its own
+     * savepoint, so the result of each request is the same as executing it by {@link #update(TransactionTemplate,
+     * JdbcTemplate, List)} alone.
+     *
+     * @param transactionTemplate {@link TransactionTemplate}
+     * @param jdbcTemplate        {@link JdbcTemplate}
+     * @param groups              ModifyRequest list of each request
+     * @return {@link List} result of each request
+     */
+    default List<Boolean> groupUpdate(TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate,
+            List<List<ModifyRequest>> groups) {
+        return transactionTemplate.execute(status -> {
+            List<Boolean> result = new ArrayList<>(groups.size());
+            for (List<ModifyRequest> contexts : groups) {
+                Object savepoint = status.createSavepoint();
+                try {
+                    result.add(executeUpdate(jdbcTemplate, contexts, null));
+                    status.releaseSavepoint(savepoint);
+                } catch (IllegalTransactionStateException e) {
+                    LoggerUtils.printIfDebugEnabled(LOGGER, "Roll back to savepoint for {} ", e.getMessage());
+                    status.rollbackToSavepoint(savepoint);
+                    result.add(Boolean.FALSE);
+                }
+            }
+            return result;
+        });
+    }
+    
+    /**
+     * execute update operation within current transaction.
+     *
+     * @param jdbcTemplate {@link JdbcTemplate}
+     * @param contexts     {@link List} ModifyRequest list
+     * @param consumer     consumer of result, nullable
+     * @return {@link Boolean}
+     * @throws IllegalTransactionStateException if update affected no row and should roll back
+     */
+    default Boolean executeUpdate(JdbcTemplate jdbcTemplate, List<ModifyRequest> contexts,
+            BiConsumer<Boolean, Throwable> consumer) {
+        String[] errSql = new String[] {null};
+        Object[][] args = new Object[][] {null};
+        try {
+            contexts.forEach(pair -> {
+                errSql[0] = pair.getSql();
+                args[0] = pair.getArgs();
+                boolean rollBackOnUpdateFail = pair.isRollBackOnUpdateFail();
+                LoggerUtils.printIfDebugEnabled(LOGGER, "current sql : {}", errSql[0]);
+                LoggerUtils.printIfDebugEnabled(LOGGER, "current args : {}", args[0]);
+                int row = jdbcTemplate.update(pair.getSql(), pair.getArgs());
+                if (rollBackOnUpdateFail && row < 1) {
+                    LoggerUtils.printIfDebugEnabled(LOGGER, "SQL update affected {} rows ", row);
+                    throw new IllegalTransactionStateException("Illegal transaction");
+                }
+            });
+            if (consumer != null) {
+                consumer.accept(Boolean.TRUE, null);
+            }
+            return Boolean.TRUE;
+        } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
+            LOGGER.error("[db-error] sql : {}, args : {}, error : {}", errSql[0], args[0], e.toString());
+            if (consumer != null) {
+                consumer.accept(Boolean.FALSE, e);
+            }
+            return Boolean.FALSE;
+        } catch (CannotGetJdbcConnectionException e) {
+            LOGGER.error("[db-error] sql : {}, args : {}, error : {}", errSql[0], args[0], e.toString());
+            throw e;
+        } catch (DataAccessException e) {
+            LOGGER.error("[db-error] DataAccessException sql : {}, args : {}, error : {}", errSql[0], args[0],
+                    ExceptionUtil.getAllExceptionMsg(e));
+            throw e;
+        }
+    }
+    
     /**
      * Perform data import.
      *
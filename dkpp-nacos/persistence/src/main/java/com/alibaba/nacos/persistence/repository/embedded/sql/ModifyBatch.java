@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded.sql;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * One modify request merged into a group commit, which keeps the serialized {@link ModifyRequest} list and extend
+ * info of the original write request.
+ *
+ * @author Nacos
+ */
+public class ModifyBatch implements Serializable {
+    
+    private static final long serialVersionUID = -2874123187095471236L;
+    
+    private String key;
+    
+    private String type;
+    
+    private byte[] data;
+    
+    private Map<String, String> extendInfo;
+    
+    public ModifyBatch() {
+    }
+    
+    public ModifyBatch(String key, String type, byte[] data, Map<String, String> extendInfo) {
+        this.key = key;
+        this.type = type;
+        this.data = data;
+        this.extendInfo = extendInfo;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public byte[] getData() {
+        return data;
+    }
+    
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+    
+    public Map<String, String> getExtendInfo() {
+        return extendInfo;
+    }
+    
+    public void setExtendInfo(Map<String, String> extendInfo) {
+        this.extendInfo = extendInfo;
+    }
+    
+    @Override
+    public String toString() {
+        return "ModifyBatch{" + "key='" + key + '\'' + ", dataLength=" + (data == null ? 0 : data.length)
+                + ", extendInfo=" + extendInfo + '}';
+    }
+}
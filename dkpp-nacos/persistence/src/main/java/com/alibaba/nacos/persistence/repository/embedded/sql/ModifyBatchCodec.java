@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded.sql;
+
+import com.alibaba.nacos.consistency.serialize.CompactCodec;
+import com.alibaba.nacos.consistency.serialize.CompactInput;
+import com.alibaba.nacos.consistency.serialize.CompactOutput;
+
+import java.util.Map;
+
+/**
+ * Compact codec of {@link ModifyBatch}, which is written into raft log by group commit of embedded storage.
+ *
+ * @author Nacos
+ */
+public class ModifyBatchCodec implements CompactCodec<ModifyBatch> {
+    
+    static final int TYPE_ID = 3;
+    
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+    
+    @Override
+    public Class<ModifyBatch> type() {
+        return ModifyBatch.class;
+    }
+    
+    @Override
+    public void write(CompactOutput output, ModifyBatch value) {
+        output.writeString(value.getKey());
+        output.writeString(value.getType());
+        output.writeBytes(value.getData());
+        output.writeObject(value.getExtendInfo());
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public ModifyBatch read(CompactInput input) {
+        String key = input.readString();
+        String type = input.readString();
+        byte[] data = input.readBytes();
+        Map<String, String> extendInfo = (Map<String, String>) input.readObject();
+        return new ModifyBatch(key, type, data, extendInfo);
+    }
+}
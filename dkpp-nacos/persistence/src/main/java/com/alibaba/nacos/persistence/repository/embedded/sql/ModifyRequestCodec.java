@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded.sql;
+
+import com.alibaba.nacos.consistency.serialize.CompactCodec;
+import com.alibaba.nacos.consistency.serialize.CompactInput;
+import com.alibaba.nacos.consistency.serialize.CompactOutput;
+
+/**
+ * Compact codec of {@link ModifyRequest}, which is written into raft log by every update of embedded storage.
+ *
+ * @author Nacos
+ */
+public class ModifyRequestCodec implements CompactCodec<ModifyRequest> {
+    
+    static final int TYPE_ID = 2;
+    
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+    
+    @Override
+    public Class<ModifyRequest> type() {
+        return ModifyRequest.class;
+    }
+    
+    @Override
+    public void write(CompactOutput output, ModifyRequest value) {
+        output.writeInt(value.getExecuteNo());
+        output.writeString(value.getSql());
+        output.writeBoolean(value.isRollBackOnUpdateFail());
+        output.writeObject(value.getArgs());
+    }
+    
+    @Override
+    public ModifyRequest read(CompactInput input) {
+        ModifyRequest result = new ModifyRequest();
+        result.setExecuteNo(input.readInt());
+        result.setSql(input.readString());
+        result.setRollBackOnUpdateFail(input.readBoolean());
+        result.setArgs((Object[]) input.readObject());
+        return result;
+    }
+}
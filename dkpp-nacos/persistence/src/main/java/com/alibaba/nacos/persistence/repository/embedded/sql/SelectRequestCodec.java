@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded.sql;
+
+import com.alibaba.nacos.consistency.serialize.CompactCodec;
+import com.alibaba.nacos.consistency.serialize.CompactInput;
+import com.alibaba.nacos.consistency.serialize.CompactOutput;
+
+/**
+ * Compact codec of {@link SelectRequest}, which is sent to leader by every query of embedded storage.
+ *
+ * @author Nacos
+ */
+public class SelectRequestCodec implements CompactCodec<SelectRequest> {
+    
+    static final int TYPE_ID = 1;
+    
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+    
+    @Override
+    public Class<SelectRequest> type() {
+        return SelectRequest.class;
+    }
+    
+    @Override
+    public void write(CompactOutput output, SelectRequest value) {
+        output.writeByte(value.getQueryType());
+        output.writeString(value.getSql());
+        output.writeObject(value.getArgs());
+        output.writeString(value.getClassName());
+    }
+    
+    @Override
+    public SelectRequest read(CompactInput input) {
+        SelectRequest result = new SelectRequest();
+        result.setQueryType(input.readByte());
+        result.setSql(input.readString());
+        result.setArgs((Object[]) input.readObject());
+        result.setClassName(input.readString());
+        return result;
+    }
+}
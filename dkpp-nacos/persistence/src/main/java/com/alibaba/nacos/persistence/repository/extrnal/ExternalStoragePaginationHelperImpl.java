@@ -24,6 +24,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * External Storage Pagination utils.
@@ -183,6 +184,26 @@ public class ExternalStoragePaginationHelperImpl<E> implements PaginationHelper
         return page;
     }
     
+    @Override
+    public Page<E> fetchPageByCursor(final MapperResult mapperResult, final int pageSize, final Function idExtractor,
+            final RowMapper rowMapper) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be greater than zero");
+        }
+        final Page<E> page = new Page<>();
+        List<E> result = jdbcTemplate.query(mapperResult.getSql(), mapperResult.getParamList().toArray(), rowMapper);
+        // one more row than page size is fetched to know whether there is next page.
+        boolean hasMore = result.size() > pageSize;
+        for (int i = 0; i < result.size() && i < pageSize; i++) {
+            page.getPageItems().add(result.get(i));
+        }
+        if (hasMore) {
+            E last = page.getPageItems().get(pageSize - 1);
+            page.setLastMaxId((Long) idExtractor.apply(last));
+        }
+        return page;
+    }
+    
     @Override
     public void updateLimit(final String sql, final Object[] args) {
         try {
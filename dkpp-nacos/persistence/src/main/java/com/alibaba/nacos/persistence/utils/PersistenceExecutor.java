@@ -18,9 +18,12 @@ package com.alibaba.nacos.persistence.utils;
 
 import com.alibaba.nacos.common.executor.ExecutorFactory;
 import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.ThreadUtils;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -43,10 +46,19 @@ public class PersistenceExecutor {
             .newSingleExecutorService(PersistenceExecutor.class.getCanonicalName(),
                     new NameThreadFactory("com.alibaba.nacos.persistence.embedded.snapshot"));
     
+    private static final ExecutorService EMBEDDED_SNAPSHOT_CHUNK_EXECUTOR = ExecutorFactory.Managed
+            .newFixedExecutorService(PersistenceExecutor.class.getCanonicalName(),
+                    Math.max(1, ThreadUtils.getSuitableThreadCount(1) / 2),
+                    new NameThreadFactory("com.alibaba.nacos.persistence.embedded.snapshot.chunk"));
+    
     public static void scheduleTask(Runnable command, long initialDelay, long delay, TimeUnit unit) {
         TIMER_EXECUTOR.scheduleWithFixedDelay(command, initialDelay, delay, unit);
     }
     
+    public static void schedule(Runnable command, long delay, TimeUnit unit) {
+        TIMER_EXECUTOR.schedule(command, delay, unit);
+    }
+    
     public static void executeEmbeddedDump(Runnable runnable) {
         DUMP_EXECUTOR.execute(runnable);
     }
@@ -54,4 +66,8 @@ public class PersistenceExecutor {
     public static void executeSnapshot(Runnable runnable) {
         EMBEDDED_SNAPSHOT_EXECUTOR.execute(runnable);
     }
+    
+    public static <T> Future<T> submitSnapshotChunk(Callable<T> task) {
+        return EMBEDDED_SNAPSHOT_CHUNK_EXECUTOR.submit(task);
+    }
 }
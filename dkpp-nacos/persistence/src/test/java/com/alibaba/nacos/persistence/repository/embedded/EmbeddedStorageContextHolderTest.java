@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded;
+
+import com.alibaba.nacos.persistence.constants.PersistenceConstant;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EmbeddedStorageContextHolderTest {
+    
+    @After
+    public void tearDown() {
+        EmbeddedStorageContextHolder.cleanAllContext();
+    }
+    
+    @Test
+    public void testDefaultReadConsistency() {
+        Assert.assertEquals(ReadConsistency.LINEARIZABLE, EmbeddedStorageContextHolder.getReadConsistency());
+    }
+    
+    @Test
+    public void testReadWithConsistency() {
+        String result = EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.FOLLOWER, () -> {
+            Assert.assertEquals(ReadConsistency.FOLLOWER, EmbeddedStorageContextHolder.getReadConsistency());
+            EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.LEASE, () -> {
+                Assert.assertEquals(ReadConsistency.LEASE, EmbeddedStorageContextHolder.getReadConsistency());
+                return null;
+            });
+            Assert.assertEquals(ReadConsistency.FOLLOWER, EmbeddedStorageContextHolder.getReadConsistency());
+            return "result";
+        });
+        Assert.assertEquals("result", result);
+        Assert.assertEquals(ReadConsistency.LINEARIZABLE, EmbeddedStorageContextHolder.getReadConsistency());
+    }
+    
+    @Test
+    public void testReadConsistencyRestoredWhenFailed() {
+        try {
+            EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.LEASE, () -> {
+                throw new IllegalStateException("test");
+            });
+            Assert.fail();
+        } catch (IllegalStateException ignored) {
+            Assert.assertEquals(ReadConsistency.LINEARIZABLE, EmbeddedStorageContextHolder.getReadConsistency());
+        }
+    }
+    
+    @Test
+    public void testReadConsistencyNotInExtendInfo() {
+        EmbeddedStorageContextHolder.putExtendInfo(PersistenceConstant.EXTEND_NEED_READ_UNTIL_HAVE_DATA, "");
+        EmbeddedStorageContextHolder.readWithConsistency(ReadConsistency.FOLLOWER, () -> {
+            Assert.assertEquals(1, EmbeddedStorageContextHolder.getCurrentExtendInfo().size());
+            return null;
+        });
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.persistence.repository.embedded.sql;
+
+import com.alibaba.nacos.consistency.serialize.CompactSerializer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Unit test of compact codecs for sql requests.
+ *
+ * @author Nacos
+ */
+public class SqlCompactCodecTest {
+    
+    private CompactSerializer serializer;
+    
+    @Before
+    public void setUp() {
+        serializer = new CompactSerializer();
+        serializer.setCompactWritable(true);
+    }
+    
+    @Test
+    public void testSelectRequest() {
+        SelectRequest request = SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_WITH_ARGS)
+                .sql("SELECT id FROM config_info WHERE data_id = ?").args(new Object[] {"dataId"})
+                .className(Long.class.getCanonicalName()).build();
+        SelectRequest result = serializer.deserialize(serializer.serialize(request), SelectRequest.class);
+        Assert.assertEquals(request.toString(), result.toString());
+    }
+    
+    @Test
+    public void testModifyRequests() {
+        ModifyRequest request = new ModifyRequest("UPDATE config_info SET content = ? WHERE id = ?");
+        request.setExecuteNo(1);
+        request.setRollBackOnUpdateFail(true);
+        request.setArgs(new Object[] {"content", 1L, new Timestamp(System.currentTimeMillis())});
+        List<ModifyRequest> requests = new ArrayList<>();
+        requests.add(request);
+        
+        List<ModifyRequest> result = serializer.deserialize(serializer.serialize(requests), List.class);
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(1, result.get(0).getExecuteNo());
+        Assert.assertTrue(result.get(0).isRollBackOnUpdateFail());
+        Assert.assertEquals(request.getSql(), result.get(0).getSql());
+        Assert.assertArrayEquals(request.getArgs(), result.get(0).getArgs());
+    }
+    
+    @Test
+    public void testModifyBatches() {
+        ModifyBatch batch = new ModifyBatch("key", "type", new byte[] {1, 2, 3}, new HashMap<>(2));
+        List<ModifyBatch> batches = new ArrayList<>();
+        batches.add(batch);
+        
+        List<ModifyBatch> result = serializer.deserialize(serializer.serialize(batches), List.class);
+        Assert.assertEquals("key", result.get(0).getKey());
+        Assert.assertEquals("type", result.get(0).getType());
+        Assert.assertArrayEquals(batch.getData(), result.get(0).getData());
+        Assert.assertTrue(result.get(0).getExtendInfo().isEmpty());
+    }
+}
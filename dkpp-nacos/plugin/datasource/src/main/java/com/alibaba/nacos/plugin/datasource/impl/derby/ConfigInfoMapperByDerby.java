@@ -263,6 +263,78 @@ public class ConfigInfoMapperByDerby extends AbstractMapper implements ConfigInf
         return new MapperResult(sql, paramList);
     }
     
+    @Override
+    public MapperResult findConfigInfo4PageByCursorFetchRows(MapperContext context) {
+        final String tenantId = (String) context.getWhereParameter(FieldConstant.TENANT_ID);
+        final String dataId = (String) context.getWhereParameter(FieldConstant.DATA_ID);
+        final String group = (String) context.getWhereParameter(FieldConstant.GROUP_ID);
+        final String appName = (String) context.getWhereParameter(FieldConstant.APP_NAME);
+        final String content = (String) context.getWhereParameter(FieldConstant.CONTENT);
+        
+        List<Object> paramList = new ArrayList<>();
+        
+        final String sql = "SELECT id,data_id,group_id,tenant_id,app_name,content,type,encrypted_data_key FROM config_info";
+        StringBuilder where = new StringBuilder(" WHERE ");
+        where.append(" tenant_id=? ");
+        paramList.add(tenantId);
+        if (StringUtils.isNotBlank(dataId)) {
+            where.append(" AND data_id=? ");
+            paramList.add(dataId);
+        }
+        if (StringUtils.isNotBlank(group)) {
+            where.append(" AND group_id=? ");
+            paramList.add(group);
+        }
+        if (StringUtils.isNotBlank(appName)) {
+            where.append(" AND app_name=? ");
+            paramList.add(appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            where.append(" AND content LIKE ? ");
+            paramList.add(content);
+        }
+        where.append(" AND id > ? ");
+        paramList.add(context.getWhereParameter(FieldConstant.LAST_MAX_ID));
+        return new MapperResult(sql + where + " ORDER BY id OFFSET 0 ROWS FETCH NEXT " + context.getPageSize()
+                + " ROWS ONLY", paramList);
+    }
+    
+    @Override
+    public MapperResult findConfigInfoLike4PageByCursorFetchRows(MapperContext context) {
+        final String tenantId = (String) context.getWhereParameter(FieldConstant.TENANT_ID);
+        final String dataId = (String) context.getWhereParameter(FieldConstant.DATA_ID);
+        final String group = (String) context.getWhereParameter(FieldConstant.GROUP_ID);
+        final String appName = (String) context.getWhereParameter(FieldConstant.APP_NAME);
+        final String content = (String) context.getWhereParameter(FieldConstant.CONTENT);
+        
+        List<Object> paramList = new ArrayList<>();
+        
+        final String sqlFetchRows = "SELECT id,data_id,group_id,tenant_id,app_name,content,encrypted_data_key FROM config_info";
+        StringBuilder where = new StringBuilder(" WHERE ");
+        where.append(" tenant_id LIKE ? ");
+        paramList.add(tenantId);
+        if (!StringUtils.isBlank(dataId)) {
+            where.append(" AND data_id LIKE ? ");
+            paramList.add(dataId);
+        }
+        if (!StringUtils.isBlank(group)) {
+            where.append(" AND group_id LIKE ? ");
+            paramList.add(group);
+        }
+        if (!StringUtils.isBlank(appName)) {
+            where.append(" AND app_name = ? ");
+            paramList.add(appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            where.append(" AND content LIKE ? ");
+            paramList.add(content);
+        }
+        where.append(" AND id > ? ");
+        paramList.add(context.getWhereParameter(FieldConstant.LAST_MAX_ID));
+        return new MapperResult(sqlFetchRows + where + " ORDER BY id OFFSET 0 ROWS FETCH NEXT " + context.getPageSize()
+                + " ROWS ONLY", paramList);
+    }
+    
     @Override
     public MapperResult findAllConfigInfoFetchRows(MapperContext context) {
         return new MapperResult(" SELECT t.id,data_id,group_id,tenant_id,app_name,content,md5 "
@@ -419,6 +419,93 @@ public interface ConfigInfoMapper extends Mapper {
      */
     MapperResult findConfigInfoLike4PageFetchRows(MapperContext context);
     
+    /**
+     * Find config info by keyset pagination. <br/>The default sql: <br/>SELECT
+     * id,data_id,group_id,tenant_id,app_name,content,type,encrypted_data_key FROM config_info WHERE tenant_id=? ... AND
+     * id > ? ORDER BY id LIMIT ?
+     *
+     * <p>Different from {@link #findConfigInfo4PageFetchRows(MapperContext)}, the rows are seeked by the last id of
+     * previous page instead of skipping offset rows, so the cost of deep page is the same as the first page.
+     *
+     * @param context The map of dataId, groupId, appName, content and lastMaxId, the context of pageSize.
+     * @return The sql of finding config info by keyset pagination.
+     */
+    default MapperResult findConfigInfo4PageByCursorFetchRows(MapperContext context) {
+        final String tenantId = (String) context.getWhereParameter(FieldConstant.TENANT_ID);
+        final String dataId = (String) context.getWhereParameter(FieldConstant.DATA_ID);
+        final String group = (String) context.getWhereParameter(FieldConstant.GROUP_ID);
+        final String appName = (String) context.getWhereParameter(FieldConstant.APP_NAME);
+        final String content = (String) context.getWhereParameter(FieldConstant.CONTENT);
+        
+        List<Object> paramList = new ArrayList<>();
+        
+        final String sql = "SELECT id,data_id,group_id,tenant_id,app_name,content,type,encrypted_data_key FROM config_info";
+        StringBuilder where = new StringBuilder(" WHERE ");
+        where.append(" tenant_id=? ");
+        paramList.add(tenantId);
+        if (StringUtils.isNotBlank(dataId)) {
+            where.append(" AND data_id=? ");
+            paramList.add(dataId);
+        }
+        if (StringUtils.isNotBlank(group)) {
+            where.append(" AND group_id=? ");
+            paramList.add(group);
+        }
+        if (StringUtils.isNotBlank(appName)) {
+            where.append(" AND app_name=? ");
+            paramList.add(appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            where.append(" AND content LIKE ? ");
+            paramList.add(content);
+        }
+        where.append(" AND id > ? ");
+        paramList.add(context.getWhereParameter(FieldConstant.LAST_MAX_ID));
+        return new MapperResult(sql + where + " ORDER BY id LIMIT " + context.getPageSize(), paramList);
+    }
+    
+    /**
+     * Query config info by keyset pagination. <br/>The default sql: <br/>SELECT
+     * id,data_id,group_id,tenant_id,app_name,content,encrypted_data_key FROM config_info WHERE tenant_id LIKE ? ... AND
+     * id > ? ORDER BY id LIMIT ?
+     *
+     * @param context The map of dataId, groupId, appName, content and lastMaxId, the context of pageSize.
+     * @return The sql of querying config info by keyset pagination.
+     */
+    default MapperResult findConfigInfoLike4PageByCursorFetchRows(MapperContext context) {
+        final String tenantId = (String) context.getWhereParameter(FieldConstant.TENANT_ID);
+        final String dataId = (String) context.getWhereParameter(FieldConstant.DATA_ID);
+        final String group = (String) context.getWhereParameter(FieldConstant.GROUP_ID);
+        final String appName = (String) context.getWhereParameter(FieldConstant.APP_NAME);
+        final String content = (String) context.getWhereParameter(FieldConstant.CONTENT);
+        
+        List<Object> paramList = new ArrayList<>();
+        
+        final String sqlFetchRows = "SELECT id,data_id,group_id,tenant_id,app_name,content,encrypted_data_key FROM config_info";
+        StringBuilder where = new StringBuilder(" WHERE ");
+        where.append(" tenant_id LIKE ? ");
+        paramList.add(tenantId);
+        if (!StringUtils.isBlank(dataId)) {
+            where.append(" AND data_id LIKE ? ");
+            paramList.add(dataId);
+        }
+        if (!StringUtils.isBlank(group)) {
+            where.append(" AND group_id LIKE ? ");
+            paramList.add(group);
+        }
+        if (!StringUtils.isBlank(appName)) {
+            where.append(" AND app_name = ? ");
+            paramList.add(appName);
+        }
+        if (!StringUtils.isBlank(content)) {
+            where.append(" AND content LIKE ? ");
+            paramList.add(content);
+        }
+        where.append(" AND id > ? ");
+        paramList.add(context.getWhereParameter(FieldConstant.LAST_MAX_ID));
+        return new MapperResult(sqlFetchRows + where + " ORDER BY id LIMIT " + context.getPageSize(), paramList);
+    }
+    
     /**
      * Query all configuration information by page. <br/>The default sql: <br/>SELECT
      * t.id,data_id,group_id,tenant_id,app_name,content,md5 " + " FROM (  SELECT id FROM config_info WHERE tenant_id
@@ -430,8 +517,8 @@ public interface ConfigInfoMapper extends Mapper {
     MapperResult findAllConfigInfoFetchRows(MapperContext context);
     
     /**
-     * find ConfigInfo by ids. <br/>The default sql: <br/>SELECT ID,data_id,group_id,tenant_id,app_name,content,md5 FROM
-     * config_info WHERE id IN (...)
+     * find ConfigInfo by ids. <br/>The default sql: <br/>SELECT
+     * ID,data_id,group_id,tenant_id,app_name,content,md5,encrypted_data_key FROM config_info WHERE id IN (...)
      *
      * @param context the size of ids.
      * @return find ConfigInfo by ids.
@@ -439,7 +526,7 @@ public interface ConfigInfoMapper extends Mapper {
     default MapperResult findConfigInfosByIds(MapperContext context) {
         List<Long> ids = (List<Long>) context.getWhereParameter(FieldConstant.IDS);
         StringBuilder sql = new StringBuilder(
-                "SELECT id,data_id,group_id,tenant_id,app_name,content,md5 FROM config_info WHERE ");
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,md5,encrypted_data_key FROM config_info WHERE ");
         sql.append("id IN (");
         ArrayList<Object> paramList = new ArrayList<>();
         
@@ -162,6 +162,26 @@ public interface GroupCapacityMapper extends Mapper {
                         context.getWhereParameter(FieldConstant.GROUP_ID)));
     }
     
+    /**
+     * used to update usage field by delta, the usage won't be updated to negative.
+     *
+     * <p>Where condition: group_id = ? AND `usage` + ? >= 0
+     *
+     * <p>Example: UPDATE group_capacity SET `usage` = `usage` + ?, gmt_modified = ? WHERE group_id = ? AND `usage` + ?
+     * >= 0;
+     *
+     * @param context sql paramMap
+     * @return sql.
+     */
+    default MapperResult updateUsageByDeltaWhere(MapperContext context) {
+        return new MapperResult(
+                "UPDATE group_capacity SET usage = usage + ?, gmt_modified = ? WHERE group_id = ? AND usage + ? >= 0",
+                CollectionUtils.list(context.getUpdateParameter(FieldConstant.USAGE),
+                        context.getUpdateParameter(FieldConstant.GMT_MODIFIED),
+                        context.getWhereParameter(FieldConstant.GROUP_ID),
+                        context.getUpdateParameter(FieldConstant.USAGE)));
+    }
+    
     /**
      * used to update usage field.
      *
@@ -97,6 +97,23 @@ public interface TenantCapacityMapper extends Mapper {
                         context.getWhereParameter(FieldConstant.TENANT_ID)));
     }
     
+    /**
+     * Update usage by delta, the usage won't be updated to negative.
+     * The default sql:
+     * UPDATE tenant_capacity SET `usage` = `usage` + ?, gmt_modified = ? WHERE tenant_id = ? AND `usage` + ? >= 0
+     *
+     * @param context sql paramMap
+     * @return The sql of updating usage by delta.
+     */
+    default MapperResult updateUsageByDelta(MapperContext context) {
+        return new MapperResult(
+                "UPDATE tenant_capacity SET usage = usage + ?, gmt_modified = ? WHERE tenant_id = ? AND usage + ? >= 0",
+                CollectionUtils.list(context.getUpdateParameter(FieldConstant.USAGE),
+                        context.getUpdateParameter(FieldConstant.GMT_MODIFIED),
+                        context.getWhereParameter(FieldConstant.TENANT_ID),
+                        context.getUpdateParameter(FieldConstant.USAGE)));
+    }
+    
     /**
      * Correct Usage.
      * The default sql:
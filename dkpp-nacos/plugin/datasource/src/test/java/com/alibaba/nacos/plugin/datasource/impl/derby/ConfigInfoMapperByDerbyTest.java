@@ -258,6 +258,16 @@ public class ConfigInfoMapperByDerbyTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName});
     }
     
+    @Test
+    public void testFindConfigInfo4PageByCursorFetchRows() {
+        MapperResult mapperResult = configInfoMapperByDerby.findConfigInfo4PageByCursorFetchRows(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,type,encrypted_data_key FROM config_info"
+                        + " WHERE  tenant_id=?  AND app_name=?  AND id > ?  ORDER BY id OFFSET 0 ROWS FETCH NEXT "
+                        + pageSize + " ROWS ONLY");
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName, lastMaxId});
+    }
+    
     @Test
     public void testFindConfigInfoBaseByGroupFetchRows() {
         context.putWhereParameter(FieldConstant.GROUP_ID, groupId);
@@ -286,6 +296,16 @@ public class ConfigInfoMapperByDerbyTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName});
     }
     
+    @Test
+    public void testFindConfigInfoLike4PageByCursorFetchRows() {
+        MapperResult mapperResult = configInfoMapperByDerby.findConfigInfoLike4PageByCursorFetchRows(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,encrypted_data_key FROM config_info "
+                        + "WHERE  tenant_id LIKE ?  AND app_name = ?  AND id > ?  ORDER BY id OFFSET 0 ROWS FETCH NEXT "
+                        + pageSize + " ROWS ONLY");
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName, lastMaxId});
+    }
+    
     @Test
     public void testFindAllConfigInfoFetchRows() {
         MapperResult mapperResult = configInfoMapperByDerby.findAllConfigInfoFetchRows(context);
@@ -299,7 +319,8 @@ public class ConfigInfoMapperByDerbyTest {
     public void testFindConfigInfosByIds() {
         MapperResult mapperResult = configInfoMapperByDerby.findConfigInfosByIds(context);
         Assert.assertEquals(mapperResult.getSql(),
-                "SELECT id,data_id,group_id,tenant_id,app_name,content,md5 FROM config_info WHERE id IN (?, ?, ?, ?, ?) ");
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,md5,encrypted_data_key FROM config_info "
+                        + "WHERE id IN (?, ?, ?, ?, ?) ");
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), ids.toArray());
     }
     
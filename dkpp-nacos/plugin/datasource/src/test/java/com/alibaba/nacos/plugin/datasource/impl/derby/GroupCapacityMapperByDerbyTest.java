@@ -154,6 +154,15 @@ public class GroupCapacityMapperByDerbyTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {modified, groupId});
     }
     
+    @Test
+    public void testUpdateUsageByDeltaWhere() {
+        context.putUpdateParameter(FieldConstant.USAGE, 3);
+        MapperResult mapperResult = groupCapacityMapperByDerby.updateUsageByDeltaWhere(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "UPDATE group_capacity SET usage = usage + ?, gmt_modified = ? WHERE group_id = ? AND usage + ? >= 0");
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {3, modified, groupId, 3});
+    }
+    
     @Test
     public void testUpdateUsage() {
         MapperResult mapperResult = groupCapacityMapperByDerby.updateUsage(context);
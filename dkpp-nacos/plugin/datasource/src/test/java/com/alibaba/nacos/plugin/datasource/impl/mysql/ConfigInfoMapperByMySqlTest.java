@@ -258,6 +258,15 @@ public class ConfigInfoMapperByMySqlTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName});
     }
     
+    @Test
+    public void testFindConfigInfo4PageByCursorFetchRows() {
+        MapperResult mapperResult = configInfoMapperByMySql.findConfigInfo4PageByCursorFetchRows(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,type,encrypted_data_key FROM config_info"
+                        + " WHERE  tenant_id=?  AND app_name=?  AND id > ?  ORDER BY id LIMIT " + pageSize);
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName, lastMaxId});
+    }
+    
     @Test
     public void testFindConfigInfoBaseByGroupFetchRows() {
         context.putWhereParameter(FieldConstant.GROUP_ID, groupId);
@@ -285,6 +294,15 @@ public class ConfigInfoMapperByMySqlTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName});
     }
     
+    @Test
+    public void testFindConfigInfoLike4PageByCursorFetchRows() {
+        MapperResult mapperResult = configInfoMapperByMySql.findConfigInfoLike4PageByCursorFetchRows(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,encrypted_data_key FROM config_info "
+                        + "WHERE  tenant_id LIKE ?  AND app_name = ?  AND id > ?  ORDER BY id LIMIT " + pageSize);
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {tenantId, appName, lastMaxId});
+    }
+    
     @Test
     public void testFindAllConfigInfoFetchRows() {
         MapperResult mapperResult = configInfoMapperByMySql.findAllConfigInfoFetchRows(context);
@@ -298,7 +316,8 @@ public class ConfigInfoMapperByMySqlTest {
     public void testFindConfigInfosByIds() {
         MapperResult mapperResult = configInfoMapperByMySql.findConfigInfosByIds(context);
         Assert.assertEquals(mapperResult.getSql(),
-                "SELECT id,data_id,group_id,tenant_id,app_name,content,md5 FROM config_info WHERE id IN (?, ?, ?, ?, ?) ");
+                "SELECT id,data_id,group_id,tenant_id,app_name,content,md5,encrypted_data_key FROM config_info "
+                        + "WHERE id IN (?, ?, ?, ?, ?) ");
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), ids.toArray());
     }
     
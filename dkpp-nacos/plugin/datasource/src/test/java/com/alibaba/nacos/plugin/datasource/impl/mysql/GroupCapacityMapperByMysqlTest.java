@@ -154,6 +154,15 @@ public class GroupCapacityMapperByMysqlTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {modified, groupId});
     }
     
+    @Test
+    public void testUpdateUsageByDeltaWhere() {
+        context.putUpdateParameter(FieldConstant.USAGE, 3);
+        MapperResult mapperResult = groupCapacityMapperByMysql.updateUsageByDeltaWhere(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "UPDATE group_capacity SET usage = usage + ?, gmt_modified = ? WHERE group_id = ? AND usage + ? >= 0");
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {3, modified, groupId, 3});
+    }
+    
     @Test
     public void testUpdateUsage() {
         MapperResult mapperResult = groupCapacityMapperByMysql.updateUsage(context);
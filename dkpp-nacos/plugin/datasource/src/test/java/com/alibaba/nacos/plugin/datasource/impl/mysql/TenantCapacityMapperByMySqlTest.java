@@ -98,6 +98,16 @@ public class TenantCapacityMapperByMySqlTest {
         Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {modified, tenantId});
     }
     
+    @Test
+    public void testUpdateUsageByDelta() {
+        context.putUpdateParameter(FieldConstant.USAGE, -2);
+        MapperResult mapperResult = tenantCapacityMapperByMySql.updateUsageByDelta(context);
+        Assert.assertEquals(mapperResult.getSql(),
+                "UPDATE tenant_capacity SET usage = usage + ?, gmt_modified = ? WHERE tenant_id = ? AND usage + ? "
+                        + ">= 0");
+        Assert.assertArrayEquals(mapperResult.getParamList().toArray(), new Object[] {-2, modified, tenantId, -2});
+    }
+    
     @Test
     public void testCorrectUsage() {
         MapperResult mapperResult = tenantCapacityMapperByMySql.correctUsage(context);
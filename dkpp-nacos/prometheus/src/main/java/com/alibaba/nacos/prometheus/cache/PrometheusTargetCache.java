@@ -0,0 +1,156 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.prometheus.cache;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of prometheus targets grouped by cluster for each service, refreshed by naming change events.
+ *
+ * <p>Instances are read from the push data of naming, which is refreshed by push task after a delay of the change
+ * event. So a changed service is re-read on each access and no ETag is provided until the change settled, after
+ * which the cached targets and {@link #getETag()} are stable until next change.
+ *
+ * @author Nacos
+ */
+public class PrometheusTargetCache extends SmartSubscriber {
+    
+    private static final long SETTLE_MILLIS = 3000L;
+    
+    /**
+     * Distinguish the ETag of different server nodes and restarts, which have independent revisions.
+     */
+    private final String etagPrefix = UUID.randomUUID().toString();
+    
+    private final AtomicLong revision = new AtomicLong();
+    
+    private final Map<Service, Map<String, List<String>>> serviceTargets = new ConcurrentHashMap<>();
+    
+    private final Map<Service, Long> dirtyServices = new ConcurrentHashMap<>();
+    
+    private final Function<Service, List<? extends Instance>> instancesLoader;
+    
+    public PrometheusTargetCache(Function<Service, List<? extends Instance>> instancesLoader) {
+        this.instancesLoader = instancesLoader;
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+    }
+    
+    /**
+     * Get targets of service grouped by cluster name, the result should not be modified.
+     *
+     * @param service service
+     * @return targets grouped by cluster name
+     */
+    public Map<String, List<String>> getTargets(Service service) {
+        Map<String, List<String>> result = serviceTargets.get(service);
+        if (null != result) {
+            return result;
+        }
+        result = groupTargets(instancesLoader.apply(service));
+        if (!dirtyServices.containsKey(service)) {
+            serviceTargets.putIfAbsent(service, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Get ETag of current targets.
+     *
+     * @return ETag of current targets, or {@code null} if some changes have not settled
+     */
+    public String getETag() {
+        settleDirtyServices();
+        if (!dirtyServices.isEmpty()) {
+            return null;
+        }
+        return "\"" + etagPrefix + "-" + revision.get() + "\"";
+    }
+    
+    private void settleDirtyServices() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Service, Long>> iterator = dirtyServices.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Service, Long> entry = iterator.next();
+            if (now - entry.getValue() < SETTLE_MILLIS) {
+                continue;
+            }
+            // Drop the targets cached from stale push data, if any, before the service becomes stable.
+            serviceTargets.remove(entry.getKey());
+            if (dirtyServices.remove(entry.getKey(), entry.getValue())) {
+                revision.incrementAndGet();
+            }
+        }
+    }
+    
+    private Map<String, List<String>> groupTargets(List<? extends Instance> instances) {
+        Map<String, List<String>> result = new HashMap<>(2);
+        for (Instance each : instances) {
+            result.computeIfAbsent(each.getClusterName(), key -> new LinkedList<>())
+                    .add(each.getIp() + ":" + each.getPort());
+        }
+        result.replaceAll((key, value) -> Collections.unmodifiableList(new ArrayList<>(value)));
+        return Collections.unmodifiableMap(result);
+    }
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ServiceEvent.ServiceChangedEvent.class);
+        result.add(MetadataEvent.ServiceMetadataEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ServiceEvent.ServiceChangedEvent) {
+            Service service = ((ServiceEvent.ServiceChangedEvent) event).getService();
+            dirtyServices.put(service, System.currentTimeMillis());
+            serviceTargets.remove(service);
+            revision.incrementAndGet();
+        } else if (event instanceof MetadataEvent.ServiceMetadataEvent) {
+            MetadataEvent.ServiceMetadataEvent metadataEvent = (MetadataEvent.ServiceMetadataEvent) event;
+            if (metadataEvent.isExpired()) {
+                serviceTargets.remove(metadataEvent.getService());
+                revision.incrementAndGet();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+}
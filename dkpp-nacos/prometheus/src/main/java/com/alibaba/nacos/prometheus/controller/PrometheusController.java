@@ -17,23 +17,30 @@
 package com.alibaba.nacos.prometheus.controller;
 
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
-import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.naming.core.InstanceOperatorClientImpl;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.prometheus.api.ApiConstants;
+import com.alibaba.nacos.prometheus.cache.PrometheusTargetCache;
 import com.alibaba.nacos.prometheus.utils.PrometheusUtils;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.HashSet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -52,86 +59,100 @@ public class PrometheusController {
     
     private final ServiceManager serviceManager;
     
+    private final PrometheusTargetCache targetCache;
+    
     public PrometheusController() {
         this.serviceManager = ServiceManager.getInstance();
+        this.targetCache = new PrometheusTargetCache(this::listAllInstances);
     }
     
     /**
      * Get all service instances.
      *
-     * @throws NacosException NacosException.
+     * @throws IOException IOException.
      */
     @GetMapping(value = ApiConstants.PROMETHEUS_CONTROLLER_PATH, produces = "application/json; charset=UTF-8")
-    public ResponseEntity<String> metric() throws NacosException {
-        ArrayNode arrayNode = JacksonUtils.createEmptyArrayNode();
-        Set<Instance> targetSet = new HashSet<>();
-        Set<String> allNamespaces = serviceManager.getAllNamespaces();
-        for (String namespace : allNamespaces) {
-            Set<Service> singletons = serviceManager.getSingletons(namespace);
-            for (Service service : singletons) {
-                
-                List<? extends Instance> instances = instanceServiceV2.listAllInstances(namespace,
-                        service.getGroupedServiceName());
-                
-                targetSet.addAll(instances);
-                
-            }
+    public void metric(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = targetCache.getETag();
+        if (isNotModified(etag, request, response)) {
+            return;
         }
-        
-        PrometheusUtils.assembleArrayNodes(targetSet, arrayNode);
-        return ResponseEntity.ok().body(arrayNode.toString());
+        Map<String, List<String>> clusterTargets = new HashMap<>(16);
+        for (String namespace : serviceManager.getAllNamespaces()) {
+            collectTargets(namespace, s -> true, clusterTargets);
+        }
+        writeTargets(etag, clusterTargets, response);
     }
     
     
     /**
      * Get service instances from designated namespace.
      *
-     * @throws NacosException NacosException.
+     * @throws IOException IOException.
      */
     @GetMapping(value = ApiConstants.PROMETHEUS_CONTROLLER_NAMESPACE_PATH, produces = "application/json; charset=UTF-8")
-    public ResponseEntity<String> metricNamespace(@PathVariable("namespaceId") String namespaceId)
-            throws NacosException {
-        ArrayNode arrayNode = getServiceArrayNode(namespaceId, s -> true);
-        
-        return ResponseEntity.ok().body(arrayNode.toString());
+    public void metricNamespace(@PathVariable("namespaceId") String namespaceId, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String etag = targetCache.getETag();
+        if (isNotModified(etag, request, response)) {
+            return;
+        }
+        Map<String, List<String>> clusterTargets = new HashMap<>(16);
+        collectTargets(namespaceId, s -> true, clusterTargets);
+        writeTargets(etag, clusterTargets, response);
     }
     
     /**
      * Get service instances from designated namespace and service.
      *
-     * @throws NacosException NacosException.
+     * @throws IOException IOException.
      */
     @GetMapping(value = ApiConstants.PROMETHEUS_CONTROLLER_SERVICE_PATH, produces = "application/json; charset=UTF-8")
-    public ResponseEntity<String> metricNamespaceService(@PathVariable("namespaceId") String namespaceId,
-            @PathVariable("service") String service) throws NacosException {
-        ArrayNode arrayNode = getServiceArrayNode(namespaceId, s -> s.getName().equals(service));
-        
-        return ResponseEntity.ok().body(arrayNode.toString());
+    public void metricNamespaceService(@PathVariable("namespaceId") String namespaceId,
+            @PathVariable("service") String service, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String etag = targetCache.getETag();
+        if (isNotModified(etag, request, response)) {
+            return;
+        }
+        Map<String, List<String>> clusterTargets = new HashMap<>(4);
+        collectTargets(namespaceId, s -> s.getName().equals(service), clusterTargets);
+        writeTargets(etag, clusterTargets, response);
     }
     
-    private ArrayNode getServiceArrayNode(String namespaceId, Predicate<Service> serviceFilter) throws NacosException {
-        ArrayNode arrayNode = JacksonUtils.createEmptyArrayNode();
-        Set<String> allNamespaces = serviceManager.getAllNamespaces();
-        if (!allNamespaces.contains(namespaceId)) {
-            return arrayNode;
-        }
-        
-        Set<Instance> targetSet = new HashSet<>();
-        
+    private boolean isNotModified(String etag, HttpServletRequest request, HttpServletResponse response) {
+        return null != etag && new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+    
+    private void collectTargets(String namespaceId, Predicate<Service> serviceFilter,
+            Map<String, List<String>> clusterTargets) {
         Set<Service> singletons = serviceManager.getSingletons(namespaceId);
         for (Service existService : singletons) {
             if (!serviceFilter.test(existService)) {
                 continue;
             }
-            List<? extends Instance> instances = instanceServiceV2.listAllInstances(namespaceId,
-                    existService.getGroupedServiceName());
-            
-            targetSet.addAll(instances);
-            
+            targetCache.getTargets(existService).forEach(
+                    (cluster, targets) -> clusterTargets.computeIfAbsent(cluster, key -> new ArrayList<>())
+                            .addAll(targets));
+        }
+    }
+    
+    private void writeTargets(String etag, Map<String, List<String>> clusterTargets, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        if (null != etag) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        PrometheusUtils.writeTargetGroups(clusterTargets, response.getOutputStream());
+    }
+    
+    private List<? extends Instance> listAllInstances(Service service) {
+        try {
+            return instanceServiceV2.listAllInstances(service.getNamespace(), service.getGroupedServiceName());
+        } catch (NacosException e) {
+            throw new NacosRuntimeException(e.getErrCode(), e.getErrMsg());
         }
-        
-        PrometheusUtils.assembleArrayNodes(targetSet, arrayNode);
-        
-        return arrayNode;
     }
 }
@@ -18,9 +18,14 @@ package com.alibaba.nacos.prometheus.utils;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +39,8 @@ import static java.util.stream.Collectors.groupingBy;
  */
 public class PrometheusUtils {
     
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
     /**
      * Assemble arrayNodes for prometheus sd api.
      *
@@ -53,4 +60,32 @@ public class PrometheusUtils {
             arrayNode.add(jsonNode);
         });
     }
+    
+    /**
+     * Write target groups for prometheus sd api to output stream directly.
+     *
+     * @param clusterTargets targets grouped by cluster name
+     * @param outputStream   output stream, which is not closed after written
+     * @throws IOException if writing failed
+     */
+    public static void writeTargetGroups(Map<String, List<String>> clusterTargets, OutputStream outputStream)
+            throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        for (Map.Entry<String, List<String>> entry : clusterTargets.entrySet()) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("targets");
+            for (String each : entry.getValue()) {
+                generator.writeString(each);
+            }
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("labels");
+            generator.writeStringField("__meta_clusterName", entry.getKey());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.close();
+    }
 }
@@ -22,8 +22,10 @@ import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.naming.core.InstanceOperatorClientImpl;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.prometheus.api.ApiConstants;
+import com.alibaba.nacos.prometheus.cache.PrometheusTargetCache;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,7 +34,9 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -138,4 +142,44 @@ public class PrometheusControllerTest {
         assertEquals(0, JacksonUtils.toObj(response.getContentAsString()).size());
     }
     
+    @Test
+    public void testMetricNotModified() throws Exception {
+        when(instanceServiceV2.listAllInstances(nameSpace, NamingUtils.getGroupedName(name, group))).thenReturn(
+                testInstanceList);
+        MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.get(ApiConstants.PROMETHEUS_CONTROLLER_PATH);
+        MockHttpServletResponse response = mockMvc.perform(builder).andReturn().getResponse();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        Assert.assertNotNull(etag);
+        
+        builder = MockMvcRequestBuilders.get(ApiConstants.PROMETHEUS_CONTROLLER_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, etag);
+        response = mockMvc.perform(builder).andReturn().getResponse();
+        Assert.assertEquals(304, response.getStatus());
+        Assert.assertEquals(0, response.getContentLength());
+    }
+    
+    @Test
+    public void testMetricAfterServiceChanged() throws Exception {
+        when(instanceServiceV2.listAllInstances(nameSpace, NamingUtils.getGroupedName(name, group))).thenReturn(
+                testInstanceList);
+        MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.get(ApiConstants.PROMETHEUS_CONTROLLER_PATH);
+        String etag = mockMvc.perform(builder).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        Instance instance = new Instance();
+        instance.setClusterName("A");
+        instance.setIp("127.0.0.2");
+        instance.setPort(8080);
+        testInstanceList.add(instance);
+        PrometheusTargetCache targetCache = (PrometheusTargetCache) ReflectionTestUtils
+                .getField(prometheusController, "targetCache");
+        targetCache.onEvent(new ServiceEvent.ServiceChangedEvent(service));
+        
+        builder = MockMvcRequestBuilders.get(ApiConstants.PROMETHEUS_CONTROLLER_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = mockMvc.perform(builder).andReturn().getResponse();
+        Assert.assertEquals(200, response.getStatus());
+        Assert.assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, JacksonUtils.toObj(response.getContentAsString()).get(0).get("targets").size());
+    }
+    
 }